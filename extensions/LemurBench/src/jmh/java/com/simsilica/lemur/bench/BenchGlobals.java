@@ -0,0 +1,82 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import com.jme3.app.Application;
+import com.jme3.app.LegacyApplication;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.DesktopAssetManager;
+
+import com.simsilica.lemur.GuiGlobals;
+
+
+/**
+ *  Initializes GuiGlobals without starting an application, display, or
+ *  OpenGL context so that components can be created and laid out in
+ *  benchmarks.  Only the asset manager is real.
+ *
+ *  @author    agent
+ */
+public class BenchGlobals extends GuiGlobals {
+
+    protected BenchGlobals( Application app ) {
+        super(app);
+    }
+
+    /**
+     *  Always does the minimal 'headless' initialization which doesn't
+     *  touch the input manager, state manager, or viewports.
+     */
+    @Override
+    protected boolean isHeadless( Application app ) {
+        return true;
+    }
+
+    public static synchronized void initialize() {
+        if( GuiGlobals.getInstance() != null ) {
+            return;
+        }
+        final AssetManager assets = new DesktopAssetManager(true);
+        Application app = new LegacyApplication() {
+            @Override
+            public AssetManager getAssetManager() {
+                return assets;
+            }
+        };
+        GuiGlobals.setInstance(new BenchGlobals(app));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.VertexBuffer.Type;
+
+import com.simsilica.lemur.geom.DMesh;
+import com.simsilica.lemur.geom.Deformations;
+import com.simsilica.lemur.geom.MBox;
+
+
+/**
+ *  Compares deforming a subdivided panel with a cylindrical
+ *  Deformation using the original per-vertex buffer path, the batch
+ *  path on one thread, and the batch path split across the fork/join pool.
+ *  The radius is changed every invocation so that DMesh can't skip the
+ *  work, except in 'unchanged' which measures the cost of detecting that
+ *  there is nothing to do.
+ *
+ *  @author    agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DMeshBenchmark {
+
+    @Param({"perVertex", "batch", "parallel"})
+    public String path;
+
+    // Slices per side of a single sided MBox, ie: (slices + 2)^2 vertexes
+    @Param({"30", "254"})
+    public int slices;
+
+    private BenchDMesh mesh;
+    private Deformations.Cylindrical deform;
+    private boolean toggle;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Mesh panel = new MBox(2, 1, 0, slices, slices, 0, MBox.FRONT_MASK);
+        deform = Deformations.cylindrical(0, 2, new Vector3f(0, 0, -2), 2, -2, 8);
+        mesh = new BenchDMesh(panel);
+        mesh.setParallelThreshold("parallel".equals(path) ? 0 : Integer.MAX_VALUE);
+        mesh.setDeformation(deform);
+    }
+
+    @Benchmark
+    public Mesh deform() {
+        toggle = !toggle;
+        deform.setRadius(toggle ? 2.5f : 2);
+        if( "perVertex".equals(path) ) {
+            mesh.morphPerVertex();
+        } else {
+            mesh.updateMesh();
+        }
+        return mesh;
+    }
+
+    @Benchmark
+    public Mesh unchanged() {
+        mesh.updateMesh();
+        return mesh;
+    }
+
+    /**
+     *  Exposes the original per-vertex buffer to buffer morph.
+     */
+    private static class BenchDMesh extends DMesh {
+        private final Mesh source;
+
+        public BenchDMesh( Mesh source ) {
+            super(source);
+            this.source = source;
+        }
+
+        public void morphPerVertex() {
+            VertexBuffer sourcePos = source.getBuffer(Type.Position);
+            VertexBuffer sourceNorms = source.getBuffer(Type.Normal);
+            VertexBuffer targetPos = getBuffer(Type.Position);
+            VertexBuffer targetNorms = getBuffer(Type.Normal);
+
+            FloatBuffer sp = (FloatBuffer)sourcePos.getData();
+            FloatBuffer sn = (FloatBuffer)sourceNorms.getData();
+            FloatBuffer tp = (FloatBuffer)targetPos.getData();
+            FloatBuffer tn = (FloatBuffer)targetNorms.getData();
+            sp.rewind();
+            sn.rewind();
+            tp.rewind();
+            tn.rewind();
+            morph(sp, sn, tp, tn);
+            sp.rewind();
+            sn.rewind();
+            tp.rewind();
+            targetPos.updateData(tp);
+            tn.rewind();
+            targetNorms.updateData(tn);
+            updateBound();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.simsilica.lemur.text.DefaultDocumentModel;
+import com.simsilica.lemur.text.DocumentModel;
+import com.simsilica.lemur.text.PieceTableDocumentModel;
+
+
+/**
+ *  Measures typical DocumentModel edits and navigation with the
+ *  carat in the middle of documents of different sizes.  Each edit
+ *  benchmark undoes itself so that the document size stays stable.
+ *
+ *  @author    agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentModelBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int lineCount;
+
+    @Param({"default", "pieceTable"})
+    public String type;
+
+    private DocumentModel model;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < lineCount; i++ ) {
+            if( i > 0 ) {
+                sb.append('\n');
+            }
+            sb.append("This is line ").append(i).append(" of the benchmark document.");
+        }
+        if( "pieceTable".equals(type) ) {
+            model = new PieceTableDocumentModel(sb.toString());
+        } else {
+            model = new DefaultDocumentModel(sb.toString());
+        }
+
+        // Put the carat in the middle of the document
+        model.home(false);
+        for( int i = 0; i < lineCount / 2; i++ ) {
+            model.down();
+        }
+        for( int i = 0; i < 10; i++ ) {
+            model.right();
+        }
+    }
+
+    @Benchmark
+    public int insertCharacter() {
+        model.insert('x');
+        model.backspace();
+        return model.getCarat();
+    }
+
+    @Benchmark
+    public int insertNewLine() {
+        model.insertNewLine();
+        model.backspace();
+        return model.getCarat();
+    }
+
+    @Benchmark
+    public int typeWord() {
+        model.insert("hello");
+        for( int i = 0; i < 5; i++ ) {
+            model.backspace();
+        }
+        return model.getCarat();
+    }
+
+    @Benchmark
+    public int navigate() {
+        model.down();
+        model.right();
+        model.up();
+        model.left();
+        return model.getCarat();
+    }
+
+    @Benchmark
+    public String getText() {
+        return model.getText();
+    }
+}
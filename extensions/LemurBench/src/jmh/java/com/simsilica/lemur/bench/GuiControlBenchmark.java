@@ -0,0 +1,111 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.math.Vector3f;
+
+import com.simsilica.lemur.Container;
+import com.simsilica.lemur.Label;
+import com.simsilica.lemur.core.GuiControl;
+
+
+/**
+ *  Measures the per-frame cost of revalidating a deep tree of Containers
+ *  after one leaf label changes its text, and of a frame where nothing
+ *  changed at all.
+ *
+ *  @author    agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GuiControlBenchmark {
+
+    @Param({"4", "8"})
+    public int depth;
+
+    @Param({"2", "3"})
+    public int breadth;
+
+    private Container root;
+    private List<Label> leaves = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchGlobals.initialize();
+        root = new Container();
+        build(root, depth);
+
+        // Initial layout
+        root.updateLogicalState(0.016f);
+    }
+
+    protected void build( Container parent, int level ) {
+        for( int i = 0; i < breadth; i++ ) {
+            if( level <= 1 ) {
+                leaves.add(parent.addChild(new Label("Leaf " + leaves.size())));
+            } else {
+                build(parent.addChild(new Container()), level - 1);
+            }
+        }
+    }
+
+    @Benchmark
+    public Vector3f leafChanged() {
+        Label leaf = leaves.get(next++ % leaves.size());
+        leaf.setText((next & 1) == 0 ? "Short" : "A somewhat longer label");
+        root.updateLogicalState(0.016f);
+        return root.getSize();
+    }
+
+    @Benchmark
+    public Vector3f nothingChanged() {
+        root.updateLogicalState(0.016f);
+        return root.getSize();
+    }
+
+    @Benchmark
+    public Vector3f preferredSize() {
+        return root.getControl(GuiControl.class).getPreferredSize();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.input.InputManager;
+import com.jme3.input.KeyInput;
+import com.jme3.input.RawInputListener;
+import com.jme3.input.dummy.DummyKeyInput;
+import com.jme3.input.dummy.DummyMouseInput;
+import com.jme3.input.event.KeyInputEvent;
+
+import com.simsilica.lemur.input.FunctionId;
+import com.simsilica.lemur.input.InputMapper;
+import com.simsilica.lemur.input.InputState;
+import com.simsilica.lemur.input.StateFunctionListener;
+
+
+/**
+ *  Measures raw key event dispatch through a real InputManager into an
+ *  InputMapper with a number of mapped functions, some with modifiers.
+ *
+ *  @author    agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InputMapperBenchmark {
+
+    // KEY_Q through KEY_M are one contiguous range of key codes
+    private static final int FIRST_KEY = KeyInput.KEY_Q;
+    private static final int LAST_KEY = KeyInput.KEY_M;
+
+    @Param({"10", "100"})
+    public int mappingCount;
+
+    private QueuedKeyInput keys;
+    private InputManager inputManager;
+    private InputMapper inputMapper;
+    private int next;
+    private int changes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new QueuedKeyInput();
+        keys.initialize();
+        DummyMouseInput mouse = new DummyMouseInput();
+        mouse.initialize();
+        inputManager = new InputManager(mouse, keys, null, null);
+        inputMapper = new InputMapper(inputManager);
+
+        StateFunctionListener listener = new StateFunctionListener() {
+            @Override
+            public void valueChanged( FunctionId func, InputState value, double tpf ) {
+                changes++;
+            }
+        };
+
+        int keyRange = LAST_KEY - FIRST_KEY + 1;
+        for( int i = 0; i < mappingCount; i++ ) {
+            FunctionId func = new FunctionId("bench", "function" + i);
+            int key = FIRST_KEY + (i % keyRange);
+            switch( i / keyRange ) {
+                case 0:
+                    inputMapper.map(func, key);
+                    break;
+                case 1:
+                    inputMapper.map(func, key, KeyInput.KEY_LSHIFT);
+                    break;
+                default:
+                    inputMapper.map(func, key, KeyInput.KEY_LSHIFT, KeyInput.KEY_LCONTROL);
+                    break;
+            }
+            inputMapper.addStateListener(listener, func);
+        }
+    }
+
+    @Benchmark
+    public int pressAndRelease() {
+        int key = FIRST_KEY + (next++ % (LAST_KEY - FIRST_KEY + 1));
+        keys.add(new KeyInputEvent(key, (char)0, true, false));
+        keys.add(new KeyInputEvent(key, (char)0, false, false));
+        inputManager.update(0.016f);
+        return changes;
+    }
+
+    @Benchmark
+    public int idleFrame() {
+        inputManager.update(0.016f);
+        return changes;
+    }
+
+    /**
+     *  A KeyInput that delivers queued events during InputManager.update()
+     *  which is the only time that the InputManager accepts them.
+     */
+    private static class QueuedKeyInput extends DummyKeyInput {
+        private RawInputListener listener;
+        private List<KeyInputEvent> pending = new ArrayList<>();
+
+        public void add( KeyInputEvent event ) {
+            pending.add(event);
+        }
+
+        @Override
+        public void setInputListener( RawInputListener listener ) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void update() {
+            super.update();
+            for( KeyInputEvent event : pending ) {
+                listener.onKeyEvent(event);
+            }
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector3f;
+
+import com.simsilica.lemur.Axis;
+import com.simsilica.lemur.Container;
+import com.simsilica.lemur.FillMode;
+import com.simsilica.lemur.Panel;
+import com.simsilica.lemur.component.BoxLayout;
+import com.simsilica.lemur.component.SpringGridLayout;
+
+
+/**
+ *  Measures reshaping a single Container full of fixed size panels with
+ *  either a SpringGridLayout (as a grid) or a BoxLayout (as a column).
+ *
+ *  @author    agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LayoutBenchmark {
+
+    public static final int COLUMNS = 8;
+
+    @Param({"spring", "box"})
+    public String layout;
+
+    @Param({"16", "256"})
+    public int childCount;
+
+    private Container container;
+    private Vector3f small;
+    private Vector3f large;
+    private boolean toggle;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchGlobals.initialize();
+        if( "box".equals(layout) ) {
+            container = new Container(new BoxLayout(Axis.Y, FillMode.Even));
+            for( int i = 0; i < childCount; i++ ) {
+                container.addChild(new Panel(32, 16, ColorRGBA.Gray));
+            }
+        } else {
+            container = new Container(new SpringGridLayout(Axis.Y, Axis.X, FillMode.Even, FillMode.Even));
+            for( int i = 0; i < childCount; i++ ) {
+                container.addChild(new Panel(32, 16, ColorRGBA.Gray), i / COLUMNS, i % COLUMNS);
+            }
+        }
+        Vector3f pref = container.getPreferredSize();
+        small = pref.clone();
+        large = pref.mult(1.5f);
+    }
+
+    @Benchmark
+    public Vector3f reshape() {
+        toggle = !toggle;
+        container.setSize(toggle ? large : small);
+        return container.getSize();
+    }
+
+    @Benchmark
+    public Vector3f preferredSize() {
+        return container.getPreferredSize();
+    }
+}
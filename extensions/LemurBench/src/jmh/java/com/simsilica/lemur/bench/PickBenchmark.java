@@ -0,0 +1,126 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.math.ColorRGBA;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Node;
+
+import com.simsilica.lemur.Panel;
+import com.simsilica.lemur.event.CursorEventControl;
+import com.simsilica.lemur.event.DefaultCursorListener;
+import com.simsilica.lemur.event.PickEventSession;
+
+
+/**
+ *  Measures PickEventSession.cursorMoved() against a synthetic Gui bucket
+ *  root filled with a grid of listening panels.  The cursor visits a fixed
+ *  pseudo-random sequence of screen positions so that enter/exit events
+ *  are delivered as they would be for real mouse motion.
+ *
+ *  @author    agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PickBenchmark {
+
+    public static final int WIDTH = 1280;
+    public static final int HEIGHT = 720;
+
+    @Param({"100", "1000"})
+    public int targetCount;
+
+    @Param({"false", "true"})
+    public boolean pickIndex;
+
+    private PickEventSession session;
+    private int[] positions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchGlobals.initialize();
+
+        Node root = new Node("guiRoot");
+        root.setQueueBucket(Bucket.Gui);
+
+        int columns = (int)Math.ceil(Math.sqrt(targetCount * WIDTH / (double)HEIGHT));
+        int rows = (int)Math.ceil(targetCount / (double)columns);
+        float w = WIDTH / (float)columns;
+        float h = HEIGHT / (float)rows;
+        DefaultCursorListener listener = new DefaultCursorListener();
+        for( int i = 0; i < targetCount; i++ ) {
+            Panel panel = new Panel(w - 1, h - 1, ColorRGBA.Gray);
+            panel.setLocalTranslation((i % columns) * w, HEIGHT - (i / columns) * h, 0);
+            CursorEventControl.addListenersToSpatial(panel, listener);
+            root.attachChild(panel);
+        }
+
+        // Lay out the panels and update the bounds
+        root.updateLogicalState(0.016f);
+        root.updateGeometricState();
+
+        Camera cam = new Camera(WIDTH, HEIGHT);
+        ViewPort viewport = new ViewPort("bench", cam);
+
+        session = new PickEventSession();
+        session.setPickIndexEnabled(pickIndex);
+        session.addCollisionRoot(root, viewport);
+
+        Random random = new Random(42);
+        positions = new int[1024];
+        for( int i = 0; i < positions.length; i += 2 ) {
+            positions[i] = random.nextInt(WIDTH);
+            positions[i + 1] = random.nextInt(HEIGHT);
+        }
+    }
+
+    @Benchmark
+    public boolean cursorMoved() {
+        int i = next;
+        next = (next + 2) % positions.length;
+        return session.cursorMoved(positions[i], positions[i + 1]);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.math.ColorRGBA;
+
+import com.simsilica.lemur.Button;
+import com.simsilica.lemur.HAlignment;
+import com.simsilica.lemur.Insets3f;
+import com.simsilica.lemur.Label;
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.component.QuadBackgroundComponent;
+import com.simsilica.lemur.style.Attributes;
+import com.simsilica.lemur.style.ElementId;
+import com.simsilica.lemur.style.Styles;
+
+
+/**
+ *  Measures applying styles to an existing element and creating new
+ *  styled elements, which applies the styles as part of construction.
+ *
+ *  @author    agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StylesBenchmark {
+
+    public static final String STYLE = "bench";
+
+    private Styles styles;
+    private ElementId buttonId = new ElementId(Button.ELEMENT_ID);
+    private Label label;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchGlobals.initialize();
+        styles = GuiGlobals.getInstance().getStyles();
+
+        Attributes attrs = styles.getSelector(STYLE);
+        attrs.set("fontSize", 14f);
+        attrs.set("color", ColorRGBA.Yellow);
+
+        attrs = styles.getSelector(Button.ELEMENT_ID, STYLE);
+        attrs.set("background", new QuadBackgroundComponent(ColorRGBA.Blue));
+        attrs.set("insets", new Insets3f(2, 2, 2, 2));
+        attrs.set("textHAlignment", HAlignment.Center);
+
+        label = new Label("Existing", buttonId, STYLE);
+    }
+
+    @Benchmark
+    public Label applyToExisting() {
+        styles.applyStyles(label, buttonId, STYLE);
+        return label;
+    }
+
+    @Benchmark
+    public Button createButton() {
+        return new Button("Bench", buttonId, STYLE);
+    }
+
+    @Benchmark
+    public Label createLabel() {
+        return new Label("Bench", STYLE);
+    }
+}
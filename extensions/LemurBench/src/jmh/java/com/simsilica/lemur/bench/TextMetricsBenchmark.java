@@ -0,0 +1,117 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.font.BitmapFont;
+import com.jme3.font.BitmapText;
+import com.jme3.font.Rectangle;
+import com.jme3.math.Vector2f;
+
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.text.TextMetricsCache;
+
+
+/**
+ *  Measures TextMetricsCache hits and misses against the box resetting
+ *  that TextComponent used to do for its preferred size.  A miss still
+ *  assembles the scratch BitmapText's mesh because that is the only way
+ *  to get BitmapText's own letter layout, so the miss cost grows with
+ *  the length of the text.
+ *
+ *  @author    agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextMetricsBenchmark {
+
+    @Param({"16", "256"})
+    public int length;
+
+    private BitmapFont font;
+    private String text;
+    private TextMetricsCache cache;
+    private Vector2f store = new Vector2f();
+    private int counter;
+
+    private BitmapText bitmapText;
+    private Rectangle box;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchGlobals.initialize();
+        font = GuiGlobals.getInstance().loadFont("Interface/Fonts/Default.fnt");
+
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < length; i++ ) {
+            sb.append((char)('a' + (i % 26)));
+        }
+        text = sb.toString();
+        cache = new TextMetricsCache(1024);
+
+        bitmapText = new BitmapText(font);
+        bitmapText.setText(text);
+        box = new Rectangle(0, 0, 1000, 100);
+        bitmapText.setBox(box);
+    }
+
+    @Benchmark
+    public Vector2f cacheHit() {
+        return cache.getSize(font, 17, text, 0, store);
+    }
+
+    @Benchmark
+    public Vector2f cacheMiss() {
+        // The font size is part of the key so this misses every time
+        // without building new strings.
+        counter++;
+        return cache.getSize(font, 17 + (counter % 100000) * 0.001f, text, 0, store);
+    }
+
+    @Benchmark
+    public Vector2f resetBox() {
+        // What TextComponent.calculatePreferredSize() used to do
+        bitmapText.setBox(null);
+        store.set(bitmapText.getLineWidth(), bitmapText.getHeight());
+        bitmapText.setBox(box);
+        return store;
+    }
+}
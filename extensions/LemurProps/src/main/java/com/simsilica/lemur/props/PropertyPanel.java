@@ -50,6 +50,7 @@ import com.simsilica.lemur.Slider;
 import com.simsilica.lemur.component.BorderLayout;
 import com.simsilica.lemur.component.SpringGridLayout;
 import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.simsilica.lemur.core.VersionedObject;
 import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.style.ElementId;
@@ -278,7 +279,12 @@ public class PropertyPanel extends Panel
     public void updateLogicalState( float tpf ) {
         super.updateLogicalState(tpf);
         for( AbstractProperty p : getArray() ) {
-            p.update();
+            if( !p.isWatched() ) {
+                p.update();
+                // The scheduler may not have been initialized yet when
+                // the property started watching
+                p.rewatch();
+            }
         }
     }
 
@@ -421,6 +427,14 @@ public class PropertyPanel extends Panel
     protected abstract class AbstractProperty<T> implements Property<T> {
         private String name;
         private Access<T> access;
+        private GuiUpdateScheduler.Watch watch;
+        private VersionedObject<?> watched;
+        private final Runnable updater = new Runnable() {
+                @Override
+                public void run() {
+                    update();
+                }
+            };
         
         protected AbstractProperty( String name, Access<T> access ) {            
             this.name = name;
@@ -441,6 +455,30 @@ public class PropertyPanel extends Panel
             return access.getValue();
         }
  
+        /**
+         *  Arranges for update() to be called by the GuiUpdateScheduler
+         *  whenever the specified editor model changes.  Properties that
+         *  are not watched are updated by the panel every frame.
+         */
+        protected void watch( VersionedObject<?> model ) {
+            watched = model;
+            watch = GuiUpdateScheduler.rewatch(watch, model, updater);
+        }
+
+        /**
+         *  Retries watching the model passed to watch() if the
+         *  GuiUpdateScheduler was not available at the time.
+         */
+        protected void rewatch() {
+            if( watch == null && watched != null ) {
+                watch = GuiUpdateScheduler.rewatch(null, watched, updater);
+            }
+        }
+
+        protected boolean isWatched() {
+            return watch != null;
+        }
+
         public abstract void initialize( Container container );
     
         public abstract void update();
@@ -464,6 +502,7 @@ public class PropertyPanel extends Panel
             check = new Checkbox("", getElementId().child("boolean.checkbox"), getStyle());
             check.setChecked(getValue());
             value = check.getModel().createReference();
+            watch(check.getModel());
             container.addChild(label);
             container.addChild(check, 1); 
         }
@@ -510,6 +549,7 @@ public class PropertyPanel extends Panel
             updateText();
                         
             value = slider.getModel().createReference();
+            watch(slider.getModel());
             container.addChild(label);
             container.addChild(valueText, 1); 
             container.addChild(slider, 2); 
@@ -563,6 +603,7 @@ public class PropertyPanel extends Panel
             updateText();
                         
             value = slider.getModel().createReference();
+            watch(slider.getModel());
             container.addChild(label);
             container.addChild(valueText, 1); 
             container.addChild(slider, 2); 
@@ -616,6 +657,7 @@ public class PropertyPanel extends Panel
             updateText();
                         
             value = slider.getModel().createReference();
+            watch(slider.getModel());
             container.addChild(label);
             container.addChild(valueText, 1); 
             container.addChild(slider, 2); 
@@ -668,6 +710,7 @@ public class PropertyPanel extends Panel
             updateText();
                         
             value = slider.getModel().createReference();
+            watch(slider.getModel());
             container.addChild(label);
             container.addChild(valueText, 1); 
             container.addChild(slider, 2); 
@@ -38,6 +38,7 @@ package com.simsilica.lemur;
 
 import com.simsilica.lemur.core.GuiComponent;
 import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.style.ElementId;
 
@@ -54,6 +55,13 @@ public class ActionButton extends Button {
     
     private Action action;
     private VersionedReference<Action> actionRef;
+    private GuiUpdateScheduler.Watch actionWatch; // null if we must poll
+    private final Runnable actionUpdater = new Runnable() {
+            @Override
+            public void run() {
+                updateAction();
+            }
+        };
     
     public ActionButton( Action action ) {
         this(action, new ElementId(ELEMENT_ID), null);
@@ -91,6 +99,7 @@ public class ActionButton extends Button {
         }
         this.action = action;
         this.actionRef = action == null ? null : action.createReference();
+        this.actionWatch = GuiUpdateScheduler.rewatch(actionWatch, action, actionUpdater);
         updateButton();
     }
     
@@ -101,6 +110,15 @@ public class ActionButton extends Button {
     @Override
     public void updateLogicalState( float tpf ) {
         super.updateLogicalState(tpf);
+        if( actionWatch == null ) {
+            updateAction();
+            // The scheduler may not have been initialized yet when
+            // we started watching
+            actionWatch = GuiUpdateScheduler.rewatch(null, action, actionUpdater);
+        }
+    }
+
+    protected void updateAction() {
         if( actionRef != null && actionRef.update() ) {
             updateButton();
         }
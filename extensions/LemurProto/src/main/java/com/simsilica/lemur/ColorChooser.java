@@ -47,6 +47,7 @@ import com.simsilica.lemur.component.BorderLayout;
 import com.simsilica.lemur.component.QuadBackgroundComponent;
 import com.simsilica.lemur.component.SpringGridLayout;
 import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.simsilica.lemur.core.VersionedHolder;
 import com.simsilica.lemur.core.VersionedObject;
 import com.simsilica.lemur.core.VersionedReference;
@@ -94,6 +95,27 @@ public class ColorChooser extends Panel {
     private QuadBackgroundComponent swatchComponent;
     private Slider brightness;
     private VersionedReference brightnessRef;
+    
+    // Null if there is no update scheduler, in which case the references
+    // are checked every frame.
+    private GuiUpdateScheduler.Watch modelWatch;
+    private GuiUpdateScheduler.Watch brightnessWatch;
+    private final Runnable modelUpdater = new Runnable() {
+            @Override
+            public void run() {
+                if( modelRef.update() ) {
+                    updateColorView();
+                }
+            }
+        };
+    private final Runnable brightnessUpdater = new Runnable() {
+            @Override
+            public void run() {
+                if( brightnessRef.update() ) {
+                    updateBrightness();
+                }
+            }
+        };
 
     /**
      * @since 1.16.1-SNAPSHOT
@@ -134,6 +156,7 @@ public class ColorChooser extends Panel {
         brightness = new Slider(Axis.Y, elementId.child(BRIGHTNESS_ID), style);
         layout.addChild(brightness, 1);
         brightnessRef = brightness.getModel().createReference();
+        brightnessWatch = GuiUpdateScheduler.rewatch(null, brightness.getModel(), brightnessUpdater);
 
         value = new Panel(elementId.child(VALUE_ID), style);
         value.setPreferredSize(new Vector3f(64, 64, 0));
@@ -158,6 +181,7 @@ public class ColorChooser extends Panel {
         }
         this.model = model;
         modelRef = model.createReference();
+        modelWatch = GuiUpdateScheduler.rewatch(modelWatch, model, modelUpdater);
         updateColorView();
     }
 
@@ -179,11 +203,15 @@ public class ColorChooser extends Panel {
     @Override
     public void updateLogicalState( float tpf ) {
         super.updateLogicalState(tpf);
-        if( modelRef.update() ) {
-            updateColorView();
+        // The scheduler may not have been initialized yet when
+        // we started watching so keep polling and retry until it is
+        if( modelWatch == null ) {
+            modelUpdater.run();
+            modelWatch = GuiUpdateScheduler.rewatch(null, model, modelUpdater);
         }
-        if( brightnessRef.update() ) {
-            updateBrightness();
+        if( brightnessWatch == null ) {
+            brightnessUpdater.run();
+            brightnessWatch = GuiUpdateScheduler.rewatch(null, brightness.getModel(), brightnessUpdater);
         }
     }
 
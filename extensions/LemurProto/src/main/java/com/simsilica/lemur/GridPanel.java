@@ -37,9 +37,12 @@
 package com.simsilica.lemur;
 
 import com.jme3.scene.Node;
+import com.simsilica.lemur.grid.ChangeTrackingGridModel;
 import com.simsilica.lemur.grid.GridModel;
+import com.simsilica.lemur.grid.GridRegion;
 import com.simsilica.lemur.component.SpringGridLayout;
 import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.style.Attributes;
 import com.simsilica.lemur.style.ElementId;
@@ -57,6 +60,13 @@ public class GridPanel extends Panel {
  
     private GridModel<Panel> model;
     private VersionedReference<GridModel<Panel>> modelRef;
+    private GuiUpdateScheduler.Watch modelWatch; // null if we must poll
+    private final Runnable modelUpdater = new Runnable() {
+            @Override
+            public void run() {
+                updateModel();
+            }
+        };
     private SpringGridLayout layout;
     private int visibleRows = 5;
     private int visibleColumns = 5;
@@ -110,6 +120,7 @@ public class GridPanel extends Panel {
         }
         
         this.model = model;
+        this.modelWatch = GuiUpdateScheduler.rewatch(modelWatch, model, modelUpdater);
         
         if( this.model != null ) {
             this.modelRef = model.createReference(); 
@@ -188,9 +199,31 @@ public class GridPanel extends Panel {
             getControl(GuiControl.class).getLayout().clearChildren();
             return;
         }
+        refreshCells(row, row + visibleRows, column, column + visibleColumns);
+    }
 
-        for( int r = row; r < row + visibleRows; r++ ) {
-            for( int c = column; c < column + visibleColumns; c++ ) {                
+    /**
+     *  Refreshes only the visible cells within the specified region.
+     *  The max row and column are exclusive.
+     */
+    protected void refreshRegion( GridRegion region ) {
+        if( model == null ) {
+            getControl(GuiControl.class).getLayout().clearChildren();
+            return;
+        }
+        int minRow = Math.max(row, region.getMinRow());
+        int maxRow = (int)Math.min((long)row + visibleRows, region.getMaxRow());
+        int minCol = Math.max(column, region.getMinColumn());
+        int maxCol = (int)Math.min((long)column + visibleColumns, region.getMaxColumn());
+        if( minRow >= maxRow || minCol >= maxCol ) {
+            return;
+        }
+        refreshCells(minRow, maxRow, minCol, maxCol);
+    }
+
+    private void refreshCells( int minRow, int maxRow, int minCol, int maxCol ) {
+        for( int r = minRow; r < maxRow; r++ ) {
+            for( int c = minCol; c < maxCol; c++ ) {                
                 Node existing = layout.getChild(r-row, c-column);
                 if( r < 0 || r >= model.getRowCount() || c < 0 || c >= model.getColumnCount() ) {
                     // Out of bounds
@@ -213,8 +246,31 @@ public class GridPanel extends Panel {
     public void updateLogicalState( float tpf ) {
         super.updateLogicalState(tpf);
  
-        if( modelRef.update() ) {
-            refreshGrid();
+        if( modelWatch == null ) {
+            updateModel();
+            // The scheduler may not have been initialized yet when
+            // we started watching
+            modelWatch = GuiUpdateScheduler.rewatch(null, model, modelUpdater);
+        }
+    }
+
+    /**
+     *  Refreshes the cells affected by any model changes since the
+     *  last update.  Called by the GuiUpdateScheduler when the model
+     *  changes or every frame if there is no scheduler.
+     */
+    protected void updateModel() {
+        if( modelRef != null && modelRef.needsUpdate() ) {
+            GridRegion changed = null;
+            if( model instanceof ChangeTrackingGridModel ) {
+                changed = ((ChangeTrackingGridModel<Panel>)model).getChangedRegion(modelRef.getLastVersion());
+            }
+            modelRef.update();
+            if( changed == null ) {
+                refreshGrid();
+            } else {
+                refreshRegion(changed);
+            }
         }
     }
     
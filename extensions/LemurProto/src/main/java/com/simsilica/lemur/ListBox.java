@@ -49,7 +49,9 @@ import com.jme3.scene.*;
 import com.simsilica.lemur.component.*;
 import com.simsilica.lemur.core.*;
 import com.simsilica.lemur.event.*;
+import com.simsilica.lemur.grid.ChangeTrackingGridModel;
 import com.simsilica.lemur.grid.GridModel;
+import com.simsilica.lemur.grid.GridRegion;
 import com.simsilica.lemur.list.*;
 import com.simsilica.lemur.style.*;
 
@@ -99,6 +101,14 @@ public class ListBox<T> extends Panel {
     private RangedValueModel baseIndex;  // upside down actually
     private VersionedReference<Double> indexRef;
     private int maxIndex;
+
+    // Null if there is no update scheduler, in which case the references
+    // are checked every frame.
+    private GuiUpdateScheduler.Watch modelWatch;
+    private GuiUpdateScheduler.Watch indexWatch;
+    private GuiUpdateScheduler.Watch selectionWatch;
+    private final Runnable modelUpdater = new ModelUpdater();
+    private final Runnable selectorUpdater = new SelectorUpdater();
     
     /**
      *  Set to true the mouse wheel will scroll the list if the mouse
@@ -168,6 +178,7 @@ public class ListBox<T> extends Panel {
  
         baseIndex = new DefaultRangedValueModel();
         indexRef = baseIndex.createReference();
+        indexWatch = GuiUpdateScheduler.rewatch(null, baseIndex, selectorUpdater);
         slider = new Slider(baseIndex, Axis.Y, elementId.child(SLIDER_ID), style);
         layout.addChild(slider, BorderLayout.Position.East);
  
@@ -210,10 +221,34 @@ public class ListBox<T> extends Panel {
     public void updateLogicalState( float tpf ) {
         super.updateLogicalState(tpf);
         
+        // The scheduler may not have been initialized yet when
+        // we started watching so keep polling and retry until it is
+        if( modelWatch == null ) {
+            updateModelRange();
+            modelWatch = GuiUpdateScheduler.rewatch(null, model, modelUpdater);
+        }
+        if( indexWatch == null || selectionWatch == null ) {
+            updateSelector();
+            if( indexWatch == null ) {
+                indexWatch = GuiUpdateScheduler.rewatch(null, baseIndex, selectorUpdater);
+            }
+            if( selectionWatch == null ) {
+                selectionWatch = GuiUpdateScheduler.rewatch(null, selection, selectorUpdater);
+            }
+        }
+        
+        if( activated != entered ) {
+            refreshActivation();
+        }
+    }
+
+    protected void updateModelRange() {
         if( modelRef.update() ) {
             resetModelRange();
         }
- 
+    }
+
+    protected void updateSelector() {
         boolean indexUpdate = indexRef.update();
         boolean selectionUpdate = selectionRef.update();         
         if( indexUpdate ) {
@@ -223,10 +258,6 @@ public class ListBox<T> extends Panel {
         if( selectionUpdate || indexUpdate ) {
             refreshSelector();
         }
-        
-        if( activated != entered ) {
-            refreshActivation();
-        }
     }
 
     protected void gridResized( Vector3f pos, Vector3f size ) {
@@ -258,6 +289,7 @@ public class ListBox<T> extends Panel {
         
         this.model = model;
         this.modelRef = model.createReference();
+        this.modelWatch = GuiUpdateScheduler.rewatch(modelWatch, model, modelUpdater);
         
         grid.setLocation(0,0);
         grid.setModel(new GridModelDelegate());  // need a new one for a new version
@@ -288,6 +320,7 @@ public class ListBox<T> extends Panel {
         }
         this.selection = selection;
         this.selectionRef = selection.createReference();
+        this.selectionWatch = GuiUpdateScheduler.rewatch(selectionWatch, selection, selectorUpdater);
         refreshSelector();
     }
     
@@ -630,6 +663,20 @@ public class ListBox<T> extends Panel {
         }
     } 
 
+    private class ModelUpdater implements Runnable {
+        @Override
+        public void run() {
+            updateModelRange();
+        }
+    }
+
+    private class SelectorUpdater implements Runnable {
+        @Override
+        public void run() {
+            updateSelector();
+        }
+    }
+
     private class GridListener extends AbstractGuiControlListener {
         public void reshape( GuiControl source, Vector3f pos, Vector3f size ) {
             gridResized(pos, size);
@@ -640,7 +687,12 @@ public class ListBox<T> extends Panel {
         }
     }
     
-    protected class GridModelDelegate implements GridModel<Panel> {
+    protected class GridModelDelegate implements ChangeTrackingGridModel<Panel>,
+                                                 ObservableVersionedObject<GridModel<Panel>> {
+
+        // The list this delegate was created for, so that listeners are
+        // removed from the right list even after setModel()
+        private final VersionedList<T> list = model;
         
         @Override
         public int getRowCount() {
@@ -670,11 +722,46 @@ public class ListBox<T> extends Panel {
             return model == null ? 0 : model.getVersion();
         }
 
+        @Override
+        public GridRegion getChangedRegion( long sinceVersion ) {
+            if( model == null ) {
+                return null;
+            }
+            List<ListChange> changes = model.getChanges(sinceVersion);
+            if( changes == null ) {
+                return null;
+            }
+            GridRegion result = GridRegion.rows(0, 0);
+            for( ListChange change : changes ) {
+                result = result.union(GridRegion.rows(change.getMinAffectedIndex(),
+                                                      change.getMaxAffectedIndex()));
+            }
+            return result;
+        }
+
         @Override
         public GridModel<Panel> getObject() { 
             return this;
         }
 
+        /**
+         *  Forwards to the list model.  Note that the listener
+         *  will see the list as the source of the change.
+         */
+        @Override
+        public void addVersionedListener( VersionedListener l ) {
+            if( list != null ) {
+                list.addVersionedListener(l);
+            }
+        }
+
+        @Override
+        public void removeVersionedListener( VersionedListener l ) {
+            if( list != null ) {
+                list.removeVersionedListener(l);
+            }
+        }
+
         @Override
         public VersionedReference<GridModel<Panel>> createReference() { 
             return new VersionedReference<GridModel<Panel>>(this);
@@ -98,6 +98,13 @@ public class Spinner<T> extends Panel {
  
     private SequenceModel<T> model;
     private VersionedReference<T> modelRef;
+    private GuiUpdateScheduler.Watch modelWatch; // null if we must poll
+    private final Runnable valueUpdater = new Runnable() {
+            @Override
+            public void run() {
+                updateValue();
+            }
+        };
     
     private ValueRenderer<T> valueRenderer;
     private ValueEditor<T> valueEditor;
@@ -194,8 +201,11 @@ public class Spinner<T> extends Panel {
     public void updateLogicalState(float tpf) {
         super.updateLogicalState(tpf);
 
-        if( modelRef == null || modelRef.update() ) {
-            resetValue();
+        if( modelWatch == null ) {
+            updateValue();
+            // The scheduler may not have been initialized yet when
+            // we started watching
+            modelWatch = GuiUpdateScheduler.rewatch(null, model, valueUpdater);
         }
         if( valueEditor != null ) {
             if( edit != null && !valueEditor.updateState(tpf) ) {
@@ -209,6 +219,18 @@ public class Spinner<T> extends Panel {
             return;
         this.model = model;
         this.modelRef = null;
+        this.modelWatch = GuiUpdateScheduler.rewatch(modelWatch, model, valueUpdater);
+        if( modelWatch != null ) {
+            // Make sure the view gets initialized even if the model
+            // never changes
+            modelWatch.schedule();
+        }
+    }
+
+    protected void updateValue() {
+        if( modelRef == null || modelRef.update() ) {
+            resetValue();
+        }
     }
 
     public SequenceModel<T> getModel() {
@@ -0,0 +1,463 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ *  A VersionedList that can be modified from any thread.  Modifications
+ *  are collected into batches that are published all at once.  Published
+ *  batches become visible to the render thread atomically the next time
+ *  the version is checked, usually by VersionedReference.update(), and
+ *  show up in getChanges() just like direct modifications of a regular
+ *  VersionedList.
+ *
+ *  <p>Producer threads call edit() to start a Batch, add operations to it,
+ *  and then call publish().  Indexes in a batch are relative to the
+ *  contents as of all previously published batches, which producers
+ *  can see through getPublished().  The regular List mutators are also
+ *  safe to call from any thread but each one is published as its own
+ *  single-operation batch.</p>
+ *
+ *  <p>Reads through the List interface (get(), size(), iterator(), etc.)
+ *  and getVersion() should only be done from the render thread.  As a
+ *  consequence, changes made through the List interface are never visible
+ *  immediately, even on the render thread, and mutating through an
+ *  iterator is not supported.</p>
+ *
+ *  <p>Published contents are copied at most once per frame: the first
+ *  publish after the render thread picks up the previous contents makes
+ *  a new copy that later batches modify in place until it is picked up.</p>
+ *
+ *  @author    agent
+ */
+public class ConcurrentVersionedList<T> extends VersionedList<T> {
+
+    private final Object lock = new Object();
+
+    // All guarded by lock
+    private List<T> published;
+    private boolean publishedShared;
+    private List<Op<T>> pending;
+
+    private volatile boolean hasPending;
+
+    public ConcurrentVersionedList() {
+        this(new ArrayList<T>());
+    }
+
+    public ConcurrentVersionedList( Collection<? extends T> items ) {
+        this(new ArrayList<T>(items));
+    }
+
+    private ConcurrentVersionedList( ArrayList<T> items ) {
+        super(items, false);
+        this.published = items;
+        this.publishedShared = true;
+    }
+
+    /**
+     *  Starts a new batch of modifications that will be published
+     *  atomically.  A Batch itself is not thread safe and should be used
+     *  by one thread at a time.
+     */
+    public Batch edit() {
+        return new Batch();
+    }
+
+    /**
+     *  Returns a read-only view of the contents as of the last published
+     *  batch.  This may be ahead of what the render thread currently sees
+     *  and is safe to call from any thread.
+     */
+    public List<T> getPublished() {
+        synchronized( lock ) {
+            publishedShared = true;
+            return Collections.unmodifiableList(published);
+        }
+    }
+
+    /**
+     *  Returns true if there are published changes that the render
+     *  thread has not picked up yet.
+     */
+    public boolean hasPendingChanges() {
+        return hasPending;
+    }
+
+    /**
+     *  Makes any published changes visible to this list, incrementing
+     *  the version and recording the changes.  Returns true if there were
+     *  changes to apply.  This is called automatically by getVersion()
+     *  and should only be called from the render thread.
+     */
+    public boolean applyChanges() {
+        if( !hasPending ) {
+            return false;
+        }
+        List<T> contents;
+        List<Op<T>> ops;
+        synchronized( lock ) {
+            contents = published;
+            ops = pending;
+            pending = null;
+            hasPending = false;
+            publishedShared = true;
+        }
+        if( ops == null ) {
+            return false;
+        }
+        setBackingList(contents);
+        for( Op<T> op : ops ) {
+            recordChange(op.type, op.index, op.count, op.toIndex);
+        }
+        return true;
+    }
+
+    /**
+     *  Listeners are notified when a batch is published rather than
+     *  when the render thread applies it, so the version changes
+     *  recorded by applyChanges() do not notify again.
+     */
+    @Override
+    protected void fireVersionChanged() {
+    }
+
+    @Override
+    public long getVersion() {
+        applyChanges();
+        return super.getVersion();
+    }
+
+    @Override
+    public List<ListChange> getChanges( long sinceVersion ) {
+        applyChanges();
+        return super.getChanges(sinceVersion);
+    }
+
+    /**
+     *  Publishes the set as its own batch.  Returns the previous
+     *  value as of the last published batch rather than the value
+     *  currently visible to the render thread.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T set( int i, T val ) {
+        return (T)publish(Collections.singletonList(Op.set(i, val)));
+    }
+
+    @Override
+    public boolean add( T val ) {
+        publish(Collections.singletonList(Op.insert(-1, Collections.singletonList(val))));
+        return true;
+    }
+
+    @Override
+    public void add( int i, T val ) {
+        publish(Collections.singletonList(Op.insert(i, Collections.singletonList(val))));
+    }
+
+    @Override
+    public boolean addAll( Collection<? extends T> items ) {
+        return addAll(-1, items);
+    }
+
+    @Override
+    public boolean addAll( int i, Collection<? extends T> items ) {
+        if( items.isEmpty() ) {
+            return false;
+        }
+        publish(Collections.singletonList(Op.insert(i, new ArrayList<T>(items))));
+        return true;
+    }
+
+    /**
+     *  Publishes the removal as its own batch.  Returns the removed
+     *  value as of the last published batch.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T remove( int i ) {
+        return (T)publish(Collections.singletonList(Op.<T>remove(i, i + 1)));
+    }
+
+    @Override
+    protected void removeRange( int fromIndex, int toIndex ) {
+        publish(Collections.singletonList(Op.<T>remove(fromIndex, toIndex)));
+    }
+
+    @Override
+    public void clear() {
+        publish(Collections.singletonList(Op.<T>clear()));
+    }
+
+    @Override
+    public void move( int fromIndex, int toIndex ) {
+        publish(Collections.singletonList(Op.<T>move(fromIndex, toIndex)));
+    }
+
+    /**
+     *  Validates the operations against the published contents and
+     *  then applies them, returning the result of the last operation.
+     *  Either all of the operations are published or none of them are.
+     */
+    protected Object publish( List<Op<T>> ops ) {
+        Object result = null;
+        synchronized( lock ) {
+            // Resolve appends and clears to real ranges and validate the
+            // indexes before touching anything
+            List<Op<T>> resolved = new ArrayList<>(ops.size());
+            int size = published.size();
+            for( Op<T> op : ops ) {
+                Op<T> r = op.resolve(size);
+                size = r.check(size);
+                if( r.isEmpty() ) {
+                    continue;
+                }
+                resolved.add(r);
+            }
+            if( resolved.isEmpty() ) {
+                return null;
+            }
+
+            if( publishedShared ) {
+                published = new ArrayList<T>(published);
+                publishedShared = false;
+            }
+            for( Op<T> op : resolved ) {
+                result = op.applyTo(published);
+            }
+            if( pending == null ) {
+                pending = new ArrayList<>();
+            }
+            pending.addAll(resolved);
+            hasPending = true;
+        }
+        // Notify outside of the lock.  The render thread will apply the
+        // changes when the listeners get around to checking the version.
+        super.fireVersionChanged();
+        return result;
+    }
+
+    /**
+     *  A set of modifications that are made visible all at once
+     *  when published.
+     */
+    public class Batch {
+        private List<Op<T>> ops = new ArrayList<>();
+
+        protected Batch() {
+        }
+
+        public Batch add( T value ) {
+            ops.add(Op.insert(-1, Collections.singletonList(value)));
+            return this;
+        }
+
+        public Batch add( int index, T value ) {
+            ops.add(Op.insert(index, Collections.singletonList(value)));
+            return this;
+        }
+
+        public Batch addAll( Collection<? extends T> values ) {
+            return addAll(-1, values);
+        }
+
+        public Batch addAll( int index, Collection<? extends T> values ) {
+            if( !values.isEmpty() ) {
+                ops.add(Op.insert(index, new ArrayList<T>(values)));
+            }
+            return this;
+        }
+
+        public Batch set( int index, T value ) {
+            ops.add(Op.set(index, value));
+            return this;
+        }
+
+        public Batch remove( int index ) {
+            ops.add(Op.<T>remove(index, index + 1));
+            return this;
+        }
+
+        public Batch removeRange( int fromIndex, int toIndex ) {
+            ops.add(Op.<T>remove(fromIndex, toIndex));
+            return this;
+        }
+
+        public Batch move( int fromIndex, int toIndex ) {
+            ops.add(Op.<T>move(fromIndex, toIndex));
+            return this;
+        }
+
+        public Batch clear() {
+            ops.add(Op.<T>clear());
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return ops.isEmpty();
+        }
+
+        /**
+         *  Publishes all of the operations in this batch and resets it so
+         *  that it can be reused.  Throws IndexOutOfBoundsException without
+         *  publishing anything if any of the operations is out of range.
+         */
+        public void publish() {
+            if( ops.isEmpty() ) {
+                return;
+            }
+            List<Op<T>> toPublish = ops;
+            ops = new ArrayList<>();
+            ConcurrentVersionedList.this.publish(toPublish);
+        }
+    }
+
+    protected static class Op<T> {
+        final ListChange.Type type;
+        final int index;    // -1 means 'at the end' for inserts
+        final int count;    // -1 means 'everything' for removes
+        final int toIndex;
+        final List<T> values;
+
+        private Op( ListChange.Type type, int index, int count, int toIndex, List<T> values ) {
+            this.type = type;
+            this.index = index;
+            this.count = count;
+            this.toIndex = toIndex;
+            this.values = values;
+        }
+
+        static <T> Op<T> insert( int index, List<T> values ) {
+            return new Op<T>(ListChange.Type.Insert, index, values.size(), -1, values);
+        }
+
+        static <T> Op<T> set( int index, T value ) {
+            return new Op<T>(ListChange.Type.Set, index, 1, -1, Collections.singletonList(value));
+        }
+
+        static <T> Op<T> remove( int fromIndex, int toIndex ) {
+            if( fromIndex > toIndex ) {
+                throw new IndexOutOfBoundsException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+            }
+            return new Op<T>(ListChange.Type.Remove, fromIndex, toIndex - fromIndex, -1, null);
+        }
+
+        static <T> Op<T> clear() {
+            return new Op<T>(ListChange.Type.Remove, 0, -1, -1, null);
+        }
+
+        static <T> Op<T> move( int fromIndex, int toIndex ) {
+            return new Op<T>(ListChange.Type.Move, fromIndex, 1, toIndex, null);
+        }
+
+        /**
+         *  Returns an op with appends and clears converted to real
+         *  indexes for a list of the specified size.
+         */
+        Op<T> resolve( int size ) {
+            if( type == ListChange.Type.Insert && index == -1 ) {
+                return new Op<T>(type, size, count, toIndex, values);
+            }
+            if( type == ListChange.Type.Remove && count == -1 ) {
+                return new Op<T>(type, 0, size, toIndex, values);
+            }
+            return this;
+        }
+
+        boolean isEmpty() {
+            return count == 0 || (type == ListChange.Type.Move && index == toIndex);
+        }
+
+        /**
+         *  Checks the indexes against the specified list size and returns
+         *  the size of the list after the operation.
+         */
+        int check( int size ) {
+            switch( type ) {
+                case Insert:
+                    checkIndex(index, size + 1, size);
+                    return size + count;
+                case Remove:
+                    checkIndex(index, size + 1, size);
+                    checkIndex(index + count, size + 1, size);
+                    return size - count;
+                case Set:
+                    checkIndex(index, size, size);
+                    return size;
+                case Move:
+                    checkIndex(index, size, size);
+                    checkIndex(toIndex, size, size);
+                    return size;
+                default:
+                    throw new IllegalStateException("Unknown type:" + type);
+            }
+        }
+
+        private static void checkIndex( int i, int limit, int size ) {
+            if( i < 0 || i >= limit ) {
+                throw new IndexOutOfBoundsException("Index:" + i + ", Size:" + size);
+            }
+        }
+
+        Object applyTo( List<T> list ) {
+            switch( type ) {
+                case Insert:
+                    list.addAll(index, values);
+                    return null;
+                case Remove:
+                    if( count == 1 ) {
+                        return list.remove(index);
+                    }
+                    list.subList(index, index + count).clear();
+                    return null;
+                case Set:
+                    return list.set(index, values.get(0));
+                case Move:
+                    list.add(toIndex, list.remove(index));
+                    return null;
+                default:
+                    throw new IllegalStateException("Unknown type:" + type);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+
+/**
+ *  Describes one structural change to a VersionedList.  The list keeps
+ *  one ListChange per version.  When asked for the changes since an older
+ *  version, consecutive compatible changes, like repeated appends or sets
+ *  of neighboring items, are returned coalesced into a single ListChange
+ *  that covers the whole range of versions involved.  ListChanges are
+ *  immutable.
+ *
+ *  @author    agent
+ */
+public class ListChange {
+
+    public enum Type {
+        /**
+         *  'count' items were inserted starting at 'index'.  Items
+         *  previously at or after 'index' were shifted up by 'count'.
+         */
+        Insert,
+
+        /**
+         *  'count' items were removed starting at 'index'.  Items
+         *  previously after the removed range were shifted down by 'count'.
+         */
+        Remove,
+
+        /**
+         *  'count' items starting at 'index' were replaced.
+         */
+        Set,
+
+        /**
+         *  The item at 'index' was moved to 'toIndex'.  Items between
+         *  the two were shifted by one to make room.
+         */
+        Move
+    };
+
+    private final Type type;
+    private final int index;
+    private final int count;
+    private final int toIndex;
+    private final long startVersion;
+    private final long endVersion;
+
+    protected ListChange( Type type, int index, int count, int toIndex,
+                          long startVersion, long endVersion ) {
+        this.type = type;
+        this.index = index;
+        this.count = count;
+        this.toIndex = toIndex;
+        this.startVersion = startVersion;
+        this.endVersion = endVersion;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     *  Returns the first index affected by this change.  For a Move
+     *  this is the original index of the moved item.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     *  Returns the number of items inserted, removed, or set.  This is
+     *  always 1 for a Move.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     *  Returns the destination index of a Move or -1 for other types.
+     */
+    public int getToIndex() {
+        return toIndex;
+    }
+
+    /**
+     *  Returns the lowest index whose value may be different after
+     *  this change.
+     */
+    public int getMinAffectedIndex() {
+        return type == Type.Move ? Math.min(index, toIndex) : index;
+    }
+
+    /**
+     *  Returns one past the highest index whose value may be different
+     *  after this change.  Inserts and removes shift everything after them
+     *  so they return Integer.MAX_VALUE.
+     */
+    public int getMaxAffectedIndex() {
+        switch( type ) {
+            case Set:
+                return index + count;
+            case Move:
+                return Math.max(index, toIndex) + 1;
+            default:
+                return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     *  Returns the list version just before this change was applied.
+     */
+    public long getStartVersion() {
+        return startVersion;
+    }
+
+    /**
+     *  Returns the list version just after this change was applied.
+     */
+    public long getEndVersion() {
+        return endVersion;
+    }
+
+    /**
+     *  Returns a new change that covers both this change and the next
+     *  one or null if they can't be combined.  Neither change is modified,
+     *  ie: changes that have already been handed out stay as they were.
+     */
+    protected ListChange merge( ListChange next ) {
+        if( next.type != type || next.startVersion != endVersion ) {
+            return null;
+        }
+        int newIndex = index;
+        int newCount;
+        switch( type ) {
+            case Insert:
+                // Appending to, or prepending to, the inserted range
+                if( next.index < index || next.index > index + count ) {
+                    return null;
+                }
+                newCount = count + next.count;
+                break;
+            case Remove:
+                // Removing more items right at the removed range or just
+                // before it (as when deleting backwards)
+                if( next.index == index ) {
+                    newCount = count + next.count;
+                } else if( next.index + next.count == index ) {
+                    newIndex = next.index;
+                    newCount = count + next.count;
+                } else {
+                    return null;
+                }
+                break;
+            case Set:
+                // Overlapping or touching ranges
+                if( next.index > index + count || next.index + next.count < index ) {
+                    return null;
+                }
+                int end = Math.max(index + count, next.index + next.count);
+                newIndex = Math.min(index, next.index);
+                newCount = end - newIndex;
+                break;
+            default:
+                return null;
+        }
+        return new ListChange(type, newIndex, newCount, toIndex, startVersion, next.endVersion);
+    }
+
+    @Override
+    public String toString() {
+        return "ListChange[" + type + ", index=" + index + ", count=" + count
+                + (type == Type.Move ? ", toIndex=" + toIndex : "")
+                + ", versions=" + startVersion + "->" + endVersion + "]";
+    }
+}
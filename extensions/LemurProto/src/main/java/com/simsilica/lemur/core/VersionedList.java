@@ -37,18 +37,31 @@
 package com.simsilica.lemur.core;
 
 import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 
 /**
+ *  A List implementation that increments a version every time it
+ *  is modified.  In addition to the version, the list keeps a short
+ *  history of ListChanges that callers holding an older version can
+ *  use to find out which indexes actually changed.
  *
  *  @author    Paul Speed
  */
 public class VersionedList<T> extends AbstractList<T>
-                              implements VersionedObject<List<T>> {
+                              implements ObservableVersionedObject<List<T>> {
+    private static final int DEFAULT_HISTORY_SIZE = 256;
+
     private long version = 0;
     private List<T> list;
+    private ArrayDeque<ListChange> changes = new ArrayDeque<ListChange>();
+    private int maxHistory = DEFAULT_HISTORY_SIZE;
+    private final VersionedListenerList listeners = new VersionedListenerList();
     
     protected VersionedList( List<T> items, boolean copy ) {
         if( copy ) {
@@ -81,6 +94,138 @@ public class VersionedList<T> extends AbstractList<T>
     
     protected void incrementVersion() {
         version++;
+        fireVersionChanged();
+    }
+
+    /**
+     *  Notifies any VersionedListeners that this list's version
+     *  has changed.
+     */
+    protected void fireVersionChanged() {
+        listeners.fire(this);
+    }
+
+    @Override
+    public void addVersionedListener( VersionedListener l ) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeVersionedListener( VersionedListener l ) {
+        listeners.remove(l);
+    }
+
+    /**
+     *  Replaces the list that backs this VersionedList without changing
+     *  the version or recording any changes.  This is for subclasses that
+     *  prepare new contents elsewhere and then swap them in all at once,
+     *  recording the appropriate changes themselves.
+     */
+    protected void setBackingList( List<T> list ) {
+        this.list = list;
+    }
+
+    /**
+     *  Increments the version and records the change in the change
+     *  history.  Each version gets its own entry so that a caller holding
+     *  any recorded version can be told exactly what changed since.
+     */
+    protected void recordChange( ListChange.Type type, int index, int count, int toIndex ) {
+        // Record the change before incrementing so that listeners
+        // see the complete history
+        long start = version;
+        changes.addLast(new ListChange(type, index, count, toIndex, start, start + 1));
+        while( changes.size() > maxHistory ) {
+            changes.removeFirst();
+        }
+        incrementVersion();
+    }
+
+    /**
+     *  Sets the maximum number of changes, ie: versions, that are kept
+     *  in the change history.  Defaults to 256.
+     */
+    public void setMaxChangeHistory( int maxHistory ) {
+        this.maxHistory = Math.max(0, maxHistory);
+        while( changes.size() > this.maxHistory ) {
+            changes.removeFirst();
+        }
+    }
+
+    public int getMaxChangeHistory() {
+        return maxHistory;
+    }
+
+    /**
+     *  Returns the changes made to this list since the specified version,
+     *  oldest first and with consecutive compatible changes coalesced, or null if the history does not go back that far
+     *  or otherwise can't describe the changes exactly.  A null return
+     *  means that callers should assume that everything changed.  Returns
+     *  an empty list if the version is current.
+     *  Typically the version comes from VersionedReference.getLastVersion()
+     *  before update() is called.
+     */
+    public List<ListChange> getChanges( long sinceVersion ) {
+        if( sinceVersion == version ) {
+            return Collections.emptyList();
+        }
+        if( sinceVersion > version ) {
+            return null;
+        }
+        // Walk back to the change that starts at the caller's version
+        int skip = changes.size();
+        long expected = version;
+        for( Iterator<ListChange> it = changes.descendingIterator(); it.hasNext(); ) {
+            ListChange change = it.next();
+            if( change.getEndVersion() != expected ) {
+                // A gap from a version increment that was not recorded
+                return null;
+            }
+            skip--;
+            expected = change.getStartVersion();
+            if( expected == sinceVersion ) {
+                break;
+            }
+        }
+        if( expected != sinceVersion ) {
+            // Ran out of history
+            return null;
+        }
+
+        // Then coalesce forward into new ListChanges, leaving the
+        // history as it was
+        ArrayList<ListChange> result = new ArrayList<ListChange>();
+        ListChange last = null;
+        Iterator<ListChange> it = changes.iterator();
+        for( int i = 0; i < skip; i++ ) {
+            it.next();
+        }
+        while( it.hasNext() ) {
+            ListChange change = it.next();
+            ListChange merged = last == null ? null : last.merge(change);
+            if( merged != null ) {
+                result.set(result.size() - 1, merged);
+                last = merged;
+            } else {
+                result.add(change);
+                last = change;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Moves the item at the specified index to a new index, shifting
+     *  the items in between.  This is recorded as a single Move change
+     *  instead of a remove followed by an insert.
+     */
+    public void move( int fromIndex, int toIndex ) {
+        if( fromIndex == toIndex ) {
+            return;
+        }
+        T val = list.remove(fromIndex);
+        list.add(toIndex, val);
+        recordChange(ListChange.Type.Move, fromIndex, 1, toIndex);
     }
 
     @Override
@@ -111,22 +256,46 @@ public class VersionedList<T> extends AbstractList<T>
     @Override
     public T set( int i, T val ) {
         T result = list.set(i, val);
-        incrementVersion();
+        recordChange(ListChange.Type.Set, i, 1, -1);
         return result;
     }
  
     @Override
     public void add( int i, T val ) {
         list.add(i, val);
-        incrementVersion();
+        recordChange(ListChange.Type.Insert, i, 1, -1);
+    }
+
+    @Override
+    public boolean addAll( Collection<? extends T> items ) {
+        return addAll(list.size(), items);
+    }
+
+    @Override
+    public boolean addAll( int i, Collection<? extends T> items ) {
+        int count = items.size();
+        if( !list.addAll(i, items) ) {
+            return false;
+        }
+        recordChange(ListChange.Type.Insert, i, count, -1);
+        return true;
     }
  
     @Override
     public T remove( int i ) {
         T result = list.remove(i);
-        incrementVersion();
+        recordChange(ListChange.Type.Remove, i, 1, -1);
         return result; 
     }   
+
+    @Override
+    protected void removeRange( int fromIndex, int toIndex ) {
+        if( fromIndex >= toIndex ) {
+            return;
+        }
+        list.subList(fromIndex, toIndex).clear();
+        recordChange(ListChange.Type.Remove, fromIndex, toIndex - fromIndex, -1);
+    }
  
 }
 
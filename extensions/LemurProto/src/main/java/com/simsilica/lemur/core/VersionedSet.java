@@ -48,9 +48,10 @@ import java.util.Set;
  *  @author    Paul Speed
  */
 public class VersionedSet<T> extends AbstractSet<T>
-                              implements VersionedObject<Set<T>> {
+                              implements ObservableVersionedObject<Set<T>> {
     private long version = 0;
     private Set<T> set = new HashSet<T>();
+    private final VersionedListenerList listeners = new VersionedListenerList();
     
     public VersionedSet() {
     }
@@ -61,6 +62,17 @@ public class VersionedSet<T> extends AbstractSet<T>
     
     protected void incrementVersion() {
         version++;
+        listeners.fire(this);
+    }
+
+    @Override
+    public void addVersionedListener( VersionedListener l ) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeVersionedListener( VersionedListener l ) {
+        listeners.remove(l);
     }
 
     @Override
@@ -0,0 +1,106 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.grid;
+
+
+/**
+ *  A rectangular range of grid cells.  The max row and column are
+ *  exclusive.  Integer.MAX_VALUE can be used to indicate 'to the end'.
+ *
+ *  @author    agent
+ */
+public class GridRegion {
+
+    private int minRow;
+    private int maxRow;
+    private int minColumn;
+    private int maxColumn;
+
+    public GridRegion( int minRow, int maxRow, int minColumn, int maxColumn ) {
+        this.minRow = minRow;
+        this.maxRow = maxRow;
+        this.minColumn = minColumn;
+        this.maxColumn = maxColumn;
+    }
+
+    /**
+     *  Creates a region that covers all columns of the specified rows.
+     */
+    public static GridRegion rows( int minRow, int maxRow ) {
+        return new GridRegion(minRow, maxRow, 0, Integer.MAX_VALUE);
+    }
+
+    public int getMinRow() {
+        return minRow;
+    }
+
+    public int getMaxRow() {
+        return maxRow;
+    }
+
+    public int getMinColumn() {
+        return minColumn;
+    }
+
+    public int getMaxColumn() {
+        return maxColumn;
+    }
+
+    public boolean isEmpty() {
+        return minRow >= maxRow || minColumn >= maxColumn;
+    }
+
+    /**
+     *  Expands this region to also cover the specified region.
+     */
+    public GridRegion union( GridRegion other ) {
+        if( other.isEmpty() ) {
+            return this;
+        }
+        if( isEmpty() ) {
+            return other;
+        }
+        return new GridRegion(Math.min(minRow, other.minRow), Math.max(maxRow, other.maxRow),
+                              Math.min(minColumn, other.minColumn), Math.max(maxColumn, other.maxColumn));
+    }
+
+    @Override
+    public String toString() {
+        return "GridRegion[rows=" + minRow + "->" + maxRow
+                + ", columns=" + minColumn + "->" + maxColumn + "]";
+    }
+}
@@ -40,6 +40,7 @@ import com.simsilica.lemur.style.ElementId;
 import com.simsilica.lemur.style.StyleAttribute;
 import com.simsilica.lemur.style.Styles;
 import com.simsilica.lemur.core.GuiComponent;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.component.QuadBackgroundComponent;
@@ -62,6 +63,8 @@ public class Checkbox extends Button {
 
     private CheckboxModel model;
     private VersionedReference<Boolean> state;
+    private GuiUpdateScheduler.Watch stateWatch; // null if we must poll
+    private final Runnable stateUpdater = new StateUpdater();
     private GuiComponent onView;
     private GuiComponent offView;
 
@@ -127,6 +130,7 @@ public class Checkbox extends Button {
             return;
         this.model = model;
         this.state = model.createReference();
+        this.stateWatch = GuiUpdateScheduler.rewatch(stateWatch, model, stateUpdater);
         resetStateView();
     }
 
@@ -145,6 +149,15 @@ public class Checkbox extends Button {
     @Override
     public void updateLogicalState(float tpf) {
         super.updateLogicalState(tpf);
+        if( stateWatch == null ) {
+            updateState();
+            // The scheduler may not have been initialized yet when
+            // we started watching
+            stateWatch = GuiUpdateScheduler.rewatch(null, model, stateUpdater);
+        }
+    }
+
+    protected void updateState() {
         if( state.update() ) {
             resetStateView();
         }
@@ -191,6 +204,13 @@ public class Checkbox extends Button {
         return getClass().getName() + "[text=" + getText() + ", state=" + isChecked() + ", color=" + getColor() + ", elementId=" + getElementId() + "]";
     }
 
+    private class StateUpdater implements Runnable {
+        @Override
+        public void run() {
+            updateState();
+        }
+    }
+
     protected static class ToggleCommand implements Command<Button> {
 
         public void execute( Button source ) {
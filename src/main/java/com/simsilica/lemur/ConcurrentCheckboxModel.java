@@ -0,0 +1,126 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.simsilica.lemur.core.ObservableVersionedObject;
+import com.simsilica.lemur.core.VersionedListener;
+import com.simsilica.lemur.core.VersionedListenerList;
+import com.simsilica.lemur.core.VersionedReference;
+
+
+/**
+ *  A CheckboxModel that can be safely set from threads other than the
+ *  render thread.  The checked state and the version are packed into a
+ *  single atomic long so that they always change together.
+ *
+ *  @author    agent
+ */
+public class ConcurrentCheckboxModel implements CheckboxModel, ObservableVersionedObject<Boolean> {
+
+    // version << 1 | checked bit
+    private final AtomicLong state;
+    private volatile CheckboxGroup group;
+    private final VersionedListenerList listeners = new VersionedListenerList();
+
+    public ConcurrentCheckboxModel() {
+        this(false);
+    }
+
+    public ConcurrentCheckboxModel( boolean initialState ) {
+        this.state = new AtomicLong(initialState ? 1 : 0);
+    }
+
+    @Override
+    public void setChecked( boolean checked ) {
+        long bit = checked ? 1 : 0;
+        long current;
+        do {
+            current = state.get();
+            if( (current & 1) == bit ) {
+                return;
+            }
+        } while( !state.compareAndSet(current, (((current >>> 1) + 1) << 1) | bit) );
+        listeners.fire(this);
+    }
+
+    @Override
+    public boolean isChecked() {
+        return (state.get() & 1) != 0;
+    }
+
+    @Override
+    public long getVersion() {
+        return state.get() >>> 1;
+    }
+
+    @Override
+    public Boolean getObject() {
+        return isChecked();
+    }
+
+    @Override
+    public VersionedReference<Boolean> createReference() {
+        return new VersionedReference<Boolean>(this);
+    }
+
+    @Override
+    public void addVersionedListener( VersionedListener l ) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeVersionedListener( VersionedListener l ) {
+        listeners.remove(l);
+    }
+
+    @Override
+    public void setGroup( CheckboxGroup group ) {
+        this.group = group;
+    }
+
+    @Override
+    public CheckboxGroup getGroup() {
+        return group;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[checked=" + isChecked() + "]";
+    }
+}
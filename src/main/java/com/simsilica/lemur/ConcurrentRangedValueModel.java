@@ -0,0 +1,196 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.simsilica.lemur.core.ObservableVersionedObject;
+import com.simsilica.lemur.core.VersionedListener;
+import com.simsilica.lemur.core.VersionedListenerList;
+import com.simsilica.lemur.core.VersionedReference;
+
+
+/**
+ *  A RangedValueModel that can be safely updated from threads other
+ *  than the render thread.  The value, range, and version are published
+ *  together as one immutable snapshot using compare-and-set so that
+ *  readers always see a consistent value/min/max/version and updates
+ *  never block.  Values are kept between the configured min and max
+ *  just like DefaultRangedValueModel.
+ *
+ *  @author    agent
+ */
+public class ConcurrentRangedValueModel implements RangedValueModel, ObservableVersionedObject<Double> {
+
+    private final AtomicReference<State> state;
+    private final VersionedListenerList listeners = new VersionedListenerList();
+
+    public ConcurrentRangedValueModel() {
+        this(0, 100, 0);
+    }
+
+    public ConcurrentRangedValueModel( double min, double max, double value ) {
+        this.state = new AtomicReference<>(new State(min, max, value, 0));
+    }
+
+    @Override
+    public long getVersion() {
+        return state.get().version;
+    }
+
+    @Override
+    public Double getObject() {
+        return getValue();
+    }
+
+    @Override
+    public VersionedReference<Double> createReference() {
+        return new VersionedReference<Double>(this);
+    }
+
+    @Override
+    public void addVersionedListener( VersionedListener l ) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeVersionedListener( VersionedListener l ) {
+        listeners.remove(l);
+    }
+
+    @Override
+    public void setValue( double value ) {
+        State current;
+        do {
+            current = state.get();
+            if( current.value == value ) {
+                return;
+            }
+        } while( !state.compareAndSet(current, current.withValue(value)) );
+        listeners.fire(this);
+    }
+
+    @Override
+    public double getValue() {
+        return state.get().value;
+    }
+
+    @Override
+    public void setPercent( double v ) {
+        State current;
+        double projected;
+        do {
+            current = state.get();
+            projected = current.min + (current.max - current.min) * v;
+            if( current.value == projected ) {
+                return;
+            }
+        } while( !state.compareAndSet(current, current.withValue(projected)) );
+        listeners.fire(this);
+    }
+
+    @Override
+    public double getPercent() {
+        State current = state.get();
+        double range = current.max - current.min;
+        if( range == 0 )
+            return 0;
+        return (current.value - current.min) / range;
+    }
+
+    @Override
+    public void setMaximum( double max ) {
+        State current;
+        do {
+            current = state.get();
+            if( current.max == max ) {
+                return;
+            }
+        } while( !state.compareAndSet(current, new State(current.min, max, current.value,
+                                                         current.version + 1)) );
+        listeners.fire(this);
+    }
+
+    @Override
+    public double getMaximum() {
+        return state.get().max;
+    }
+
+    @Override
+    public void setMinimum( double min ) {
+        State current;
+        do {
+            current = state.get();
+            if( current.min == min ) {
+                return;
+            }
+        } while( !state.compareAndSet(current, new State(min, current.max, current.value,
+                                                         current.version + 1)) );
+        listeners.fire(this);
+    }
+
+    @Override
+    public double getMinimum() {
+        return state.get().min;
+    }
+
+    @Override
+    public String toString() {
+        State current = state.get();
+        return getClass().getName() + "[value=" + current.value
+                + ", min=" + current.min + ", max=" + current.max + "]";
+    }
+
+    private static class State {
+        final double min;
+        final double max;
+        final double value;
+        final long version;
+
+        public State( double min, double max, double value, long version ) {
+            this.min = min;
+            this.max = max;
+            // Same clamping as DefaultRangedValueModel.checkRange()
+            this.value = Math.min(max, Math.max(min, value));
+            this.version = version;
+        }
+
+        public State withValue( double newValue ) {
+            return new State(min, max, newValue, version + 1);
+        }
+    }
+}
@@ -34,6 +34,9 @@
 
 package com.simsilica.lemur;
 
+import com.simsilica.lemur.core.ObservableVersionedObject;
+import com.simsilica.lemur.core.VersionedListener;
+import com.simsilica.lemur.core.VersionedListenerList;
 import com.simsilica.lemur.core.VersionedReference;
 
 
@@ -44,10 +47,11 @@ import com.simsilica.lemur.core.VersionedReference;
  *
  *  @author    Paul Speed
  */
-public class DefaultCheckboxModel implements CheckboxModel {
+public class DefaultCheckboxModel implements CheckboxModel, ObservableVersionedObject<Boolean> {
 
     private long version;
     private boolean state;
+    private final VersionedListenerList listeners = new VersionedListenerList();
     
     /**
      * @since 1.16.1-SNAPSHOT
@@ -67,6 +71,7 @@ public class DefaultCheckboxModel implements CheckboxModel {
             return;
         this.state = state;
         version++;
+        listeners.fire(this);
     }
 
     public boolean isChecked() {
@@ -85,6 +90,16 @@ public class DefaultCheckboxModel implements CheckboxModel {
         return new VersionedReference<Boolean>(this);
     }
 
+    @Override
+    public void addVersionedListener( VersionedListener l ) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeVersionedListener( VersionedListener l ) {
+        listeners.remove(l);
+    }
+
     @Override
     public String toString() {
         return getClass().getName() + "[checked=" + isChecked() + "]";
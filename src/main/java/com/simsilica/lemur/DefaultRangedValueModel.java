@@ -34,6 +34,9 @@
 
 package com.simsilica.lemur;
 
+import com.simsilica.lemur.core.ObservableVersionedObject;
+import com.simsilica.lemur.core.VersionedListener;
+import com.simsilica.lemur.core.VersionedListenerList;
 import com.simsilica.lemur.core.VersionedReference;
 
 
@@ -45,12 +48,13 @@ import com.simsilica.lemur.core.VersionedReference;
  *
  *  @author    Paul Speed
  */
-public class DefaultRangedValueModel implements RangedValueModel {
+public class DefaultRangedValueModel implements RangedValueModel, ObservableVersionedObject<Double> {
 
     private long version;
     private double min;
     private double max;
     private double value;
+    private final VersionedListenerList listeners = new VersionedListenerList();
 
     public DefaultRangedValueModel() {
         this(0, 100, 0);
@@ -75,6 +79,16 @@ public class DefaultRangedValueModel implements RangedValueModel {
         return new VersionedReference<Double>(this);
     }
 
+    @Override
+    public void addVersionedListener( VersionedListener l ) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeVersionedListener( VersionedListener l ) {
+        listeners.remove(l);
+    }
+
     protected void checkRange() {
         value = Math.max(min, value);
         value = Math.min(max, value);
@@ -86,6 +100,7 @@ public class DefaultRangedValueModel implements RangedValueModel {
         this.value = value;
         version++;
         checkRange();
+        listeners.fire(this);
     }
 
     public double getValue() {
@@ -112,6 +127,7 @@ public class DefaultRangedValueModel implements RangedValueModel {
         this.max = max;
         version++;
         checkRange();
+        listeners.fire(this);
     }
 
     public double getMaximum() {
@@ -124,6 +140,7 @@ public class DefaultRangedValueModel implements RangedValueModel {
         this.min = min;
         version++;
         checkRange();
+        listeners.fire(this);
     }
 
     public double getMinimum() {
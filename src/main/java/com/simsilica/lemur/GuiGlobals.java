@@ -37,6 +37,9 @@ package com.simsilica.lemur;
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.slf4j.*;
 
 import com.jme3.app.Application;
@@ -57,8 +60,11 @@ import com.jme3.texture.Texture;
 
 import com.simsilica.lemur.anim.AnimationState;
 import com.simsilica.lemur.core.GuiMaterial;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.simsilica.lemur.core.UnshadedMaterialAdapter;
 import com.simsilica.lemur.core.LightingMaterialAdapter;
+import com.simsilica.lemur.core.TextureAtlas;
+import com.simsilica.lemur.core.TextureRegistry;
 import com.simsilica.lemur.event.KeyListener;
 import com.simsilica.lemur.event.KeyInterceptState;
 import com.simsilica.lemur.event.MouseAppState;
@@ -115,7 +121,11 @@ public class GuiGlobals {
     private FocusNavigationState focusNavState;
     private AnimationState animationState;
     private PopupState popupState;
+    private GuiUpdateScheduler updateScheduler;
     private String iconBase;
+    private TextureRegistry textureRegistry;
+    private boolean textureSharingEnabled;
+    private Map<BitmapFont, String> fontPaths = new WeakHashMap<BitmapFont, String>();
 
     private Styles styles;
 
@@ -142,6 +152,7 @@ public class GuiGlobals {
 
     protected GuiGlobals( Application app ) {
         this.assets = app.getAssetManager();
+        this.textureRegistry = new TextureRegistry(assets);
         
         if( isHeadless(app) ) {
             // Do only minimal initialization... and nothing requiring
@@ -172,6 +183,7 @@ public class GuiGlobals {
         this.focusNavState = new FocusNavigationState(inputMapper, focusState);
         this.animationState = new AnimationState();
         this.popupState = new PopupState();
+        this.updateScheduler = new GuiUpdateScheduler();
 
         // Write the app state dependencies directly so that:
         // a) they are there before initialization
@@ -194,6 +206,10 @@ public class GuiGlobals {
         app.getStateManager().attach(focusNavState);
         app.getStateManager().attach(animationState);
         app.getStateManager().attach(popupState);
+        
+        // Attached after the animation state so that model changes made
+        // by animations are picked up in the same frame
+        app.getStateManager().attach(updateScheduler);
 
         styles = new Styles();
         setDefaultStyles();
@@ -264,6 +280,14 @@ public class GuiGlobals {
     public PopupState getPopupState() {
         return popupState;
     }
+
+    /**
+     *  Returns the scheduler that runs GUI element updates when their
+     *  models change or null if running headless.
+     */
+    public GuiUpdateScheduler getUpdateScheduler() {
+        return updateScheduler;
+    }
     
     public FocusManagerState getFocusManagerState() {
         return focusState;
@@ -310,9 +334,19 @@ public class GuiGlobals {
     public BitmapFont loadFont( String path ) {
         BitmapFont result = assets.loadFont(path);
         fixFont(result);
+        fontPaths.put(result, path);
         return result;
     }
 
+    /**
+     *  Returns the asset path that the specified font was loaded from
+     *  using loadFont() or null if the font was loaded some other way.
+     *  This is used when saving styles that refer to fonts.
+     */
+    public String getFontPath( BitmapFont font ) {
+        return fontPaths.get(font);
+    }
+
     public GuiMaterial createMaterial( boolean lit ) {
         if( lit ) {
             return new LightingMaterialAdapter(new Material(assets, "Common/MatDefs/Light/Lighting.j3md"));
@@ -337,7 +371,45 @@ public class GuiGlobals {
         return loadTexture(iconBase + "/" + name, false, false);
     }
 
+    /**
+     *  Returns the registry that holds the shared textures and atlases
+     *  used when texture sharing is enabled.
+     */
+    public TextureRegistry getTextureRegistry() {
+        return textureRegistry;
+    }
+
+    /**
+     *  Set to true to have loadTexture() return one shared Texture
+     *  instance for each path and settings combination instead of a new
+     *  Texture for every call.  Shared textures let the materials of
+     *  identical looking components be batched and, if atlases are enabled
+     *  on the TextureRegistry, let icons and TbtQuad borders be packed into
+     *  atlases.  Callers must not modify the returned textures.  Shared
+     *  textures are kept until TextureRegistry.clear() is called.
+     *  Defaults to false.
+     */
+    public void setTextureSharingEnabled( boolean textureSharingEnabled ) {
+        this.textureSharingEnabled = textureSharingEnabled;
+    }
+
+    public boolean isTextureSharingEnabled() {
+        return textureSharingEnabled;
+    }
+
+    /**
+     *  Returns the atlas region that should be used to render the specified
+     *  texture or null if the texture should be rendered directly.
+     */
+    public TextureAtlas.Region getAtlasRegion( Texture texture ) {
+        return textureRegistry.getRegion(texture);
+    }
+
     public Texture loadTexture( String path, boolean repeat, boolean generateMips ) {
+        if( textureSharingEnabled ) {
+            return textureRegistry.getTexture(path, repeat, generateMips);
+        }
+
         TextureKey key = new TextureKey(path);
         key.setGenerateMips(generateMips);
 
@@ -359,6 +431,20 @@ public class GuiGlobals {
 
     static final float GAMMA = 2.2f;
 
+    /**
+     *  Overrides the gamma correction setting that was picked up from the
+     *  application's settings.  This affects how srgbaColor() converts colors
+     *  and is mostly useful for tools that evaluate styles for a different
+     *  configuration than the one they run in, like the StyleSnapshotExporter.
+     */
+    public void setGammaEnabled( boolean gammaEnabled ) {
+        this.gammaEnabled = gammaEnabled;
+    }
+
+    public boolean isGammaEnabled() {
+        return gammaEnabled;
+    }
+
     /**
      *  Creates a color from the specified RGBA values as if they were in SRGB space,
      *  depending on whether gamma correction is enabled or disabled.  If there is no
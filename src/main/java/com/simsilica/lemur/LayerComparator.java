@@ -34,12 +34,17 @@
 
 package com.simsilica.lemur;
 
+import java.lang.ref.WeakReference;
+import java.util.*;
+
 import com.jme3.renderer.Camera;
 import com.jme3.renderer.queue.GeometryComparator;
 import com.jme3.scene.Geometry;
 import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 
+import com.simsilica.lemur.core.GuiBatchControl;
+
 /**
  *  Sorts geometry based on an included "layer" user data,
  *  accumulating an effective layer by walking up the
@@ -49,15 +54,48 @@ import com.jme3.scene.Spatial;
  *  a GUI environment where UI elements are grouped in
  *  scene graph hierarchies already.
  *
+ *  <p>The effective layer of each geometry is cached in a primitive
+ *  identity table in the comparator rather than in the geometry's user
+ *  data so that sorting does not need any map lookups or boxing.  The
+ *  cached layers for a subtree are invalidated by setLayer(), resetLayer(),
+ *  and clearEffectiveLayer().  Cached entries for geometry that has not
+ *  been sorted for a while are periodically purged.  The cached layer is the
+ *  only precomputed part of the sort key.  Ties are passed to the delegate
+ *  comparator, whose ordering can't be precomputed through the
+ *  GeometryComparator interface.</p>
+ *
+ *  <p>Note: the "effectiveLayer" user data is no longer set on geometry.</p>
+ *
  *  @author PSpeed
  */
 public class LayerComparator implements GeometryComparator {
 
     public static final String LAYER = "layer";
+
+    /**
+     *  @deprecated The effective layer is no longer stored in the geometry's
+     *              user data.  Use getLayer(Geometry) on the comparator instead.
+     */
+    @Deprecated
     public static final String EFFECTIVE_LAYER = "effectiveLayer";
 
+    /**
+     *  A Float user data that geometry can use in place of an integer
+     *  LAYER to sort as if it were deeper in the scene graph.  GuiBatchControl
+     *  sets it on its batch geometry so that a batch sorts where the
+     *  backgrounds it replaces would have.
+     */
+    public static final String LOCAL_LAYER = "localLayer";
+
+    /**
+     *  All of the live comparators so that static layer changes can
+     *  invalidate their caches.
+     */
+    private static final List<WeakReference<LayerComparator>> instances = new ArrayList<>();
+
     private GeometryComparator delegate;
     private int bias;
+    private final LayerTable layers = new LayerTable();
 
     public LayerComparator(GeometryComparator delegate) {
         this(delegate, 1);
@@ -66,6 +104,18 @@ public class LayerComparator implements GeometryComparator {
     public LayerComparator(GeometryComparator delegate, int bias) {
         this.delegate = delegate;
         this.bias = -bias;
+        register(this);
+    }
+
+    private static void register( LayerComparator comparator ) {
+        synchronized( instances ) {
+            for( Iterator<WeakReference<LayerComparator>> it = instances.iterator(); it.hasNext(); ) {
+                if( it.next().get() == null ) {
+                    it.remove();
+                }
+            }
+            instances.add(new WeakReference<>(comparator));
+        }
     }
 
     public static void setLayer( Spatial s, int layer ) {
@@ -74,6 +124,8 @@ public class LayerComparator implements GeometryComparator {
         } else {        
             s.setUserData(LAYER, layer);
         }
+        invalidate(s);
+        GuiBatchControl.invalidateBatching(s);
     }
 
     public static void resetLayer( Spatial s, int layer ) {
@@ -87,22 +139,45 @@ public class LayerComparator implements GeometryComparator {
         return s.getUserData(LAYER);
     }
 
+    /**
+     *  Clears the cached effective layer for all of the geometry in the
+     *  specified subtree.
+     */
     public static void clearEffectiveLayer( Spatial s ) {
-        s.setUserData(EFFECTIVE_LAYER, null);
-        if( s instanceof Node ) {
+        invalidate(s);
+    }
+
+    private static void invalidate( Spatial s ) {
+        synchronized( instances ) {
+            for( WeakReference<LayerComparator> ref : instances ) {
+                LayerComparator comparator = ref.get();
+                if( comparator != null && comparator.layers.size() > 0 ) {
+                    comparator.invalidateLayers(s);
+                }
+            }
+        }
+    }
+
+    private void invalidateLayers( Spatial s ) {
+        if( s instanceof Geometry ) {
+            layers.remove((Geometry)s);
+        } else if( s instanceof Node ) {
             for( Spatial child : ((Node)s).getChildren() ) {
-                clearEffectiveLayer(child);
+                invalidateLayers(child);
             }
         }
     }
 
     public void setCamera(Camera cam) {
+        // Called before every sort so it's a good place to age the cache
+        layers.nextStamp();
         delegate.setCamera(cam);
     }
 
     protected float calculateEffectiveLayer(Geometry g) {
+        Float localLayer = g.getUserData(LOCAL_LAYER);
         Integer childLayer = g.getUserData(LAYER);
-        float layer = childLayer != null ? (childLayer + 1) : 1;
+        float layer = localLayer != null ? localLayer : childLayer != null ? (childLayer + 1) : 1;
 
         for( Spatial s = g.getParent(); s != null; s = s.getParent() ) {
             Integer i = s.getUserData(LAYER);
@@ -124,12 +199,13 @@ public class LayerComparator implements GeometryComparator {
     }
 
     public float getLayer(Geometry g) {
-        Float d = g.getUserData("effectiveLayer");
-        if (d != null)
-            return d;
-        d = calculateEffectiveLayer(g);
-        g.setUserData("effectiveLayer", d);
-        return d;
+        float result = layers.get(g);
+        if( result != result ) {
+            // NaN means it wasn't in the table
+            result = calculateEffectiveLayer(g);
+            layers.put(g, result);
+        }
+        return result;
     }
 
     public int compare( Geometry g1, Geometry g2 ) {
@@ -145,5 +221,140 @@ public class LayerComparator implements GeometryComparator {
     @Override       
     public String toString() {
         return getClass().getName() + "[delegate=" + delegate + ", bias=" + bias + "]";
-    }    
+    }
+
+    /**
+     *  An open addressing identity hash table from Geometry to its
+     *  effective layer.  Each entry also records the sort 'stamp' when
+     *  it was last used so that entries for geometry that is no longer
+     *  being rendered can be purged.
+     */
+    private static class LayerTable {
+        private static final int PURGE_INTERVAL = 256;
+
+        private Geometry[] keys = new Geometry[256];
+        private float[] values = new float[256];
+        private int[] stamps = new int[256];
+        private int mask = keys.length - 1;
+        private int size;
+        private int stamp;
+
+        private static int hash( Geometry g ) {
+            int h = System.identityHashCode(g);
+            return h ^ (h >>> 16);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void nextStamp() {
+            stamp++;
+            if( stamp % PURGE_INTERVAL == 0 && hasStale(stamp - PURGE_INTERVAL) ) {
+                rehash(keys.length, stamp - PURGE_INTERVAL, true);
+            }
+        }
+
+        public float get( Geometry g ) {
+            for( int i = hash(g) & mask; ; i = (i + 1) & mask ) {
+                Geometry k = keys[i];
+                if( k == g ) {
+                    stamps[i] = stamp;
+                    return values[i];
+                }
+                if( k == null ) {
+                    return Float.NaN;
+                }
+            }
+        }
+
+        public void put( Geometry g, float value ) {
+            if( (size + 1) * 2 > keys.length ) {
+                // Try purging the stale entries before growing
+                if( hasStale(stamp - PURGE_INTERVAL) ) {
+                    rehash(keys.length, stamp - PURGE_INTERVAL, true);
+                }
+                if( (size + 1) * 2 > keys.length ) {
+                    rehash(keys.length * 2, 0, false);
+                }
+            }
+            int i = hash(g) & mask;
+            while( keys[i] != null && keys[i] != g ) {
+                i = (i + 1) & mask;
+            }
+            if( keys[i] == null ) {
+                size++;
+            }
+            keys[i] = g;
+            values[i] = value;
+            stamps[i] = stamp;
+        }
+
+        public void remove( Geometry g ) {
+            int i = hash(g) & mask;
+            while( keys[i] != g ) {
+                if( keys[i] == null ) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = null;
+            size--;
+
+            // Shift back any following entries that would no longer
+            // be found past the new gap
+            for( int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask ) {
+                int home = hash(keys[j]) & mask;
+                boolean between = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if( between ) {
+                    continue;
+                }
+                keys[i] = keys[j];
+                values[i] = values[j];
+                stamps[i] = stamps[j];
+                keys[j] = null;
+                i = j;
+            }
+        }
+
+        private boolean hasStale( int minStamp ) {
+            for( int i = 0; i < keys.length; i++ ) {
+                if( keys[i] != null && stamps[i] - minStamp < 0 ) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         *  Rebuilds the table with the specified capacity, optionally
+         *  dropping the entries last used before the specified stamp.
+         */
+        private void rehash( int capacity, int minStamp, boolean purge ) {
+            Geometry[] oldKeys = keys;
+            float[] oldValues = values;
+            int[] oldStamps = stamps;
+
+            keys = new Geometry[capacity];
+            values = new float[capacity];
+            stamps = new int[capacity];
+            mask = capacity - 1;
+            size = 0;
+
+            for( int i = 0; i < oldKeys.length; i++ ) {
+                Geometry k = oldKeys[i];
+                if( k == null || (purge && oldStamps[i] - minStamp < 0) ) {
+                    continue;
+                }
+                int j = hash(k) & mask;
+                while( keys[j] != null ) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = k;
+                values[j] = oldValues[i];
+                stamps[j] = oldStamps[i];
+                size++;
+            }
+        }
+    }
 }
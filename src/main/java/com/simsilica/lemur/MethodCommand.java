@@ -34,13 +34,15 @@
 
 package com.simsilica.lemur;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
+import com.simsilica.lemur.core.MethodInvoker;
+
 
 /**
  *  A Command implementation that calls a configured
- *  no-argument method through reflection.
+ *  no-argument method.  The method is looked up through reflection
+ *  once and then called through a MethodInvoker.
  *
  *  @author    Paul Speed
  */
@@ -48,6 +50,7 @@ public class MethodCommand<S> implements Command<S> {
 
     private Object delegate;
     private Method method;
+    private MethodInvoker invoker;
 
     public MethodCommand( Object delegate, String methodName ) {
         this.delegate = delegate;
@@ -57,20 +60,16 @@ public class MethodCommand<S> implements Command<S> {
         } catch( NoSuchMethodException e ) {
             throw new RuntimeException("Cannot find method:" + methodName + " on " + delegate.getClass(), e);
         }
+        this.invoker = MethodInvoker.bind(delegate, method);
     }
 
     public MethodCommand( Object delegate, Method method ) {
         this.delegate = delegate;
         this.method = method;
+        this.invoker = MethodInvoker.bind(delegate, method);
     }
 
     public void execute( S source ) {
-        try {
-            method.invoke(delegate);
-        } catch( InvocationTargetException e ) {
-            throw new RuntimeException("Error delegating to:" + method, e);
-        } catch( IllegalAccessException e ) {
-            throw new RuntimeException("Error delegating to:" + method, e);
-        }
+        invoker.invoke();
     }
 }
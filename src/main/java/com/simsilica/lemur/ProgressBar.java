@@ -38,7 +38,9 @@ import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector3f;
 import com.simsilica.lemur.component.BorderLayout;
 import com.simsilica.lemur.component.QuadBackgroundComponent;
+import com.simsilica.lemur.core.AbstractGuiControlListener;
 import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.style.Attributes;
 import com.simsilica.lemur.style.ElementId;
@@ -66,6 +68,8 @@ public class ProgressBar extends Panel {
     
     private RangedValueModel model;
     private VersionedReference<Double> state;
+    private GuiUpdateScheduler.Watch stateWatch; // null if we must poll
+    private final Runnable stateUpdater = new StateUpdater();
  
     public ProgressBar() {
         this(new DefaultRangedValueModel(), true, new ElementId(ELEMENT_ID), null);
@@ -105,6 +109,7 @@ public class ProgressBar extends Panel {
         // or insets.
         this.layout = new BorderLayout();
         getControl(GuiControl.class).setLayout(layout);
+        getControl(GuiControl.class).addListener(new ReshapeListener());
 
         // Add the label child.
         label = layout.addChild(new Label("", elementId.child(LABEL_ID), style));
@@ -115,6 +120,7 @@ public class ProgressBar extends Panel {
         if( applyStyles ) {
             styles.applyStyles(this, getElementId(), style);
         }
+        watchModel();
     }                            
  
     @StyleDefaults(ELEMENT_ID)
@@ -173,7 +179,7 @@ public class ProgressBar extends Panel {
             model = new DefaultRangedValueModel();
         }
         this.model = model;
-        this.state = null;
+        watchModel();
     }
  
     /**
@@ -215,12 +221,35 @@ public class ProgressBar extends Panel {
         return value;
     }
     
+    /**
+     *  Watches the current model with the GuiUpdateScheduler, if there
+     *  is one, and schedules an initial refresh of the view.
+     */
+    private void watchModel() {
+        this.state = null;
+        this.stateWatch = GuiUpdateScheduler.rewatch(stateWatch, model, stateUpdater);
+        if( stateWatch != null ) {
+            // Make sure the view gets initialized even if the model
+            // never changes
+            stateWatch.schedule();
+        }
+    }
+
+    protected void updateState() {
+        if( state == null || state.update() ) {
+            resetStateView();
+        }
+    }
+
     @Override
     public void updateLogicalState(float tpf) {
         super.updateLogicalState(tpf);
 
-        if( state == null || state.update() ) {
-            resetStateView();
+        if( stateWatch == null ) {
+            updateState();
+            // The scheduler may not have been initialized yet when
+            // we started watching
+            stateWatch = GuiUpdateScheduler.rewatch(null, model, stateUpdater);
         }
     }
             
@@ -237,4 +266,20 @@ public class ProgressBar extends Panel {
         // The way we order these layers is both fragile and inflexible.
         value.setLocalTranslation(labelPos.x, labelPos.y, labelPos.z * 0.5f);
     }
+
+    private class StateUpdater implements Runnable {
+        @Override
+        public void run() {
+            updateState();
+        }
+    }
+
+    private class ReshapeListener extends AbstractGuiControlListener {
+        @Override
+        public void reshape( GuiControl source, Vector3f pos, Vector3f size ) {
+            // The indicator size depends on the label size so it
+            // needs to be recalculated when we are resized
+            resetStateView();
+        }
+    }
 }
@@ -38,6 +38,7 @@ package com.simsilica.lemur;
 import com.simsilica.lemur.component.BorderLayout;
 import com.simsilica.lemur.component.SpringGridLayout;
 import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.style.ElementId;
 import com.simsilica.lemur.style.Styles;
@@ -57,6 +58,8 @@ public class RollupPanel extends Panel {
     private Panel contents;
     private CheckboxModel openModel = new OpenCheckboxModel(true);
     private VersionedReference<Boolean> openRef = openModel.createReference();
+    private GuiUpdateScheduler.Watch openWatch; // null if we must poll
+    private final Runnable openUpdater = new OpenUpdater();
 
     public RollupPanel( String title, String style ) {
         this(title, null, true, new ElementId("rollup"), style);
@@ -93,6 +96,8 @@ public class RollupPanel extends Panel {
         titleContainer.addChild(title);
         setupCommands();
 
+        this.openWatch = GuiUpdateScheduler.rewatch(null, openModel, openUpdater);
+
         if( applyStyles ) {
             Styles styles = GuiGlobals.getInstance().getStyles();
             styles.applyStyles(this, elementId, style);
@@ -192,6 +197,7 @@ public class RollupPanel extends Panel {
         }
         this.openModel = cm;
         this.openRef = openModel.createReference();
+        this.openWatch = GuiUpdateScheduler.rewatch(openWatch, openModel, openUpdater);
         resetOpen();
     }
 
@@ -207,6 +213,15 @@ public class RollupPanel extends Panel {
     public void updateLogicalState( float tpf ) {
         super.updateLogicalState(tpf);
 
+        if( openWatch == null ) {
+            updateOpen();
+            // The scheduler may not have been initialized yet when
+            // we started watching
+            openWatch = GuiUpdateScheduler.rewatch(null, openModel, openUpdater);
+        }
+    }
+
+    protected void updateOpen() {
         if( openRef != null && openRef.update() ) {
             resetOpen();
         }
@@ -234,6 +249,13 @@ public class RollupPanel extends Panel {
         }
     }
 
+    private class OpenUpdater implements Runnable {
+        @Override
+        public void run() {
+            updateOpen();
+        }
+    }
+
     protected class OpenCheckboxModel extends DefaultCheckboxModel {
         public OpenCheckboxModel( boolean initial ) {
             super(initial);
@@ -40,6 +40,7 @@ import com.simsilica.lemur.style.ElementId;
 import com.simsilica.lemur.style.Styles;
 import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.jme3.input.MouseInput;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
@@ -86,6 +87,8 @@ public class Slider extends Panel {
     private RangedValueModel model;
     private double delta = 1.0f;
     private VersionedReference<Double> state;
+    private GuiUpdateScheduler.Watch stateWatch; // null if we must poll
+    private final Runnable stateUpdater = new StateUpdater();
 
     public Slider() {
         this(new DefaultRangedValueModel(), Axis.X, true, new ElementId(ELEMENT_ID), null);
@@ -151,6 +154,7 @@ public class Slider extends Panel {
         getControl(GuiControl.class).addListener(new ReshapeListener());
 
         this.model = model;
+        watchModel();
 
         switch( axis ) {
             case X:
@@ -205,7 +209,7 @@ public class Slider extends Panel {
         if( this.model == model )
             return;
         this.model = model;
-        this.state = null;
+        watchModel();
     }
 
     public RangedValueModel getModel() {
@@ -275,12 +279,35 @@ public class Slider extends Panel {
         return model.getMinimum() + rangeDelta * part;        
     }
 
+    /**
+     *  Watches the current model with the GuiUpdateScheduler, if there
+     *  is one, and schedules an initial refresh of the view.
+     */
+    private void watchModel() {
+        this.state = null;
+        this.stateWatch = GuiUpdateScheduler.rewatch(stateWatch, model, stateUpdater);
+        if( stateWatch != null ) {
+            // Make sure the view gets initialized even if the model
+            // never changes
+            stateWatch.schedule();
+        }
+    }
+
+    protected void updateState() {
+        if( state == null || state.update() ) {
+            resetStateView();
+        }
+    }
+
     @Override
     public void updateLogicalState(float tpf) {
         super.updateLogicalState(tpf);
 
-        if( state == null || state.update() ) {
-            resetStateView();
+        if( stateWatch == null ) {
+            updateState();
+            // The scheduler may not have been initialized yet when
+            // we started watching
+            stateWatch = GuiUpdateScheduler.rewatch(null, model, stateUpdater);
         }
     }
 
@@ -340,6 +367,13 @@ public class Slider extends Panel {
         }
     }
 
+    private class StateUpdater implements Runnable {
+        @Override
+        public void run() {
+            updateState();
+        }
+    }
+
     private class ReshapeListener extends AbstractGuiControlListener {
         @Override
         public void reshape( GuiControl source, Vector3f pos, Vector3f size ) {
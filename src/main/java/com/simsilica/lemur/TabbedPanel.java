@@ -46,6 +46,7 @@ import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.component.BorderLayout;
 import com.simsilica.lemur.component.SpringGridLayout;
 import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiUpdateScheduler;
 import com.simsilica.lemur.style.ElementId;
 import com.simsilica.lemur.style.StyleAttribute;
 import com.simsilica.lemur.style.Styles;
@@ -69,6 +70,13 @@ public class TabbedPanel extends Panel {
     
     private VersionedHolder<Tab> selectionModel = new VersionedHolder<>();
     private VersionedReference<Tab> selectionRef = selectionModel.createReference();  
+    private GuiUpdateScheduler.Watch selectionWatch; // null if we must poll
+    private final Runnable selectionUpdater = new Runnable() {
+            @Override
+            public void run() {
+                updateSelection();
+            }
+        };
     private Tab displayedTab;
     
     private ColorRGBA activationColor = ColorRGBA.Cyan;    
@@ -99,6 +107,8 @@ public class TabbedPanel extends Panel {
         this.container = new Container(new BorderLayout(), elementId.child("container"), style);
         layout.addChild(container, BorderLayout.Position.Center);
  
+        this.selectionWatch = GuiUpdateScheduler.rewatch(null, selectionModel, selectionUpdater);
+ 
         if( applyStyles ) {
             Styles styles = GuiGlobals.getInstance().getStyles();
             styles.applyStyles(this, elementId, style);
@@ -257,6 +267,15 @@ public class TabbedPanel extends Panel {
     public void updateLogicalState( float tpf ) {
         super.updateLogicalState(tpf);
 
+        if( selectionWatch == null ) {
+            updateSelection();
+            // The scheduler may not have been initialized yet when
+            // we started watching
+            selectionWatch = GuiUpdateScheduler.rewatch(null, selectionModel, selectionUpdater);
+        }
+    }
+
+    protected void updateSelection() {
         if( selectionRef != null && selectionRef.update() ) {
             setDisplayedTab(selectionRef.get());
         }
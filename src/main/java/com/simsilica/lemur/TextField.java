@@ -207,6 +207,19 @@ public class TextField extends Panel {
         return text.isSingleLine();
     }
 
+    /**
+     *  Set to true to only build text geometry for the visible lines.
+     *  See TextEntryComponent.setVirtualized().
+     */
+    @StyleAttribute(value="virtualized", lookupDefault=false)
+    public void setVirtualized( boolean f ) {
+        text.setVirtualized(f);
+    }
+
+    public boolean isVirtualized() {
+        return text.isVirtualized();
+    }
+
     @StyleAttribute("preferredWidth")
     public void setPreferredWidth( float f ) {
         text.setPreferredWidth(f);
@@ -40,11 +40,20 @@ import java.util.*;
 
 import com.jme3.app.Application;
 import com.jme3.app.state.BaseAppState;
+import com.jme3.system.Timer;
+
+import com.simsilica.lemur.core.Timers;
 
 
 /**
  *  Manages a list of Animation tasks, calling them each once
- *  per frame until done or canceled.
+ *  per frame until done or canceled.  Animations are kept in a packed
+ *  array that is compacted in place as animations finish, and lookups for
+ *  isRunning() and cancel() are constant time, so adding, running and
+ *  removing animations stays cheap even with many thousands of them.
+ *  For large numbers of simple move, scale, fade or color tweens, the
+ *  TweenBatch returned by getTweenBatch() avoids creating a
+ *  TweenAnimation for each one.
  *
  *  @author    Paul Speed
  */
@@ -54,9 +63,21 @@ public class AnimationState extends BaseAppState {
 
     private static AnimationState defaultInstance;
 
-    private final List<Animation> tasks = new ArrayList<Animation>();
-    private Animation[] array = null;
+    // Animations in the order they were added.  Canceled animations
+    // leave null holes that are compacted out during the next update.
+    private Animation[] tasks = new Animation[16];
+    private Slot[] slots = new Slot[16];
+    private int size;
+    private final Map<Animation, Slot> index = new IdentityHashMap<Animation, Slot>();
+    private final ArrayDeque<Slot> freeSlots = new ArrayDeque<Slot>();
+
+    private TweenBatch tweenBatch;
+
+    private int completedCount;
+    private int cancelledCount;
+    private int cancelledThisFrame;
     
+    private Timer timer;
     private long lastTime;
     
     public AnimationState() {
@@ -71,22 +92,56 @@ public class AnimationState extends BaseAppState {
     public static AnimationState getDefaultInstance() {
         return defaultInstance;
     }
+
+    /**
+     *  Sets the timer that animations are advanced by.  When null, the
+     *  default, animations follow System.nanoTime().  Setting a fixed step
+     *  timer makes animation playback repeatable from run to run.
+     */
+    public void setTimer( Timer timer ) {
+        this.timer = timer;
+        this.lastTime = nanoTime();
+    }
+
+    public Timer getTimer() {
+        return timer;
+    }
+
+    protected long nanoTime() {
+        return Timers.nanoTime(timer);
+    }
  
     /**
      *  Returns true if the specified animation object is
      *  currently running, ie: will be executed this frame.
      */   
     public boolean isRunning( Animation anim ) {
-        return tasks.contains(anim);
+        return index.containsKey(anim);
     }
 
     /**
      *  Begins executing the specified animation.  The passed
-     *  animation is returned directly to the caller.
+     *  animation is returned directly to the caller.  Adding an
+     *  animation that is already running does nothing.  Animations
+     *  added during an update are first run on the next frame.
      */
     public <T extends Animation> T add( T anim ) {
-        tasks.add(anim);
-        array = null;
+        if( index.containsKey(anim) ) {
+            return anim;
+        }
+        if( size == tasks.length ) {
+            tasks = Arrays.copyOf(tasks, size * 2);
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        Slot slot = freeSlots.poll();
+        if( slot == null ) {
+            slot = new Slot();
+        }
+        slot.index = size;
+        tasks[size] = anim;
+        slots[size] = slot;
+        size++;
+        index.put(anim, slot);
         return anim;
     }
  
@@ -105,20 +160,55 @@ public class AnimationState extends BaseAppState {
      */   
     public void cancel( Animation anim ) {
         anim.cancel();
+        if( index.containsKey(anim) ) {
+            cancelledThisFrame++;
+        }
         remove(anim);
     }
 
-    private Animation[] getArray() {
-        if( array == null ) {
-            array = new Animation[tasks.size()];
-            array = tasks.toArray(array);
+    /**
+     *  Returns the shared TweenBatch that runs as part of this
+     *  state, creating it if needed.
+     */
+    public TweenBatch getTweenBatch() {
+        if( tweenBatch == null || !isRunning(tweenBatch) ) {
+            tweenBatch = add(new TweenBatch());
         }
-        return array;
+        return tweenBatch;
+    }
+
+    /**
+     *  Returns the number of animations that are currently running.  A
+     *  TweenBatch counts as one animation no matter how many tweens it has.
+     */
+    public int getActiveCount() {
+        return index.size();
+    }
+
+    /**
+     *  Returns the number of animations that finished during the
+     *  last frame.
+     */
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     *  Returns the number of animations that were canceled between the
+     *  start of the previous update and the start of the last one.
+     */
+    public int getCancelledCount() {
+        return cancelledCount;
     }
 
     protected void remove( Animation anim ) {
-        tasks.remove(anim);
-        array = null;
+        Slot slot = index.remove(anim);
+        if( slot == null ) {
+            return;
+        }
+        tasks[slot.index] = null;
+        slots[slot.index] = null;
+        freeSlots.add(slot);
     }
 
     @Override
@@ -130,7 +220,7 @@ public class AnimationState extends BaseAppState {
     
         // Seems prudent to cancel all of them and let
         // any cleanup get done that is required
-        for( Animation a : getArray() ) {
+        for( Animation a : new ArrayList<Animation>(index.keySet()) ) {
             cancel(a);   
         }
         
@@ -140,24 +230,78 @@ public class AnimationState extends BaseAppState {
 
     @Override
     protected void onEnable() {
-        lastTime = System.nanoTime();
+        lastTime = nanoTime();
     }
 
     @Override
     public void update( float tpf ) {
-        long time = System.nanoTime();
+        long time = nanoTime();
         long delta = time - lastTime;
         double t = delta * NANOS_TO_SECONDS;
         lastTime = time;
+
+        cancelledCount = cancelledThisFrame;
+        cancelledThisFrame = 0;
+        int completed = 0;
         
-        for( Animation a : getArray() ) {
-            if( !a.animate(t) ) {
-                remove(a);
+        // Run the animations that were there at the start of the frame
+        // and compact the array as we go, preserving order.  Anything
+        // added by an animation lands past 'end' and is shifted down
+        // afterwards.
+        int end = size;
+        int write = 0;
+        try {
+            for( int read = 0; read < end; read++ ) {
+                Animation a = tasks[read];
+                if( a == null ) {
+                    continue;
+                }
+                boolean running = a.animate(t);
+                if( tasks[read] != a ) {
+                    // It removed or canceled itself
+                    continue;
+                }
+                if( !running ) {
+                    remove(a);
+                    completed++;
+                    continue;
+                }
+                move(read, write++);
+            }
+        } finally {
+            completedCount = completed;
+            // Shift down anything added during the update.  If an
+            // animation threw an exception then this also keeps the ones
+            // we didn't get to.
+            for( int read = write; read < size; read++ ) {
+                if( tasks[read] != null ) {
+                    move(read, write++);
+                }
             }
-        }          
+            size = write;
+        }
+    }
+
+    private void move( int from, int to ) {
+        if( from == to ) {
+            return;
+        }
+        tasks[to] = tasks[from];
+        slots[to] = slots[from];
+        slots[to].index = to;
+        tasks[from] = null;
+        slots[from] = null;
     }
 
     @Override
     protected void onDisable() {
     }
+
+    /**
+     *  Tracks where an animation currently lives in the array so
+     *  that it can be found without a search.  Reused between animations.
+     */
+    private static class Slot {
+        int index;
+    }
 }
@@ -0,0 +1,503 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.anim;
+
+import java.util.Arrays;
+
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Spatial;
+
+import com.simsilica.lemur.Panel;
+import com.simsilica.lemur.component.ColoredComponent;
+
+
+/**
+ *  An Animation that runs large numbers of simple linear tweens
+ *  (move, scale, fade, and color) at once.  Rather than creating a
+ *  TweenAnimation and a chain of Tween objects for each one, the tween
+ *  data is kept in parallel arrays that are updated in a single tight
+ *  loop.  Adding a tween allocates nothing once the arrays have grown
+ *  large enough and running them allocates nothing per frame.  This is
+ *  intended for things like floating damage numbers or list transitions
+ *  that may start thousands of short tweens at once.
+ *
+ *  <p>Each added tween is identified by a long handle that can be used
+ *  to cancel it or to check if it is still running in constant time.
+ *  Handles are never reused so a stale handle is simply reported as not
+ *  running.</p>
+ *
+ *  <p>The batch itself is a single Animation that stays running even
+ *  when empty.  AnimationState.getTweenBatch() returns a shared batch
+ *  that is already being run.  Like the rest of the AnimationState,
+ *  a TweenBatch should only be used from the render thread.</p>
+ *
+ *  @author    agent
+ */
+public class TweenBatch implements Animation {
+
+    private static final byte MOVE = 0;
+    private static final byte SCALE = 1;
+    private static final byte ALPHA = 2;
+    private static final byte COLOR = 3;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Per-tween data, indexed by slot.  Slots are kept packed from
+    // 0 to size - 1 by moving the last slot into any removed one.
+    private int size;
+    private byte[] channel;
+    private Object[] target;
+    private float[] values;      // from (4 floats) and to (4 floats) per slot
+    private double[] time;       // NaN before the first frame
+    private double[] delay;
+    private double[] length;
+    private ColorRGBA[] color;   // owned by the target once set
+    private Runnable[] onDone;
+    private int[] stamp;         // last frame the slot was updated
+    private int[] slotHandle;    // slot -> handle index
+
+    // Handle indirection so that slots can move without invalidating
+    // the handles given out to callers.
+    private int[] handleSlot;
+    private int[] handleGeneration;
+    private int[] freeHandles;
+    private int freeCount;
+    private int handleCount;
+
+    private int frame;
+    private int completedCount;
+    private int cancelledCount;
+    private int cancelledThisFrame;
+    private long totalCompleted;
+    private long totalCancelled;
+
+    public TweenBatch() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public TweenBatch( int initialCapacity ) {
+        int capacity = Math.max(1, initialCapacity);
+        channel = new byte[capacity];
+        target = new Object[capacity];
+        values = new float[capacity * 8];
+        time = new double[capacity];
+        delay = new double[capacity];
+        length = new double[capacity];
+        color = new ColorRGBA[capacity];
+        onDone = new Runnable[capacity];
+        stamp = new int[capacity];
+        slotHandle = new int[capacity];
+        handleSlot = new int[capacity];
+        handleGeneration = new int[capacity];
+        freeHandles = new int[capacity];
+    }
+
+    /**
+     *  Adds a tween that moves the target's local translation from one
+     *  location to another over the specified length of time.  If either
+     *  location is null then the target's current translation is used.
+     */
+    public long move( Spatial target, Vector3f from, Vector3f to, double length ) {
+        Vector3f current = target.getLocalTranslation();
+        if( from == null ) {
+            from = current;
+        }
+        if( to == null ) {
+            to = current;
+        }
+        return add(MOVE, target, from.x, from.y, from.z, 0, to.x, to.y, to.z, 0, length);
+    }
+
+    /**
+     *  Adds a tween that scales the target's local scale from one
+     *  value to another over the specified length of time.  If either
+     *  scale is null then the target's current scale is used.
+     */
+    public long scale( Spatial target, Vector3f from, Vector3f to, double length ) {
+        Vector3f current = target.getLocalScale();
+        if( from == null ) {
+            from = current;
+        }
+        if( to == null ) {
+            to = current;
+        }
+        return add(SCALE, target, from.x, from.y, from.z, 0, to.x, to.y, to.z, 0, length);
+    }
+
+    /**
+     *  Adds a tween that uniformly scales the target from one value to
+     *  another over the specified length of time.
+     */
+    public long scale( Spatial target, float from, float to, double length ) {
+        return add(SCALE, target, from, from, from, 0, to, to, to, 0, length);
+    }
+
+    /**
+     *  Adds a tween that fades the panel's alpha from one value to another
+     *  over the specified length of time.  If either value is null then the
+     *  panel's current alpha is used.
+     */
+    public long fade( Panel target, Float from, Float to, double length ) {
+        if( from == null ) {
+            from = target.getAlpha();
+        }
+        if( to == null ) {
+            to = target.getAlpha();
+        }
+        return add(ALPHA, target, from, 0, 0, 0, to, 0, 0, 0, length);
+    }
+
+    /**
+     *  Adds a tween that interpolates the color of a ColoredComponent,
+     *  like a QuadBackgroundComponent or TextComponent, from one color to
+     *  another over the specified length of time.  If either color is null
+     *  then the component's current color is used.
+     */
+    public long color( ColoredComponent target, ColorRGBA from, ColorRGBA to, double length ) {
+        ColorRGBA current = target.getColor();
+        if( from == null ) {
+            from = current;
+        }
+        if( to == null ) {
+            to = current;
+        }
+        long result = add(COLOR, target, from.r, from.g, from.b, from.a, to.r, to.g, to.b, to.a, length);
+        // Components may keep the color we pass them so each tween
+        // gets its own.
+        color[size - 1] = new ColorRGBA(from);
+        return result;
+    }
+
+    /**
+     *  Delays the start of the specified tween by the specified number
+     *  of seconds.  This must be called before the tween has started running,
+     *  ie: in the same frame that it was added.  Returns false if the
+     *  tween is no longer running.
+     */
+    public boolean setDelay( long handle, double seconds ) {
+        int slot = getSlot(handle);
+        if( slot < 0 ) {
+            return false;
+        }
+        delay[slot] = Math.max(0, seconds);
+        return true;
+    }
+
+    /**
+     *  Sets a task that will be run when the specified tween completes
+     *  normally.  It is not run if the tween is canceled.  Returns false
+     *  if the tween is no longer running.
+     */
+    public boolean setOnDone( long handle, Runnable task ) {
+        int slot = getSlot(handle);
+        if( slot < 0 ) {
+            return false;
+        }
+        onDone[slot] = task;
+        return true;
+    }
+
+    /**
+     *  Returns true if the tween with the specified handle is
+     *  still running.
+     */
+    public boolean isRunning( long handle ) {
+        return getSlot(handle) >= 0;
+    }
+
+    /**
+     *  Stops the tween with the specified handle, leaving its target
+     *  as it currently is.  Returns false if the tween was not running.
+     */
+    public boolean cancel( long handle ) {
+        int slot = getSlot(handle);
+        if( slot < 0 ) {
+            return false;
+        }
+        removeSlot(slot);
+        cancelledThisFrame++;
+        totalCancelled++;
+        return true;
+    }
+
+    /**
+     *  Stops all tweens for the specified target.  Unlike cancel(handle),
+     *  this has to check every running tween.  Returns the number of
+     *  tweens that were canceled.
+     */
+    public int cancelAll( Object target ) {
+        int count = 0;
+        for( int i = size - 1; i >= 0; i-- ) {
+            if( this.target[i] == target ) {
+                removeSlot(i);
+                count++;
+            }
+        }
+        cancelledThisFrame += count;
+        totalCancelled += count;
+        return count;
+    }
+
+    /**
+     *  Returns the number of tweens currently running.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     *  Returns the number of tweens that completed during the last frame.
+     */
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     *  Returns the number of tweens that were canceled during the
+     *  last frame, ie: since the start of the frame before it.
+     */
+    public int getCancelledCount() {
+        return cancelledCount;
+    }
+
+    public long getTotalCompleted() {
+        return totalCompleted;
+    }
+
+    public long getTotalCancelled() {
+        return totalCancelled;
+    }
+
+    /**
+     *  Runs all of the tweens.  Tweens added while running, from
+     *  onDone tasks for example, will start on the next frame.
+     */
+    @Override
+    public boolean animate( double tpf ) {
+        frame++;
+        completedCount = 0;
+
+        // Includes cancels made between the last frame and this one
+        cancelledCount = cancelledThisFrame;
+        cancelledThisFrame = 0;
+
+        // Run backwards so that anything moved into a removed slot
+        // has already been updated.  The stamps take care of tweens
+        // added or moved around by onDone tasks.
+        for( int i = size - 1; i >= 0; i-- ) {
+            if( i >= size || stamp[i] == frame ) {
+                continue;
+            }
+            stamp[i] = frame;
+
+            double t;
+            if( Double.isNaN(time[i]) ) {
+                // First frame
+                t = -delay[i];
+            } else {
+                t = time[i] + tpf;
+            }
+            time[i] = t;
+            if( t < 0 ) {
+                continue;
+            }
+
+            double len = length[i];
+            boolean done = len <= 0 || t >= len;
+            apply(i, done ? 1f : (float)(t / len));
+
+            if( done ) {
+                Runnable task = onDone[i];
+                removeSlot(i);
+                completedCount++;
+                totalCompleted++;
+                if( task != null ) {
+                    task.run();
+                }
+            }
+        }
+
+        // The batch keeps running even when empty
+        return true;
+    }
+
+    /**
+     *  Cancels all running tweens.  Called by the AnimationState when
+     *  the batch is removed.
+     */
+    @Override
+    public void cancel() {
+        cancelledThisFrame += size;
+        totalCancelled += size;
+        for( int i = size - 1; i >= 0; i-- ) {
+            removeSlot(i);
+        }
+    }
+
+    private void apply( int slot, float f ) {
+        int base = slot * 8;
+        float[] v = values;
+        float x = v[base] + (v[base + 4] - v[base]) * f;
+        switch( channel[slot] ) {
+            case MOVE: {
+                float y = v[base + 1] + (v[base + 5] - v[base + 1]) * f;
+                float z = v[base + 2] + (v[base + 6] - v[base + 2]) * f;
+                ((Spatial)target[slot]).setLocalTranslation(x, y, z);
+                break;
+            }
+            case SCALE: {
+                float y = v[base + 1] + (v[base + 5] - v[base + 1]) * f;
+                float z = v[base + 2] + (v[base + 6] - v[base + 2]) * f;
+                ((Spatial)target[slot]).setLocalScale(x, y, z);
+                break;
+            }
+            case ALPHA:
+                ((Panel)target[slot]).setAlpha(x);
+                break;
+            case COLOR: {
+                ColorRGBA c = color[slot];
+                c.r = x;
+                c.g = v[base + 1] + (v[base + 5] - v[base + 1]) * f;
+                c.b = v[base + 2] + (v[base + 6] - v[base + 2]) * f;
+                c.a = v[base + 3] + (v[base + 7] - v[base + 3]) * f;
+                ((ColoredComponent)target[slot]).setColor(c);
+                break;
+            }
+        }
+    }
+
+    private long add( byte type, Object target,
+                      float x1, float y1, float z1, float w1,
+                      float x2, float y2, float z2, float w2,
+                      double length ) {
+        if( target == null ) {
+            throw new IllegalArgumentException("Target cannot be null");
+        }
+        if( size == channel.length ) {
+            grow();
+        }
+        int slot = size++;
+        channel[slot] = type;
+        this.target[slot] = target;
+        int base = slot * 8;
+        values[base] = x1;
+        values[base + 1] = y1;
+        values[base + 2] = z1;
+        values[base + 3] = w1;
+        values[base + 4] = x2;
+        values[base + 5] = y2;
+        values[base + 6] = z2;
+        values[base + 7] = w2;
+        time[slot] = Double.NaN;
+        delay[slot] = 0;
+        this.length[slot] = length;
+        // Will be updated starting with the next frame
+        stamp[slot] = frame;
+
+        int handle;
+        if( freeCount > 0 ) {
+            handle = freeHandles[--freeCount];
+        } else {
+            if( handleCount == handleSlot.length ) {
+                int capacity = handleSlot.length * 2;
+                handleSlot = Arrays.copyOf(handleSlot, capacity);
+                handleGeneration = Arrays.copyOf(handleGeneration, capacity);
+                freeHandles = Arrays.copyOf(freeHandles, capacity);
+            }
+            handle = handleCount++;
+        }
+        handleSlot[handle] = slot;
+        slotHandle[slot] = handle;
+        return ((long)handleGeneration[handle] << 32) | handle;
+    }
+
+    private int getSlot( long handle ) {
+        int index = (int)handle;
+        int generation = (int)(handle >>> 32);
+        if( index < 0 || index >= handleCount || handleGeneration[index] != generation ) {
+            return -1;
+        }
+        return handleSlot[index];
+    }
+
+    private void removeSlot( int slot ) {
+        // Retire the handle
+        int handle = slotHandle[slot];
+        handleGeneration[handle]++;
+        handleSlot[handle] = -1;
+        freeHandles[freeCount++] = handle;
+
+        int last = --size;
+        if( slot != last ) {
+            channel[slot] = channel[last];
+            target[slot] = target[last];
+            System.arraycopy(values, last * 8, values, slot * 8, 8);
+            time[slot] = time[last];
+            delay[slot] = delay[last];
+            length[slot] = length[last];
+            color[slot] = color[last];
+            onDone[slot] = onDone[last];
+            stamp[slot] = stamp[last];
+            slotHandle[slot] = slotHandle[last];
+            handleSlot[slotHandle[slot]] = slot;
+        }
+        // Don't hold on to things we no longer need
+        target[last] = null;
+        color[last] = null;
+        onDone[last] = null;
+    }
+
+    private void grow() {
+        int capacity = channel.length * 2;
+        channel = Arrays.copyOf(channel, capacity);
+        target = Arrays.copyOf(target, capacity);
+        values = Arrays.copyOf(values, capacity * 8);
+        time = Arrays.copyOf(time, capacity);
+        delay = Arrays.copyOf(delay, capacity);
+        length = Arrays.copyOf(length, capacity);
+        color = Arrays.copyOf(color, capacity);
+        onDone = Arrays.copyOf(onDone, capacity);
+        stamp = Arrays.copyOf(stamp, capacity);
+        slotHandle = Arrays.copyOf(slotHandle, capacity);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size + "]";
+    }
+}
@@ -36,7 +36,6 @@
 
 package com.simsilica.lemur.anim;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Objects;
@@ -44,6 +43,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.google.common.primitives.Primitives;
 
+import com.simsilica.lemur.core.MethodInvoker;
+
 /**
  *  Static utility methods for creating common generic Tween objects.
  *
@@ -405,6 +406,7 @@ public class Tweens {
         private Object target;
         private Method method;
         private Object[] args;        
+        private MethodInvoker invoker;
         
         public CallMethod( Object target, String methodName, Object... args ) {
             super(0);
@@ -424,6 +426,7 @@ public class Tweens {
                 throw new IllegalArgumentException("Method not found for:" + methodName + " on type:" + target.getClass());            
             }
             this.method.setAccessible(true);            
+            this.invoker = MethodInvoker.bind(target, method, args);
         }
 
         @SuppressWarnings("unchecked")        
@@ -455,13 +458,7 @@ public class Tweens {
 
         @Override
         protected void doInterpolate( double t ) {
-            try {
-                method.invoke(target, args); 
-            } catch( IllegalAccessException e ) {
-                throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
-            } catch( InvocationTargetException e ) {
-                throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
-            }
+            invoker.invoke();
         }
         
         @Override
@@ -476,7 +473,7 @@ public class Tweens {
         private Method method;
         private Object[] args;
         private int tIndex = -1;
-        private boolean isFloat = false;        
+        private MethodInvoker invoker;
         
         public CallTweenMethod( double length, Object target, String methodName, Object... args ) {
             super(length);
@@ -492,17 +489,10 @@ public class Tweens {
             }
             this.method.setAccessible(true);
             
-            // So now setup the real args list
-            this.args = new Object[args.length + 1];
-            if( tIndex == 0 ) {
-                for( int i = 0; i < args.length; i++ ) {
-                    this.args[i + 1] = args[i];
-                }
-            } else {
-                for( int i = 0; i < args.length; i++ ) {
-                    this.args[i] = args[i];
-                }
-            }            
+            // Bind everything but the 't' parameter so that each frame
+            // is a direct call without boxing.
+            this.args = args;
+            this.invoker = MethodInvoker.bindDoubleParameter(target, method, tIndex, args);
         }
         
         private static boolean isFloatType( Class type ) {
@@ -540,7 +530,6 @@ public class Tweens {
                     if( matches == args.length ) {
                         // Then this is our method and this is how we are configured
                         tIndex = 0;
-                        isFloat = isFloatType(paramTypes[0]);                        
                     } else {
                         if( log.isTraceEnabled() ) {
                             log.trace(m + " Leading float check failed because of type mismatches, for:" + m);
@@ -564,7 +553,6 @@ public class Tweens {
                     if( matches == args.length ) {
                         // Then this is our method and this is how we are configured
                         tIndex = last;
-                        isFloat = isFloatType(paramTypes[last]);
                         return m;                        
                     } else {
                         if( log.isTraceEnabled() ) {
@@ -581,18 +569,7 @@ public class Tweens {
 
         @Override
         protected void doInterpolate( double t ) {
-            try {
-                if( isFloat ) {
-                    args[tIndex] = (float)t;
-                } else {
-                    args[tIndex] = t;
-                }
-                method.invoke(target, args); 
-            } catch( IllegalAccessException e ) {
-                throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
-            } catch( InvocationTargetException e ) {
-                throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
-            }
+            invoker.invoke(t);
         }
         
         @Override
@@ -45,7 +45,9 @@ import com.jme3.texture.Texture;
 
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.core.BatchedGeometry;
 import com.simsilica.lemur.core.GuiMaterial;
+import com.simsilica.lemur.core.TextureAtlas;
 import com.simsilica.lemur.HAlignment;
 import com.simsilica.lemur.VAlignment;
 
@@ -62,7 +64,7 @@ import com.simsilica.lemur.VAlignment;
 public class IconComponent extends AbstractGuiComponent
                            implements Cloneable, ColoredComponent {
 
-    private Geometry icon;
+    private BatchedGeometry icon;
     private GuiMaterial material;
     private String imagePath; // really just for debugging
     private Texture image;
@@ -144,10 +146,38 @@ public class IconComponent extends AbstractGuiComponent
     public void setImageTexture( Texture t ) {
         this.image = t;
         if( material != null ) {
-            material.setTexture(image);
+            resetTexture();
         }
     }
 
+    /**
+     *  Applies the image to the material and icon quad, rendering from
+     *  the image's atlas region if it has been packed into an atlas.
+     */
+    protected void resetTexture() {
+        TextureAtlas.Region region = GuiGlobals.getInstance().getAtlasRegion(image);
+        material.setTexture(region != null ? region.getTexture() : image);
+        if( icon == null ) {
+            return;
+        }
+        if( region != null ) {
+            icon.getMesh().setBuffer(VertexBuffer.Type.TexCoord, 2, new float[] {
+                                        region.getMinU(), region.getMinV(),
+                                        region.getMaxU(), region.getMinV(),
+                                        region.getMaxU(), region.getMaxV(),
+                                        region.getMinU(), region.getMaxV()
+                                    });
+        } else {
+            icon.getMesh().setBuffer(VertexBuffer.Type.TexCoord, 2, new float[] {
+                                        0, 0,
+                                        1, 0,
+                                        1, 1,
+                                        0, 1
+                                    });
+        }
+        icon.markChanged();
+    }
+
     public Texture getImageTexture() {
         return image;
     }
@@ -171,6 +201,9 @@ public class IconComponent extends AbstractGuiComponent
             adjusted.a *= alpha;
             material.setColor(adjusted);
         }
+        if( icon != null ) {
+            icon.markChanged();
+        }
     }
 
     @Override
@@ -324,12 +357,23 @@ public class IconComponent extends AbstractGuiComponent
         if( material != null ) {
             material.getMaterial().setFloat("AlphaDiscardThreshold", alphaDiscard);
         }
+        if( icon != null ) {
+            icon.markChanged();
+        }
     }
 
     public float getAlphaDiscard() {
         return alphaDiscard;
     }
 
+    /**
+     *  Returns true if this component uses a lit material.  This
+     *  can only be set at construction time.
+     */
+    public boolean isLit() {
+        return lit;
+    }
+
     public GuiMaterial getMaterial() {
         return material;
     }
@@ -441,17 +485,17 @@ public class IconComponent extends AbstractGuiComponent
         float width = iconScale.x * imageSize.x;
         float height = iconScale.y * imageSize.y;
         Quad q = new Quad(width, height);
-        icon = new Geometry("icon:" + imagePath, q);
+        icon = new BatchedGeometry("icon:" + imagePath, q);
         if( material == null ) {
             material = GuiGlobals.getInstance().createMaterial(lit);
             material.setColor(color);
-            material.setTexture(image);
 
             material.getMaterial().getAdditionalRenderState().setBlendMode(BlendMode.Alpha);
             material.getMaterial().setFloat("AlphaDiscardThreshold", alphaDiscard);
         }
 
-        icon.setMaterial(material.getMaterial());
+        icon.setGuiMaterial(material);
+        resetTexture();
 
         // Leave it invisible until the first time we are reshaped.
         // Without this, there is a noticeable one-frame jump from
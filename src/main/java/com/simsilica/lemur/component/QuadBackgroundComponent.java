@@ -34,14 +34,20 @@
 
 package com.simsilica.lemur.component;
 
+import java.nio.FloatBuffer;
+
 import com.jme3.material.RenderState.BlendMode;
 import com.jme3.math.*;
 import com.jme3.scene.*;
+import com.jme3.scene.VertexBuffer.Format;
 import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.scene.VertexBuffer.Usage;
 import com.jme3.scene.shape.Quad;
 import com.jme3.texture.Texture;
+import com.jme3.util.BufferUtils;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.core.BatchedGeometry;
 import com.simsilica.lemur.core.GuiMaterial;
 
 
@@ -51,7 +57,13 @@ import com.simsilica.lemur.core.GuiMaterial;
  */
 public class QuadBackgroundComponent extends AbstractGuiComponent
                                      implements Cloneable, ColoredComponent {
-    private Geometry background;
+
+    // Every background quad has the same indexes and normals so they
+    // all share these.  They must never be modified.
+    private static final VertexBuffer SHARED_INDEXES = createSharedIndexes();
+    private static final VertexBuffer SHARED_NORMALS = createSharedNormals();
+
+    private BatchedGeometry background;
     private ColorRGBA color;
     private float alpha = 1f;
     private Texture texture;
@@ -67,6 +79,11 @@ public class QuadBackgroundComponent extends AbstractGuiComponent
     // so that we know how to apply scale changes.
     private Vector2f appliedTextureScale = new Vector2f(1, 1);
 
+    // The size the quad's positions were last written for.  Quad's own
+    // width and height don't change when we rewrite the positions in place.
+    private float quadWidth;
+    private float quadHeight;
+
     public QuadBackgroundComponent() {
         this(ColorRGBA.Gray, 0, 0, 0.01f, false);
     }
@@ -151,6 +168,9 @@ public class QuadBackgroundComponent extends AbstractGuiComponent
             adjusted.a *= alpha;
             material.setColor(adjusted);
         }
+        if( background != null ) {
+            background.markChanged();
+        }
     }
 
     @Override
@@ -239,12 +259,23 @@ public class QuadBackgroundComponent extends AbstractGuiComponent
         if( material != null ) {
             material.getMaterial().setFloat("AlphaDiscardThreshold", alphaDiscard);
         }
+        if( background != null ) {
+            background.markChanged();
+        }
     }
 
     public float getAlphaDiscard() {
         return alphaDiscard;
     }
 
+    /**
+     *  Returns true if this component uses a lit material.  This
+     *  can only be set at construction time.
+     */
+    public boolean isLit() {
+        return lit;
+    }
+
     public GuiMaterial getMaterial() {
         return material;
     }
@@ -277,20 +308,58 @@ public class QuadBackgroundComponent extends AbstractGuiComponent
         material.getMaterial().setFloat("AlphaDiscardThreshold", alphaDiscard);
     }
 
-    protected void refreshBackground( Vector3f size ) {
-        if( background == null ) {
-            Quad q = new Quad(size.x, size.y);
-            if( lit ) {
-                // Give the quad some normals
-                q.setBuffer(Type.Normal, 3,
-                            new float[] {
+    private static VertexBuffer createSharedIndexes() {
+        VertexBuffer result = new VertexBuffer(Type.Index);
+        result.setupData(Usage.Static, 3, Format.UnsignedShort,
+                         BufferUtils.createShortBuffer(new short[] { 0, 1, 2, 0, 2, 3 }));
+        return result;
+    }
+
+    private static VertexBuffer createSharedNormals() {
+        VertexBuffer result = new VertexBuffer(Type.Normal);
+        result.setupData(Usage.Static, 3, Format.Float,
+                         BufferUtils.createFloatBuffer(new float[] {
                                         0, 0, 1,
                                         0, 0, 1,
                                         0, 0, 1,
                                         0, 0, 1
-                            });
-            }
-            background = new Geometry("background", q);
+                                    }));
+        return result;
+    }
+
+    /**
+     *  Rewrites the quad's existing position buffer for the new size
+     *  rather than letting Quad recreate all of its buffers.  This also
+     *  leaves any texture coordinate scaling intact.
+     */
+    protected void resizeQuad( Mesh q, float width, float height ) {
+        VertexBuffer vb = q.getBuffer(Type.Position);
+        FloatBuffer pos = (FloatBuffer)vb.getData();
+        pos.clear();
+        pos.put(0).put(0).put(0);
+        pos.put(width).put(0).put(0);
+        pos.put(width).put(height).put(0);
+        pos.put(0).put(height).put(0);
+        pos.flip();
+        vb.updateData(pos);
+        q.updateBound();
+        q.clearCollisionData();
+        quadWidth = width;
+        quadHeight = height;
+    }
+
+    protected void refreshBackground( Vector3f size ) {
+        if( background == null ) {
+            Quad q = new Quad(size.x, size.y);
+            // Swap in the shared buffers.  This also gives the quad
+            // normals for lighting.
+            q.clearBuffer(Type.Index);
+            q.clearBuffer(Type.Normal);
+            q.setBuffer(SHARED_INDEXES);
+            q.setBuffer(SHARED_NORMALS);
+            quadWidth = size.x;
+            quadHeight = size.y;
+            background = new BatchedGeometry("background", q);
             // Can't do this even though it seems logical because it
             // is just as likely that we are in bucket.gui.  It is up to
             // the caller to put the main 3D ui in the transparent bucket
@@ -298,7 +367,7 @@ public class QuadBackgroundComponent extends AbstractGuiComponent
             if( material == null ) {
                 createMaterial();
             }
-            background.setMaterial(material.getMaterial());
+            background.setGuiMaterial(material);
             getNode().attachChild(background);
 
             // If we've recreated the spatial then the applied scale
@@ -309,10 +378,9 @@ public class QuadBackgroundComponent extends AbstractGuiComponent
             appliedTextureScale.set(1, 1);
         } else {
             // Else reset the size of the quad
-            Quad q = (Quad)background.getMesh();
-            if( size.x != q.getWidth() || size.y != q.getHeight() ) {
-                q.updateGeometry(size.x, size.y);
-                q.clearCollisionData();
+            if( size.x != quadWidth || size.y != quadHeight ) {
+                resizeQuad(background.getMesh(), size.x, size.y);
+                background.markChanged();
             }
         }
 
@@ -329,6 +397,7 @@ public class QuadBackgroundComponent extends AbstractGuiComponent
 
             // And now apply the latest coordinate scaling.
             m.scaleTextureCoordinates(appliedTextureScale);
+            background.markChanged();
 
             // Note: it's probably safer to have just applied the scale value directly to
             // the quad's texture coordinate values instead of multiplying.  The above may
@@ -65,8 +65,24 @@ public class SpringGridLayout extends AbstractGuiComponent
     private int columnCount;
     private float[] rowPrefs;
     private float[] colPrefs;
+    
+    // Working buffers for reshape() that are kept around between
+    // calls so that reshaping does not create garbage.
+    private float[] rowSizes;
+    private float[] colSizes;
+    private float[] rowOffsets;
+    private float[] colOffsets;
+    private Vector3f cellOffset = new Vector3f();
+    private Vector3f cellPos = new Vector3f();
+    private Vector3f cellSize = new Vector3f();
+    private Vector3f cellPref = new Vector3f();
+    private Vector3f scratchSize = new Vector3f();
 
-    private Map<Integer,Map<Integer,Entry>> children = new HashMap<Integer, Map<Integer,Entry>>();
+    /**
+     *  The dense grid of cells indexed by [row][column].  Rows are
+     *  grown as needed and may be null if nothing was ever added to them.
+     */
+    private Entry[][] cells = new Entry[0][];
     private Map<Node, Entry> lookup = new LinkedHashMap<Node, Entry>();
 
     private Vector3f lastPreferredSize = new Vector3f();
@@ -170,12 +186,19 @@ public class SpringGridLayout extends AbstractGuiComponent
         }
 
         float maxAlternate = 0;
-        for( Map.Entry<Integer, Map<Integer,Entry>> rowEntry : children.entrySet() ) {
-            int row = rowEntry.getKey();
-            for( Map.Entry<Integer, Entry> colEntry : rowEntry.getValue().entrySet() ) {
-                int col = colEntry.getKey();
-                Entry e = colEntry.getValue();
-                Vector3f v = e.getPreferredSize();
+        int rows = Math.min(rowCount, cells.length);
+        for( int row = 0; row < rows; row++ ) {
+            Entry[] rowCells = cells[row];
+            if( rowCells == null ) {
+                continue;
+            }
+            int cols = Math.min(columnCount, rowCells.length);
+            for( int col = 0; col < cols; col++ ) {
+                Entry e = rowCells[col];
+                if( e == null ) {
+                    continue;
+                }
+                Vector3f v = e.getPreferredSize(cellPref);
                 rowPrefs[row] = Math.max(rowPrefs[row], getMajor(v));
                 colPrefs[col] = Math.max(colPrefs[col], getMinor(v));
                 maxAlternate = Math.max(getAlternate(v), maxAlternate);
@@ -270,24 +293,29 @@ public class SpringGridLayout extends AbstractGuiComponent
         // the sizes and positions, I guess.
 
         // Make sure the preferred size book-keeping is up to date.
-        calculatePreferredSize(new Vector3f());
+        scratchSize.set(0, 0, 0);
+        calculatePreferredSize(scratchSize);
 
-        // We could keep these arrays around but I think the GC churn
-        // pales in comparison to the distribute calls if reshape is called a lot.
-        float[] rowSizes = new float[rowCount];
+        // The working arrays are kept around and only reallocated when
+        // the grid dimensions change.
+        if( rowSizes == null || rowSizes.length != rowCount ) {
+            rowSizes = new float[rowCount];
+            rowOffsets = new float[rowCount];
+        }
         distribute(rowSizes, rowPrefs, getMajor(size), getMajor(lastPreferredSize), mainFill, mainAxis);
 
-        float[] colSizes = new float[columnCount];
+        if( colSizes == null || colSizes.length != columnCount ) {
+            colSizes = new float[columnCount];
+            colOffsets = new float[columnCount];
+        }
         distribute(colSizes, colPrefs, getMinor(size), getMinor(lastPreferredSize), minorFill, minorAxis);
 
-        float[] rowOffsets = new float[rowCount];
         float f = 0;
         for( int i = 0; i < rowOffsets.length; i++ ) {
             rowOffsets[i] = f;
             f += rowSizes[i];
         }
 
-        float[] colOffsets = new float[columnCount];
         f = 0;
         for( int i = 0; i < colOffsets.length; i++ ) {
             colOffsets[i] = f;
@@ -295,30 +323,88 @@ public class SpringGridLayout extends AbstractGuiComponent
         }
 
         // Now we can process the actual children
-        for( Map<Integer, Entry> r : children.values() ) {
-            for( Entry e : r.values() ) {
-                Vector3f offset = new Vector3f();
-                addMajor(offset, rowOffsets[e.row]);
-                addMinor(offset, colOffsets[e.col]);
-                offset.y *= -1;
-                e.setTranslation(pos.add(offset));
-
-                Vector3f childSize = size.clone();
-                setMajor(childSize, rowSizes[e.row]);
-                setMinor(childSize, colSizes[e.col]);
-
-                e.setSize(childSize);
+        int rows = Math.min(rowCount, cells.length);
+        for( int row = 0; row < rows; row++ ) {
+            Entry[] rowCells = cells[row];
+            if( rowCells == null ) {
+                continue;
+            }
+            int cols = Math.min(columnCount, rowCells.length);
+            for( int col = 0; col < cols; col++ ) {
+                Entry e = rowCells[col];
+                if( e == null ) {
+                    continue;
+                }
+                cellOffset.set(0, 0, 0);
+                addMajor(cellOffset, rowOffsets[row]);
+                addMinor(cellOffset, colOffsets[col]);
+                cellOffset.y *= -1;
+                e.setTranslation(cellPos.set(pos).addLocal(cellOffset));
+
+                cellSize.set(size);
+                setMajor(cellSize, rowSizes[row]);
+                setMinor(cellSize, colSizes[col]);
+
+                e.setSize(cellSize);
             }
         }
     }
 
-    protected Map<Integer, Entry> getRow( int row, boolean create ) {
-        Map<Integer, Entry> result = children.get(row);
-        if( result == null && create ) {
-            result = new HashMap<Integer, Entry>();
-            children.put(row, result);
+    /**
+     *  Returns the entry at the specified row and column or null
+     *  if that cell is empty.
+     */
+    protected Entry getEntry( int row, int column ) {
+        if( row < 0 || row >= cells.length ) {
+            return null;
         }
-        return result;
+        Entry[] rowCells = cells[row];
+        if( rowCells == null || column < 0 || column >= rowCells.length ) {
+            return null;
+        }
+        return rowCells[column];
+    }
+
+    /**
+     *  Sets the entry at the specified row and column, growing the
+     *  cell grid if required.
+     */
+    protected void setEntry( int row, int column, Entry entry ) {
+        if( row >= cells.length ) {
+            if( entry == null ) {
+                return;
+            }
+            cells = Arrays.copyOf(cells, Math.max(row + 1, cells.length * 2));
+        }
+        Entry[] rowCells = cells[row];
+        if( rowCells == null || column >= rowCells.length ) {
+            if( entry == null ) {
+                return;
+            }
+            if( rowCells == null ) {
+                rowCells = new Entry[Math.max(column + 1, columnCount)];
+            } else {
+                rowCells = Arrays.copyOf(rowCells, Math.max(column + 1, rowCells.length * 2));
+            }
+            cells[row] = rowCells;
+        }
+        rowCells[column] = entry;
+    }
+
+    /**
+     *  Returns the number of non-empty cells in the specified row.
+     */
+    protected int getEntryCount( int row ) {
+        if( row < 0 || row >= cells.length || cells[row] == null ) {
+            return 0;
+        }
+        int count = 0;
+        for( Entry e : cells[row] ) {
+            if( e != null ) {
+                count++;
+            }
+        }
+        return count;
     }
 
     public <T extends Node> T addChild( int row, int column, T n ) {
@@ -326,8 +412,7 @@ public class SpringGridLayout extends AbstractGuiComponent
             throw new IllegalArgumentException( "Child is not GUI element." );
 
         // Remove any element that is already at this row/column
-        Map<Integer, Entry> rowMap = getRow(row, true);
-        Entry existing = rowMap.get(column);
+        Entry existing = getEntry(row, column);
         if( existing != null ) {
             remove(existing);
         }
@@ -341,7 +426,7 @@ public class SpringGridLayout extends AbstractGuiComponent
         
         // Now we can create our grid cell entry and set it up.
         Entry entry = new Entry(row, column, n);
-        rowMap.put(column, entry);
+        setEntry(row, column, entry);
         
         if( n != null ) {
             lookup.put(n, entry);
@@ -384,7 +469,7 @@ public class SpringGridLayout extends AbstractGuiComponent
                 row = rowCount;
             }
             if( col == -1 ) {
-                col = getRow(row, true).size();
+                col = getEntryCount(row);
             }
         }
 
@@ -394,12 +479,7 @@ public class SpringGridLayout extends AbstractGuiComponent
     }
 
     public Node getChild( int row, int column ) {
-        Map<Integer, Entry> rowMap = getRow(row, false);
-        if( rowMap == null ) {
-            return null;
-        }
-        
-        Entry existing = rowMap.get(column);
+        Entry existing = getEntry(row, column);
         if( existing == null ) {
             return null;
         }
@@ -433,9 +513,8 @@ public class SpringGridLayout extends AbstractGuiComponent
             }
         }
         
-        children.clear();
+        cells = new Entry[0][];
         lookup.clear();
-        children.clear();
         rowCount = 0;
         columnCount = 0;          
         invalidate();
@@ -445,11 +524,9 @@ public class SpringGridLayout extends AbstractGuiComponent
     
         e.detach();
 
-        Map<Integer, Entry> rowMap = getRow(e.row, false);
-        if( rowMap == null )
-            return;
-
-        rowMap.remove(e.col);
+        if( getEntry(e.row, e.col) == e ) {
+            setEntry(e.row, e.col, null);
+        }
 
         if( e.child != null ) {
             lookup.remove(e.child);
@@ -474,10 +551,14 @@ public class SpringGridLayout extends AbstractGuiComponent
     @Override
     public void attach( GuiControl parent ) {
         this.parent = parent;
-        Node self = parent.getNode();
-        for( Map<Integer, Entry> r : children.values() ) {
-            for( Entry e : r.values() ) {
-                e.attach();
+        for( Entry[] rowCells : cells ) {
+            if( rowCells == null ) {
+                continue;
+            }
+            for( Entry e : rowCells ) {
+                if( e != null ) {
+                    e.attach();
+                }
             }
         }
     }
@@ -494,12 +575,6 @@ public class SpringGridLayout extends AbstractGuiComponent
         for( Entry e : copy ) {
             e.detach();
         }
-        /*
-        for( Map<Integer, Entry> r : children.values() ) {
-            for( Entry e : r.values() ) {
-                e.detach();
-            }
-        }*/
     }
     
     @Override
@@ -520,9 +595,13 @@ public class SpringGridLayout extends AbstractGuiComponent
         }
  
         public Vector3f getPreferredSize() {
+            return getPreferredSize(new Vector3f());
+        }
+ 
+        public Vector3f getPreferredSize( Vector3f store ) {
             if( child == null )
-                return new Vector3f(0,0,0);            
-            return child.getControl(GuiControl.class).getPreferredSize(); 
+                return store.set(0, 0, 0);            
+            return child.getControl(GuiControl.class).getPreferredSize(store); 
         }
         
         public void setTranslation( Vector3f v ) {
@@ -41,8 +41,10 @@ import com.jme3.texture.Image;
 import com.jme3.texture.Texture;
 
 import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.core.BatchedGeometry;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.core.GuiMaterial;
+import com.simsilica.lemur.core.TextureAtlas;
 import com.simsilica.lemur.geom.TbtQuad;
 
 
@@ -90,7 +92,7 @@ import com.simsilica.lemur.geom.TbtQuad;
 public class TbtQuadBackgroundComponent extends AbstractGuiComponent
                                         implements Cloneable, ColoredComponent {
     private TbtQuad quad;
-    private Geometry background;
+    private BatchedGeometry background;
     private Texture texture;
     private ColorRGBA color;
     private float alpha = 1f;
@@ -191,6 +193,9 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
             adjusted.a *= alpha;
             material.setColor(adjusted);
         }
+        if( background != null ) {
+            background.markChanged();
+        }
     }
 
     @Override
@@ -217,7 +222,26 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
             return;
         this.texture = t;
         if( material != null ) {
+            resetTexture();
+        }
+    }
+
+    /**
+     *  Applies the texture to the material and quad, rendering from
+     *  the texture's atlas region if it has been packed into an atlas.
+     */
+    protected void resetTexture() {
+        TextureAtlas.Region region = GuiGlobals.getInstance().getAtlasRegion(texture);
+        if( region != null ) {
+            material.setTexture(region.getTexture());
+            quad.setTextureRegion(region.getMinU(), region.getMinV(),
+                                  region.getMaxU(), region.getMaxV());
+        } else {
             material.setTexture(texture);
+            quad.setTextureRegion(0, 0, 1, 1);
+        }
+        if( background != null ) {
+            background.markChanged();
         }
     }
 
@@ -252,6 +276,21 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
         return zOffset;
     }
 
+    /**
+     *  Returns the TbtQuad mesh that this component renders.
+     */
+    public TbtQuad getQuad() {
+        return quad;
+    }
+
+    /**
+     *  Returns true if this component uses a lit material.  This
+     *  can only be set at construction time.
+     */
+    public boolean isLit() {
+        return lit;
+    }
+
     public GuiMaterial getMaterial() {
         return material;
     }
@@ -276,7 +315,8 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
     }
 
     protected void createMaterial() {
-        material = GuiGlobals.getInstance().createMaterial(texture, lit);
+        material = GuiGlobals.getInstance().createMaterial(lit);
+        resetTexture();
         if( color != null ) {
             material.setColor(color);
         }
@@ -284,11 +324,11 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
     }
 
     protected void createGeometry() {
-        background = new Geometry("background", quad);
+        background = new BatchedGeometry("background", quad);
         if( material == null ) {
             createMaterial();
         }
-        background.setMaterial(material.getMaterial());
+        background.setGuiMaterial(material);
         getNode().attachChild(background);
     }
 
@@ -300,7 +340,10 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
         // the original quad may have been passed in with
         // a totally different size.
         TbtQuad q = (TbtQuad)background.getMesh();
-        q.updateSize(size.x, size.y);
+        if( q.getSize().x != size.x || q.getSize().y != size.y ) {
+            q.updateSize(size.x, size.y);
+            background.markChanged();
+        }
         q.clearCollisionData(); 
     }
  
@@ -44,6 +44,7 @@ import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.HAlignment;
 import com.simsilica.lemur.LayerComparator;
 import com.simsilica.lemur.VAlignment;
+import com.simsilica.lemur.text.TextMetricsCache;
 
 
 /**
@@ -62,6 +63,7 @@ public class TextComponent extends AbstractGuiComponent
     private Vector3f offset = null;
     private int layer;
     private float maxWidth;
+    private Vector2f measured = new Vector2f();
 
     public TextComponent( String text, BitmapFont font ) {
         this.bitmapText = new BitmapText(font);
@@ -73,6 +75,7 @@ public class TextComponent extends AbstractGuiComponent
         TextComponent result = (TextComponent)super.clone();
         result.bitmapText = bitmapText.clone();
         result.textBox = null;
+        result.measured = new Vector2f();
         return result;
     }
 
@@ -290,24 +293,24 @@ public class TextComponent extends AbstractGuiComponent
         } else {
             bitmapText.setLocalTranslation(pos.x, pos.y, pos.z);
         }
-        textBox = new Rectangle(0, 0, size.x, size.y);
-        bitmapText.setBox( textBox );
+        // Only touch the box when it actually changes since it causes
+        // the BitmapText to redo its layout and mesh
+        if( textBox == null || textBox.width != size.x || textBox.height != size.y ) {
+            textBox = new Rectangle(0, 0, size.x, size.y);
+            bitmapText.setBox(textBox);
+        }
         resetAlignment();
     }
 
     public void calculatePreferredSize( Vector3f size ) {
         
-        // Make sure that the bitmapText reports a reliable
-        // preferred size
-        bitmapText.setBox(null);
-
-        if( maxWidth > 0 ) {
-            // Give the text a box that constrains the width
-            bitmapText.setBox(new Rectangle(0, 0, maxWidth, 0));
-        }
+        // Measure the text as if it had no box, or a box constrained
+        // to the max width, without disturbing our own bitmapText's layout
+        TextMetricsCache.getDefault().getSize(bitmapText.getFont(), bitmapText.getSize(),
+                                              bitmapText.getText(), maxWidth, measured);
 
-        size.x = bitmapText.getLineWidth();
-        size.y = bitmapText.getHeight();
+        size.x = measured.x;
+        size.y = measured.y;
 
         if( offset != null ) {
             size.x += Math.abs(offset.x);
@@ -316,37 +319,46 @@ public class TextComponent extends AbstractGuiComponent
         }
 
         size.x += 0.01f;
-
-        // Reset any text box we already had
-        bitmapText.setBox(textBox);
     }
 
     protected void resetAlignment() {
         if( textBox == null )
             return;
 
+        Align align;
         switch( hAlign ) {
-            case Left:
-                bitmapText.setAlignment(Align.Left);
-                break;
             case Right:
-                bitmapText.setAlignment(Align.Right);
+                align = Align.Right;
                 break;
             case Center:
-                bitmapText.setAlignment(Align.Center);
+                align = Align.Center;
+                break;
+            case Left:
+            default:
+                align = Align.Left;
                 break;
         }
+        VAlign vertical;
         switch( vAlign ) {
-            case Top:
-                bitmapText.setVerticalAlignment(VAlign.Top);
-                break;
             case Bottom:
-                bitmapText.setVerticalAlignment(VAlign.Bottom);
+                vertical = VAlign.Bottom;
                 break;
             case Center:
-                bitmapText.setVerticalAlignment(VAlign.Center);
+                vertical = VAlign.Center;
+                break;
+            case Top:
+            default:
+                vertical = VAlign.Top;
                 break;
         }
+
+        // Setting the same alignment would still redo the layout
+        if( bitmapText.getAlignment() != align ) {
+            bitmapText.setAlignment(align);
+        }
+        if( bitmapText.getVerticalAlignment() != vertical ) {
+            bitmapText.setVerticalAlignment(vertical);
+        }
     }
     
     protected void resetLayer() {
@@ -47,6 +47,7 @@ import com.jme3.input.event.KeyInputEvent;
 import com.jme3.material.RenderState.BlendMode;
 import com.jme3.math.*;
 import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import com.jme3.scene.Spatial.CullHint;
 import com.jme3.scene.shape.Quad;
@@ -143,6 +144,20 @@ public class TextEntryComponent extends AbstractGuiComponent
     // This really only works properly in single-line mode.
     private int textOffset = 0;
 
+    /**
+     *  When no preferred line count is set, this is the most lines
+     *  that virtualized mode will ask for in its preferred size or build
+     *  geometry for before it has been sized.
+     */
+    private static final int MAX_UNSIZED_LINES = 64;
+
+    // Virtualized rendering state
+    private boolean virtualized;
+    private Node linesNode;
+    private LineSlot[] slots;
+    private int topLine;
+    private int lastLineCount = -1;
+
     private Map<KeyAction,KeyActionListener> actionMap = new HashMap<KeyAction,KeyActionListener>(standardActions);
 
     public TextEntryComponent( BitmapFont font ) {
@@ -190,7 +205,14 @@ public class TextEntryComponent extends AbstractGuiComponent
         GuiMaterial mat = GuiGlobals.getInstance().createMaterial(new ColorRGBA(1,1,1,0.75f), false);
         result.cursor.setMaterial(mat.getMaterial());
         result.cursor.getMaterial().getAdditionalRenderState().setBlendMode(BlendMode.Alpha);
-        result.bitmapText.attachChild(cursor);
+        if( virtualized ) {
+            result.linesNode = new Node("lines");
+            result.slots = null;
+            result.lastLineCount = -1;
+            result.linesNode.attachChild(result.cursor);
+        } else {
+            result.bitmapText.attachChild(result.cursor);
+        }
         result.resetText();
 
         return result;
@@ -200,7 +222,7 @@ public class TextEntryComponent extends AbstractGuiComponent
     public void attach( GuiControl parent ) {
         super.attach(parent);
         parent.addUpdateListener(updateListener);
-        getNode().attachChild(bitmapText);
+        getNode().attachChild(virtualized ? linesNode : bitmapText);
         resetCursorPosition();
         resetCursorState();
 
@@ -213,7 +235,7 @@ public class TextEntryComponent extends AbstractGuiComponent
     public void detach( GuiControl parent ) {
         GuiGlobals.getInstance().removeKeyListener(keyHandler);
 
-        getNode().detachChild(bitmapText);
+        getNode().detachChild(virtualized ? linesNode : bitmapText);
         parent.removeUpdateListener(updateListener);
         super.detach(parent);
     }
@@ -281,11 +303,56 @@ public class TextEntryComponent extends AbstractGuiComponent
         return singleLine;
     }
 
+    /**
+     *  Set to true to build glyph geometry only for the lines that fit in
+     *  the component, each line in its own BitmapText.  Edits then only
+     *  rebuild the lines whose text actually changed and carat moves that
+     *  stay inside the visible lines only move the cursor.  The cost of
+     *  an edit stays the same no matter how large the document is, which
+     *  makes this useful for large multi-line documents, especially with a
+     *  PieceTableDocumentModel.  In this mode, the text is always left/top
+     *  aligned and long lines are clipped.  Defaults to false.
+     */
+    public void setVirtualized( boolean f ) {
+        if( this.virtualized == f ) {
+            return;
+        }
+        this.virtualized = f;
+        if( virtualized ) {
+            if( linesNode == null ) {
+                linesNode = new Node("lines");
+            }
+            linesNode.setLocalTranslation(bitmapText.getLocalTranslation());
+            if( isAttached() ) {
+                getNode().detachChild(bitmapText);
+                getNode().attachChild(linesNode);
+            }
+            // Release the full text mesh
+            bitmapText.setText("");
+            linesNode.attachChild(cursor);
+            topLine = 0;
+        } else {
+            releaseSlots();
+            if( isAttached() ) {
+                getNode().detachChild(linesNode);
+                getNode().attachChild(bitmapText);
+            }
+            bitmapText.attachChild(cursor);
+        }
+        resetText();
+        resetCursorPosition();
+        invalidate();
+    }
+
+    public boolean isVirtualized() {
+        return virtualized;
+    }
+
     public void setFont( BitmapFont font ) {
         if( font == bitmapText.getFont() )
             return;
     
-        if( isAttached() ) {
+        if( isAttached() && !virtualized ) {
             bitmapText.removeFromParent();
         }
         
@@ -293,7 +360,7 @@ public class TextEntryComponent extends AbstractGuiComponent
         // have to create it fresh
         BitmapText newText = new BitmapText(font);
         newText.setLineWrapMode(LineWrapMode.Clip);
-        newText.setText(getText());
+        newText.setText(virtualized ? "" : getText());
         newText.setColor(getColor());
         newText.setLocalTranslation(bitmapText.getLocalTranslation());
         newText.setSize(getFontSize());
@@ -301,16 +368,21 @@ public class TextEntryComponent extends AbstractGuiComponent
  
         // The cursor is attached to the bitmap text directly
         // so we need to move it.       
-        bitmapText.attachChild(cursor);
+        if( !virtualized ) {
+            bitmapText.attachChild(cursor);
+        }
         
          // we also need to change the font! as the font parameter is used in getVisibleWidth()
         this.font = font;
+ 
+        // Line slots need to be recreated with the new font
+        releaseSlots();
                 
         resizeCursor();
         resetCursorPosition();
         resetText();
                 
-        if( isAttached() ) {
+        if( isAttached() && !virtualized ) {
             getNode().attachChild(bitmapText);
         }
     }
@@ -321,6 +393,8 @@ public class TextEntryComponent extends AbstractGuiComponent
 
     public void setFontSize( float f ) {
         this.bitmapText.setSize(f);
+        // The line height may have changed
+        releaseSlots();
         resizeCursor();
         resetCursorPosition();
         resetText();
@@ -353,6 +427,14 @@ public class TextEntryComponent extends AbstractGuiComponent
         if( alpha != 1 ) {
             bitmapText.setAlpha(alpha);
         }
+        if( slots != null ) {
+            for( LineSlot slot : slots ) {
+                slot.text.setColor(color);
+                if( alpha != 1 ) {
+                    slot.text.setAlpha(alpha);
+                }
+            }
+        }
         resetCursorColor();
     }
 
@@ -364,6 +446,11 @@ public class TextEntryComponent extends AbstractGuiComponent
     @Override
     public void setAlpha( float f ) {
         bitmapText.setAlpha(f);
+        if( slots != null ) {
+            for( LineSlot slot : slots ) {
+                slot.text.setAlpha(f);
+            }
+        }
         resetCursorColor();
     }
     
@@ -373,6 +460,10 @@ public class TextEntryComponent extends AbstractGuiComponent
     }
 
     protected void resetText() {
+        if( virtualized ) {
+            refreshLines();
+            return;
+        }
         String text = model.getText();
         if( textOffset != 0 ) {
             textOffset = Math.min(textOffset, text.length());
@@ -405,6 +496,163 @@ public class TextEntryComponent extends AbstractGuiComponent
         invalidate();
     }
 
+    /**
+     *  Returns the number of lines that virtualized mode builds geometry
+     *  for, based on the current size of the component.
+     */
+    protected int getVisibleLineCount() {
+        float lineHeight = bitmapText.getLineHeight();
+        if( textBox != null && lineHeight > 0 ) {
+            return Math.max(1, (int)Math.ceil(textBox.height / lineHeight));
+        }
+        if( preferredLineCount > 0 ) {
+            return preferredLineCount;
+        }
+        return getPreferredLines(model.getLineCount());
+    }
+
+    /**
+     *  Updates the per-line BitmapTexts of the visible window.  Only lines
+     *  whose text changed are re-meshed and lines that just scrolled are
+     *  only moved.
+     */
+    protected void refreshLines() {
+        int lineCount = model.getLineCount();
+        topLine = Math.max(0, Math.min(topLine, lineCount - 1));
+
+        int count = getVisibleLineCount();
+        if( slots == null || slots.length != count ) {
+            resizeSlots(count);
+        }
+
+        float lineHeight = bitmapText.getLineHeight();
+        boolean textChanged = false;
+        for( int i = 0; i < count; i++ ) {
+            int line = topLine + i;
+
+            // Lines keep the same slot while they are visible so that
+            // scrolling does not re-mesh them
+            LineSlot slot = slots[line % count];
+            float y = -i * lineHeight;
+            if( slot.y != y ) {
+                slot.y = y;
+                slot.text.setLocalTranslation(0, y, 0);
+            }
+            String value = line < lineCount ? model.getLine(line) : "";
+            if( slot.line != line || !value.equals(slot.value) ) {
+                slot.line = line;
+                if( !value.equals(slot.value) ) {
+                    slot.value = value;
+                    slot.text.setText(value);
+                    textChanged = true;
+                }
+            }
+        }
+
+        // Only relayout if the preferred size could have changed
+        if( preferredSize == null ) {
+            boolean linesChanged = preferredLineCount == 0
+                    && getPreferredLines(lineCount) != getPreferredLines(lastLineCount);
+            if( linesChanged || (textChanged && preferredWidth == 0) ) {
+                invalidate();
+            }
+        }
+        lastLineCount = lineCount;
+    }
+
+    /**
+     *  Returns the number of lines that virtualized mode asks for in
+     *  its preferred size when no preferred line count is set.
+     */
+    private int getPreferredLines( int lineCount ) {
+        return Math.max(1, Math.min(lineCount, MAX_UNSIZED_LINES));
+    }
+
+    /**
+     *  Resizes the ring of line slots, keeping the slots whose lines are
+     *  still in the window where refreshLines() will look for them so that
+     *  those lines are not re-meshed.
+     */
+    private void resizeSlots( int count ) {
+        LineSlot[] old = slots;
+        slots = new LineSlot[count];
+        List<LineSlot> spare = new ArrayList<>();
+        if( old != null ) {
+            for( LineSlot slot : old ) {
+                int line = slot.line;
+                if( line >= topLine && line < topLine + count && slots[line % count] == null ) {
+                    slots[line % count] = slot;
+                } else {
+                    spare.add(slot);
+                }
+            }
+        }
+        for( int i = 0; i < count; i++ ) {
+            if( slots[i] != null ) {
+                continue;
+            }
+            if( !spare.isEmpty() ) {
+                slots[i] = spare.remove(spare.size() - 1);
+            } else {
+                slots[i] = createSlot();
+            }
+        }
+        for( LineSlot slot : spare ) {
+            slot.text.removeFromParent();
+        }
+    }
+
+    private LineSlot createSlot() {
+        BitmapText text = new BitmapText(font);
+        text.setLineWrapMode(LineWrapMode.Clip);
+        text.setSize(bitmapText.getSize());
+        text.setColor(bitmapText.getColor());
+        float alpha = bitmapText.getAlpha();
+        if( alpha != -1 && alpha != 1 ) {
+            text.setAlpha(alpha);
+        }
+        if( textBox != null ) {
+            text.setBox(new Rectangle(0, 0, textBox.width, text.getLineHeight()));
+        }
+        linesNode.attachChild(text);
+        return new LineSlot(text);
+    }
+
+    private void releaseSlots() {
+        if( slots == null ) {
+            return;
+        }
+        for( LineSlot slot : slots ) {
+            slot.text.removeFromParent();
+        }
+        slots = null;
+    }
+
+    protected void resetVirtualCursorPosition() {
+        int line = model.getCaratLine();
+        int column = model.getCaratColumn();
+
+        // Scroll the window if the carat left it
+        int count = slots == null ? getVisibleLineCount() : slots.length;
+        if( line < topLine ) {
+            topLine = line;
+            refreshLines();
+        } else if( line >= topLine + count ) {
+            topLine = line - count + 1;
+            refreshLines();
+        }
+
+        String row = model.getLine(line).substring(0, column);
+        float x = getVisibleWidth(row);
+        float y = -(line - topLine) * bitmapText.getLineHeight();
+        y -= bitmapText.getLineHeight();
+
+        cursorVisible = textBox == null || x <= textBox.width;
+        resetCursorState();
+
+        cursor.setLocalTranslation(x - getCursorWidth() * 0.5f, y, 0.01f);
+    }
+
     protected float getVisibleWidth( String text ) {
         float x = font.getLineWidth(text + " ");
         x -= font.getLineWidth(" ");
@@ -452,6 +700,10 @@ public class TextEntryComponent extends AbstractGuiComponent
     }
 
     protected void resetCursorPosition() {
+        if( virtualized ) {
+            resetVirtualCursorPosition();
+            return;
+        }
         // Find the current cursor position.
         int line = model.getCaratLine();
         int column = model.getCaratColumn();
@@ -566,6 +818,17 @@ public class TextEntryComponent extends AbstractGuiComponent
         textBox = new Rectangle(0, 0, size.x, size.y);
         bitmapText.setBox(textBox);
         resetAlignment();
+
+        if( virtualized ) {
+            linesNode.setLocalTranslation(pos.x, pos.y, pos.z);
+            if( slots != null ) {
+                for( LineSlot slot : slots ) {
+                    slot.text.setBox(new Rectangle(0, 0, size.x, slot.text.getLineHeight()));
+                }
+            }
+            refreshLines();
+            resetCursorPosition();
+        }
     }
 
     @Override
@@ -575,6 +838,31 @@ public class TextEntryComponent extends AbstractGuiComponent
             return;
         }
 
+        if( virtualized ) {
+            // Only the visible lines are known without building
+            // the whole text
+            if( preferredWidth == 0 ) {
+                float width = 0;
+                if( slots != null ) {
+                    for( LineSlot slot : slots ) {
+                        if( slot.value != null ) {
+                            width = Math.max(width, getVisibleWidth(slot.value));
+                        }
+                    }
+                }
+                size.x = width;
+            } else {
+                size.x = preferredWidth;
+            }
+            // Without a preferred line count, the preferred height is
+            // capped so that large documents don't size the component (and
+            // its window of line slots) to the whole document.
+            int lines = preferredLineCount == 0 ? getPreferredLines(model.getLineCount())
+                                                : preferredLineCount;
+            size.y = bitmapText.getLineHeight() * lines;
+            return;
+        }
+
         // Make sure that the bitmapText reports a reliable
         // preferred size
         bitmapText.setBox(null);
@@ -740,6 +1028,17 @@ public class TextEntryComponent extends AbstractGuiComponent
     }
 
 
+    private static class LineSlot {
+        final BitmapText text;
+        int line = -1;
+        String value;
+        float y = Float.NaN;
+
+        public LineSlot( BitmapText text ) {
+            this.text = text;
+        }
+    }
+
     private class KeyHandler implements KeyListener {
         private boolean shift = false;
         private boolean control = false;
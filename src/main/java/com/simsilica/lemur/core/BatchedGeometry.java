@@ -0,0 +1,169 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.util.clone.Cloner;
+
+
+/**
+ *  A Geometry used by the flat background components (quad, TbtQuad,
+ *  icon) that can be merged into a shared mesh by a GuiBatchControl
+ *  somewhere above it in the scene graph.  When batched, the geometry
+ *  stays attached so that it still participates in picking and bounds
+ *  but it is culled from rendering.  The cull hint requested by the
+ *  owning component is remembered so that it can be restored when the
+ *  geometry leaves the batch.
+ *
+ *  <p>The owning component calls markChanged() whenever it modifies
+ *  the mesh or material in place so that the batch knows to copy the new
+ *  vertex data.  The geometry also lets the batch know when it has been
+ *  attached, detached, or moved so that the batch only has to look for
+ *  changes when something actually changed.</p>
+ *
+ *  @author    agent
+ */
+public class BatchedGeometry extends Geometry {
+
+    private GuiMaterial guiMaterial;
+    private CullHint requestedCullHint;
+    private GuiBatchControl batch;
+    private int version;
+
+    /**
+     *  Serialization only.
+     */
+    public BatchedGeometry() {
+    }
+
+    public BatchedGeometry( String name, Mesh mesh ) {
+        super(name, mesh);
+    }
+
+    /**
+     *  Sets the GuiMaterial that is used for this geometry.  This also
+     *  sets the underlying JME material and is what the batch uses to
+     *  determine color, texture, and blend state.
+     */
+    public void setGuiMaterial( GuiMaterial guiMaterial ) {
+        this.guiMaterial = guiMaterial;
+        setMaterial(guiMaterial == null ? null : guiMaterial.getMaterial());
+        markChanged();
+    }
+
+    public GuiMaterial getGuiMaterial() {
+        return guiMaterial;
+    }
+
+    @Override
+    public void setMesh( Mesh mesh ) {
+        super.setMesh(mesh);
+        markChanged();
+    }
+
+    /**
+     *  Called by the owner when the mesh data or the material state has
+     *  been changed in place.
+     */
+    public void markChanged() {
+        version++;
+        GuiBatchControl.geometryChanged(this);
+    }
+
+    /**
+     *  Returns a counter that is incremented every time the mesh or
+     *  material is changed.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public void setCullHint( CullHint hint ) {
+        this.requestedCullHint = hint;
+        super.setCullHint(batch != null ? CullHint.Always : hint);
+        GuiBatchControl.geometryChanged(this);
+    }
+
+    /**
+     *  Returns the cull hint requested by the owner of this geometry
+     *  regardless of whether the geometry is currently batched.
+     */
+    public CullHint getRequestedCullHint() {
+        return requestedCullHint == null ? CullHint.Inherit : requestedCullHint;
+    }
+
+    /**
+     *  Called by the GuiBatchControl when this geometry is added to or
+     *  removed from its batch.
+     */
+    protected void setBatch( GuiBatchControl batch ) {
+        if( this.batch == batch ) {
+            return;
+        }
+        this.batch = batch;
+        super.setCullHint(batch != null ? CullHint.Always : getRequestedCullHint());
+    }
+
+    public GuiBatchControl getBatch() {
+        return batch;
+    }
+
+    /**
+     *  Called when this geometry is attached or detached and, through
+     *  the parent node, when it or any of its parents is moved or detached.
+     */
+    @Override
+    protected void setTransformRefresh() {
+        super.setTransformRefresh();
+        GuiBatchControl.geometryChanged(this);
+    }
+
+    @Override
+    public void cloneFields( Cloner cloner, Object original ) {
+        super.cloneFields(cloner, original);
+
+        // The GuiMaterial wraps the original's material so the clone
+        // can't use it.  Without one, the clone is simply never batched.
+        this.guiMaterial = null;
+        if( this.batch != null ) {
+            this.batch = null;
+            super.setCullHint(getRequestedCullHint());
+        }
+    }
+}
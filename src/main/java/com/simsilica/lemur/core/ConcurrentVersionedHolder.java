@@ -0,0 +1,126 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ *  A VersionedHolder that can be safely updated from threads other
+ *  than the render thread.  The value and its version are published
+ *  together as one immutable snapshot so that a VersionedReference on
+ *  the render thread never sees a new version paired with an old value.
+ *  Updates never block and the latest value simply wins, which makes
+ *  this suitable for values fed at high rates from network or simulation
+ *  threads without going through Application.enqueue().
+ *
+ *  <p>Note: a VersionedReference may observe a value that was published
+ *  after the version it recorded.  In that case it will simply see the
+ *  value as changed again on its next update().</p>
+ *
+ *  @author    agent
+ */
+public class ConcurrentVersionedHolder<T> extends VersionedHolder<T> {
+
+    private final AtomicReference<Snapshot<T>> snapshot;
+
+    public ConcurrentVersionedHolder() {
+        this(null);
+    }
+
+    public ConcurrentVersionedHolder( T initialValue ) {
+        this.snapshot = new AtomicReference<>(new Snapshot<T>(initialValue, 0));
+    }
+
+    @Override
+    public long getVersion() {
+        return snapshot.get().version;
+    }
+
+    @Override
+    public void setObject( T value ) {
+        Snapshot<T> current;
+        do {
+            current = snapshot.get();
+        } while( !snapshot.compareAndSet(current, new Snapshot<T>(value, current.version + 1)) );
+        fireVersionChanged();
+    }
+
+    /**
+     *  Atomically sets a new value only if it has changed.  See
+     *  VersionedHolder.updateObject().
+     */
+    @Override
+    public boolean updateObject( T value ) {
+        Snapshot<T> current;
+        do {
+            current = snapshot.get();
+            if( current.value == value ) {
+                return false;
+            }
+            if( current.value != null && current.value.equals(value) ) {
+                return false;
+            }
+        } while( !snapshot.compareAndSet(current, new Snapshot<T>(value, current.version + 1)) );
+        fireVersionChanged();
+        return true;
+    }
+
+    @Override
+    public void incrementVersion() {
+        Snapshot<T> current;
+        do {
+            current = snapshot.get();
+        } while( !snapshot.compareAndSet(current, new Snapshot<T>(current.value, current.version + 1)) );
+        fireVersionChanged();
+    }
+
+    @Override
+    public T getObject() {
+        return snapshot.get().value;
+    }
+
+    private static class Snapshot<T> {
+        final T value;
+        final long version;
+
+        public Snapshot( T value, long version ) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,959 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.nio.*;
+import java.util.*;
+
+import org.slf4j.*;
+
+import com.jme3.collision.Collidable;
+import com.jme3.collision.CollisionResults;
+import com.jme3.material.MatParam;
+import com.jme3.material.Material;
+import com.jme3.material.RenderState.BlendMode;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.Spatial.CullHint;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.scene.control.AbstractControl;
+import com.jme3.scene.mesh.IndexBuffer;
+import com.jme3.texture.Texture;
+import com.jme3.util.BufferUtils;
+
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.LayerComparator;
+
+
+/**
+ *  Merges the flat backgrounds (BatchedGeometry) underneath a root node
+ *  into shared dynamic meshes so that a whole container of panels can be
+ *  drawn with a handful of draw calls instead of one per background.
+ *  Batching is opt-in and is enabled by adding this control to the root,
+ *  for example a Container:
+ *  <pre>
+ *  GuiBatchControl.enableBatching(container);
+ *  </pre>
+ *
+ *  <p>The root's subtree is only rescanned when something in it has
+ *  changed.  Batched geometry reports when it is attached, detached, moved
+ *  (directly or through one of its parents), or when its mesh, material,
+ *  color, or cull hint changes.  Reshaping the root's GuiControl and calling
+ *  LayerComparator.setLayer() on anything under the root also trigger a
+ *  rescan.  Other changes that affect rendering order or visibility, like
+ *  setting the cull hint of a Node, setting layer user data directly, or
+ *  modifying a material color in place, require a call to invalidate().
+ *  During a rescan, only the vertex ranges of the geometries that changed
+ *  are rewritten unless the makeup of a batch changed.  The original geometry
+ *  stays in the scene graph for picking and bounds but is not rendered while
+ *  batched.</p>
+ *
+ *  <p>A rescan sorts all of the geometry under the root, batched or
+ *  not, the same way that the LayerComparator and Gui bucket would: by
+ *  effective layer and then by z.  Each batch is a run of consecutive
+ *  backgrounds in that order that share the same texture, blend state, and
+ *  layer.  Any other geometry that sorts between two backgrounds, such as a
+ *  lower panel's text or icon, splits them into separate batches.  The batch
+ *  geometry is positioned at the first background in its run and given that
+ *  background's layer so that it sorts in the same place among the other
+ *  geometry.  Where a background and some other geometry have exactly the
+ *  same layer and z, the background draws first.</p>
+ *
+ *  <p>Ordering is only resolved within the root.  Geometry outside of the
+ *  root that falls in the same layer and between the z values of a batch's
+ *  first and last background will draw entirely before or after that
+ *  batch.</p>
+ *
+ *  <p>Geometry that is lit, uses a non-triangle mesh, or is rotated
+ *  relative to the root is left alone and renders normally.  Nested
+ *  roots with their own GuiBatchControl batch their own subtrees.</p>
+ *
+ *  <p>The control should be added after the root's GuiControl (as
+ *  enableBatching() does for a root that already has one) so that it
+ *  runs after layout for the frame.</p>
+ *
+ *  @author    agent
+ */
+public class GuiBatchControl extends AbstractControl {
+
+    static Logger log = LoggerFactory.getLogger(GuiBatchControl.class);
+
+    private static final Quaternion IDENTITY = new Quaternion();
+
+    // The number of attached controls so that geometry changes can
+    // skip looking for a control when batching isn't being used at all
+    private static int activeControls = 0;
+
+    private final RootListener rootListener = new RootListener();
+    private GuiControl rootControl;
+    private boolean dirty = true;
+
+    private Map<BatchedGeometry, Member> members = new HashMap<>();
+    private List<Batch> batchList = new ArrayList<>();
+
+    // Working state for the scene walk, kept around to avoid garbage
+    private int frame;
+    private int sequence;
+    private int[] layerStack = new int[16];
+    private List<Member> removed = new ArrayList<>();
+    private List<Item> order = new ArrayList<>();
+    private List<Item> barriers = new ArrayList<>();
+    private int barrierCount;
+    private List<Batch> runs = new ArrayList<>();
+
+    // Stats
+    private int rebuildCount;
+    private int rangeUpdateCount;
+    private int scanCount;
+
+    public GuiBatchControl() {
+    }
+
+    /**
+     *  Adds a GuiBatchControl to the specified root if it doesn't already
+     *  have one and returns the root's GuiBatchControl.
+     */
+    public static GuiBatchControl enableBatching( Node root ) {
+        GuiBatchControl result = root.getControl(GuiBatchControl.class);
+        if( result == null ) {
+            result = new GuiBatchControl();
+            root.addControl(result);
+        }
+        return result;
+    }
+
+    /**
+     *  Removes the GuiBatchControl from the specified root, if it has one,
+     *  returning its geometry to normal rendering.
+     */
+    public static void disableBatching( Node root ) {
+        GuiBatchControl existing = root.getControl(GuiBatchControl.class);
+        if( existing != null ) {
+            root.removeControl(existing);
+        }
+    }
+
+    /**
+     *  Marks the nearest GuiBatchControl above the specified spatial,
+     *  if there is one, as needing a rescan.
+     */
+    public static void invalidateBatching( Spatial s ) {
+        if( activeControls == 0 ) {
+            return;
+        }
+        for( ; s != null; s = s.getParent() ) {
+            GuiBatchControl control = s.getControl(GuiBatchControl.class);
+            if( control != null ) {
+                control.invalidate();
+                return;
+            }
+        }
+    }
+
+    /**
+     *  Called by BatchedGeometry when it has been attached, detached,
+     *  moved, or otherwise changed.
+     */
+    static void geometryChanged( BatchedGeometry g ) {
+        GuiBatchControl batch = g.getBatch();
+        if( batch != null ) {
+            batch.dirty = true;
+        }
+        // It may also have been moved under some other root
+        invalidateBatching(g.getParent());
+    }
+
+    @Override
+    public void setSpatial( Spatial spatial ) {
+        if( spatial != null && !(spatial instanceof Node) ) {
+            throw new IllegalArgumentException("GuiBatchControl can only be added to a Node:" + spatial);
+        }
+        if( this.spatial != null && spatial == null ) {
+            clear();
+            activeControls--;
+            if( rootControl != null ) {
+                rootControl.removeListener(rootListener);
+                rootControl = null;
+            }
+        }
+        super.setSpatial(spatial);
+        if( spatial != null ) {
+            activeControls++;
+            dirty = true;
+            rootControl = spatial.getControl(GuiControl.class);
+            if( rootControl != null ) {
+                rootControl.addListener(rootListener);
+            }
+        }
+    }
+
+    @Override
+    public void setEnabled( boolean enabled ) {
+        if( isEnabled() == enabled ) {
+            return;
+        }
+        super.setEnabled(enabled);
+        if( !enabled ) {
+            clear();
+        }
+        dirty = true;
+    }
+
+    /**
+     *  Marks this control as needing to rescan its subtree on the
+     *  next update.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     *  Returns the number of draw calls that the batched geometry is
+     *  currently rendered with.
+     */
+    public int getBatchCount() {
+        return batchList.size();
+    }
+
+    /**
+     *  Returns the number of geometries currently merged into batches.
+     */
+    public int getBatchedGeometryCount() {
+        return members.size();
+    }
+
+    /**
+     *  Returns the number of times a batch was fully rebuilt since the
+     *  counts were last reset.
+     */
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**
+     *  Returns the number of individual geometry vertex ranges that were
+     *  rewritten since the counts were last reset, including the ones
+     *  rewritten as part of a rebuild.
+     */
+    public int getRangeUpdateCount() {
+        return rangeUpdateCount;
+    }
+
+    /**
+     *  Returns the number of times the subtree was rescanned since the
+     *  counts were last reset.
+     */
+    public int getScanCount() {
+        return scanCount;
+    }
+
+    public void resetCounts() {
+        rebuildCount = 0;
+        rangeUpdateCount = 0;
+        scanCount = 0;
+    }
+
+    /**
+     *  Releases all of the batched geometry back to normal rendering and
+     *  removes the batch geometry from the root.
+     */
+    protected void clear() {
+        for( Member m : members.values() ) {
+            m.geom.setBatch(null);
+        }
+        members.clear();
+        for( Batch b : batchList ) {
+            b.geom.removeFromParent();
+        }
+        batchList.clear();
+        order.clear();
+        runs.clear();
+    }
+
+    @Override
+    protected void controlUpdate( float tpf ) {
+        if( !dirty ) {
+            return;
+        }
+        dirty = false;
+        scanCount++;
+        frame++;
+        sequence = 0;
+        barrierCount = 0;
+        order.clear();
+
+        Node root = (Node)spatial;
+        for( Spatial child : root.getChildren() ) {
+            scan(child, 0, 0, 0, 1, 1, 1, false, 0, false);
+        }
+
+        // Anything we didn't see this time is no longer under the root
+        for( Member m : members.values() ) {
+            if( m.seen != frame ) {
+                removed.add(m);
+            }
+        }
+        for( Member m : removed ) {
+            removeMember(m);
+        }
+        removed.clear();
+
+        Collections.sort(order, ITEM_ORDER);
+        updateBatches();
+        order.clear();
+    }
+
+    @Override
+    protected void controlRender( RenderManager rm, ViewPort vp ) {
+    }
+
+    /**
+     *  Walks the scene graph below the root accumulating the root-relative
+     *  translation and scale.  Only translation and scale are tracked
+     *  because the batch can't represent geometry that is rotated relative
+     *  to the root anyway.  Geometry that renders on its own is collected
+     *  as a barrier between batches.  Below a rotated node or a nested root,
+     *  everything is collected as barriers.
+     */
+    protected void scan( Spatial s, float tx, float ty, float tz,
+                         float sx, float sy, float sz, boolean hidden, int layerDepth,
+                         boolean barriersOnly ) {
+        Vector3f t = s.getLocalTranslation();
+        Vector3f scale = s.getLocalScale();
+        tx += t.x * sx;
+        ty += t.y * sy;
+        tz += t.z * sz;
+        sx *= scale.x;
+        sy *= scale.y;
+        sz *= scale.z;
+
+        boolean rotated = !IDENTITY.equals(s.getLocalRotation());
+
+        if( s instanceof BatchGeometry && s.getParent() == spatial ) {
+            // One of ours
+            return;
+        }
+        if( s instanceof Geometry ) {
+            if( !barriersOnly && s instanceof BatchedGeometry ) {
+                BatchedGeometry g = (BatchedGeometry)s;
+                if( !rotated && isBatchable(g) ) {
+                    hidden = hidden || g.getRequestedCullHint() == CullHint.Always;
+                    updateMember(g, tx, ty, tz, sx, sy, sz, hidden,
+                                 calculateLayer(g, layerDepth), sequence++);
+                    return;
+                }
+                Member existing = members.get(g);
+                if( existing != null ) {
+                    removeMember(existing);
+                }
+            }
+            if( !hidden && s.getCullHint() != CullHint.Always ) {
+                addBarrier(calculateLayer((Geometry)s, layerDepth), tz, sequence++);
+            }
+            return;
+        }
+
+        if( !(s instanceof Node) ) {
+            return;
+        }
+        if( rotated || s.getControl(GuiBatchControl.class) != null ) {
+            // Nothing below here is ours to batch but it still renders.
+            // Anything that was batched before will be released by the
+            // unseen sweep.
+            barriersOnly = true;
+        }
+
+        hidden = hidden || s.getCullHint() == CullHint.Always;
+
+        Integer layer = s.getUserData(LayerComparator.LAYER);
+        if( layer != null ) {
+            if( layerDepth == layerStack.length ) {
+                layerStack = Arrays.copyOf(layerStack, layerDepth * 2);
+            }
+            layerStack[layerDepth++] = layer;
+        }
+
+        for( Spatial child : ((Node)s).getChildren() ) {
+            scan(child, tx, ty, tz, sx, sy, sz, hidden, layerDepth, barriersOnly);
+        }
+    }
+
+    protected void addBarrier( float layer, float tz, int seq ) {
+        Item barrier;
+        if( barrierCount < barriers.size() ) {
+            barrier = barriers.get(barrierCount);
+        } else {
+            barrier = new Item();
+            barriers.add(barrier);
+        }
+        barrierCount++;
+        barrier.layer = layer;
+        barrier.tz = tz;
+        barrier.sequence = seq;
+        order.add(barrier);
+    }
+
+    /**
+     *  Calculates the effective layer of the geometry relative to the root
+     *  in the same way that the LayerComparator does relative to the scene root.
+     */
+    protected float calculateLayer( Geometry g, int layerDepth ) {
+        Float localLayer = g.getUserData(LayerComparator.LOCAL_LAYER);
+        Integer childLayer = g.getUserData(LayerComparator.LAYER);
+        float layer = localLayer != null ? localLayer : childLayer != null ? (childLayer + 1) : 1;
+        for( int i = layerDepth - 1; i >= 0; i-- ) {
+            layer = layer * 0.1f;
+            layer += layerStack[i] + 1;
+        }
+        return layer;
+    }
+
+    protected boolean isBatchable( BatchedGeometry g ) {
+        GuiMaterial mat = g.getGuiMaterial();
+        if( mat == null || mat.isLit() ) {
+            return false;
+        }
+        Mesh mesh = g.getMesh();
+        if( mesh == null || mesh.getMode() != Mesh.Mode.Triangles ) {
+            return false;
+        }
+        return mesh.getBuffer(Type.Position) != null;
+    }
+
+    protected void updateMember( BatchedGeometry g, float tx, float ty, float tz,
+                                 float sx, float sy, float sz, boolean hidden,
+                                 float layer, int seq ) {
+        Member m = members.get(g);
+        if( m == null ) {
+            m = new Member(g);
+            members.put(g, m);
+            g.setBatch(this);
+        }
+        m.seen = frame;
+        m.sequence = seq;
+        order.add(m);
+
+        GuiMaterial mat = g.getGuiMaterial();
+        if( m.version != g.getVersion() ) {
+            m.version = g.getVersion();
+            Material material = mat.getMaterial();
+            m.key.set(mat.getTexture(), material.getAdditionalRenderState().getBlendMode(),
+                      getAlphaDiscard(material));
+            m.dirty = true;
+        }
+
+        ColorRGBA color = mat.getColor();
+        if( color == null ) {
+            color = ColorRGBA.White;
+        }
+        if( m.tx != tx || m.ty != ty || m.tz != tz
+            || m.sx != sx || m.sy != sy || m.sz != sz
+            || m.hidden != hidden || m.layer != layer
+            || !m.color.equals(color) ) {
+            m.tx = tx;
+            m.ty = ty;
+            m.tz = tz;
+            m.sx = sx;
+            m.sy = sy;
+            m.sz = sz;
+            m.hidden = hidden;
+            m.layer = layer;
+            m.color.set(color);
+            m.dirty = true;
+        }
+    }
+
+    protected void removeMember( Member m ) {
+        members.remove(m.geom);
+        if( m.batch != null ) {
+            m.batch.structureChanged = true;
+            m.batch = null;
+        }
+        m.geom.setBatch(null);
+    }
+
+    /**
+     *  Splits the sorted items into runs of members that can share a batch
+     *  and updates the batches to match, reusing each run's existing batch
+     *  where possible.
+     */
+    protected void updateBatches() {
+        for( Batch b : batchList ) {
+            b.claimed = false;
+            b.next.clear();
+        }
+        runs.clear();
+
+        Batch current = null;
+        for( Item item : order ) {
+            if( !(item instanceof Member) ) {
+                current = null;
+                continue;
+            }
+            Member m = (Member)item;
+            if( current == null || current.layer != m.layer || !current.key.equals(m.key) ) {
+                current = claimBatch(m);
+                current.layer = m.layer;
+                runs.add(current);
+            }
+            current.next.add(m);
+        }
+
+        // Release the batches that no longer have a run
+        for( int i = batchList.size() - 1; i >= 0; i-- ) {
+            Batch b = batchList.get(i);
+            if( !b.claimed ) {
+                b.geom.removeFromParent();
+                batchList.remove(i);
+            }
+        }
+
+        Node root = (Node)spatial;
+        for( int i = 0; i < runs.size(); i++ ) {
+            Batch b = runs.get(i);
+            b.commit();
+            b.update();
+
+            // Keep the batches in run order at the front of the root
+            // so that ties with other geometry sort the batch first.
+            if( i >= root.getQuantity() || root.getChild(i) != b.geom ) {
+                if( b.geom.getParent() != null ) {
+                    b.geom.removeFromParent();
+                }
+                root.attachChildAt(b.geom, i);
+            }
+        }
+    }
+
+    /**
+     *  Returns a batch for the run that starts with the specified member,
+     *  preferring the batch that the member is already in.
+     */
+    protected Batch claimBatch( Member first ) {
+        Batch result = first.batch;
+        if( result == null || result.claimed || !result.key.equals(first.key) ) {
+            result = null;
+            for( Batch b : batchList ) {
+                if( !b.claimed && b.key.equals(first.key) ) {
+                    result = b;
+                    break;
+                }
+            }
+        }
+        if( result == null ) {
+            result = new Batch(new BatchKey(first.key));
+            batchList.add(result);
+        }
+        result.claimed = true;
+        return result;
+    }
+
+    protected static float getAlphaDiscard( Material material ) {
+        MatParam param = material.getParam("AlphaDiscardThreshold");
+        if( param == null || !(param.getValue() instanceof Float) ) {
+            return 0;
+        }
+        return (Float)param.getValue();
+    }
+
+    protected static int getIndexCount( Mesh mesh ) {
+        VertexBuffer vb = mesh.getBuffer(Type.Index);
+        if( vb == null ) {
+            return mesh.getVertexCount();
+        }
+        return vb.getData().limit();
+    }
+
+    /**
+     *  Orders items back to front the same way the GUI bucket would
+     *  sort them if they were rendered separately.  Batched members sort
+     *  before other geometry with the same layer and z because that is
+     *  where their batch will sort.
+     */
+    private static final Comparator<Item> ITEM_ORDER = new Comparator<Item>() {
+        public int compare( Item i1, Item i2 ) {
+            if( i1.layer != i2.layer ) {
+                return i1.layer < i2.layer ? -1 : 1;
+            }
+            if( i1.tz != i2.tz ) {
+                return i1.tz < i2.tz ? -1 : 1;
+            }
+            boolean m1 = i1 instanceof Member;
+            boolean m2 = i2 instanceof Member;
+            if( m1 != m2 ) {
+                return m1 ? -1 : 1;
+            }
+            return i1.sequence - i2.sequence;
+        }
+    };
+
+    private class RootListener extends AbstractGuiControlListener {
+        @Override
+        public void reshape( GuiControl source, Vector3f pos, Vector3f size ) {
+            dirty = true;
+        }
+    }
+
+    /**
+     *  The geometry for a batch.  The original geometry is still in the
+     *  scene for picking so the merged copy never collides.
+     */
+    private static class BatchGeometry extends Geometry {
+        public BatchGeometry( String name, Mesh mesh ) {
+            super(name, mesh);
+        }
+
+        @Override
+        public int collideWith( Collidable other, CollisionResults results ) {
+            return 0;
+        }
+    }
+
+    /**
+     *  The state that determines which batch a geometry can go in.
+     */
+    protected static class BatchKey {
+        Texture texture;
+        BlendMode blendMode;
+        float alphaDiscard;
+
+        public BatchKey() {
+        }
+
+        public BatchKey( BatchKey key ) {
+            set(key.texture, key.blendMode, key.alphaDiscard);
+        }
+
+        public final void set( Texture texture, BlendMode blendMode, float alphaDiscard ) {
+            this.texture = texture;
+            this.blendMode = blendMode;
+            this.alphaDiscard = alphaDiscard;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if( o == this ) {
+                return true;
+            }
+            if( o == null || o.getClass() != getClass() ) {
+                return false;
+            }
+            BatchKey other = (BatchKey)o;
+            return texture == other.texture && blendMode == other.blendMode
+                    && alphaDiscard == other.alphaDiscard;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(texture);
+            hash = hash * 31 + (blendMode == null ? 0 : blendMode.hashCode());
+            hash = hash * 31 + Float.floatToIntBits(alphaDiscard);
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "BatchKey[texture=" + texture + ", blendMode=" + blendMode
+                        + ", alphaDiscard=" + alphaDiscard + "]";
+        }
+    }
+
+    /**
+     *  Something that renders under the root, sorted by its effective
+     *  layer and z.  Plain items are the barriers between batches.
+     */
+    protected static class Item {
+        float layer;
+        float tz;
+        int sequence;
+    }
+
+    /**
+     *  Tracks what was last written for one batched geometry and where
+     *  in its batch it was written.
+     */
+    protected static class Member extends Item {
+        final BatchedGeometry geom;
+        final BatchKey key = new BatchKey();
+        Batch batch;
+        int seen;
+        int version = -1;
+        boolean dirty = true;
+
+        // Along with Item.tz
+        float tx, ty;
+        float sx, sy, sz;
+        boolean hidden;
+        ColorRGBA color = new ColorRGBA();
+
+        int vertexStart;
+        int vertexCount;
+        int indexStart;
+        int indexCount;
+
+        public Member( BatchedGeometry geom ) {
+            this.geom = geom;
+        }
+    }
+
+    /**
+     *  One merged mesh for a run of members that share the same key
+     *  and layer.
+     */
+    protected class Batch {
+        final BatchKey key;
+        final Mesh mesh = new Mesh();
+        final Geometry geom;
+        List<Member> members = new ArrayList<>();
+        List<Member> next = new ArrayList<>();
+        boolean claimed;
+        float layer = Float.NaN;
+
+        boolean structureChanged = true;
+
+        // The root-relative position of the batch geometry
+        float originX;
+        float originY;
+        float originZ;
+
+        FloatBuffer positions;
+        FloatBuffer texCoords;
+        FloatBuffer colors;
+        Buffer indexes;
+
+        public Batch( BatchKey key ) {
+            this.key = key;
+            mesh.setDynamic();
+
+            GuiMaterial mat = GuiGlobals.getInstance().createMaterial(key.texture, false);
+            mat.setColor(ColorRGBA.White);
+            Material material = mat.getMaterial();
+            material.setBoolean("VertexColor", true);
+            material.getAdditionalRenderState().setBlendMode(key.blendMode);
+            material.setFloat("AlphaDiscardThreshold", key.alphaDiscard);
+
+            this.geom = new BatchGeometry("batch:" + (key.texture == null ? "color" : key.texture.getName()), mesh);
+            geom.setMaterial(material);
+        }
+
+        /**
+         *  Makes the run collected in 'next' the members of this batch,
+         *  and moves the batch geometry to the run's first member.
+         */
+        public void commit() {
+            if( !next.equals(members) ) {
+                structureChanged = true;
+            }
+            List<Member> temp = members;
+            members = next;
+            next = temp;
+            next.clear();
+
+            Member first = members.get(0);
+            if( first.tx != originX || first.ty != originY || first.tz != originZ ) {
+                originX = first.tx;
+                originY = first.ty;
+                originZ = first.tz;
+                geom.setLocalTranslation(originX, originY, originZ);
+                for( Member m : members ) {
+                    m.dirty = true;
+                }
+            }
+            Float current = geom.getUserData(LayerComparator.LOCAL_LAYER);
+            if( current == null || current != layer ) {
+                geom.setUserData(LayerComparator.LOCAL_LAYER, layer);
+                LayerComparator.clearEffectiveLayer(geom);
+            }
+            for( Member m : members ) {
+                m.batch = this;
+            }
+        }
+
+        public void update() {
+            if( !structureChanged ) {
+                for( Member m : members ) {
+                    Mesh source = m.geom.getMesh();
+                    if( m.vertexCount != source.getVertexCount()
+                        || m.indexCount != getIndexCount(source) ) {
+                        structureChanged = true;
+                        break;
+                    }
+                }
+            }
+            if( structureChanged ) {
+                rebuild();
+                return;
+            }
+            boolean written = false;
+            for( Member m : members ) {
+                if( m.dirty ) {
+                    write(m);
+                    written = true;
+                }
+            }
+            if( !written ) {
+                return;
+            }
+            mesh.getBuffer(Type.Position).updateData(positions);
+            mesh.getBuffer(Type.TexCoord).updateData(texCoords);
+            mesh.getBuffer(Type.Color).updateData(colors);
+            mesh.updateBound();
+            geom.updateModelBound();
+        }
+
+        protected void rebuild() {
+            rebuildCount++;
+            structureChanged = false;
+
+            int vertexCount = 0;
+            int indexCount = 0;
+            for( Member m : members ) {
+                Mesh source = m.geom.getMesh();
+                m.vertexStart = vertexCount;
+                m.vertexCount = source.getVertexCount();
+                m.indexStart = indexCount;
+                m.indexCount = getIndexCount(source);
+                vertexCount += m.vertexCount;
+                indexCount += m.indexCount;
+            }
+
+            positions = ensureCapacity(positions, vertexCount * 3);
+            texCoords = ensureCapacity(texCoords, vertexCount * 2);
+            colors = ensureCapacity(colors, vertexCount * 4);
+            if( vertexCount > 65535 ) {
+                if( !(indexes instanceof IntBuffer) || indexes.capacity() < indexCount ) {
+                    indexes = BufferUtils.createIntBuffer(indexCount + indexCount / 2);
+                }
+            } else {
+                if( !(indexes instanceof ShortBuffer) || indexes.capacity() < indexCount ) {
+                    indexes = BufferUtils.createShortBuffer(indexCount + indexCount / 2);
+                }
+            }
+            indexes.limit(indexCount);
+
+            IndexBuffer target = IndexBuffer.wrapIndexBuffer(indexes);
+            for( Member m : members ) {
+                write(m);
+                IndexBuffer source = m.geom.getMesh().getIndexBuffer();
+                for( int i = 0; i < m.indexCount; i++ ) {
+                    int index = source != null ? source.get(i) : i;
+                    target.put(m.indexStart + i, m.vertexStart + index);
+                }
+            }
+
+            mesh.setBuffer(Type.Position, 3, positions);
+            mesh.setBuffer(Type.TexCoord, 2, texCoords);
+            mesh.setBuffer(Type.Color, 4, colors);
+            VertexBuffer vb = mesh.getBuffer(Type.Index);
+            if( vb != null && vb.getData().getClass() != indexes.getClass() ) {
+                // Switching between short and int indexes
+                mesh.clearBuffer(Type.Index);
+            }
+            if( indexes instanceof IntBuffer ) {
+                mesh.setBuffer(Type.Index, 3, (IntBuffer)indexes);
+            } else {
+                mesh.setBuffer(Type.Index, 3, (ShortBuffer)indexes);
+            }
+            mesh.updateCounts();
+            mesh.updateBound();
+            geom.updateModelBound();
+
+            if( log.isTraceEnabled() ) {
+                log.trace("Rebuilt " + key + " layer:" + layer + " members:" + members.size()
+                            + " vertexes:" + vertexCount + " indexes:" + indexCount);
+            }
+        }
+
+        protected FloatBuffer ensureCapacity( FloatBuffer buffer, int size ) {
+            if( buffer == null || buffer.capacity() < size ) {
+                buffer = BufferUtils.createFloatBuffer(size + size / 2);
+            }
+            buffer.limit(size);
+            return buffer;
+        }
+
+        /**
+         *  Writes the position, texture coordinate, and color data for
+         *  a single member into its range of the batch buffers.
+         */
+        protected void write( Member m ) {
+            rangeUpdateCount++;
+            m.dirty = false;
+
+            Mesh source = m.geom.getMesh();
+            FloatBuffer pos = source.getFloatBuffer(Type.Position);
+            FloatBuffer tc = source.getFloatBuffer(Type.TexCoord);
+            // The member's own transform was already applied to tx/ty/tz
+            // and sx/sy/sz by the scan.  Positions are relative to the
+            // batch geometry.
+            float tx = m.tx - originX;
+            float ty = m.ty - originY;
+            float tz = m.tz - originZ;
+            float sx = m.hidden ? 0 : m.sx;
+            float sy = m.hidden ? 0 : m.sy;
+            float sz = m.hidden ? 0 : m.sz;
+
+            int p = m.vertexStart * 3;
+            int t = m.vertexStart * 2;
+            int c = m.vertexStart * 4;
+            for( int i = 0; i < m.vertexCount; i++ ) {
+                positions.put(p++, tx + pos.get(i * 3) * sx);
+                positions.put(p++, ty + pos.get(i * 3 + 1) * sy);
+                positions.put(p++, tz + pos.get(i * 3 + 2) * sz);
+                if( tc != null ) {
+                    texCoords.put(t++, tc.get(i * 2));
+                    texCoords.put(t++, tc.get(i * 2 + 1));
+                } else {
+                    texCoords.put(t++, 0);
+                    texCoords.put(t++, 0);
+                }
+                colors.put(c++, m.color.r);
+                colors.put(c++, m.color.g);
+                colors.put(c++, m.color.b);
+                colors.put(c++, m.color.a);
+            }
+        }
+    }
+}
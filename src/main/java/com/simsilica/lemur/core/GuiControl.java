@@ -41,6 +41,8 @@ import org.slf4j.*;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.*;
 import com.jme3.util.SafeArrayList;
+import com.simsilica.lemur.debug.GuiMetrics;
+import com.simsilica.lemur.debug.GuiMetrics.Metric;
 import com.simsilica.lemur.focus.FocusChangeEvent;
 import com.simsilica.lemur.focus.FocusChangeListener;
 import com.simsilica.lemur.focus.FocusTarget;
@@ -57,6 +59,13 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
                         implements FocusTarget, FocusTraversal {
  
     static Logger log = LoggerFactory.getLogger(GuiControl.class);
+ 
+    /**
+     *  Running count of the number of times a GuiControl had to actually
+     *  recalculate its preferred size instead of returning the cached one.
+     *  Only ever touched from the render thread.
+     */
+    private static long recalculationCount = 0;
                         
     private ComponentStack componentStack;                        
     private GuiLayout layout;
@@ -69,6 +78,15 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
     private volatile boolean invalid = false;
         
     private Vector3f preferredSizeOverride = null;
+    
+    /**
+     *  The last calculated preferred size.  This is only valid when
+     *  preferredSizeValid is true and is reset whenever this control
+     *  or one of its children is invalidated.
+     */
+    private Vector3f cachedPreferredSize = new Vector3f();
+    private boolean preferredSizeValid = false;
+    
     private Vector3f lastSize = new Vector3f();
     private boolean focused = false;
     private boolean focusable = false;
@@ -286,11 +304,64 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         invalidate();
     }
 
+    /**
+     *  Returns the preferred size of this control as calculated from
+     *  the layout and component stack.  The result is cached while the
+     *  control is attached and is only recalculated after this control
+     *  or one of its child controls has been invalidated.  The caller is
+     *  free to modify the returned vector.
+     */
     public Vector3f getPreferredSize() {
         if( preferredSizeOverride != null ) {
             return preferredSizeOverride.clone();
         }
+        
+        // Detached controls never receive invalidation from their
+        // components so we can only trust the cache while attached.
+        if( getNode() == null ) {
+            return calculatePreferredSize();
+        }
+        
+        if( !preferredSizeValid ) {
+            cachedPreferredSize.set(calculatePreferredSize());
+            preferredSizeValid = true;
+        }
+        return cachedPreferredSize.clone();
+    }
+
+    /**
+     *  Copies the preferred size of this control into the specified
+     *  store vector and returns it.  When the preferred size is already
+     *  cached then this method does not allocate.
+     */
+    public Vector3f getPreferredSize( Vector3f store ) {
+        if( store == null ) {
+            return getPreferredSize();
+        }
+        if( preferredSizeOverride != null ) {
+            return store.set(preferredSizeOverride);
+        }
+        if( getNode() == null || !preferredSizeValid ) {
+            return store.set(getPreferredSize());
+        }
+        return store.set(cachedPreferredSize);
+    }
+
+    /**
+     *  Returns the number of times that any GuiControl has had to recalculate
+     *  its preferred size since the last time this method was called, resetting
+     *  the count.  Calling this once per frame gives the number of controls whose
+     *  subtree changed that frame.
+     */
+    public static long getAndResetRecalculationCount() {
+        long result = recalculationCount;
+        recalculationCount = 0;
+        return result;
+    }
 
+    protected Vector3f calculatePreferredSize() {
+        recalculationCount++;
+        
         Vector3f size = new Vector3f();
         if( layout != null ) {
             layout.calculatePreferredSize(size);
@@ -326,6 +397,7 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
             stackSize.z = Math.max(0, stackSize.z);
         }
         if( layout != null ) {
+            GuiMetrics.increment(Metric.LayoutReshapes);
             layout.reshape(offset, stackSize);
         }
         
@@ -377,6 +449,7 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
 
     @Override
     protected void attach() {
+        preferredSizeValid = false;
         componentStack.attach(this);
         if( layout != null ) {
             layout.attach(this);
@@ -419,6 +492,9 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         if( isChild() )
             return;
 
+        GuiMetrics.increment(Metric.Revalidations);
+        long start = GuiMetrics.startTiming();
+
         // Calculate preferred size
         // we go backwards and let each previous layer
         // potentially add its own sizing.
@@ -428,9 +504,19 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         // forward and let each one apply their own limits
         // for the next component.
         setSize(size);
+
+        GuiMetrics.stopTiming(Metric.RevalidateNanos, start);
     }
 
+    /**
+     *  Marks this control's cached preferred size as stale and passes
+     *  the invalidation up to the parent GuiControl, if any.  Only the
+     *  controls along that chain will recalculate their preferred size on
+     *  the next revalidation.  Sibling controls keep their cached sizes.
+     */
     public void invalidate() {
+        preferredSizeValid = false;
+        
         if( getNode() == null )
             return; // not attached yet... no reason to be marked invalid anyway
 
@@ -449,5 +535,6 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
             layout.detach(this);
         }
         componentStack.detach(this);
+        preferredSizeValid = false;
     }
 }
@@ -0,0 +1,297 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.BaseAppState;
+
+
+/**
+ *  Runs GUI update tasks only when the VersionedObjects they watch
+ *  have actually changed.  Rather than each GUI element checking its
+ *  VersionedReferences every frame in updateLogicalState(), elements can
+ *  register a watch on their model and have a task run on the render
+ *  thread once after the model changes.  An idle GUI then costs nothing
+ *  per frame no matter how many elements it has.
+ *
+ *  <p>Objects that implement ObservableVersionedObject notify the
+ *  scheduler directly and may be modified from any thread.  Other
+ *  VersionedObjects are polled once per frame by the scheduler itself
+ *  so that existing custom models continue to work.</p>
+ *
+ *  <p>Tasks are run during this state's update(), ie: before the
+ *  scene's logical state is updated.  Tasks scheduled while other tasks
+ *  are running will run on the next frame.  Watches are only weakly
+ *  referenced by the watched objects so a GUI element that is discarded
+ *  without releasing its watch will not be kept alive by its model.</p>
+ *
+ *  @author    agent
+ */
+public class GuiUpdateScheduler extends BaseAppState {
+
+    static Logger log = LoggerFactory.getLogger(GuiUpdateScheduler.class);
+
+    private static GuiUpdateScheduler defaultInstance;
+
+    private final ConcurrentLinkedQueue<Watch> pending = new ConcurrentLinkedQueue<Watch>();
+    private final List<Watch> running = new ArrayList<Watch>();
+
+    private final List<WeakReference<Watch>> polled = new ArrayList<WeakReference<Watch>>();
+
+    private long taskCount;
+    private int lastFrameTaskCount;
+
+    public GuiUpdateScheduler() {
+    }
+
+    /**
+     *  Returns the default update scheduler instance, ie: the first
+     *  scheduler to be initialized that has not since been cleaned up.
+     *  Returns null before any scheduler has been initialized.
+     */
+    public static GuiUpdateScheduler getDefaultInstance() {
+        return defaultInstance;
+    }
+
+    /**
+     *  Convenience method for GUI elements that releases the old watch,
+     *  if any, and watches the specified object with the default scheduler.
+     *  Returns null if there is no default scheduler, in which case the
+     *  caller should fall back to checking its references every frame.
+     */
+    public static Watch rewatch( Watch old, VersionedObject<?> object, Runnable task ) {
+        if( old != null ) {
+            old.release();
+        }
+        if( object == null || defaultInstance == null ) {
+            return null;
+        }
+        return defaultInstance.watch(object, task);
+    }
+
+    /**
+     *  Begins watching the specified object, running the specified
+     *  task on the render thread once after any change to the object's
+     *  version.  The caller must keep a reference to the returned Watch
+     *  for as long as it wants the task to run and should release()
+     *  it when done.
+     */
+    public Watch watch( VersionedObject<?> object, Runnable task ) {
+        Watch result = new Watch(object, task);
+        if( object instanceof ObservableVersionedObject ) {
+            ((ObservableVersionedObject<?>)object).addVersionedListener(result);
+        } else {
+            result.reference = object.createReference();
+            synchronized( polled ) {
+                polled.add(new WeakReference<Watch>(result));
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Returns the total number of tasks that have been run by this
+     *  scheduler.
+     */
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     *  Returns the number of tasks that were run during the last frame.
+     */
+    public int getLastFrameTaskCount() {
+        return lastFrameTaskCount;
+    }
+
+    /**
+     *  Returns the number of non-observable objects that are currently
+     *  being polled every frame.
+     */
+    public int getPolledCount() {
+        synchronized( polled ) {
+            return polled.size();
+        }
+    }
+
+    protected void pollWatches() {
+        synchronized( polled ) {
+            for( Iterator<WeakReference<Watch>> it = polled.iterator(); it.hasNext(); ) {
+                Watch watch = it.next().get();
+                if( watch == null || watch.isReleased() ) {
+                    it.remove();
+                    continue;
+                }
+                if( watch.reference.update() ) {
+                    watch.schedule();
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void initialize( Application app ) {
+        if( defaultInstance == null ) {
+            defaultInstance = this;
+        }
+    }
+
+    @Override
+    protected void cleanup( Application app ) {
+        if( defaultInstance == this ) {
+            // Fall back to any other attached scheduler, else none
+            defaultInstance = getState(GuiUpdateScheduler.class);
+        }
+    }
+
+    @Override
+    protected void onEnable() {
+    }
+
+    @Override
+    protected void onDisable() {
+    }
+
+    @Override
+    public void update( float tpf ) {
+        pollWatches();
+
+        // Drain only what was pending at the start so that tasks that
+        // modify their own models can't keep us here forever.
+        Watch watch;
+        while( (watch = pending.poll()) != null ) {
+            running.add(watch);
+        }
+        lastFrameTaskCount = running.size();
+        if( running.isEmpty() ) {
+            return;
+        }
+        int i = 0;
+        try {
+            for( ; i < running.size(); i++ ) {
+                running.get(i).run();
+            }
+        } finally {
+            taskCount += i;
+            // If a task failed then the ones after it are still flagged
+            // as scheduled and must be queued again or they'd never run.
+            for( int j = i + 1; j < running.size(); j++ ) {
+                pending.add(running.get(j));
+            }
+            running.clear();
+        }
+    }
+
+    /**
+     *  A registered interest in a particular VersionedObject.
+     */
+    public final class Watch implements VersionedListener {
+        private final VersionedObject<?> object;
+        private final Runnable task;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private VersionedReference<?> reference;
+        private volatile boolean released;
+
+        protected Watch( VersionedObject<?> object, Runnable task ) {
+            this.object = object;
+            this.task = task;
+        }
+
+        public VersionedObject<?> getObject() {
+            return object;
+        }
+
+        /**
+         *  Stops watching the object.  The task will not be run again
+         *  even if it was already scheduled.
+         */
+        public void release() {
+            if( released ) {
+                return;
+            }
+            released = true;
+            if( object instanceof ObservableVersionedObject ) {
+                ((ObservableVersionedObject<?>)object).removeVersionedListener(this);
+            }
+        }
+
+        public boolean isReleased() {
+            return released;
+        }
+
+        /**
+         *  Schedules the task to run on the next scheduler update
+         *  regardless of whether the watched object has changed.
+         */
+        public void schedule() {
+            if( !released && scheduled.compareAndSet(false, true) ) {
+                pending.add(this);
+            }
+        }
+
+        @Override
+        public void versionChanged( VersionedObject<?> source ) {
+            schedule();
+        }
+
+        protected void run() {
+            scheduled.set(false);
+            if( released ) {
+                return;
+            }
+            try {
+                task.run();
+            } catch( RuntimeException e ) {
+                log.error("Error running update task for:" + object, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[object=" + object + ", task=" + task + "]";
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+
+/**
+ *  Calls a reflectively located method through a MethodHandle that
+ *  has its target and any fixed arguments bound up front.  Unlike
+ *  Method.invoke(), calling the invoker does not create argument arrays
+ *  or box primitive arguments and the JIT is able to inline through it.
+ *  This is used by things like Tweens.callTweenMethod() that may call the
+ *  same method every frame.
+ *
+ *  <p>Each invoker has a fixed shape depending on how it was created:
+ *  bind() creates invokers called with invoke(), bindObjectParameter()
+ *  with invoke(Object), and bindDoubleParameter() with invoke(double).
+ *  Calling the wrong one throws a WrongMethodTypeException.</p>
+ *
+ *  <p>Exceptions thrown by the method are passed through if unchecked
+ *  and otherwise wrapped in a RuntimeException.</p>
+ *
+ *  @author    agent
+ */
+public class MethodInvoker {
+
+    private final Object target;
+    private final Method method;
+    private final MethodHandle handle;
+
+    protected MethodInvoker( Object target, Method method, MethodHandle handle ) {
+        this.target = target;
+        this.method = method;
+        this.handle = handle;
+    }
+
+    /**
+     *  Creates an invoker that calls the method on the target with the
+     *  specified arguments.  Primitive parameters accept their wrapper
+     *  types.  The target is ignored for static methods.
+     */
+    public static MethodInvoker bind( Object target, Method method, Object... args ) {
+        MethodHandle mh = unreflect(target, method);
+        if( args != null && args.length > 0 ) {
+            mh = MethodHandles.insertArguments(mh, 0, args);
+        }
+        return new MethodInvoker(target, method, mh.asType(MethodType.methodType(void.class)));
+    }
+
+    /**
+     *  Creates an invoker for a one-argument method whose argument
+     *  is supplied to invoke(Object) on each call.
+     */
+    public static MethodInvoker bindObjectParameter( Object target, Method method ) {
+        MethodHandle mh = unreflect(target, method);
+        return new MethodInvoker(target, method, mh.asType(MethodType.methodType(void.class, Object.class)));
+    }
+
+    /**
+     *  Creates an invoker for a method that takes a float or double
+     *  parameter, or their wrappers, at the specified index, with the other
+     *  arguments fixed to the specified values.  The double passed to
+     *  invoke(double) is narrowed to float if necessary.
+     */
+    public static MethodInvoker bindDoubleParameter( Object target, Method method,
+                                                     int index, Object... args ) {
+        Class<?> type = method.getParameterTypes()[index];
+        boolean isFloat = type == Float.TYPE || type == Float.class;
+        if( !isFloat && type != Double.TYPE && type != Double.class ) {
+            throw new IllegalArgumentException("Parameter " + index + " of " + method 
+                                               + " is not a float or double");
+        }
+
+        MethodHandle mh = unreflect(target, method);
+        if( args != null && args.length > 0 ) {
+            // The remaining arguments are before and after the open one
+            if( index > 0 ) {
+                mh = MethodHandles.insertArguments(mh, 0, Arrays.copyOfRange(args, 0, index));
+            }
+            if( index < args.length ) {
+                mh = MethodHandles.insertArguments(mh, 1, Arrays.copyOfRange(args, index, args.length));
+            }
+        }
+
+        // Convert to the matching primitive first, which will box for wrapper
+        // parameters, and then allow double to float narrowing
+        mh = mh.asType(MethodType.methodType(void.class, isFloat ? float.class : double.class));
+        mh = MethodHandles.explicitCastArguments(mh, MethodType.methodType(void.class, double.class));
+        return new MethodInvoker(target, method, mh);
+    }
+
+    private static MethodHandle unreflect( Object target, Method method ) {
+        try {
+            // Let the handle see methods that Method.invoke() would
+            // have needed setAccessible() for
+            method.setAccessible(true);
+        } catch( SecurityException e ) {
+            // Try anyway
+        }
+        try {
+            MethodHandle mh = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if( !Modifier.isStatic(method.getModifiers()) ) {
+                if( target == null ) {
+                    throw new IllegalArgumentException("Target cannot be null for:" + method);
+                }
+                mh = mh.bindTo(target);
+            }
+            return mh;
+        } catch( IllegalAccessException e ) {
+            throw new RuntimeException("Cannot access method:" + method, e);
+        }
+    }
+
+    public Object getTarget() {
+        return target;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public void invoke() {
+        try {
+            handle.invokeExact();
+        } catch( Throwable t ) {
+            throw wrap(t);
+        }
+    }
+
+    public void invoke( Object arg ) {
+        try {
+            handle.invokeExact(arg);
+        } catch( Throwable t ) {
+            throw wrap(t);
+        }
+    }
+
+    public void invoke( double value ) {
+        try {
+            handle.invokeExact(value);
+        } catch( Throwable t ) {
+            throw wrap(t);
+        }
+    }
+
+    private RuntimeException wrap( Throwable t ) {
+        if( t instanceof RuntimeException ) {
+            return (RuntimeException)t;
+        }
+        if( t instanceof Error ) {
+            throw (Error)t;
+        }
+        return new RuntimeException("Error calling method:" + method + " for object:" + target, t);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[method=" + method + "]";
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.nio.ByteBuffer;
+
+import com.jme3.math.ColorRGBA;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import com.jme3.texture.Texture2D;
+import com.jme3.texture.image.ColorSpace;
+import com.jme3.texture.image.ImageRaster;
+import com.jme3.util.BufferUtils;
+
+
+/**
+ *  A runtime texture atlas that packs small, non-repeating images into
+ *  one larger RGBA8 texture.  Images are packed into horizontal shelves
+ *  and each one is surrounded by a one pixel border that repeats its
+ *  edge pixels so that linear filtering at the edges of a region does not
+ *  bleed in the neighboring images.
+ *
+ *  <p>Regions are never reclaimed.  The atlas is intended for the
+ *  relatively small and stable set of icons and borders used by a UI.</p>
+ *
+ *  @author    agent
+ */
+public class TextureAtlas {
+
+    private static final int PADDING = 1;
+
+    private final int width;
+    private final int height;
+    private final ColorSpace colorSpace;
+    private final Image image;
+    private final Texture2D texture;
+    private final ImageRaster raster;
+
+    private int shelfX;
+    private int shelfY;
+    private int shelfHeight;
+    private int regionCount;
+
+    private ColorRGBA temp = new ColorRGBA();
+
+    public TextureAtlas( int width, int height, ColorSpace colorSpace ) {
+        this.width = width;
+        this.height = height;
+        this.colorSpace = colorSpace;
+        ByteBuffer data = BufferUtils.createByteBuffer(width * height * 4);
+        this.image = new Image(Image.Format.RGBA8, width, height, data, colorSpace);
+        this.raster = ImageRaster.create(image);
+        this.texture = new Texture2D(image);
+        texture.setName("TextureAtlas@" + Integer.toHexString(System.identityHashCode(this)));
+        texture.setWrap(Texture.WrapMode.EdgeClamp);
+        texture.setMinFilter(Texture.MinFilter.BilinearNoMipMaps);
+        texture.setMagFilter(Texture.MagFilter.Bilinear);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public ColorSpace getColorSpace() {
+        return colorSpace;
+    }
+
+    /**
+     *  Returns the texture that contains all of the packed images.
+     */
+    public Texture2D getTexture() {
+        return texture;
+    }
+
+    public int getRegionCount() {
+        return regionCount;
+    }
+
+    /**
+     *  Returns true if the specified image is of a kind that can be copied
+     *  into an atlas: a single, uncompressed 2D image with no mipmaps.
+     */
+    public static boolean isSupported( Image source ) {
+        if( source == null || source.getData().size() != 1 || source.getData(0) == null ) {
+            return false;
+        }
+        if( source.hasMipmaps() || source.getFormat().isCompressed() ) {
+            return false;
+        }
+        try {
+            ImageRaster.create(source);
+        } catch( UnsupportedOperationException e ) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     *  Copies the specified image into free space in the atlas and returns
+     *  its region or null if the image is not supported or does not fit.
+     */
+    public Region add( Image source ) {
+        if( !isSupported(source) ) {
+            return null;
+        }
+        if( source.getColorSpace() != colorSpace ) {
+            return null;
+        }
+
+        int w = source.getWidth() + PADDING * 2;
+        int h = source.getHeight() + PADDING * 2;
+        if( w > width || h > height ) {
+            return null;
+        }
+
+        // Move to the next shelf if it doesn't fit on this one
+        if( shelfX + w > width ) {
+            shelfY += shelfHeight;
+            shelfX = 0;
+            shelfHeight = 0;
+        }
+        if( shelfY + h > height ) {
+            return null;
+        }
+
+        ImageRaster src = ImageRaster.create(source);
+
+        int x = shelfX + PADDING;
+        int y = shelfY + PADDING;
+        copy(src, source.getWidth(), source.getHeight(), x, y);
+
+        shelfX += w;
+        shelfHeight = Math.max(shelfHeight, h);
+        regionCount++;
+
+        image.setUpdateNeeded();
+
+        return new Region(this, (float)x / width, (float)y / height,
+                          (float)(x + source.getWidth()) / width,
+                          (float)(y + source.getHeight()) / height);
+    }
+
+    protected void copy( ImageRaster src, int w, int h, int x, int y ) {
+        // Copy including the padding, clamping the source coordinates
+        // so that the padding repeats the edge pixels.
+        for( int j = -PADDING; j < h + PADDING; j++ ) {
+            int sy = Math.max(0, Math.min(h - 1, j));
+            for( int i = -PADDING; i < w + PADDING; i++ ) {
+                int sx = Math.max(0, Math.min(w - 1, i));
+                src.getPixel(sx, sy, temp);
+                raster.setPixel(x + i, y + j, temp);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + width + "x" + height
+                    + ", colorSpace=" + colorSpace + ", regions=" + regionCount + "]";
+    }
+
+    /**
+     *  The location of a packed image within an atlas in texture coordinates.
+     */
+    public static class Region {
+        private final TextureAtlas atlas;
+        private final float minU;
+        private final float minV;
+        private final float maxU;
+        private final float maxV;
+
+        public Region( TextureAtlas atlas, float minU, float minV, float maxU, float maxV ) {
+            this.atlas = atlas;
+            this.minU = minU;
+            this.minV = minV;
+            this.maxU = maxU;
+            this.maxV = maxV;
+        }
+
+        public TextureAtlas getAtlas() {
+            return atlas;
+        }
+
+        public Texture2D getTexture() {
+            return atlas.getTexture();
+        }
+
+        public float getMinU() {
+            return minU;
+        }
+
+        public float getMinV() {
+            return minV;
+        }
+
+        public float getMaxU() {
+            return maxU;
+        }
+
+        public float getMaxV() {
+            return maxV;
+        }
+
+        /**
+         *  Maps a 0-1 texture coordinate of the original image into
+         *  the atlas.
+         */
+        public float mapU( float u ) {
+            return minU + u * (maxU - minU);
+        }
+
+        /**
+         *  Maps a 0-1 texture coordinate of the original image into
+         *  the atlas.
+         */
+        public float mapV( float v ) {
+            return minV + v * (maxV - minV);
+        }
+
+        @Override
+        public String toString() {
+            return "Region[" + minU + ", " + minV + " -> " + maxU + ", " + maxV + "]";
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.*;
+
+import org.slf4j.*;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.TextureKey;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+
+
+/**
+ *  A cache of shared GUI textures.  Every component that
+ *  loads the same path with the same settings gets the same Texture
+ *  instance which means their materials have identical texture state and
+ *  can be merged by a GuiBatchControl.
+ *
+ *  <p>When atlasing is enabled, non-repeating textures without mipmaps
+ *  that are small enough are also copied into a shared TextureAtlas.
+ *  Components that support atlases (IconComponent and
+ *  TbtQuadBackgroundComponent) look up the atlas region for their texture
+ *  with getRegion() and render from the atlas texture with remapped
+ *  texture coordinates.  The original texture is still what the component
+ *  reports from getTexture().</p>
+ *
+ *  <p>Components do not have a disposal life cycle and don't know whether
+ *  the textures they were given are shared, so nothing is ever released
+ *  individually.  Textures and atlas space are held until clear() is
+ *  called.</p>
+ *
+ *  @author    agent
+ */
+public class TextureRegistry {
+
+    static Logger log = LoggerFactory.getLogger(TextureRegistry.class);
+
+    public static final int DEFAULT_ATLAS_SIZE = 1024;
+    public static final int DEFAULT_MAX_ATLAS_IMAGE_SIZE = 256;
+
+    private final AssetManager assets;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Texture, Entry> textureIndex = new IdentityHashMap<>();
+    private final List<TextureAtlas> atlases = new ArrayList<>();
+
+    private boolean atlasEnabled = false;
+    private int atlasSize = DEFAULT_ATLAS_SIZE;
+    private int maxAtlasImageSize = DEFAULT_MAX_ATLAS_IMAGE_SIZE;
+
+    public TextureRegistry( AssetManager assets ) {
+        this.assets = assets;
+    }
+
+    /**
+     *  Set to true to have newly loaded textures packed into atlases
+     *  when possible.  Defaults to false.
+     */
+    public void setAtlasEnabled( boolean atlasEnabled ) {
+        this.atlasEnabled = atlasEnabled;
+    }
+
+    public boolean isAtlasEnabled() {
+        return atlasEnabled;
+    }
+
+    /**
+     *  Sets the width and height of atlases created from now on.
+     *  Defaults to 1024.
+     */
+    public void setAtlasSize( int atlasSize ) {
+        this.atlasSize = atlasSize;
+    }
+
+    public int getAtlasSize() {
+        return atlasSize;
+    }
+
+    /**
+     *  Sets the largest width or height an image can have and still be
+     *  packed into an atlas.  Defaults to 256.
+     */
+    public void setMaxAtlasImageSize( int maxAtlasImageSize ) {
+        this.maxAtlasImageSize = maxAtlasImageSize;
+    }
+
+    public int getMaxAtlasImageSize() {
+        return maxAtlasImageSize;
+    }
+
+    /**
+     *  Returns the shared texture for the specified path and settings,
+     *  loading it if necessary.
+     */
+    public Texture getTexture( String path, boolean repeat, boolean generateMips ) {
+        String key = path + (repeat ? ":repeat" : "") + (generateMips ? ":mips" : "");
+        Entry entry = entries.get(key);
+        if( entry == null ) {
+            entry = new Entry(key, load(path, repeat, generateMips));
+            if( atlasEnabled && !repeat && !generateMips ) {
+                entry.region = pack(entry.texture.getImage());
+            }
+            entries.put(key, entry);
+            textureIndex.put(entry.texture, entry);
+        }
+        return entry.texture;
+    }
+
+    /**
+     *  Returns the atlas region for the specified texture or null if the
+     *  texture is not packed into an atlas.
+     */
+    public TextureAtlas.Region getRegion( Texture texture ) {
+        if( texture == null ) {
+            return null;
+        }
+        Entry entry = textureIndex.get(texture);
+        return entry == null ? null : entry.region;
+    }
+
+    public int getTextureCount() {
+        return entries.size();
+    }
+
+    public List<TextureAtlas> getAtlases() {
+        return Collections.unmodifiableList(atlases);
+    }
+
+    /**
+     *  Drops the registry's references to all of its shared textures and
+     *  atlases.  Later getTexture() calls load new textures and pack them
+     *  into new atlases.  Textures that were already handed out, and the
+     *  atlases they were packed into, are not modified: components that
+     *  use them keep rendering as before and the memory is freed once no
+     *  component references them.  getRegion() returns null for textures
+     *  loaded before the clear() so components that re-apply one of them
+     *  render it directly instead of from its old atlas.
+     */
+    public void clear() {
+        entries.clear();
+        textureIndex.clear();
+        atlases.clear();
+    }
+
+    protected Texture load( String path, boolean repeat, boolean generateMips ) {
+        TextureKey key = new TextureKey(path);
+        key.setGenerateMips(generateMips);
+
+        Texture t = assets.loadTexture(key);
+        if( t == null ) {
+            throw new RuntimeException("Error loading texture:" + path);
+        }
+
+        if( repeat ) {
+            t.setWrap(Texture.WrapMode.Repeat);
+        } else {
+            t.setWrap(Texture.WrapMode.EdgeClamp);
+        }
+        return t;
+    }
+
+    protected TextureAtlas.Region pack( Image image ) {
+        if( !TextureAtlas.isSupported(image) ) {
+            return null;
+        }
+        if( image.getWidth() > maxAtlasImageSize || image.getHeight() > maxAtlasImageSize ) {
+            return null;
+        }
+        for( TextureAtlas atlas : atlases ) {
+            TextureAtlas.Region result = atlas.add(image);
+            if( result != null ) {
+                return result;
+            }
+        }
+        TextureAtlas atlas = new TextureAtlas(atlasSize, atlasSize, image.getColorSpace());
+        TextureAtlas.Region result = atlas.add(image);
+        if( result == null ) {
+            return null;
+        }
+        atlases.add(atlas);
+        if( log.isDebugEnabled() ) {
+            log.debug("Created atlas:" + atlas);
+        }
+        return result;
+    }
+
+    private static class Entry {
+        final String key;
+        final Texture texture;
+        TextureAtlas.Region region;
+
+        public Entry( String key, Texture texture ) {
+            this.key = key;
+            this.texture = texture;
+        }
+    }
+}
@@ -43,10 +43,11 @@ package com.simsilica.lemur.core;
  *
  *  @author    Paul Speed
  */
-public class VersionedHolder<T> implements VersionedObject<T> {
+public class VersionedHolder<T> implements ObservableVersionedObject<T> {
 
     private T value;
     private long version;
+    private final VersionedListenerList listeners = new VersionedListenerList();
 
     public VersionedHolder() {
     }
@@ -93,6 +94,25 @@ public class VersionedHolder<T> implements VersionedObject<T> {
      */
     public void incrementVersion() {
         version++;
+        fireVersionChanged();
+    }
+
+    /**
+     *  Notifies any VersionedListeners that this object's version
+     *  has changed.
+     */
+    protected void fireVersionChanged() {
+        listeners.fire(this);
+    }
+
+    @Override
+    public void addVersionedListener( VersionedListener l ) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeVersionedListener( VersionedListener l ) {
+        listeners.remove(l);
     }
 
     @Override
@@ -0,0 +1,125 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+
+/**
+ *  A thread-safe list of weakly held VersionedListeners for use by
+ *  ObservableVersionedObject implementations.  The listeners are kept
+ *  in a copy-on-write array so that firing never locks or allocates.
+ *  Listeners are held weakly so that a model does not keep a discarded
+ *  GUI element alive just because the element was watching it.
+ *
+ *  @author    agent
+ */
+public class VersionedListenerList {
+
+    private static final WeakReference<VersionedListener>[] EMPTY = newArray(0);
+
+    private volatile WeakReference<VersionedListener>[] listeners = EMPTY;
+
+    public VersionedListenerList() {
+    }
+
+    public synchronized void add( VersionedListener l ) {
+        WeakReference<VersionedListener>[] current = purge(listeners, null);
+        WeakReference<VersionedListener>[] array = Arrays.copyOf(current, current.length + 1);
+        array[current.length] = new WeakReference<VersionedListener>(l);
+        listeners = array;
+    }
+
+    public synchronized void remove( VersionedListener l ) {
+        listeners = purge(listeners, l);
+    }
+
+    public boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    /**
+     *  Notifies all of the still reachable listeners that the specified
+     *  source object has changed.
+     */
+    public void fire( VersionedObject<?> source ) {
+        WeakReference<VersionedListener>[] array = listeners;
+        for( int i = 0; i < array.length; i++ ) {
+            VersionedListener l = array[i].get();
+            if( l != null ) {
+                l.versionChanged(source);
+            }
+        }
+    }
+
+    /**
+     *  Returns a copy of the array without cleared references or
+     *  references to the specified listener.  Returns the original
+     *  array if nothing needed to be removed.
+     */
+    private static WeakReference<VersionedListener>[] purge( WeakReference<VersionedListener>[] array,
+                                                             VersionedListener remove ) {
+        int count = 0;
+        for( WeakReference<VersionedListener> ref : array ) {
+            VersionedListener l = ref.get();
+            if( l != null && l != remove ) {
+                count++;
+            }
+        }
+        if( count == array.length ) {
+            return array;
+        }
+        if( count == 0 ) {
+            return EMPTY;
+        }
+        WeakReference<VersionedListener>[] result = newArray(count);
+        int index = 0;
+        for( WeakReference<VersionedListener> ref : array ) {
+            VersionedListener l = ref.get();
+            if( l != null && l != remove ) {
+                result[index++] = ref;
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static WeakReference<VersionedListener>[] newArray( int size ) {
+        return new WeakReference[size];
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.debug;
+
+import java.util.Arrays;
+
+import com.jme3.util.SafeArrayList;
+
+
+/**
+ *  Per-frame counters for the work that Lemur does: revalidation,
+ *  layout, styling, picking, input dispatch, and so on.  Collection is
+ *  off by default and, while off, every call here returns after checking
+ *  a single static flag so the instrumented code paths cost next to nothing.
+ *
+ *  <p>When enabled, something must call endFrame() once per frame to
+ *  publish the collected values to the registered GuiMetricsListeners and
+ *  reset the counters.  GuiMetricsState does this automatically.  Like the
+ *  rest of the scene graph, metrics should only be recorded from the
+ *  render thread.</p>
+ *
+ *  @author    agent
+ */
+public class GuiMetrics {
+
+    /**
+     *  The values that are tracked for each frame.
+     */
+    public enum Metric {
+        /** The number of GuiControl.revalidate() calls. */
+        Revalidations,
+        /** The total time spent in GuiControl.revalidate(), in nanoseconds. */
+        RevalidateNanos,
+        /** The number of GuiLayout.reshape() calls made by GuiControls. */
+        LayoutReshapes,
+        /** The number of Styles.applyStyles() calls. */
+        StyleApplications,
+        /** The number of pick ray collision checks made by PickEventSession. */
+        PickCollisions,
+        /** The number of function events InputMapper delivered to listeners. */
+        InputEvents,
+        /** The number of animations running in the AnimationState. */
+        ActiveAnimations,
+        /** The number of geometries in the GUI roots. */
+        GuiGeometries,
+        /** The estimated number of draw calls needed for the GUI roots. */
+        DrawCalls
+    }
+
+    private static final Metric[] METRICS = Metric.values();
+
+    private static boolean enabled;
+    private static final long[] values = new long[METRICS.length];
+    private static long frame;
+    private static final SafeArrayList<GuiMetricsListener> listeners
+            = new SafeArrayList<GuiMetricsListener>(GuiMetricsListener.class);
+
+    /**
+     *  Turns metrics collection on or off.  Turning it on starts a
+     *  fresh frame.
+     */
+    public static void setEnabled( boolean enabled ) {
+        if( GuiMetrics.enabled == enabled ) {
+            return;
+        }
+        GuiMetrics.enabled = enabled;
+        Arrays.fill(values, 0);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void addListener( GuiMetricsListener l ) {
+        listeners.add(l);
+    }
+
+    public static void removeListener( GuiMetricsListener l ) {
+        listeners.remove(l);
+    }
+
+    /**
+     *  Adds one to the specified metric for the current frame.
+     */
+    public static void increment( Metric metric ) {
+        if( !enabled ) {
+            return;
+        }
+        values[metric.ordinal()]++;
+    }
+
+    /**
+     *  Adds the specified amount to the metric for the current frame.
+     */
+    public static void add( Metric metric, long amount ) {
+        if( !enabled ) {
+            return;
+        }
+        values[metric.ordinal()] += amount;
+    }
+
+    /**
+     *  Sets the current frame's value of a metric that is sampled
+     *  rather than counted, like the number of active animations.
+     */
+    public static void set( Metric metric, long value ) {
+        if( !enabled ) {
+            return;
+        }
+        values[metric.ordinal()] = value;
+    }
+
+    /**
+     *  Returns a start time to later pass to stopTiming() or 0 if
+     *  metrics are disabled.
+     */
+    public static long startTiming() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     *  Adds the time since the specified startTiming() value to
+     *  the metric.
+     */
+    public static void stopTiming( Metric metric, long start ) {
+        if( !enabled || start == 0 ) {
+            return;
+        }
+        values[metric.ordinal()] += System.nanoTime() - start;
+    }
+
+    /**
+     *  Finishes the current frame, delivering its values to any listeners
+     *  and resetting the counters for the next frame.  Returns the completed
+     *  frame or null if metrics are disabled.
+     */
+    public static FrameMetrics endFrame( float tpf ) {
+        if( !enabled ) {
+            return null;
+        }
+        FrameMetrics result = new FrameMetrics(frame++, tpf, values.clone());
+        Arrays.fill(values, 0);
+        for( GuiMetricsListener l : listeners.getArray() ) {
+            l.frameCompleted(result);
+        }
+        return result;
+    }
+
+    /**
+     *  The values collected for one frame.
+     */
+    public static class FrameMetrics {
+        private final long frame;
+        private final float tpf;
+        private final long[] values;
+
+        protected FrameMetrics( long frame, float tpf, long[] values ) {
+            this.frame = frame;
+            this.tpf = tpf;
+            this.values = values;
+        }
+
+        /**
+         *  Returns the number of this frame since metrics were first
+         *  enabled.
+         */
+        public long getFrame() {
+            return frame;
+        }
+
+        /**
+         *  Returns the tpf that was passed to endFrame() for this frame.
+         */
+        public float getTpf() {
+            return tpf;
+        }
+
+        public long get( Metric metric ) {
+            return values[metric.ordinal()];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("FrameMetrics[frame=").append(frame);
+            sb.append(", tpf=").append(tpf);
+            for( Metric m : METRICS ) {
+                sb.append(", ").append(m).append("=").append(values[m.ordinal()]);
+            }
+            sb.append("]");
+            return sb.toString();
+        }
+    }
+}
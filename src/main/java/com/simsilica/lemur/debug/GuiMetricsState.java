@@ -0,0 +1,270 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.debug;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jme3.app.Application;
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.BaseAppState;
+import com.jme3.font.BitmapFont;
+import com.jme3.font.BitmapText;
+import com.jme3.math.ColorRGBA;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.Spatial.CullHint;
+
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.anim.AnimationState;
+import com.simsilica.lemur.debug.GuiMetrics.FrameMetrics;
+import com.simsilica.lemur.debug.GuiMetrics.Metric;
+
+
+/**
+ *  Turns on GuiMetrics collection while enabled and ends each metrics
+ *  frame after rendering.  It also samples the number of active animations
+ *  and counts the geometries and estimated draw calls in the GUI roots,
+ *  by default SimpleApplication.getGuiNode().  Optionally, the values
+ *  for the last frame are shown as text in the upper left corner of the
+ *  GUI node.
+ *
+ *  <p>The overlay is plain BitmapText rather than Lemur GUI elements
+ *  so that it doesn't add to the values it is displaying.</p>
+ *
+ *  @author    agent
+ */
+public class GuiMetricsState extends BaseAppState {
+
+    private final List<Spatial> roots = new ArrayList<Spatial>();
+    private boolean overlayVisible;
+    private float overlayInterval = 0.25f;
+
+    private Node guiNode;
+    private BitmapText overlay;
+    private float nextOverlayUpdate;
+    private float lastTpf;
+
+    public GuiMetricsState() {
+        this(false);
+    }
+
+    public GuiMetricsState( boolean overlayVisible ) {
+        this.overlayVisible = overlayVisible;
+    }
+
+    /**
+     *  Adds a root whose geometries should be counted in addition to
+     *  the default GUI node.
+     */
+    public void addRoot( Spatial root ) {
+        roots.add(root);
+    }
+
+    public void removeRoot( Spatial root ) {
+        roots.remove(root);
+    }
+
+    /**
+     *  Sets the GUI node that is counted and that the overlay is
+     *  attached to.  By default, this is SimpleApplication.getGuiNode().
+     */
+    public void setGuiNode( Node guiNode ) {
+        this.guiNode = guiNode;
+    }
+
+    public Node getGuiNode() {
+        if( guiNode != null ) {
+            return guiNode;
+        }
+        Application app = getApplication();
+        if( app instanceof SimpleApplication ) {
+            this.guiNode = ((SimpleApplication)app).getGuiNode();
+        }
+        return guiNode;
+    }
+
+    public void setOverlayVisible( boolean overlayVisible ) {
+        if( this.overlayVisible == overlayVisible ) {
+            return;
+        }
+        this.overlayVisible = overlayVisible;
+        if( isEnabled() ) {
+            if( overlayVisible ) {
+                showOverlay();
+            } else {
+                hideOverlay();
+            }
+        }
+    }
+
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    /**
+     *  Sets how often, in seconds, the overlay text is refreshed.
+     *  Defaults to 0.25 seconds.
+     */
+    public void setOverlayInterval( float overlayInterval ) {
+        this.overlayInterval = overlayInterval;
+    }
+
+    public float getOverlayInterval() {
+        return overlayInterval;
+    }
+
+    @Override
+    protected void initialize( Application app ) {
+    }
+
+    @Override
+    protected void cleanup( Application app ) {
+    }
+
+    @Override
+    protected void onEnable() {
+        GuiMetrics.setEnabled(true);
+        if( overlayVisible ) {
+            showOverlay();
+        }
+    }
+
+    @Override
+    protected void onDisable() {
+        hideOverlay();
+        GuiMetrics.setEnabled(false);
+    }
+
+    @Override
+    public void update( float tpf ) {
+        lastTpf = tpf;
+    }
+
+    @Override
+    public void postRender() {
+        if( !isEnabled() ) {
+            return;
+        }
+        AnimationState anim = getState(AnimationState.class);
+        if( anim != null ) {
+            GuiMetrics.set(Metric.ActiveAnimations, anim.getActiveCount());
+        }
+
+        int[] counts = new int[2];
+        if( getGuiNode() != null ) {
+            count(getGuiNode(), counts);
+        }
+        for( Spatial root : roots ) {
+            count(root, counts);
+        }
+        GuiMetrics.set(Metric.GuiGeometries, counts[0]);
+        GuiMetrics.set(Metric.DrawCalls, counts[1]);
+
+        FrameMetrics frame = GuiMetrics.endFrame(lastTpf);
+        if( overlay != null && frame != null ) {
+            nextOverlayUpdate -= lastTpf;
+            if( nextOverlayUpdate <= 0 ) {
+                nextOverlayUpdate = overlayInterval;
+                updateOverlay(frame);
+            }
+        }
+    }
+
+    /**
+     *  Counts the geometries under the spatial in counts[0] and the
+     *  ones that will actually be drawn in counts[1].  Geometries that
+     *  have been merged into a GuiBatchControl batch are culled and so
+     *  only count as geometries.  Nothing beneath a Node that is
+     *  always culled is counted at all.
+     */
+    protected void count( Spatial s, int[] counts ) {
+        if( s == overlay ) {
+            return;
+        }
+        if( s instanceof Geometry ) {
+            counts[0]++;
+            if( s.getCullHint() != CullHint.Always ) {
+                counts[1]++;
+            }
+        } else if( s instanceof Node ) {
+            if( s.getCullHint() == CullHint.Always ) {
+                // Hidden along with everything under it
+                return;
+            }
+            for( Spatial child : ((Node)s).getChildren() ) {
+                count(child, counts);
+            }
+        }
+    }
+
+    protected void showOverlay() {
+        Node node = getGuiNode();
+        if( overlay != null || node == null ) {
+            return;
+        }
+        BitmapFont font = GuiGlobals.getInstance().loadFont("Interface/Fonts/Default.fnt");
+        overlay = new BitmapText(font);
+        overlay.setColor(ColorRGBA.Yellow);
+        overlay.setLocalTranslation(0, getApplication().getCamera().getHeight(), 1000);
+        nextOverlayUpdate = 0;
+        node.attachChild(overlay);
+    }
+
+    protected void hideOverlay() {
+        if( overlay == null ) {
+            return;
+        }
+        overlay.removeFromParent();
+        overlay = null;
+    }
+
+    protected void updateOverlay( FrameMetrics frame ) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("tpf: %.2f ms", frame.getTpf() * 1000));
+        for( Metric m : Metric.values() ) {
+            sb.append("\n").append(m).append(": ");
+            if( m == Metric.RevalidateNanos ) {
+                sb.append(String.format("%.3f ms", frame.get(m) / 1000000.0));
+            } else {
+                sb.append(frame.get(m));
+            }
+        }
+        overlay.setText(sb.toString());
+    }
+}
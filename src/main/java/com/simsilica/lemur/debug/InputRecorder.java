@@ -0,0 +1,240 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.debug;
+
+import java.io.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jme3.input.InputManager;
+import com.jme3.input.RawInputListener;
+import com.jme3.input.event.*;
+
+
+/**
+ *  Records the raw input events that InputManager delivers to its
+ *  RawInputListeners (InputMapper, KeyInterceptState, MouseAppState,
+ *  TouchAppState, and so on) into a compact binary log that InputReplayer
+ *  can play back.  Events are stored with the number of the input frame
+ *  that they arrived in rather than wall clock time so that replaying
+ *  them at a fixed timestep is deterministic.
+ *
+ *  <p>InputManager stops delivering an event once a listener consumes it
+ *  so the recorder should be started before GuiGlobals.initialize() or
+ *  anything else adds its own raw input listeners.  Joystick events are
+ *  not recorded.</p>
+ *
+ *  <p>The log is a header followed by one entry per event: the number of
+ *  frames since the previous event as a variable length int, a type byte,
+ *  and the event fields, with ints written as zig-zag variable length ints.</p>
+ *
+ *  @author    agent
+ */
+public class InputRecorder implements RawInputListener {
+
+    static Logger log = LoggerFactory.getLogger(InputRecorder.class);
+
+    static final int MAGIC = 0x4C494E50; // LINP
+    static final int VERSION = 1;
+
+    static final int END = 0;
+    static final int MOUSE_MOTION = 1;
+    static final int MOUSE_BUTTON = 2;
+    static final int KEY = 3;
+    static final int TOUCH = 4;
+
+    private final DataOutputStream out;
+    private InputManager inputManager;
+    private long frame;
+    private long lastEventFrame;
+    private int eventCount;
+
+    public InputRecorder( File file ) throws IOException {
+        this(new FileOutputStream(file));
+    }
+
+    public InputRecorder( OutputStream out ) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+    }
+
+    /**
+     *  Starts recording the events delivered by the specified
+     *  InputManager.
+     */
+    public void start( InputManager inputManager ) {
+        if( this.inputManager != null ) {
+            throw new IllegalStateException("Recorder is already started");
+        }
+        this.inputManager = inputManager;
+        inputManager.addRawInputListener(this);
+    }
+
+    /**
+     *  Stops recording and closes the log.
+     */
+    public void stop() throws IOException {
+        if( inputManager != null ) {
+            inputManager.removeRawInputListener(this);
+            inputManager = null;
+        }
+        writeVarInt(out, (int)(frame - lastEventFrame));
+        out.writeByte(END);
+        out.close();
+        if( log.isDebugEnabled() ) {
+            log.debug("Recorded " + eventCount + " events over " + frame + " frames");
+        }
+    }
+
+    /**
+     *  Returns the number of input frames seen so far.
+     */
+    public long getFrameCount() {
+        return frame;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    @Override
+    public void beginInput() {
+        frame++;
+    }
+
+    @Override
+    public void endInput() {
+    }
+
+    @Override
+    public void onJoyAxisEvent( JoyAxisEvent evt ) {
+    }
+
+    @Override
+    public void onJoyButtonEvent( JoyButtonEvent evt ) {
+    }
+
+    @Override
+    public void onMouseMotionEvent( MouseMotionEvent evt ) {
+        try {
+            startEvent(MOUSE_MOTION);
+            writeVarInt(out, evt.getX());
+            writeVarInt(out, evt.getY());
+            writeVarInt(out, evt.getDX());
+            writeVarInt(out, evt.getDY());
+            writeVarInt(out, evt.getWheel());
+            writeVarInt(out, evt.getDeltaWheel());
+        } catch( IOException e ) {
+            throw new RuntimeException("Error recording event:" + evt, e);
+        }
+    }
+
+    @Override
+    public void onMouseButtonEvent( MouseButtonEvent evt ) {
+        try {
+            startEvent(MOUSE_BUTTON);
+            out.writeByte(evt.getButtonIndex());
+            out.writeBoolean(evt.isPressed());
+            writeVarInt(out, evt.getX());
+            writeVarInt(out, evt.getY());
+        } catch( IOException e ) {
+            throw new RuntimeException("Error recording event:" + evt, e);
+        }
+    }
+
+    @Override
+    public void onKeyEvent( KeyInputEvent evt ) {
+        try {
+            startEvent(KEY);
+            writeVarInt(out, evt.getKeyCode());
+            out.writeChar(evt.getKeyChar());
+            out.writeBoolean(evt.isPressed());
+            out.writeBoolean(evt.isRepeating());
+        } catch( IOException e ) {
+            throw new RuntimeException("Error recording event:" + evt, e);
+        }
+    }
+
+    @Override
+    public void onTouchEvent( TouchEvent evt ) {
+        try {
+            startEvent(TOUCH);
+            out.writeByte(evt.getType().ordinal());
+            writeVarInt(out, evt.getPointerId());
+            out.writeFloat(evt.getX());
+            out.writeFloat(evt.getY());
+            out.writeFloat(evt.getDeltaX());
+            out.writeFloat(evt.getDeltaY());
+            out.writeFloat(evt.getPressure());
+            out.writeFloat(evt.getScaleFactor());
+            out.writeFloat(evt.getScaleSpan());
+        } catch( IOException e ) {
+            throw new RuntimeException("Error recording event:" + evt, e);
+        }
+    }
+
+    private void startEvent( int type ) throws IOException {
+        writeVarInt(out, (int)(frame - lastEventFrame));
+        out.writeByte(type);
+        lastEventFrame = frame;
+        eventCount++;
+    }
+
+    static void writeVarInt( DataOutput out, int value ) throws IOException {
+        // Zig-zag so that small negative values stay small
+        int v = (value << 1) ^ (value >> 31);
+        while( (v & ~0x7f) != 0 ) {
+            out.writeByte((v & 0x7f) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    static int readVarInt( DataInput in ) throws IOException {
+        int v = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            v |= (b & 0x7f) << shift;
+            shift += 7;
+        } while( (b & 0x80) != 0 );
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
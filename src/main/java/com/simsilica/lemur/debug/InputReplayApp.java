@@ -0,0 +1,291 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.debug;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.AppState;
+import com.jme3.input.InputManager;
+import com.jme3.input.dummy.DummyKeyInput;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+import com.jme3.system.Timer;
+
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.event.BasePickState;
+import com.simsilica.lemur.debug.GuiMetrics.FrameMetrics;
+import com.simsilica.lemur.debug.GuiMetrics.Metric;
+
+
+/**
+ *  A headless application that replays an InputRecorder log against
+ *  one or more app states that set up the screen being tested.  The
+ *  application's timer and the replayed events advance by a fixed step
+ *  every frame.  The same timer drives the AnimationState, the pick state's
+ *  motion throttle, and the InputMapper's analog tpf, so each run does the
+ *  same work.  A GuiMetricsState is
+ *  attached for the whole run.  When the log runs out, the totals and the
+ *  real time taken per frame are logged and the application stops.
+ *
+ *  <p>Usage: InputReplayApp logFile timestep appStateClass...</p>
+ *
+ *  <p>The app state classes need public no-argument constructors.  They
+ *  are attached after GuiGlobals has been initialized.</p>
+ *
+ *  @author    agent
+ */
+public class InputReplayApp extends SimpleApplication {
+
+    static Logger log = LoggerFactory.getLogger(InputReplayApp.class);
+
+    private final InputReplayer replayer;
+    private final float timestep;
+    private final AppState[] screens;
+    private final Totals totals = new Totals();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile Throwable failure;
+
+    public InputReplayApp( InputReplayer replayer, float timestep, AppState... screens ) {
+        super(new GuiMetricsState());
+        this.replayer = replayer;
+        this.timestep = timestep;
+        this.screens = screens;
+    }
+
+    public static void main( String... args ) throws Exception {
+        if( args.length < 3 ) {
+            System.err.println("Usage: InputReplayApp logFile timestep appStateClass...");
+            System.exit(1);
+        }
+        float timestep = Float.parseFloat(args[1]);
+        InputReplayer replayer = new InputReplayer(new File(args[0]), timestep);
+        AppState[] screens = new AppState[args.length - 2];
+        for( int i = 0; i < screens.length; i++ ) {
+            screens[i] = (AppState)Class.forName(args[i + 2]).newInstance();
+        }
+
+        InputReplayApp app = new InputReplayApp(replayer, timestep, screens);
+        app.runHeadless();
+        log.info(app.getTotals().toString());
+    }
+
+    /**
+     *  Starts the application headless and waits for the replay
+     *  to finish.  Throws an IllegalStateException if the application
+     *  failed during initialization or any frame.
+     */
+    public void runHeadless() throws InterruptedException {
+        AppSettings settings = new AppSettings(true);
+        settings.setAudioRenderer(null);
+        setSettings(settings);
+        setShowSettings(false);
+        start(JmeContext.Type.Headless);
+        done.await();
+        if( failure != null ) {
+            throw new IllegalStateException("Replay failed", failure);
+        }
+    }
+
+    public Totals getTotals() {
+        return totals;
+    }
+
+    @Override
+    public void simpleInitApp() {
+        FixedTimer timer = new FixedTimer(timestep);
+        setTimer(timer);
+
+        // Swap in an InputManager that is fed from the log instead
+        // of the context's input devices.  This has to happen before
+        // GuiGlobals and anything else registers with it.
+        replayer.initialize();
+        DummyKeyInput keys = new DummyKeyInput();
+        keys.initialize();
+        inputManager = new InputManager(replayer, keys, null, null);
+
+        GuiGlobals.initialize(this);
+        GuiGlobals globals = GuiGlobals.getInstance();
+        globals.getInputMapper().setTimer(timer);
+        globals.getAnimationState().setTimer(timer);
+        BasePickState pickState = stateManager.getState(BasePickState.class);
+        if( pickState != null ) {
+            pickState.setTimer(timer);
+        }
+
+        GuiMetrics.addListener(totals);
+        for( AppState state : screens ) {
+            stateManager.attach(state);
+        }
+    }
+
+    @Override
+    public void simpleUpdate( float tpf ) {
+        // Give the last recorded frame a chance to render before stopping
+        if( replayer.getFrame() > replayer.getFrameCount() && done.getCount() > 0 ) {
+            GuiMetrics.removeListener(totals);
+            stop();
+            done.countDown();
+        }
+    }
+
+    @Override
+    public void handleError( String errMsg, Throwable t ) {
+        failure = t != null ? t : new RuntimeException(errMsg);
+        // Logs the error and stops the application
+        super.handleError(errMsg, t);
+        done.countDown();
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            super.destroy();
+        } finally {
+            // In case we are stopped some other way
+            done.countDown();
+        }
+    }
+
+    /**
+     *  A timer that advances by the same amount every frame no matter
+     *  how much real time has passed.
+     */
+    protected static class FixedTimer extends Timer {
+        private final float tpf;
+        private final long stepNanos;
+        private long time;
+
+        public FixedTimer( float tpf ) {
+            this.tpf = tpf;
+            this.stepNanos = (long)(tpf * 1000000000.0);
+        }
+
+        @Override
+        public long getTime() {
+            return time;
+        }
+
+        @Override
+        public long getResolution() {
+            return 1000000000L;
+        }
+
+        @Override
+        public float getFrameRate() {
+            return 1 / tpf;
+        }
+
+        @Override
+        public float getTimePerFrame() {
+            return tpf;
+        }
+
+        @Override
+        public void update() {
+            time += stepNanos;
+        }
+
+        @Override
+        public void reset() {
+            time = 0;
+        }
+    }
+
+    /**
+     *  Accumulates the GuiMetrics of every frame in the run along with
+     *  the real time that the frames took.
+     */
+    public static class Totals implements GuiMetricsListener {
+        private final long[] sums = new long[Metric.values().length];
+        private final long[] maxes = new long[Metric.values().length];
+        private long frames;
+        private long firstNanos;
+        private long lastNanos;
+
+        @Override
+        public void frameCompleted( FrameMetrics frame ) {
+            long now = System.nanoTime();
+            if( frames == 0 ) {
+                firstNanos = now;
+            }
+            lastNanos = now;
+            frames++;
+            for( Metric m : Metric.values() ) {
+                long value = frame.get(m);
+                sums[m.ordinal()] += value;
+                maxes[m.ordinal()] = Math.max(maxes[m.ordinal()], value);
+            }
+        }
+
+        public long getFrames() {
+            return frames;
+        }
+
+        public long getTotal( Metric metric ) {
+            return sums[metric.ordinal()];
+        }
+
+        public long getMax( Metric metric ) {
+            return maxes[metric.ordinal()];
+        }
+
+        /**
+         *  Returns the average real time per frame in nanoseconds,
+         *  not counting the first frame.
+         */
+        public double getAverageFrameNanos() {
+            return frames > 1 ? (double)(lastNanos - firstNanos) / (frames - 1) : 0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Replayed ").append(frames).append(" frames, ");
+            sb.append(String.format("%.3f", getAverageFrameNanos() / 1000000.0)).append(" ms/frame");
+            for( Metric m : Metric.values() ) {
+                sb.append("\n  ").append(m).append(" total:").append(sums[m.ordinal()]);
+                sb.append(" max:").append(maxes[m.ordinal()]);
+            }
+            return sb.toString();
+        }
+    }
+}
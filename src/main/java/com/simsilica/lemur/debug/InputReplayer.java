@@ -0,0 +1,249 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.debug;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jme3.input.RawInputListener;
+import com.jme3.input.dummy.DummyMouseInput;
+import com.jme3.input.event.*;
+
+
+/**
+ *  Plays back an input log written by InputRecorder.  This acts as the
+ *  MouseInput device of an InputManager and, on each InputManager update,
+ *  delivers all of the mouse, key, and touch events that were recorded for
+ *  that input frame.  Everything downstream of the InputManager sees the
+ *  same events in the same frames that it saw while recording.
+ *
+ *  <p>Event times come from a simulated clock that advances by a fixed
+ *  step every frame.  See InputReplayApp for running a replay headless.</p>
+ *
+ *  @author    agent
+ */
+public class InputReplayer extends DummyMouseInput {
+
+    private final List<Entry> entries = new ArrayList<Entry>();
+    private final long frameCount;
+    private final long stepNanos;
+
+    private RawInputListener listener;
+    private long frame;
+    private int next;
+
+    public InputReplayer( File file, float timestep ) throws IOException {
+        this(new FileInputStream(file), timestep);
+    }
+
+    /**
+     *  Reads the whole log from the stream, closing it, and will
+     *  advance the event clock by timestep seconds per frame.
+     */
+    public InputReplayer( InputStream in, float timestep ) throws IOException {
+        this.stepNanos = (long)(timestep * 1000000000.0);
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        try {
+            if( data.readInt() != InputRecorder.MAGIC ) {
+                throw new IOException("Not an input log");
+            }
+            int version = data.readUnsignedByte();
+            if( version != InputRecorder.VERSION ) {
+                throw new IOException("Unsupported input log version:" + version);
+            }
+            this.frameCount = readEntries(data);
+        } finally {
+            data.close();
+        }
+    }
+
+    private long readEntries( DataInputStream in ) throws IOException {
+        long frame = 0;
+        while( true ) {
+            frame += InputRecorder.readVarInt(in);
+            int type = in.readUnsignedByte();
+            Entry e = new Entry(frame, type);
+            switch( type ) {
+                case InputRecorder.END:
+                    return frame;
+                case InputRecorder.MOUSE_MOTION:
+                    e.ints = new int[6];
+                    for( int i = 0; i < e.ints.length; i++ ) {
+                        e.ints[i] = InputRecorder.readVarInt(in);
+                    }
+                    break;
+                case InputRecorder.MOUSE_BUTTON:
+                    e.code = in.readUnsignedByte();
+                    e.pressed = in.readBoolean();
+                    e.ints = new int[] { InputRecorder.readVarInt(in), InputRecorder.readVarInt(in) };
+                    break;
+                case InputRecorder.KEY:
+                    e.code = InputRecorder.readVarInt(in);
+                    e.keyChar = in.readChar();
+                    e.pressed = in.readBoolean();
+                    e.repeating = in.readBoolean();
+                    break;
+                case InputRecorder.TOUCH:
+                    e.code = in.readUnsignedByte();
+                    e.ints = new int[] { InputRecorder.readVarInt(in) };
+                    e.floats = new float[7];
+                    for( int i = 0; i < e.floats.length; i++ ) {
+                        e.floats[i] = in.readFloat();
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown event type:" + type);
+            }
+            entries.add(e);
+        }
+    }
+
+    /**
+     *  Returns the number of input frames in the log.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public int getEventCount() {
+        return entries.size();
+    }
+
+    /**
+     *  Returns the number of input frames that have been played
+     *  so far.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     *  Returns true once every frame in the log has been played.
+     */
+    public boolean isFinished() {
+        return frame >= frameCount;
+    }
+
+    /**
+     *  Starts the replay over from the beginning.
+     */
+    public void rewind() {
+        frame = 0;
+        next = 0;
+    }
+
+    @Override
+    public void setInputListener( RawInputListener listener ) {
+        this.listener = listener;
+    }
+
+    @Override
+    public long getInputTimeNanos() {
+        return frame * stepNanos;
+    }
+
+    @Override
+    public void update() {
+        super.update();
+        frame++;
+        if( listener == null ) {
+            return;
+        }
+        long time = getInputTimeNanos();
+        while( next < entries.size() && entries.get(next).frame <= frame ) {
+            Entry e = entries.get(next++);
+            InputEvent evt = e.createEvent();
+            evt.setTime(time);
+            switch( e.type ) {
+                case InputRecorder.MOUSE_MOTION:
+                    listener.onMouseMotionEvent((MouseMotionEvent)evt);
+                    break;
+                case InputRecorder.MOUSE_BUTTON:
+                    listener.onMouseButtonEvent((MouseButtonEvent)evt);
+                    break;
+                case InputRecorder.KEY:
+                    listener.onKeyEvent((KeyInputEvent)evt);
+                    break;
+                case InputRecorder.TOUCH:
+                    listener.onTouchEvent((TouchEvent)evt);
+                    break;
+            }
+        }
+    }
+
+    /**
+     *  One recorded event.  Events are recreated each time they're
+     *  played because listeners may consume them.
+     */
+    private static class Entry {
+        long frame;
+        int type;
+        int code;
+        boolean pressed;
+        boolean repeating;
+        char keyChar;
+        int[] ints;
+        float[] floats;
+
+        public Entry( long frame, int type ) {
+            this.frame = frame;
+            this.type = type;
+        }
+
+        public InputEvent createEvent() {
+            switch( type ) {
+                case InputRecorder.MOUSE_MOTION:
+                    return new MouseMotionEvent(ints[0], ints[1], ints[2], ints[3], ints[4], ints[5]);
+                case InputRecorder.MOUSE_BUTTON:
+                    return new MouseButtonEvent(code, pressed, ints[0], ints[1]);
+                case InputRecorder.KEY:
+                    return new KeyInputEvent(code, keyChar, pressed, repeating);
+                case InputRecorder.TOUCH:
+                    TouchEvent result = new TouchEvent();
+                    result.set(TouchEvent.Type.values()[code], floats[0], floats[1], floats[2], floats[3]);
+                    result.setPointerId(ints[0]);
+                    result.setPressure(floats[4]);
+                    result.setScaleFactor(floats[5]);
+                    result.setScaleSpan(floats[6]);
+                    return result;
+                default:
+                    throw new IllegalStateException("Unknown event type:" + type);
+            }
+        }
+    }
+}
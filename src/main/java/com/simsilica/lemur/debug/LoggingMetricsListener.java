@@ -0,0 +1,108 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.debug;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ *  Writes GuiMetrics frames to an SLF4J logger.  Every interval frames
+ *  the most recent frame is logged at info level, and any frame whose tpf
+ *  is at or above the spike threshold is logged at warn level so that
+ *  slow frames can be matched up with the UI work done during them.
+ *
+ *  @author    agent
+ */
+public class LoggingMetricsListener implements GuiMetricsListener {
+
+    static Logger defaultLog = LoggerFactory.getLogger(LoggingMetricsListener.class);
+
+    private final Logger log;
+    private int interval;
+    private float spikeThreshold;
+
+    /**
+     *  Creates a listener that only logs frames that take 50 ms or more.
+     */
+    public LoggingMetricsListener() {
+        this(defaultLog, 0, 0.05f);
+    }
+
+    public LoggingMetricsListener( Logger log, int interval, float spikeThreshold ) {
+        this.log = log;
+        this.interval = interval;
+        this.spikeThreshold = spikeThreshold;
+    }
+
+    /**
+     *  Sets how many frames apart the regular info logging is.  0
+     *  turns it off.
+     */
+    public void setInterval( int interval ) {
+        this.interval = interval;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     *  Sets the tpf, in seconds, at or above which a frame is logged
+     *  as a spike.  0 turns spike logging off.
+     */
+    public void setSpikeThreshold( float spikeThreshold ) {
+        this.spikeThreshold = spikeThreshold;
+    }
+
+    public float getSpikeThreshold() {
+        return spikeThreshold;
+    }
+
+    @Override
+    public void frameCompleted( GuiMetrics.FrameMetrics frame ) {
+        if( spikeThreshold > 0 && frame.getTpf() >= spikeThreshold ) {
+            if( log.isWarnEnabled() ) {
+                log.warn("Frame spike:" + frame);
+            }
+        } else if( interval > 0 && frame.getFrame() % interval == 0 ) {
+            if( log.isInfoEnabled() ) {
+                log.info(String.valueOf(frame));
+            }
+        }
+    }
+}
@@ -48,6 +48,9 @@ import com.jme3.input.MouseInput;
 import com.jme3.math.Vector2f;
 import com.jme3.renderer.ViewPort;
 import com.jme3.scene.Spatial;
+import com.jme3.system.Timer;
+
+import com.simsilica.lemur.core.Timers;
 
 
 /**
@@ -65,6 +68,17 @@ public abstract class BasePickState extends BaseAppState
 
     private long sampleFrequency = 1000000000 / 60; // 60 fps
     private long lastSample = 0;
+    private Timer timer;
+
+    /**
+     *  When true, motion is only dispatched to a session if its
+     *  last pick has gone stale.
+     */
+    private boolean pickOnlyOnChange = false;
+    private boolean active = false;
+    private boolean tracking = false;
+    private long executedPicks = 0;
+    private long skippedPicks = 0;
 
     /**
      *  The session that tracks the state of pick events from one
@@ -189,6 +203,95 @@ public abstract class BasePickState extends BaseAppState
         session.removeCollisionRoot(root);
     }
 
+    /**
+     *  Set to true to have Gui bucket collision roots picked using a
+     *  GuiPickIndex instead of colliding with the whole root.  Defaults
+     *  to false.
+     */
+    public void setPickIndexEnabled( boolean f ) {
+        session.setPickIndexEnabled(f);
+    }
+
+    public boolean isPickIndexEnabled() {
+        return session.isPickIndexEnabled();
+    }
+
+    /**
+     *  Set to true to only re-pick when the cursor (or touch pointer) has
+     *  moved or when something pick-relevant has changed in the scene: a pick
+     *  target moved, resized, or was added/removed/enabled/disabled, or a
+     *  root's camera moved.  Otherwise, motion is dispatched every sample
+     *  whether anything changed or not.  Defaults to false.
+     *
+     *  <p>Note: in this mode, listeners will not receive repeated motion events
+     *  while the cursor is sitting still over an unchanging scene.</p>
+     */
+    public void setPickOnlyOnChange( boolean b ) {
+        this.pickOnlyOnChange = b;
+        updateTracking();
+    }
+
+    public boolean getPickOnlyOnChange() {
+        return pickOnlyOnChange;
+    }
+
+    /**
+     *  Sets the timer used to throttle motion picks to the sample
+     *  frequency.  Defaults to null, meaning System.nanoTime().  With a
+     *  fixed step timer the same frames are picked on every run.
+     */
+    public void setTimer( Timer timer ) {
+        this.timer = timer;
+        this.lastSample = 0;
+    }
+
+    public Timer getTimer() {
+        return timer;
+    }
+
+    protected long nanoTime() {
+        return Timers.nanoTime(timer);
+    }
+
+    /**
+     *  Returns the number of picks that were actually performed since
+     *  the last call to resetPickCounts().
+     */
+    public long getExecutedPickCount() {
+        return executedPicks;
+    }
+
+    /**
+     *  Returns the number of picks that were skipped because nothing had
+     *  changed since the last call to resetPickCounts().  This will always
+     *  be 0 if getPickOnlyOnChange() is false.
+     */
+    public long getSkippedPickCount() {
+        return skippedPicks;
+    }
+
+    public void resetPickCounts() {
+        executedPicks = 0;
+        skippedPicks = 0;
+    }
+
+    /**
+     *  Turns pick target tracking on or off as needed for the
+     *  current pick mode and whether the state is active.
+     */
+    protected void updateTracking() {
+        boolean needed = pickOnlyOnChange && active;
+        if( needed == tracking ) {
+            return;
+        }
+        tracking = needed;
+        if( tracking ) {
+            PickTargetTracker.requestTracking();
+        } else {
+            PickTargetTracker.releaseTracking();
+        }
+    }
+
     /**
      *  Sets the order in which the pick layers will be checked for collisions.
      *  The default ordering is PICK_LAYER_GUI then PICK_LAYER_SCENE.
@@ -220,18 +323,22 @@ public abstract class BasePickState extends BaseAppState
     @Override
     protected void onEnable() {
         getApplication().getInputManager().setCursorVisible(true);
+        active = true;
+        updateTracking();
     }
 
     @Override
     protected void onDisable() {
         getApplication().getInputManager().setCursorVisible(false);
+        active = false;
+        updateTracking();
     }
 
     @Override
     public void update( float tpf ) {
         super.update(tpf);
 
-        long time = System.nanoTime();
+        long time = nanoTime();
         if( time - lastSample < sampleFrequency )
             return;
         lastSample = time;
@@ -241,5 +348,32 @@ public abstract class BasePickState extends BaseAppState
 
     protected abstract void dispatchMotion();
 
+    /**
+     *  Called by subclasses to deliver cursor motion to a specific session,
+     *  skipping the pick if getPickOnlyOnChange() is true and the session's
+     *  last pick is still current.  Returns true if the motion was consumed.
+     */
+    protected boolean dispatchMotion( PickEventSession target, int x, int y, int scroll ) {
+        if( pickOnlyOnChange && !target.isPickStale(x, y, scroll) ) {
+            skippedPicks++;
+            return false;
+        }
+        executedPicks++;
+        return target.cursorMoved(x, y, scroll);
+    }
+
+    /**
+     *  Called by subclasses to deliver cursor motion to a specific session
+     *  using that session's last scroll value.
+     */
+    protected boolean dispatchMotion( PickEventSession target, int x, int y ) {
+        if( pickOnlyOnChange && !target.isPickStale(x, y) ) {
+            skippedPicks++;
+            return false;
+        }
+        executedPicks++;
+        return target.cursorMoved(x, y);
+    }
+
 
 }
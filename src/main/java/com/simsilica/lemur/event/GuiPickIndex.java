@@ -0,0 +1,581 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.util.*;
+
+import org.slf4j.*;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.collision.CollisionResults;
+import com.jme3.math.Ray;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.control.AbstractControl;
+
+
+/**
+ *  A 2D spatial index of the pick targets (spatials with a CursorEventControl
+ *  or MouseEventControl) underneath a Gui bucket root.  When enabled on a
+ *  PickEventSession, cursor picking first looks up the targets whose screen
+ *  rectangle contains the cursor and then only collides the ray with those
+ *  targets instead of with the whole root.
+ *
+ *  <p>The index is kept as a control on the root that it indexes so that
+ *  it can be shared by all of the pick sessions that use that root.  Targets
+ *  report their own bounds changes as they are rendered (see PickTargetTracker)
+ *  so that only the targets that actually moved or resized are re-binned.
+ *  Entries for targets that were removed from the root are swept out a few
+ *  at a time during the root's update so that detached spatials are not
+ *  held onto.  A dropped target's tracker is reset so that the target is
+ *  added back the next time it is rendered under the root.</p>
+ *
+ *  <p>The index is a uniform grid of cells.  When a target lands outside of
+ *  the grid's area, the grid is re-fit to the current targets before the
+ *  next pick.  The grid is limited to MAX_GRID_SIZE cells on a side, so very
+ *  large areas get cells larger than the requested cell size.</p>
+ *
+ *  @author    agent
+ */
+public class GuiPickIndex extends AbstractControl {
+
+    static Logger log = LoggerFactory.getLogger(GuiPickIndex.class);
+
+    public static final float DEFAULT_CELL_SIZE = 64;
+    public static final int MAX_GRID_SIZE = 256;
+
+    // The number of entries checked for removal from the root each frame
+    private static final int SWEEP_BUDGET = 64;
+
+    private final float cellSize;
+
+    private Map<Spatial, Entry> index = new HashMap<>();
+    private List<Entry> entries = new ArrayList<>();
+    private List<Entry> dirty = new ArrayList<>();
+    private int sweepIndex;
+    private boolean refit;
+
+    // The cell size actually used by the grid
+    private float gridCellSize;
+    private float originX;
+    private float originY;
+    private int columns;
+    private int rows;
+    private List<Entry>[] cells;
+
+    // Working state for queries, kept around to avoid garbage
+    private List<Entry> candidates = new ArrayList<>();
+    private int queryStamp = 0;
+
+    public GuiPickIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public GuiPickIndex( float cellSize ) {
+        if( cellSize <= 0 ) {
+            throw new IllegalArgumentException("Cell size must be positive:" + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     *  Returns the pick index for the specified root, optionally creating
+     *  and attaching a new one if the root does not have one yet.
+     */
+    public static GuiPickIndex getIndex( Spatial root, boolean create ) {
+        GuiPickIndex result = root.getControl(GuiPickIndex.class);
+        if( result == null && create ) {
+            result = new GuiPickIndex();
+            root.addControl(result);
+        }
+        return result;
+    }
+
+    /**
+     *  Removes the pick index from the specified root if it has one.
+     */
+    public static void removeIndex( Spatial root ) {
+        GuiPickIndex existing = root.getControl(GuiPickIndex.class);
+        if( existing != null ) {
+            root.removeControl(existing);
+        }
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     *  Returns the number of targets currently in the index.
+     */
+    public int getTargetCount() {
+        return index.size();
+    }
+
+    @Override
+    public void setSpatial( Spatial spatial ) {
+        if( this.spatial != null && spatial == null ) {
+            PickTargetTracker.releaseTracking();
+            clear();
+        }
+        super.setSpatial(spatial);
+        if( spatial != null ) {
+            PickTargetTracker.requestTracking();
+            rebuild();
+        }
+    }
+
+    /**
+     *  Called by the PickTargetTracker when a target's world bounds have
+     *  changed.  Finds the index responsible for the target, if any, and marks
+     *  the target for re-binning.
+     */
+    protected static void targetChanged( Spatial target ) {
+        for( Spatial s = target; s != null; s = s.getParent() ) {
+            GuiPickIndex pickIndex = s.getControl(GuiPickIndex.class);
+            if( pickIndex != null ) {
+                pickIndex.markDirty(target);
+                return;
+            }
+        }
+    }
+
+    protected void markDirty( Spatial target ) {
+        Entry e = index.get(target);
+        if( e == null ) {
+            e = add(target);
+        }
+        if( !e.dirty ) {
+            e.dirty = true;
+            dirty.add(e);
+        }
+    }
+
+    /**
+     *  Clears the index and rescans the whole root for pick targets,
+     *  recalculating the area covered by the grid.
+     */
+    public void rebuild() {
+        clear();
+        if( spatial == null ) {
+            return;
+        }
+        addTargets(spatial);
+        for( Entry e : entries ) {
+            e.updateBounds();
+        }
+        fitGrid();
+        if( log.isTraceEnabled() ) {
+            log.trace("Rebuilt pick index for:" + spatial + " targets:" + index.size()
+                      + " grid:" + columns + "x" + rows);
+        }
+    }
+
+    /**
+     *  Recalculates the grid area from the current bounds of the
+     *  indexed targets and re-bins all of them.
+     */
+    protected void fitGrid() {
+        // Figure out the area that the grid needs to cover
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for( Entry e : entries ) {
+            e.binned = false;
+            if( !e.hasBounds ) {
+                continue;
+            }
+            minX = Math.min(minX, e.minX);
+            minY = Math.min(minY, e.minY);
+            maxX = Math.max(maxX, e.maxX);
+            maxY = Math.max(maxY, e.maxY);
+        }
+        if( minX > maxX ) {
+            minX = maxX = 0;
+            minY = maxY = 0;
+        }
+        float size = Math.max(maxX - minX, maxY - minY);
+        gridCellSize = Math.max(cellSize, size / MAX_GRID_SIZE);
+        originX = minX;
+        originY = minY;
+        columns = Math.max(1, (int)Math.ceil((maxX - minX) / gridCellSize));
+        rows = Math.max(1, (int)Math.ceil((maxY - minY) / gridCellSize));
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<Entry>[] array = new List[columns * rows];
+        cells = array;
+
+        for( Entry e : entries ) {
+            insert(e);
+        }
+        // Anything that is exactly on the far edge was clamped, which is fine
+        refit = false;
+        if( log.isTraceEnabled() ) {
+            log.trace("Fit pick grid for:" + spatial + " targets:" + index.size()
+                      + " grid:" + columns + "x" + rows + " cellSize:" + gridCellSize);
+        }
+    }
+
+    protected void clear() {
+        index.clear();
+        entries.clear();
+        dirty.clear();
+        sweepIndex = 0;
+        refit = false;
+        cells = null;
+        columns = 0;
+        rows = 0;
+    }
+
+    protected void addTargets( Spatial s ) {
+        if( isTarget(s) ) {
+            add(s);
+        }
+        if( s instanceof Node ) {
+            for( Spatial child : ((Node)s).getChildren() ) {
+                addTargets(child);
+            }
+        }
+    }
+
+    protected static boolean isTarget( Spatial s ) {
+        return s.getControl(CursorEventControl.class) != null
+                || s.getControl(MouseEventControl.class) != null;
+    }
+
+    protected static boolean isEnabledTarget( Spatial s ) {
+        CursorEventControl control1 = s.getControl(CursorEventControl.class);
+        if( control1 != null && control1.isEnabled() ) {
+            return true;
+        }
+        MouseEventControl control2 = s.getControl(MouseEventControl.class);
+        return control2 != null && control2.isEnabled();
+    }
+
+    protected Entry add( Spatial target ) {
+        Entry e = new Entry(target);
+        e.slot = entries.size();
+        entries.add(e);
+        index.put(target, e);
+        return e;
+    }
+
+    private int column( float x ) {
+        int result = (int)Math.floor((x - originX) / gridCellSize);
+        return Math.max(0, Math.min(columns - 1, result));
+    }
+
+    private int row( float y ) {
+        int result = (int)Math.floor((y - originY) / gridCellSize);
+        return Math.max(0, Math.min(rows - 1, result));
+    }
+
+    protected boolean isInGrid( Entry e ) {
+        return e.minX >= originX && e.minY >= originY
+                && e.maxX <= originX + columns * gridCellSize
+                && e.maxY <= originY + rows * gridCellSize;
+    }
+
+    protected void insert( Entry e ) {
+        if( !e.hasBounds ) {
+            return;
+        }
+        if( !isInGrid(e) ) {
+            // Still bin it in the edge cells so that picks stay correct
+            // until the grid is re-fit
+            refit = true;
+        }
+        e.minCol = column(e.minX);
+        e.maxCol = column(e.maxX);
+        e.minRow = row(e.minY);
+        e.maxRow = row(e.maxY);
+        for( int r = e.minRow; r <= e.maxRow; r++ ) {
+            for( int c = e.minCol; c <= e.maxCol; c++ ) {
+                int i = r * columns + c;
+                if( cells[i] == null ) {
+                    cells[i] = new ArrayList<>();
+                }
+                cells[i].add(e);
+            }
+        }
+        e.binned = true;
+    }
+
+    protected void remove( Entry e ) {
+        if( !e.binned ) {
+            return;
+        }
+        for( int r = e.minRow; r <= e.maxRow; r++ ) {
+            for( int c = e.minCol; c <= e.maxCol; c++ ) {
+                cells[r * columns + c].remove(e);
+            }
+        }
+        e.binned = false;
+    }
+
+    protected void rebin( Entry e ) {
+        remove(e);
+        e.updateBounds();
+        insert(e);
+    }
+
+    protected void processDirty() {
+        if( dirty.isEmpty() ) {
+            return;
+        }
+        for( int i = 0; i < dirty.size(); i++ ) {
+            Entry e = dirty.get(i);
+            e.dirty = false;
+            if( index.get(e.target) == e ) {
+                rebin(e);
+            }
+        }
+        dirty.clear();
+    }
+
+    protected void drop( Entry e ) {
+        remove(e);
+        index.remove(e.target);
+
+        // Targets only report themselves when their bounds change so
+        // make sure that this one reports again if it is reattached
+        // in the same place.
+        resetTracking(e.target);
+
+        // Swap the last entry into its slot
+        Entry last = entries.remove(entries.size() - 1);
+        if( last != e ) {
+            entries.set(e.slot, last);
+            last.slot = e.slot;
+        }
+    }
+
+    protected static void resetTracking( Spatial target ) {
+        CursorEventControl cec = target.getControl(CursorEventControl.class);
+        if( cec != null ) {
+            cec.resetPickTracking();
+        }
+        MouseEventControl mec = target.getControl(MouseEventControl.class);
+        if( mec != null ) {
+            mec.resetPickTracking();
+        }
+    }
+
+    /**
+     *  Drops the entries of up to 'count' targets that are no
+     *  longer underneath the root, continuing from where the last sweep
+     *  left off.
+     */
+    protected void sweep( int count ) {
+        for( int i = 0; i < count && !entries.isEmpty(); i++ ) {
+            if( sweepIndex >= entries.size() ) {
+                sweepIndex = 0;
+            }
+            Entry e = entries.get(sweepIndex);
+            if( !isUnderRoot(e.target) ) {
+                // The last entry is swapped into this slot so check
+                // this slot again
+                drop(e);
+            } else {
+                sweepIndex++;
+            }
+        }
+    }
+
+    /**
+     *  Returns true if the specified spatial is somewhere underneath
+     *  this index's root.
+     */
+    protected boolean isUnderRoot( Spatial s ) {
+        for( ; s != null; s = s.getParent() ) {
+            if( s == spatial ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *  Collides the specified Gui bucket ray with only the targets whose
+     *  rectangles contain the ray's origin.  The results are the same as
+     *  colliding with the whole root as far as pick targets are concerned:
+     *  geometry that is not underneath a target is not reported.
+     */
+    public int collideWith( Ray ray, CollisionResults results ) {
+        if( cells == null ) {
+            return 0;
+        }
+        processDirty();
+        if( refit ) {
+            fitGrid();
+        }
+
+        float x = ray.getOrigin().x;
+        float y = ray.getOrigin().y;
+        List<Entry> cell = cells[row(y) * columns + column(x)];
+        if( cell == null || cell.isEmpty() ) {
+            return 0;
+        }
+
+        // Gather up the entries that really contain the point, fixing up
+        // any stale entries as we go.
+        queryStamp++;
+        candidates.clear();
+        for( int i = cell.size() - 1; i >= 0; i-- ) {
+            Entry e = cell.get(i);
+            if( !isUnderRoot(e.target) || !isTarget(e.target) ) {
+                // It's gone
+                drop(e);
+                continue;
+            }
+            if( e.updateBounds() ) {
+                // It moved without telling us... probably because it
+                // wasn't rendered.  Put it where it belongs now.
+                remove(e);
+                insert(e);
+            }
+            if( !e.contains(x, y) || !isEnabledTarget(e.target) ) {
+                continue;
+            }
+            e.stamp = queryStamp;
+            candidates.add(e);
+        }
+
+        // Colliding with a target also collides with any of its children
+        // so we only need to collide the outer-most candidates.
+        int count = 0;
+        for( Entry e : candidates ) {
+            if( hasCandidateAncestor(e) ) {
+                continue;
+            }
+            count += e.target.collideWith(ray, results);
+        }
+        candidates.clear();
+        return count;
+    }
+
+    protected boolean hasCandidateAncestor( Entry e ) {
+        for( Spatial s = e.target.getParent(); s != null && s != spatial; s = s.getParent() ) {
+            Entry parent = index.get(s);
+            if( parent != null && parent.stamp == queryStamp ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void controlUpdate( float tpf ) {
+        sweep(SWEEP_BUDGET);
+    }
+
+    @Override
+    protected void controlRender( RenderManager rm, ViewPort vp ) {
+    }
+
+    protected static class Entry {
+        final Spatial target;
+        float minX;
+        float minY;
+        float maxX;
+        float maxY;
+        boolean hasBounds;
+
+        int minCol;
+        int minRow;
+        int maxCol;
+        int maxRow;
+        boolean binned;
+        boolean dirty;
+        int stamp;
+        int slot;
+
+        public Entry( Spatial target ) {
+            this.target = target;
+        }
+
+        /**
+         *  Refreshes the rectangle from the target's world bound and
+         *  returns true if it changed.
+         */
+        public boolean updateBounds() {
+            BoundingVolume bv = target.getWorldBound();
+            float x1, y1, x2, y2;
+            if( bv instanceof BoundingBox ) {
+                BoundingBox bb = (BoundingBox)bv;
+                x1 = bb.getCenter().x - bb.getXExtent();
+                x2 = bb.getCenter().x + bb.getXExtent();
+                y1 = bb.getCenter().y - bb.getYExtent();
+                y2 = bb.getCenter().y + bb.getYExtent();
+            } else if( bv instanceof BoundingSphere ) {
+                BoundingSphere bs = (BoundingSphere)bv;
+                x1 = bs.getCenter().x - bs.getRadius();
+                x2 = bs.getCenter().x + bs.getRadius();
+                y1 = bs.getCenter().y - bs.getRadius();
+                y2 = bs.getCenter().y + bs.getRadius();
+            } else {
+                // Empty nodes have no bounds and so can't be hit
+                boolean changed = hasBounds;
+                hasBounds = false;
+                return changed;
+            }
+            if( hasBounds && x1 == minX && y1 == minY && x2 == maxX && y2 == maxY ) {
+                return false;
+            }
+            minX = x1;
+            minY = y1;
+            maxX = x2;
+            maxY = y2;
+            hasBounds = true;
+            return true;
+        }
+
+        public boolean contains( float x, float y ) {
+            return hasBounds && x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry[" + target + ", (" + minX + ", " + minY + ")-(" + maxX + ", " + maxY + ")]";
+        }
+    }
+}
@@ -91,7 +91,7 @@ public class MouseAppState extends BasePickState {
     @Override
     protected void dispatchMotion() {
         Vector2f cursor = getApplication().getInputManager().getCursorPosition();
-        getSession().cursorMoved((int)cursor.x, (int)cursor.y, scrollWheel);
+        dispatchMotion(getSession(), (int)cursor.x, (int)cursor.y, scrollWheel);
     }
 
     protected void dispatch( MouseButtonEvent evt ) {
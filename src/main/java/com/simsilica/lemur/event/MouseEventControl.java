@@ -56,6 +56,7 @@ import com.jme3.scene.Spatial;
 public class MouseEventControl extends AbstractControl {
 
     private List<MouseListener> listeners = new CopyOnWriteArrayList<MouseListener>();
+    private PickTargetTracker pickTracker = new PickTargetTracker();
 
     public MouseEventControl() {
     }
@@ -141,8 +142,33 @@ public class MouseEventControl extends AbstractControl {
         }
     }
 
+    /**
+     *  Forgets the last reported bounds of this target so that it is
+     *  reported to the pick index again the next time it is rendered.
+     */
+    void resetPickTracking() {
+        pickTracker.reset();
+    }
+
+    @Override
+    public void setSpatial( Spatial spatial ) {
+        super.setSpatial(spatial);
+        pickTracker.reset();
+        PickTargetTracker.nextGeneration();
+    }
+
+    @Override
+    public void setEnabled( boolean enabled ) {
+        if( enabled != isEnabled() ) {
+            PickTargetTracker.nextGeneration();
+        }
+        super.setEnabled(enabled);
+    }
+
     @Override
     protected void controlRender( RenderManager rm, ViewPort vp ) {
+        // Let any pick index know if we've moved or resized
+        pickTracker.update(spatial);
     }
 
     @Override
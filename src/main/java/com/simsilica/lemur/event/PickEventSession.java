@@ -46,6 +46,7 @@ import com.jme3.collision.CollisionResult;
 import com.jme3.collision.CollisionResults;
 import com.jme3.input.event.MouseButtonEvent;
 import com.jme3.input.event.MouseMotionEvent;
+import com.jme3.math.Matrix4f;
 import com.jme3.math.Ray;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
@@ -53,9 +54,13 @@ import com.jme3.renderer.Camera;
 import com.jme3.renderer.ViewPort;
 import com.jme3.renderer.queue.RenderQueue.Bucket;
 import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import com.jme3.util.SafeArrayList;
 
+import com.simsilica.lemur.debug.GuiMetrics;
+import com.simsilica.lemur.debug.GuiMetrics.Metric;
+
 /**
  *  Encapsulates the state necessary to deliver events to targets,
  *  track capture, track enter/exit, etc. devoid of specific mouse
@@ -121,6 +126,24 @@ public class PickEventSession {
      *  Tracks the last scroll value so we can pass a proper delta in the events.
      */
     private int lastScroll = 0;
+ 
+    /**
+     *  True if Gui bucket roots should be picked through a GuiPickIndex
+     *  instead of colliding with the whole root.
+     */
+    private boolean pickIndexEnabled = false;
+
+    /**
+     *  The state at the time of the last pick, used to detect whether
+     *  a new pick would produce different results.
+     */
+    private boolean picked = false;
+    private int lastPickX;
+    private int lastPickY;
+    private int lastPickScroll;
+    private long lastPickGeneration;
+    private long lastStructure;
+    private Map<Camera, Matrix4f> lastViews = new HashMap<Camera, Matrix4f>();
      
     
     public PickEventSession() {
@@ -131,6 +154,22 @@ public class PickEventSession {
         this.rootList = null;
     }
 
+    /**
+     *  Set to true to have Gui bucket collision roots picked through a
+     *  shared GuiPickIndex.  The index keeps the screen rectangles of
+     *  all of the pick targets under the root so that only the targets
+     *  under the cursor need to be collided with.  Defaults to false.
+     *  Turning this off does not remove any indexes already created
+     *  since they may be shared with other sessions.  See GuiPickIndex.removeIndex().
+     */
+    public void setPickIndexEnabled( boolean f ) {
+        this.pickIndexEnabled = f;
+    }
+
+    public boolean isPickIndexEnabled() {
+        return pickIndexEnabled;
+    }
+
     /**
      *  Turns on extra debug logging.  This will cause all of the logging
      *  that would normally be at trace level for any instance to be at debug
@@ -165,7 +204,9 @@ public class PickEventSession {
      */
     @Override
     public PickEventSession clone() {
-        return new PickEventSession(roots);
+        PickEventSession result = new PickEventSession(roots);
+        result.pickIndexEnabled = pickIndexEnabled;
+        return result;
     }
 
     public ViewPort findViewPort( Spatial s ) {
@@ -273,6 +314,8 @@ public class PickEventSession {
         // Just in case
         rayCache.clear();
         delivered.clear();
+        lastViews.clear();
+        picked = false;
 
         roots.clear();
         rootList = null;
@@ -337,6 +380,24 @@ public class PickEventSession {
         }
     }
 
+    /**
+     *  Returns the pick index to use for the specified root or null if
+     *  the root should be collided with directly.
+     */
+    protected GuiPickIndex getPickIndex( RootEntry rootEntry ) {
+        if( !pickIndexEnabled ) {
+            return null;
+        }
+        if( !(rootEntry.root instanceof Spatial) ) {
+            return null;
+        }
+        Spatial root = (Spatial)rootEntry.root;
+        if( root.getQueueBucket() != Bucket.Gui ) {
+            return null;
+        }
+        return GuiPickIndex.getIndex(root, true);
+    }
+
     protected SafeArrayList<RootEntry> getRootList() {
         if( rootList == null ) {
             // We build the root list in layer order but within each
@@ -467,6 +528,108 @@ public class PickEventSession {
         return result;
     }
 
+    /**
+     *  Returns true if picking at the specified cursor location could give
+     *  different results than the last pick.  This is the case if the cursor
+     *  or scroll value changed, if any pick target moved, resized, or was
+     *  enabled/disabled/added/removed since (see PickTargetTracker), if the
+     *  current hit target left the scene, if any root's camera changed, or if
+     *  any spatial was attached, detached, or culled under a root.
+     *  Note: pick target changes are only detected while PickTargetTracker
+     *  tracking is on.
+     */
+    public boolean isPickStale( int x, int y, int scroll ) {
+        if( !picked ) {
+            return true;
+        }
+        if( x != lastPickX || y != lastPickY || scroll != lastPickScroll ) {
+            return true;
+        }
+        if( PickTargetTracker.getGeneration() != lastPickGeneration ) {
+            return true;
+        }
+        if( hitTarget != null && findRootEntry(hitTarget) == null ) {
+            return true;
+        }
+        for( RootEntry e : getRootList().getArray() ) {
+            Camera cam = e.viewport.getCamera();
+            Matrix4f last = lastViews.get(cam);
+            if( last == null || !last.equals(cam.getViewProjectionMatrix()) ) {
+                return true;
+            }
+        }
+        // Last because it walks the roots.  This catches things the
+        // tracker can't see, like a target reattached at the same bounds
+        // or an occluder that isn't a pick target.
+        if( getStructureStamp() != lastStructure ) {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     *  Returns a hash of the scene structure under the collision roots:
+     *  which spatials are attached where and which are culled.  This is
+     *  much cheaper than a pick as it doesn't look at bounds or meshes.
+     *  Roots that are not Spatials don't contribute.
+     */
+    protected long getStructureStamp() {
+        long stamp = 17;
+        for( RootEntry e : getRootList().getArray() ) {
+            if( e.root instanceof Spatial ) {
+                stamp = stamp((Spatial)e.root, stamp);
+            }
+        }
+        return stamp;
+    }
+
+    private static long stamp( Spatial s, long stamp ) {
+        stamp = stamp * 31 + System.identityHashCode(s);
+        if( s.getCullHint() == Spatial.CullHint.Always ) {
+            return stamp * 31 + 1;
+        }
+        if( s instanceof Node ) {
+            Node node = (Node)s;
+            int size = node.getQuantity();
+            for( int i = 0; i < size; i++ ) {
+                stamp = stamp(node.getChild(i), stamp);
+            }
+            stamp = stamp * 31 + size;
+        }
+        return stamp;
+    }
+
+    /**
+     *  Returns true if picking at the specified cursor location with the
+     *  last known scroll value could give different results than the last pick.
+     */
+    public boolean isPickStale( int x, int y ) {
+        return isPickStale(x, y, lastScroll);
+    }
+
+    /**
+     *  Records the state used for isPickStale() checks.
+     */
+    protected void recordPickState( int x, int y, int scroll ) {
+        picked = true;
+        lastPickX = x;
+        lastPickY = y;
+        lastPickScroll = scroll;
+        lastPickGeneration = PickTargetTracker.getGeneration();
+        // Only isPickStale() needs this and it is only useful when
+        // tracking is on
+        lastStructure = PickTargetTracker.isTracking() ? getStructureStamp() : 0;
+        for( RootEntry e : getRootList().getArray() ) {
+            Camera cam = e.viewport.getCamera();
+            Matrix4f last = lastViews.get(cam);
+            if( last == null ) {
+                last = new Matrix4f();
+                lastViews.put(cam, last);
+            }
+            last.set(cam.getViewProjectionMatrix());
+        }
+    }
+
     /**
      *  Called when the cursor has moved.
      */
@@ -484,6 +647,7 @@ public class PickEventSession {
         }
         int scrollDelta = scroll - lastScroll;
         lastScroll = scroll;
+        recordPickState(x, y, scroll);
 
         Vector2f cursor = new Vector2f(x,y);
 
@@ -537,6 +701,7 @@ public class PickEventSession {
                 if( mouseRay != null ) {
 
                     // But we don't have to pick the whole hiearchy...
+                    GuiMetrics.increment(Metric.PickCollisions);
                     int count = capture.collideWith(mouseRay, results);
                     CollisionResult cr = null;
                     if( count > 0 ) {
@@ -572,7 +737,14 @@ public class PickEventSession {
 
             // Rather than process every root, we will stop when
             // we find one that is ready to consume our event
-            int count = e.root.collideWith(mouseRay, results);
+            GuiPickIndex pickIndex = getPickIndex(e);
+            int count;
+            GuiMetrics.increment(Metric.PickCollisions);
+            if( pickIndex != null ) {
+                count = pickIndex.collideWith(mouseRay, results);
+            } else {
+                count = e.root.collideWith(mouseRay, results);
+            }
             if( count > 0 ) {
                 for( CollisionResult cr : results ) {
                     Geometry geom = cr.getGeometry();
@@ -0,0 +1,171 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  Watches the world bounds of a pick target (a spatial with a
+ *  CursorEventControl or MouseEventControl) and reports when they change.
+ *  The event controls call update() as they are rendered.
+ *
+ *  <p>Any change to a tracked target bumps a global pick generation.
+ *  Code that caches pick results can compare generations to cheaply tell
+ *  whether anything pick-relevant has happened since the last pick.  Changes
+ *  are also passed on to any GuiPickIndex above the target.</p>
+ *
+ *  <p>Tracking is off unless something has requested it with
+ *  requestTracking() so that the event controls cost nothing extra when
+ *  nobody is interested.  All of this is only ever accessed from the
+ *  render thread.</p>
+ *
+ *  @author    agent
+ */
+public class PickTargetTracker {
+
+    private static int trackingRequests = 0;
+    private static long generation = 0;
+
+    private Spatial lastTarget;
+    private float minX;
+    private float minY;
+    private float minZ;
+    private float maxX;
+    private float maxY;
+    private float maxZ;
+    private boolean known;
+
+    public PickTargetTracker() {
+    }
+
+    /**
+     *  Turns on target tracking for the caller.  Each call must eventually
+     *  be paired with a call to releaseTracking().
+     */
+    public static void requestTracking() {
+        trackingRequests++;
+    }
+
+    public static void releaseTracking() {
+        if( trackingRequests <= 0 ) {
+            throw new IllegalStateException("Tracking was not requested");
+        }
+        trackingRequests--;
+    }
+
+    public static boolean isTracking() {
+        return trackingRequests > 0;
+    }
+
+    /**
+     *  Returns the current pick generation.  This is incremented any
+     *  time a tracked pick target moves, resizes, or is enabled, disabled,
+     *  added, or removed.
+     */
+    public static long getGeneration() {
+        return generation;
+    }
+
+    /**
+     *  Increments the pick generation to signal that some pick-relevant
+     *  state has changed.
+     */
+    public static void nextGeneration() {
+        generation++;
+    }
+
+    /**
+     *  Checks the target's current world bounds against the last
+     *  bounds seen and reports the target if they have changed.
+     */
+    public void update( Spatial target ) {
+        if( trackingRequests == 0 || target == null ) {
+            return;
+        }
+        if( target != lastTarget ) {
+            lastTarget = target;
+            known = false;
+        }
+        BoundingVolume bv = target.getWorldBound();
+        if( bv == null ) {
+            return;
+        }
+        float xExtent;
+        float yExtent;
+        float zExtent;
+        if( bv instanceof BoundingBox ) {
+            BoundingBox bb = (BoundingBox)bv;
+            xExtent = bb.getXExtent();
+            yExtent = bb.getYExtent();
+            zExtent = bb.getZExtent();
+        } else if( bv instanceof BoundingSphere ) {
+            xExtent = yExtent = zExtent = ((BoundingSphere)bv).getRadius();
+        } else {
+            return;
+        }
+        float x = bv.getCenter().x;
+        float y = bv.getCenter().y;
+        float z = bv.getCenter().z;
+        if( known && minX == x - xExtent && maxX == x + xExtent
+                  && minY == y - yExtent && maxY == y + yExtent
+                  && minZ == z - zExtent && maxZ == z + zExtent ) {
+            return;
+        }
+        minX = x - xExtent;
+        maxX = x + xExtent;
+        minY = y - yExtent;
+        maxY = y + yExtent;
+        minZ = z - zExtent;
+        maxZ = z + zExtent;
+        known = true;
+
+        generation++;
+        GuiPickIndex.targetChanged(target);
+    }
+
+    /**
+     *  Forgets the last known bounds so that the next update() will
+     *  report the target as changed.
+     */
+    public void reset() {
+        known = false;
+    }
+}
@@ -102,7 +102,8 @@ public class TouchAppState extends BasePickState {
      * dispatched at the frequency defined to avoid sending more motions
      * than necessary.
      * An early out is provided if no PickEventSessions are active (ie. no touch
-     * pointers are active).
+     * pointers are active).  When getPickOnlyOnChange() is true, pointers that
+     * have not moved are only re-picked if the scene changed under them.
      */
     @Override
     protected void dispatchMotion() {
@@ -111,7 +112,7 @@ public class TouchAppState extends BasePickState {
         }
         for (Entry<Integer, PointerData> entry: pointerDataMap.entrySet()) {
             PointerData pointerData = entry.getValue();
-            pointerData.session.cursorMoved(
+            dispatchMotion(pointerData.session,
                     pointerData.lastX, pointerData.lastY);
         }
     }
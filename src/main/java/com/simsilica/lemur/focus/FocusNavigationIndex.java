@@ -0,0 +1,501 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.focus;
+
+import java.util.*;
+
+import org.slf4j.*;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.control.AbstractControl;
+
+import com.simsilica.lemur.core.AbstractGuiControlListener;
+import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.focus.FocusTraversal.TraversalDirection;
+
+
+/**
+ *  A 2D spatial index of the focus targets underneath a focus root, used
+ *  by FocusNavigationState to resolve Up, Down, Left, and Right navigation
+ *  geometrically instead of by walking layout children.  Given the currently
+ *  focused spatial, getNearest() finds the closest focusable target in the
+ *  requested direction with a nearest-neighbor search over a uniform grid
+ *  of target centers.
+ *
+ *  <p>Like GuiPickIndex, the index is kept as a control on the root that
+ *  it indexes.  Target rectangles come from world bounds, which are screen
+ *  coordinates for the Gui bucket.  The index is rebuilt lazily after the
+ *  root's GuiControl is reshaped, which happens whenever anything beneath
+ *  it is added, removed, or resized.  Roots without a GuiControl instead
+ *  compare a cheap stamp of their scene structure on each query so that
+ *  attaching or detaching children still triggers a rebuild.  Moving the
+ *  root as a whole does not require a rebuild.  A target that is found to have been removed or moved
+ *  some other way also triggers a rebuild and a second search.  Nested focus
+ *  roots are not indexed.</p>
+ *
+ *  <p>Candidates are scored as 13 * major^2 + minor^2 where major is the
+ *  distance between the centers in the direction of travel and minor is
+ *  the distance across it.  This strongly prefers targets in the same row
+ *  or column.</p>
+ *
+ *  @author    agent
+ */
+public class FocusNavigationIndex extends AbstractControl {
+
+    static Logger log = LoggerFactory.getLogger(FocusNavigationIndex.class);
+
+    private static final float MAJOR_WEIGHT = 13;
+
+    private final RootListener rootListener = new RootListener();
+    private GuiControl rootControl;
+    private boolean dirty = true;
+
+    // Scene structure stamp when the index was built, only used
+    // when the root has no GuiControl to tell us about changes.
+    private int structure;
+
+    private Map<Spatial, Entry> index = new HashMap<>();
+
+    // The root's world translation when the index was built.  Rectangles
+    // are stored relative to it.
+    private Vector3f rootOrigin = new Vector3f();
+
+    private float cellSize;
+    private float originX;
+    private float originY;
+    private int columns;
+    private int rows;
+    private List<Entry>[] cells;
+
+    public FocusNavigationIndex() {
+    }
+
+    /**
+     *  Returns the navigation index for the specified focus root, optionally
+     *  creating and attaching a new one if the root does not have one yet.
+     */
+    public static FocusNavigationIndex getIndex( Spatial root, boolean create ) {
+        FocusNavigationIndex result = root.getControl(FocusNavigationIndex.class);
+        if( result == null && create ) {
+            result = new FocusNavigationIndex();
+            root.addControl(result);
+        }
+        return result;
+    }
+
+    /**
+     *  Removes the navigation index from the specified root if it has one.
+     */
+    public static void removeIndex( Spatial root ) {
+        FocusNavigationIndex existing = root.getControl(FocusNavigationIndex.class);
+        if( existing != null ) {
+            root.removeControl(existing);
+        }
+    }
+
+    /**
+     *  Returns the number of focus targets currently in the index.
+     */
+    public int getTargetCount() {
+        return index.size();
+    }
+
+    @Override
+    public void setSpatial( Spatial spatial ) {
+        if( rootControl != null ) {
+            rootControl.removeListener(rootListener);
+            rootControl = null;
+        }
+        super.setSpatial(spatial);
+        clear();
+        dirty = true;
+        if( spatial != null ) {
+            rootControl = spatial.getControl(GuiControl.class);
+            if( rootControl != null ) {
+                rootControl.addListener(rootListener);
+            }
+        }
+    }
+
+    /**
+     *  Marks the index to be rebuilt the next time it is queried.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     *  Clears the index and rescans the whole root for focus targets.
+     */
+    public void rebuild() {
+        clear();
+        dirty = false;
+        if( spatial == null ) {
+            return;
+        }
+        rootOrigin.set(spatial.getWorldTranslation());
+        addTargets(spatial);
+        structure = rootControl == null ? getStructureStamp(spatial) : 0;
+
+        // Figure out the area that the grid needs to cover and a cell
+        // size that puts about one target in each cell.
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        double sizeSum = 0;
+        int count = 0;
+        for( Entry e : index.values() ) {
+            if( !e.updateBounds(rootOrigin) ) {
+                continue;
+            }
+            minX = Math.min(minX, e.centerX);
+            minY = Math.min(minY, e.centerY);
+            maxX = Math.max(maxX, e.centerX);
+            maxY = Math.max(maxY, e.centerY);
+            sizeSum += Math.max(e.maxX - e.minX, e.maxY - e.minY);
+            count++;
+        }
+        if( count == 0 ) {
+            minX = maxX = 0;
+            minY = maxY = 0;
+        }
+        cellSize = count == 0 ? 1 : Math.max(1, (float)(sizeSum / count));
+        originX = minX;
+        originY = minY;
+        columns = Math.max(1, (int)Math.floor((maxX - minX) / cellSize) + 1);
+        rows = Math.max(1, (int)Math.floor((maxY - minY) / cellSize) + 1);
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<Entry>[] array = new List[columns * rows];
+        cells = array;
+
+        for( Entry e : index.values() ) {
+            if( !e.hasBounds ) {
+                continue;
+            }
+            int i = row(e.centerY) * columns + column(e.centerX);
+            if( cells[i] == null ) {
+                cells[i] = new ArrayList<>();
+            }
+            cells[i].add(e);
+        }
+        if( log.isTraceEnabled() ) {
+            log.trace("Rebuilt focus index for:" + spatial + " targets:" + index.size()
+                      + " grid:" + columns + "x" + rows + " cellSize:" + cellSize);
+        }
+    }
+
+    protected void clear() {
+        index.clear();
+        cells = null;
+        columns = 0;
+        rows = 0;
+    }
+
+    protected void addTargets( Spatial s ) {
+        if( s != spatial ) {
+            FocusTraversal ft = FocusNavigationState.getFocusTraversal(s);
+            if( ft != null && ft.isFocusRoot() ) {
+                // Has its own navigation
+                return;
+            }
+            if( FocusManagerState.findFocusTarget(s) != null ) {
+                index.put(s, new Entry(s));
+            }
+        }
+        if( s instanceof Node ) {
+            for( Spatial child : ((Node)s).getChildren() ) {
+                addTargets(child);
+            }
+        }
+    }
+
+    /**
+     *  Returns a hash of the identities and child counts of the
+     *  spatials that addTargets() would visit.  It changes when children
+     *  are attached or detached anywhere in that part of the tree.
+     */
+    protected int getStructureStamp( Spatial s ) {
+        int result = System.identityHashCode(s);
+        if( s != spatial ) {
+            FocusTraversal ft = FocusNavigationState.getFocusTraversal(s);
+            if( ft != null && ft.isFocusRoot() ) {
+                return result;
+            }
+        }
+        if( s instanceof Node ) {
+            List<Spatial> children = ((Node)s).getChildren();
+            result = result * 31 + children.size();
+            for( int i = 0; i < children.size(); i++ ) {
+                result = result * 31 + getStructureStamp(children.get(i));
+            }
+        }
+        return result;
+    }
+
+    private int column( float x ) {
+        int result = (int)Math.floor((x - originX) / cellSize);
+        return Math.max(0, Math.min(columns - 1, result));
+    }
+
+    private int row( float y ) {
+        int result = (int)Math.floor((y - originY) / cellSize);
+        return Math.max(0, Math.min(rows - 1, result));
+    }
+
+    /**
+     *  Returns true if the specified spatial is somewhere underneath
+     *  this index's root.
+     */
+    protected boolean isUnderRoot( Spatial s ) {
+        for( ; s != null; s = s.getParent() ) {
+            if( s == spatial ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *  Returns the focusable target nearest to 'from' in the specified
+     *  direction or null if there isn't one.  Only Up, Down, Left, and
+     *  Right are supported.
+     */
+    public Spatial getNearest( Spatial from, TraversalDirection dir ) {
+        if( spatial == null ) {
+            return null;
+        }
+        if( dirty || cells == null
+            || (rootControl == null && structure != getStructureStamp(spatial)) ) {
+            rebuild();
+        }
+        Entry source = new Entry(from);
+        if( !source.updateBounds(spatial.getWorldTranslation()) ) {
+            return null;
+        }
+
+        Entry result = findNearest(source, dir);
+        if( result != null && !isCurrent(result) ) {
+            // Something changed without the root being reshaped.  A null
+            // result is trusted, ie: edges of the screen don't force a
+            // rebuild every time.
+            rebuild();
+            result = findNearest(source, dir);
+        }
+        return result == null ? null : result.target;
+    }
+
+    /**
+     *  Returns true if the entry is still under the root with the
+     *  same rectangle as when it was indexed.
+     */
+    protected boolean isCurrent( Entry e ) {
+        if( !isUnderRoot(e.target) ) {
+            return false;
+        }
+        Entry check = new Entry(e.target);
+        check.updateBounds(spatial.getWorldTranslation());
+        return check.hasBounds && check.minX == e.minX && check.minY == e.minY
+                && check.maxX == e.maxX && check.maxY == e.maxY;
+    }
+
+    protected Entry findNearest( Entry source, TraversalDirection dir ) {
+        int dx = 0;
+        int dy = 0;
+        switch( dir ) {
+            case Left:
+                dx = -1;
+                break;
+            case Right:
+                dx = 1;
+                break;
+            case Up:
+                dy = 1;
+                break;
+            case Down:
+                dy = -1;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported direction:" + dir);
+        }
+
+        int col = column(source.centerX);
+        int row = row(source.centerY);
+        int maxRing = Math.max(columns, rows);
+        Entry best = null;
+        float bestScore = Float.POSITIVE_INFINITY;
+
+        for( int ring = 0; ring <= maxRing; ring++ ) {
+            if( ring > 0 ) {
+                // Anything in this ring or beyond is at least this far
+                // away on one axis or the other
+                float minDist = (ring - 1) * cellSize;
+                if( minDist * minDist > bestScore ) {
+                    break;
+                }
+            }
+            for( int r = row - ring; r <= row + ring; r++ ) {
+                if( r < 0 || r >= rows || (dy != 0 && (r - row) * dy < 0) ) {
+                    continue;
+                }
+                boolean edgeRow = r == row - ring || r == row + ring;
+                int step = edgeRow ? 1 : ring * 2;
+                for( int c = col - ring; c <= col + ring; c += Math.max(1, step) ) {
+                    if( c < 0 || c >= columns || (dx != 0 && (c - col) * dx < 0) ) {
+                        continue;
+                    }
+                    List<Entry> cell = cells[r * columns + c];
+                    if( cell == null ) {
+                        continue;
+                    }
+                    for( Entry e : cell ) {
+                        if( e.target == source.target || !isCandidate(source, e, dx, dy) ) {
+                            continue;
+                        }
+                        float major = dx != 0 ? (e.centerX - source.centerX) * dx
+                                              : (e.centerY - source.centerY) * dy;
+                        float minor = dx != 0 ? (e.centerY - source.centerY)
+                                              : (e.centerX - source.centerX);
+                        float score = MAJOR_WEIGHT * major * major + minor * minor;
+                        if( score >= bestScore ) {
+                            continue;
+                        }
+                        FocusTarget target = FocusManagerState.findFocusTarget(e.target);
+                        if( target == null || !target.isFocusable() ) {
+                            continue;
+                        }
+                        best = e;
+                        bestScore = score;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     *  Returns true if the candidate lies in the direction of travel
+     *  from the source: it must start at or past the source's near edge
+     *  and extend beyond its far edge.
+     */
+    protected boolean isCandidate( Entry source, Entry e, int dx, int dy ) {
+        if( dx > 0 ) {
+            return (source.minX < e.minX || source.maxX <= e.minX) && source.maxX < e.maxX;
+        } else if( dx < 0 ) {
+            return (source.maxX > e.maxX || source.minX >= e.maxX) && source.minX > e.minX;
+        } else if( dy > 0 ) {
+            return (source.minY < e.minY || source.maxY <= e.minY) && source.maxY < e.maxY;
+        } else {
+            return (source.maxY > e.maxY || source.minY >= e.maxY) && source.minY > e.minY;
+        }
+    }
+
+    @Override
+    protected void controlUpdate( float tpf ) {
+    }
+
+    @Override
+    protected void controlRender( RenderManager rm, ViewPort vp ) {
+    }
+
+    private class RootListener extends AbstractGuiControlListener {
+        @Override
+        public void reshape( GuiControl source, Vector3f pos, Vector3f size ) {
+            dirty = true;
+        }
+    }
+
+    protected static class Entry {
+        final Spatial target;
+        float minX;
+        float minY;
+        float maxX;
+        float maxY;
+        float centerX;
+        float centerY;
+        boolean hasBounds;
+
+        public Entry( Spatial target ) {
+            this.target = target;
+        }
+
+        /**
+         *  Refreshes the rectangle from the target's world bound,
+         *  relative to the specified origin, and returns true if the target
+         *  has bounds.
+         */
+        public boolean updateBounds( Vector3f origin ) {
+            BoundingVolume bv = target.getWorldBound();
+            if( bv instanceof BoundingBox ) {
+                BoundingBox bb = (BoundingBox)bv;
+                centerX = bb.getCenter().x - origin.x;
+                centerY = bb.getCenter().y - origin.y;
+                minX = centerX - bb.getXExtent();
+                maxX = centerX + bb.getXExtent();
+                minY = centerY - bb.getYExtent();
+                maxY = centerY + bb.getYExtent();
+            } else if( bv instanceof BoundingSphere ) {
+                BoundingSphere bs = (BoundingSphere)bv;
+                centerX = bs.getCenter().x - origin.x;
+                centerY = bs.getCenter().y - origin.y;
+                minX = centerX - bs.getRadius();
+                maxX = centerX + bs.getRadius();
+                minY = centerY - bs.getRadius();
+                maxY = centerY + bs.getRadius();
+            } else {
+                // Empty nodes have no bounds
+                hasBounds = false;
+                return false;
+            }
+            hasBounds = true;
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry[" + target + ", (" + minX + ", " + minY + ")-(" + maxX + ", " + maxY + ")]";
+        }
+    }
+}
@@ -61,6 +61,7 @@ public class FocusNavigationState extends BaseAppState {
     private FocusManagerState focusState;   
     private InputMapper inputMapper;
     private InputHandler inputHandler = new InputHandler();
+    private boolean spatialNavigation;
     
     public FocusNavigationState( InputMapper inputMapper, FocusManagerState focusState ) {
         this.inputMapper = inputMapper;
@@ -77,6 +78,23 @@ public class FocusNavigationState extends BaseAppState {
         FocusTraversal ft = getFocusTraversal(spatial);
         return ft != null ? ft.getDefaultFocus() : spatial;
     }
+
+    /**
+     *  Set to true to resolve Up, Down, Left, and Right navigation by
+     *  searching for the nearest focusable element on screen in that
+     *  direction instead of asking each container's FocusTraversal.  This
+     *  lets gamepad navigation move between elements that are neighbors
+     *  on screen but not in the layout.  Each focus root keeps its own
+     *  FocusNavigationIndex.  Next, Previous, Home, and End still follow
+     *  the traversal order.  Defaults to false.
+     */
+    public void setSpatialNavigationEnabled( boolean b ) {
+        this.spatialNavigation = b;
+    }
+
+    public boolean isSpatialNavigationEnabled() {
+        return spatialNavigation;
+    }
  
     /**
      *  Attempts to navigate to the next focusable element as specified
@@ -88,6 +106,10 @@ public class FocusNavigationState extends BaseAppState {
             throw new IllegalArgumentException("Cannot traverse focus from a null spatial");
         }
 
+        if( spatialNavigation && isSpatialDirection(dir) ) {
+            return requestSpatialFocus(spatial, dir);
+        }
+
         // Find the container of this spatial
         Spatial container = getFocusContainer(spatial);
         if( container == null ) {
@@ -105,6 +127,55 @@ public class FocusNavigationState extends BaseAppState {
             return requestChangeFocus(container, dir);
         }
     }
+
+    protected boolean isSpatialDirection( TraversalDirection dir ) {
+        switch( dir ) {
+            case Up:
+            case Down:
+            case Left:
+            case Right:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     *  Moves focus to the nearest focusable element in the specified
+     *  direction within the spatial's focus root, using that root's
+     *  FocusNavigationIndex.
+     */
+    protected Spatial requestSpatialFocus( Spatial spatial, TraversalDirection dir ) {
+        Spatial root = getFocusRoot(spatial);
+        if( root == null ) {
+            return null;
+        }
+        FocusNavigationIndex index = FocusNavigationIndex.getIndex(root, true);
+        Spatial next = index.getNearest(spatial, dir);
+        if( next != null ) {
+            focusState.setFocus(next);
+        }
+        return next;
+    }
+
+    /**
+     *  Returns the nearest focus container above the spatial that
+     *  is a focus root or the outermost focus container if none of them are.
+     */
+    protected Spatial getFocusRoot( Spatial spatial ) {
+        Spatial result = null;
+        for( Spatial s = spatial.getParent(); s != null; s = s.getParent() ) {
+            FocusTraversal ft = getFocusTraversal(s);
+            if( ft == null ) {
+                continue;
+            }
+            if( ft.isFocusRoot() ) {
+                return s;
+            }
+            result = s;
+        }
+        return result;
+    }
     
     @Override
     protected void initialize( Application app ) {
@@ -0,0 +1,67 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.geom;
+
+
+/**
+ *  A Deformation that can also deform whole ranges of vertexes at
+ *  once, directly in float arrays of x, y, z triplets.  DMesh uses this
+ *  instead of calling deform(Vector3f, Vector3f) once per vertex, and
+ *  may call it from several threads at once for separate ranges of
+ *  a large mesh.  Implementations must therefore not modify any shared
+ *  state from deform(float[], float[], int, int).
+ *
+ *  <p>The version lets DMesh skip redoing a mesh when neither the
+ *  source mesh nor the deformation's parameters have changed.</p>
+ *
+ *  @author    agent
+ */
+public interface BatchDeformation extends Deformation {
+
+    /**
+     *  Deforms, in place, the vertexes from start (inclusive) to
+     *  end (exclusive).  Vertex i is at array index i * 3.  The normals
+     *  array may be null if the mesh has no normals.
+     */
+    public void deform( float[] pos, float[] norms, int start, int end );
+
+    /**
+     *  Returns a value that changes any time a parameter of this
+     *  deformation changes.
+     */
+    public long getVersion();
+}
@@ -39,24 +39,72 @@ import com.jme3.scene.Mesh;
 import com.jme3.scene.VertexBuffer;
 import com.jme3.scene.VertexBuffer.Type;
 import java.nio.FloatBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 
 /**
  *  A mesh that wraps another mesh to provide a deformed
  *  view using a Deformation function.
  *
+ *  <p>Vertexes are copied out of the source buffers in bulk and, when
+ *  the deformation is a BatchDeformation, deformed a range at a time.
+ *  Meshes with at least getParallelThreshold() vertexes are split across
+ *  a shared fork/join pool.  When the deformation is a BatchDeformation,
+ *  updateMesh() also skips all of the work if neither the source positions
+ *  and normals nor the deformation's version have changed since the last
+ *  update.</p>
+ *
+ *  <p>Subclasses that override morphVertex() or the FloatBuffer version
+ *  of morph() get the original per-vertex buffer path instead so that
+ *  their overrides are still called.</p>
+ *
  *  @author    Paul Speed
  */
 public class DMesh extends Mesh {
 
+    /**
+     *  The default number of vertexes a mesh must have before its
+     *  batch deformation is split across threads.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 16384;
+
+    // The number of vertexes each fork/join task will deform
+    // without splitting further.
+    private static final int MIN_TASK_SIZE = 4096;
+
+    private static ForkJoinPool pool;
+
+    // Whether each DMesh subclass overrides the per-vertex methods
+    private static final Map<Class<?>, Boolean> perVertexTypes = new ConcurrentHashMap<>();
+
+    private final boolean perVertex;
+    private boolean unchanged;
     private Mesh mesh;
     private Deformation deform;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    // The source data from the last morph() so that we can tell
+    // if anything has changed.
+    private float[] lastPos;
+    private float[] lastNorms;
+    private Deformation lastDeform;
+    private long lastVersion;
+
+    // Working arrays that are deformed in place and then
+    // copied to the target buffers.
+    private float[] pos;
+    private float[] norms;
 
     public DMesh( Mesh mesh ) {
+        this.perVertex = isPerVertex(getClass());
         this.mesh = mesh;
     }
 
     public DMesh( Mesh mesh, Deformation deform ) {
+        this.perVertex = isPerVertex(getClass());
         this.mesh = mesh;
         this.deform = deform;
         updateMesh();
@@ -85,6 +133,63 @@ public class DMesh extends Mesh {
         return deform;
     }
 
+    /**
+     *  Sets the number of vertexes a mesh must have before a
+     *  BatchDeformation is run in parallel.  Set this to Integer.MAX_VALUE
+     *  to always deform on the calling thread.  Defaults to
+     *  DEFAULT_PARALLEL_THRESHOLD.
+     */
+    public void setParallelThreshold( int parallelThreshold ) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     *  Forces the next updateMesh() to redo the deformation even if
+     *  nothing appears to have changed.
+     */
+    public void invalidate() {
+        lastDeform = null;
+    }
+
+    /**
+     *  Returns true if the specified DMesh type overrides morphVertex()
+     *  or morph(FloatBuffer...) and so must be morphed one vertex at a time
+     *  through the original buffer path.
+     */
+    protected static boolean isPerVertex( Class<?> type ) {
+        Boolean result = perVertexTypes.get(type);
+        if( result == null ) {
+            result = false;
+            for( Class<?> c = type; c != DMesh.class && !result; c = c.getSuperclass() ) {
+                result = declares(c, "morphVertex", Vector3f.class, Vector3f.class)
+                        || declares(c, "morph", FloatBuffer.class, FloatBuffer.class,
+                                    FloatBuffer.class, FloatBuffer.class);
+            }
+            perVertexTypes.put(type, result);
+        }
+        return result;
+    }
+
+    private static boolean declares( Class<?> type, String name, Class<?>... parms ) {
+        try {
+            type.getDeclaredMethod(name, parms);
+            return true;
+        } catch( NoSuchMethodException e ) {
+            return false;
+        }
+    }
+
+    protected static synchronized ForkJoinPool getPool() {
+        if( pool == null ) {
+            pool = new ForkJoinPool();
+        }
+        return pool;
+    }
+
     public void updateMesh() {
         VertexBuffer sourcePos = mesh.getBuffer(Type.Position);
         VertexBuffer sourceNorms = mesh.getBuffer(Type.Normal);
@@ -99,35 +204,170 @@ public class DMesh extends Mesh {
         matchBuffer(mesh.getBuffer(Type.Index));
         matchBuffer(mesh.getBuffer(Type.TexCoord));
 
+        unchanged = false;
         morph(sourcePos, sourceNorms, targetPos, targetNorms);
-        updateBound();
+        if( !unchanged ) {
+            updateBound();
+        }
     }
 
     protected void morph( VertexBuffer sourcePos, VertexBuffer sourceNorms,
                           VertexBuffer targetPos, VertexBuffer targetNorms ) {
+        if( perVertex ) {
+            FloatBuffer sp = (FloatBuffer)sourcePos.getData();
+            sp.rewind();
+
+            FloatBuffer sn = (FloatBuffer)sourceNorms.getData();
+            sn.rewind();
+
+            FloatBuffer tp = (FloatBuffer)targetPos.getData();
+            tp.rewind();
+
+            FloatBuffer tn = (FloatBuffer)targetNorms.getData();
+            tn.rewind();
+
+            morph(sp, sn, tp, tn);
+
+            sp.rewind();
+            sn.rewind();
+
+            tp.rewind();
+            targetPos.updateData(tp);
+            tn.rewind();
+            targetNorms.updateData(tn);
+            return;
+        }
+        if( !morphArrays(sourcePos, sourceNorms, targetPos, targetNorms) ) {
+            // Let updateMesh() know that it can skip the bound
+            unchanged = true;
+        }
+    }
+
+    /**
+     *  Deforms the source buffers into the target buffers through the
+     *  working arrays, returning false if nothing had changed since the last
+     *  call and so the targets were left alone.
+     */
+    protected boolean morphArrays( VertexBuffer sourcePos, VertexBuffer sourceNorms,
+                                   VertexBuffer targetPos, VertexBuffer targetNorms ) {
         FloatBuffer sp = (FloatBuffer)sourcePos.getData();
-        sp.rewind();
+        FloatBuffer sn = sourceNorms == null ? null : (FloatBuffer)sourceNorms.getData();
+        int size = sp.limit();
 
-        FloatBuffer sn = (FloatBuffer)sourceNorms.getData();
-        sn.rewind();
+        if( pos == null || pos.length < size ) {
+            pos = new float[size];
+            lastPos = new float[size];
+            lastDeform = null;
+        }
+        if( sn != null && (norms == null || norms.length < size) ) {
+            norms = new float[size];
+            lastNorms = new float[size];
+            lastDeform = null;
+        }
 
-        FloatBuffer tp = (FloatBuffer)targetPos.getData();
-        tp.rewind();
+        // Copying the source out is cheap compared to the deformation
+        // so we always do it and then use it to see if anything changed.
+        boolean changed = read(sp, pos, lastPos, size);
+        if( sn != null ) {
+            changed |= read(sn, norms, lastNorms, size);
+        }
+        if( deform instanceof BatchDeformation ) {
+            long version = ((BatchDeformation)deform).getVersion();
+            if( deform != lastDeform || version != lastVersion ) {
+                changed = true;
+            }
+            lastVersion = version;
+        } else {
+            // No way to know if a plain Deformation has changed
+            changed = true;
+        }
+        if( !changed ) {
+            return false;
+        }
+        lastDeform = deform;
 
-        FloatBuffer tn = (FloatBuffer)targetNorms.getData();
-        tn.rewind();
+        float[] n = sn == null ? null : norms;
+        int count = size / 3;
+        if( deform instanceof BatchDeformation ) {
+            BatchDeformation batch = (BatchDeformation)deform;
+            if( count >= parallelThreshold ) {
+                getPool().invoke(new DeformTask(batch, pos, n, 0, count));
+            } else {
+                batch.deform(pos, n, 0, count);
+            }
+        } else if( deform != null ) {
+            morph(pos, n, count);
+        }
 
-        morph(sp, sn, tp, tn);
+        write(pos, (FloatBuffer)targetPos.getData(), size);
+        targetPos.updateData(targetPos.getData());
+        if( sn != null ) {
+            write(n, (FloatBuffer)targetNorms.getData(), size);
+            targetNorms.updateData(targetNorms.getData());
+        }
+        return true;
+    }
 
-        sp.rewind();
-        sn.rewind();
+    /**
+     *  Bulk copies the source buffer into the array and also into
+     *  the last-seen copy, returning true if it was different.
+     */
+    private static boolean read( FloatBuffer source, float[] array, float[] last, int size ) {
+        source.rewind();
+        source.get(array, 0, size);
+        source.rewind();
+        boolean changed = false;
+        for( int i = 0; i < size; i++ ) {
+            if( array[i] != last[i] ) {
+                changed = true;
+                break;
+            }
+        }
+        if( changed ) {
+            System.arraycopy(array, 0, last, 0, size);
+        }
+        return changed;
+    }
 
-        tp.rewind();
-        targetPos.updateData(tp);
-        tn.rewind();
-        targetNorms.updateData(tn);
+    private static void write( float[] array, FloatBuffer target, int size ) {
+        target.rewind();
+        target.put(array, 0, size);
+        target.rewind();
     }
 
+    /**
+     *  Deforms the arrays one vertex at a time for Deformations that
+     *  don't support batches.
+     */
+    protected void morph( float[] pos, float[] norms, int count ) {
+        Vector3f v = new Vector3f();
+        Vector3f normal = new Vector3f();
+
+        for( int i = 0; i < count * 3; i += 3 ) {
+            v.set(pos[i], pos[i + 1], pos[i + 2]);
+            if( norms != null ) {
+                normal.set(norms[i], norms[i + 1], norms[i + 2]);
+            } else {
+                normal.set(0, 0, 1);
+            }
+
+            morphVertex(v, normal);
+
+            pos[i] = v.x;
+            pos[i + 1] = v.y;
+            pos[i + 2] = v.z;
+            if( norms != null ) {
+                norms[i] = normal.x;
+                norms[i + 1] = normal.y;
+                norms[i + 2] = normal.z;
+            }
+        }
+    }
+
+    /**
+     *  The original per-vertex morph directly between buffers.  This is
+     *  only used for subclasses that override it or morphVertex().
+     */
     protected void morph( FloatBuffer sourcePos, FloatBuffer sourceNorms,
                           FloatBuffer targetPos, FloatBuffer targetNorms ) {
         if( deform == null )
@@ -152,9 +392,48 @@ public class DMesh extends Mesh {
         }
     }
 
+    /**
+     *  Deforms a single vertex.  This is used for Deformations that are
+     *  not BatchDeformations and for all deformations in subclasses that
+     *  override it.
+     */
     protected void morphVertex( Vector3f vert, Vector3f normal ) {
         deform.deform(vert, normal);
     }
+
+    /**
+     *  Splits a range of vertexes in half until it is small enough
+     *  to deform directly.
+     */
+    private static class DeformTask extends RecursiveAction {
+        static final long serialVersionUID = 1;
+
+        private final BatchDeformation deform;
+        private final float[] pos;
+        private final float[] norms;
+        private final int start;
+        private final int end;
+
+        public DeformTask( BatchDeformation deform, float[] pos, float[] norms,
+                           int start, int end ) {
+            this.deform = deform;
+            this.pos = pos;
+            this.norms = norms;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if( end - start <= MIN_TASK_SIZE ) {
+                deform.deform(pos, norms, start, end);
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new DeformTask(deform, pos, norms, start, mid),
+                      new DeformTask(deform, pos, norms, mid, end));
+        }
+    }
 }
 
 
@@ -52,7 +52,7 @@ public class Deformations {
         return new Cylindrical(majorAxis, minorAxis, origin, radius, start, limit);
     }
 
-    public static class Ramp implements Deformation {
+    public static class Ramp implements BatchDeformation {
 
         private int majorAxis;
         private int minorAxis;
@@ -79,9 +79,20 @@ public class Deformations {
             // map it.  If it points sideways then we don't
             // want to map it at all.
         }
+
+        public void deform( float[] pos, float[] norms, int start, int end ) {
+            for( int i = start * 3; i < end * 3; i += 3 ) {
+                pos[i + minorAxis] += pos[i + majorAxis] * scale;
+            }
+        }
+
+        public long getVersion() {
+            // Can't be changed once created
+            return 0;
+        }
     }
 
-    public static class Cylindrical implements Deformation {
+    public static class Cylindrical implements BatchDeformation {
 
         private Vector3f origin;
         private float radius;
@@ -90,6 +101,11 @@ public class Deformations {
         private float start;
         private float limit;
 
+        // The origin can be modified directly by the caller so we
+        // keep a copy to know when it's changed.
+        private Vector3f lastOrigin = new Vector3f();
+        private long version;
+
         public Cylindrical( int majorAxis, int minorAxis, Vector3f origin, float radius,
                             float start, float limit ) {
             this.majorAxis = majorAxis;
@@ -102,6 +118,7 @@ public class Deformations {
 
         public void setOrigin( Vector3f origin ) {
             this.origin = origin;
+            version++;
         }
 
         public Vector3f getOrigin() {
@@ -110,6 +127,7 @@ public class Deformations {
 
         public void setRadius( float radius ) {
             this.radius = radius;
+            version++;
         }
 
         public float getRadius() {
@@ -118,6 +136,7 @@ public class Deformations {
 
         public void setStart( float start ) {
             this.start = start;
+            version++;
         }
 
         public float getStart() {
@@ -126,12 +145,21 @@ public class Deformations {
 
         public void setLimit( float limit ) {
             this.limit = limit;
+            version++;
         }
 
         public float getLimit() {
             return limit;
         }
 
+        public long getVersion() {
+            if( !lastOrigin.equals(origin) ) {
+                lastOrigin.set(origin);
+                version++;
+            }
+            return version;
+        }
+
         public void deform( Vector3f vert, Vector3f normal ) {
             // Y will correspond to the perimeter of the circle
             // so that cos() and sin() make sense.
@@ -201,6 +229,61 @@ public class Deformations {
             }
         }
 
+        /**
+         *  Deforms a range of vertexes using the same math as
+         *  deform(Vector3f, Vector3f) but without the per-vertex
+         *  Vector3f access.
+         */
+        public void deform( float[] pos, float[] norms, int startVert, int endVert ) {
+            float originMinor = origin.get(minorAxis);
+            float base = Math.min(origin.get(majorAxis), start);
+
+            for( int i = startVert * 3; i < endVert * 3; i += 3 ) {
+                int iMinor = i + minorAxis;
+                int iMajor = i + majorAxis;
+                float x = pos[iMinor] - originMinor;
+                float y = pos[iMajor] - base;
+                if( y < 0 ) {
+                    continue;
+                }
+
+                float projection = 0;
+                if( y > limit ) {
+                    projection = y - limit;
+                    y = limit;
+                }
+
+                float rads = y / radius;
+                if( x < 0 ) {
+                    rads = FastMath.PI - rads;
+                }
+
+                float xd = (float)Math.cos(rads);
+                float yd = (float)Math.sin(rads);
+                float r = Math.abs(x);
+
+                float xRight = xd;
+                float yRight = yd;
+                float xUp = -yd;
+                float yUp = xd;
+                if( x < 0 ) {
+                    xRight *= -1;
+                    yRight *= -1;
+                    xUp *= -1;
+                    yUp *= -1;
+                }
+
+                pos[iMinor] = originMinor + xd * r + xUp * projection;
+                pos[iMajor] = base + yd * r + yUp * projection;
+
+                if( norms != null ) {
+                    float nMajor = norms[iMajor];
+                    float nMinor = norms[iMinor];
+                    norms[iMinor] = xUp * nMajor + xRight * nMinor;
+                    norms[iMajor] = yUp * nMajor + yRight * nMinor;
+                }
+            }
+        }
     }
 }
 
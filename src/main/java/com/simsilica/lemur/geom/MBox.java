@@ -41,11 +41,18 @@ import com.jme3.export.OutputCapsule;
 import com.jme3.export.Savable;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.VertexBuffer.Format;
 import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.scene.VertexBuffer.Usage;
 import com.jme3.util.BufferUtils;
 import java.io.IOException;
 import java.nio.FloatBuffer;
 import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -57,6 +64,10 @@ import java.nio.ShortBuffer;
  *  triangles (subdivided) or it can be used as a subdivided
  *  Quad if only one side it specified.
  *
+ *  <p>The index and normal buffers only depend on the slice counts
+ *  and side mask so they are shared, unmodified, by every MBox with the
+ *  same layout.  Resizing rewrites the existing position buffer in place.</p>
+ *
  *  @author    Paul Speed
  */
 public class MBox extends Mesh implements Savable, Cloneable {
@@ -101,6 +112,12 @@ public class MBox extends Mesh implements Savable, Cloneable {
             new Vector3f(0,1,0)
         };
 
+    // Shared index and normal buffers keyed by slices and side mask.
+    // These are shared by all MBoxes of the same layout and so must
+    // never be modified.
+    private static final Map<List<Integer>, VertexBuffer[]> sharedBuffers
+            = new HashMap<List<Integer>, VertexBuffer[]>();
+
     private Vector3f extents = new Vector3f();
     private int[] slices = new int[3];
     private int sideMask;
@@ -143,10 +160,75 @@ public class MBox extends Mesh implements Savable, Cloneable {
         MBox result = (MBox)super.deepClone();
         result.extents = extents.clone();
         result.slices = slices.clone();
+
+        // Go back to the shared buffers instead of the deep copies
+        VertexBuffer[] shared = result.getSharedBuffers();
+        result.clearBuffer(Type.Index);
+        result.clearBuffer(Type.Normal);
+        result.setBuffer(shared[0]);
+        result.setBuffer(shared[1]);
         return result;
     }
 
+    /**
+     *  Returns the shared index and normal buffers for this box's
+     *  slices and side mask, creating them if needed.
+     */
+    protected VertexBuffer[] getSharedBuffers() {
+        List<Integer> key = Arrays.asList(slices[0], slices[1], slices[2], sideMask);
+        synchronized( sharedBuffers ) {
+            VertexBuffer[] result = sharedBuffers.get(key);
+            if( result == null ) {
+                int vertCount = getVertexCount(slices, sideMask);
+                FloatBuffer norms = BufferUtils.createFloatBuffer(vertCount * 3);
+                ShortBuffer index = BufferUtils.createShortBuffer(getTriangleCount(slices, sideMask) * 3);
+                fillSides(null, norms, null, index);
+                norms.flip();
+                index.flip();
+
+                VertexBuffer ib = new VertexBuffer(Type.Index);
+                ib.setupData(Usage.Static, 3, Format.UnsignedShort, index);
+                VertexBuffer nb = new VertexBuffer(Type.Normal);
+                nb.setupData(Usage.Static, 3, Format.Float, norms);
+                result = new VertexBuffer[] { ib, nb };
+                sharedBuffers.put(key, result);
+            }
+            return result;
+        }
+    }
+
     protected void refreshGeometry() {
+        int vertCount = getVertexCount(slices, sideMask);
+
+        VertexBuffer pb = getBuffer(Type.Position);
+        if( pb != null && pb.getData().capacity() == vertCount * 3 ) {
+            // Just rewrite the positions in the buffer we already have
+            FloatBuffer verts = (FloatBuffer)pb.getData();
+            verts.clear();
+            fillSides(verts, null, null, null);
+            verts.flip();
+            pb.updateData(verts);
+        } else {
+            FloatBuffer verts = BufferUtils.createFloatBuffer(vertCount * 3);
+            FloatBuffer texes = BufferUtils.createFloatBuffer(vertCount * 2);
+            fillSides(verts, null, texes, null);
+            verts.flip();
+            texes.flip();
+
+            VertexBuffer[] shared = getSharedBuffers();
+            clearBuffer(Type.Index);
+            clearBuffer(Type.Normal);
+            setBuffer(shared[0]);
+            setBuffer(Type.Position, 3, verts);
+            setBuffer(Type.TexCoord, 2, texes);
+            setBuffer(shared[1]);
+        }
+
+        updateBound();
+        clearCollisionData();
+    }
+
+    protected static int getVertexCount( int[] slices, int sideMask ) {
         // The nunmber of quads along a side is 1
         // plus the number of "slices"... or splits.
         // A box with 0 slices is just a regular 6 quad box.
@@ -157,53 +239,53 @@ public class MBox extends Mesh implements Savable, Cloneable {
         // top/bottom = (xSlices + 2) * (zSlices + 2) * 2
         // front/back = (xSlices + 2) * (ySlices + 2) * 2
         // left/right = (zSlices + 2) * (ySlices + 2) * 2
-
         int xVertCount = slices[0] + 2;
         int yVertCount = slices[1] + 2;
         int zVertCount = slices[2] + 2;
+        return sumSides(sideMask, xVertCount * zVertCount,
+                        xVertCount * yVertCount, zVertCount * yVertCount);
+    }
+
+    protected static int getTriangleCount( int[] slices, int sideMask ) {
         int xQuadCount = slices[0] + 1;
         int yQuadCount = slices[1] + 1;
         int zQuadCount = slices[2] + 1;
+        return sumSides(sideMask, xQuadCount * zQuadCount * 2,
+                        xQuadCount * yQuadCount * 2, zQuadCount * yQuadCount * 2);
+    }
 
-        int upVertCount = xVertCount * zVertCount;
-        int frontVertCount = xVertCount * yVertCount;
-        int sideVertCount = zVertCount * yVertCount;
-        int upTriCount = xQuadCount * zQuadCount * 2;
-        int frontTriCount = xQuadCount * yQuadCount * 2;
-        int sideTriCount = zQuadCount * yQuadCount * 2;
-
-        int vertCount = 0;
-        int triCount = 0;
-
+    private static int sumSides( int sideMask, int up, int front, int side ) {
+        int result = 0;
         if( (sideMask & TOP_MASK) != 0 ) {
-            vertCount += upVertCount;
-            triCount += upTriCount;
+            result += up;
         }
         if( (sideMask & BOTTOM_MASK) != 0 ) {
-            vertCount += upVertCount;
-            triCount += upTriCount;
+            result += up;
         }
         if( (sideMask & FRONT_MASK) != 0 ) {
-            vertCount += frontVertCount;
-            triCount += frontTriCount;
+            result += front;
         }
         if( (sideMask & BACK_MASK) != 0 ) {
-            vertCount += frontVertCount;
-            triCount += frontTriCount;
+            result += front;
         }
         if( (sideMask & LEFT_MASK) != 0 ) {
-            vertCount += sideVertCount;
-            triCount += sideTriCount;
+            result += side;
         }
         if( (sideMask & RIGHT_MASK) != 0 ) {
-            vertCount += sideVertCount;
-            triCount += sideTriCount;
+            result += side;
         }
+        return result;
+    }
 
-        FloatBuffer verts = BufferUtils.createFloatBuffer(vertCount * 3);
-        FloatBuffer norms = BufferUtils.createFloatBuffer(vertCount * 3);
-        FloatBuffer texes = BufferUtils.createFloatBuffer(vertCount * 2);
-        ShortBuffer index = BufferUtils.createShortBuffer(triCount * 3);
+    /**
+     *  Fills whichever of the passed buffers are non-null for all
+     *  of the enabled sides.
+     */
+    protected void fillSides( FloatBuffer verts, FloatBuffer norms,
+                              FloatBuffer texes, ShortBuffer index ) {
+        int xVertCount = slices[0] + 2;
+        int yVertCount = slices[1] + 2;
+        int zVertCount = slices[2] + 2;
 
         int lastIndex = 0;
         if( (sideMask & TOP_MASK) != 0 ) {
@@ -230,22 +312,6 @@ public class MBox extends Mesh implements Savable, Cloneable {
             lastIndex = fillSide(lastIndex, RIGHT, 2, zVertCount, 1, yVertCount, 0,
                                  verts, norms, texes, index);
         }
-
-        index.flip();
-        norms.flip();
-        verts.flip();
-        texes.flip();
-
-        setBuffer(Type.Index, 3, index);
-
-        setBuffer(Type.Position, 3, verts);
-        setBuffer(Type.TexCoord, 2, texes);
-
-        setBuffer(Type.Normal, 3, norms);
-
-        updateBound();
-        clearCollisionData();
-
     }
 
     protected float[] spread( float min, float max, int count ) {
@@ -290,18 +356,24 @@ public class MBox extends Mesh implements Savable, Cloneable {
             for( int i = 0; i < colCount; i++ ) {
                 pos.set(colAxis, colVals[i]);
 
-                verts.put(pos.x);
-                verts.put(pos.y);
-                verts.put(pos.z);
+                if( verts != null ) {
+                    verts.put(pos.x);
+                    verts.put(pos.y);
+                    verts.put(pos.z);
+                }
 
-                norms.put(normal.x);
-                norms.put(normal.y);
-                norms.put(normal.z);
+                if( norms != null ) {
+                    norms.put(normal.x);
+                    norms.put(normal.y);
+                    norms.put(normal.z);
+                }
 
-                texes.put((float)i/(colCount-1));
-                texes.put((float)j/(rowCount-1));
+                if( texes != null ) {
+                    texes.put((float)i/(colCount-1));
+                    texes.put((float)j/(rowCount-1));
+                }
 
-                if( j > 0 && i < colCount - 1 ) {
+                if( index != null && j > 0 && i < colCount - 1 ) {
                     // From the second row on, we can emit indexes
                     // 2---3   baseIndex+
                     // | / |
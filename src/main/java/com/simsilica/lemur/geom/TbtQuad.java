@@ -34,15 +34,26 @@
 
 package com.simsilica.lemur.geom;
 
+import java.nio.FloatBuffer;
+
 import com.jme3.math.*;
 import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.VertexBuffer.Format;
 import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.scene.VertexBuffer.Usage;
+import com.jme3.util.BufferUtils;
 
 /**
  *  A three-by-three quad that can stretch textures in useful
  *  ways.  The vertexes are arranged with the 10 outer vertexes
  *  first and then the 4 inner vertexes.
  *
+ *  <p>The index and normal buffers are the same for every TbtQuad and
+ *  so all instances share one immutable copy of each.  Resizing a TbtQuad
+ *  rewrites its existing position buffer in place instead of creating
+ *  new buffers.</p>
+ *
  * <p>The texture is split up into a three-by-three grid in this fashion:
  *
  * <pre>
@@ -96,6 +107,54 @@ public class TbtQuad extends Mesh
     private float[] horzTexCoords;
     private float[] vertTexCoords;
 
+    // Vertexes are arranged as:
+    //
+    //  9 -- 8 -- 7 -- 6
+    //  | \  | /  | /  |
+    // 10 --15 --14 -- 5
+    //  | /  | /  | /  |
+    // 11 --12 --13 -- 4
+    //  | /  | /  | \  |
+    //  0 -- 1 -- 2 -- 3
+    //
+    // Note: some of the corners are flipped to better support extrusion
+    // if the caller desires to pull up the center quad.
+    private static final short[] INDEXES = {
+            0, 1, 12,
+            0, 12, 11,
+            1, 2, 13,
+            1, 13, 12,
+            2, 3, 13,
+            3, 4, 13,
+            13, 4, 5,
+            13, 5, 14,
+            14, 5, 6,
+            14, 6, 7,
+            15, 14, 7,
+            15, 7, 8,
+            10, 15, 9,
+            15, 8, 9,
+            11, 12, 15,
+            11, 15, 10,
+
+            // The center
+            12, 13, 14,
+            12, 14, 15
+        };
+
+    private static final int VERTEX_COUNT = 16;
+
+    // Shared by all TbtQuads so these must never be modified
+    private static final VertexBuffer SHARED_INDEXES = createSharedIndexes();
+    private static final VertexBuffer SHARED_NORMALS = createSharedNormals();
+
+    // The part of the texture that the texture coordinates
+    // are mapped into, for example when using an atlas.
+    private float minU = 0;
+    private float minV = 0;
+    private float maxU = 1;
+    private float maxV = 1;
+
     public TbtQuad( float width, float height ) {
         this.size = new Vector2f(width, height);
         this.imageSize = new Vector2f(width, height);
@@ -132,9 +191,53 @@ public class TbtQuad extends Mesh
         refreshGeometry();
     }
 
+    /**
+     *  Recreates a TbtQuad from the layout of another, as returned by
+     *  getSize(), getImageSize(), getHorizontalFolds(), getVerticalFolds(),
+     *  getHorizontalTexCoords(), and getVerticalTexCoords().  This is used
+     *  to restore saved quads without knowing how they were originally
+     *  constructed.
+     */
+    public TbtQuad( Vector2f size, Vector2f imageSize,
+                    float[] horzFolds, float[] vertFolds,
+                    float[] horzTexCoords, float[] vertTexCoords ) {
+        this.size = size.clone();
+        this.imageSize = imageSize.clone();
+        this.horzFolds = horzFolds.clone();
+        this.vertFolds = vertFolds.clone();
+        this.horzTexCoords = horzTexCoords.clone();
+        this.vertTexCoords = vertTexCoords.clone();
+        refreshGeometry();
+    }
+
+    private static VertexBuffer createSharedIndexes() {
+        VertexBuffer result = new VertexBuffer(Type.Index);
+        result.setupData(Usage.Static, 3, Format.UnsignedShort,
+                         BufferUtils.createShortBuffer(INDEXES));
+        return result;
+    }
+
+    private static VertexBuffer createSharedNormals() {
+        FloatBuffer normals = BufferUtils.createFloatBuffer(VERTEX_COUNT * 3);
+        for( int i = 0; i < VERTEX_COUNT; i++ ) {
+            normals.put(0).put(0).put(1);
+        }
+        normals.flip();
+        VertexBuffer result = new VertexBuffer(Type.Normal);
+        result.setupData(Usage.Static, 3, Format.Float, normals);
+        return result;
+    }
+
     @Override
     public TbtQuad clone() {
         TbtQuad result = (TbtQuad)super.deepClone();
+
+        // Go back to the shared buffers instead of the deep copies
+        result.clearBuffer(Type.Index);
+        result.clearBuffer(Type.Normal);
+        result.setBuffer(SHARED_INDEXES);
+        result.setBuffer(SHARED_NORMALS);
+
         result.size = size.clone();
         result.imageSize = imageSize.clone();
         result.horzFolds = horzFolds.clone();
@@ -148,6 +251,46 @@ public class TbtQuad extends Mesh
         return size;
     }
 
+    /**
+     *  Returns the size of the image in quad coordinates, ie: the size at
+     *  which the center cells are not stretched at all.
+     */
+    public Vector2f getImageSize() {
+        return imageSize;
+    }
+
+    /**
+     *  Returns a copy of the x locations of the two vertical folds
+     *  for the current size.
+     */
+    public float[] getHorizontalFolds() {
+        return horzFolds.clone();
+    }
+
+    /**
+     *  Returns a copy of the y locations of the two horizontal folds
+     *  for the current size.
+     */
+    public float[] getVerticalFolds() {
+        return vertFolds.clone();
+    }
+
+    /**
+     *  Returns a copy of the four texture x coordinates: the edges and the
+     *  two folds.
+     */
+    public float[] getHorizontalTexCoords() {
+        return horzTexCoords.clone();
+    }
+
+    /**
+     *  Returns a copy of the four texture y coordinates: the edges and the
+     *  two folds.
+     */
+    public float[] getVerticalTexCoords() {
+        return vertTexCoords.clone();
+    }
+
     public void updateSize( float width, float height ) {
         if( size.x == width && size.y == height )
             return;
@@ -161,110 +304,124 @@ public class TbtQuad extends Mesh
         // Adjust the middle fold for the new size
         horzFolds[1] += size.x - imageSize.x;
         vertFolds[1] += size.y - imageSize.y;
-        refreshGeometry();
+        refreshPositions();
+        updateBound();
     }
 
-    protected void refreshGeometry() {
-        // Vertexes are arranged as:
-        //
-        //  9 -- 8 -- 7 -- 6
-        //  | \  | /  | /  |
-        // 10 --15 --14 -- 5
-        //  | /  | /  | /  |
-        // 11 --12 --13 -- 4
-        //  | /  | /  | \  |
-        //  0 -- 1 -- 2 -- 3
-        //
-        // Note: some of the corners are flipped to better support extrusion
-        // if the caller desires to pull up the center quad.
-
-        setBuffer(Type.Index, 3, new short[] {
-                                        0, 1, 12,
-                                        0, 12, 11,
-                                        1, 2, 13,
-                                        1, 13, 12,
-                                        2, 3, 13,
-                                        3, 4, 13,
-                                        13, 4, 5,
-                                        13, 5, 14,
-                                        14, 5, 6,
-                                        14, 6, 7,
-                                        15, 14, 7,
-                                        15, 7, 8,
-                                        10, 15, 9,
-                                        15, 8, 9,
-                                        11, 12, 15,
-                                        11, 15, 10,
-
-                                        // The center
-                                        12, 13, 14,
-                                        12, 14, 15
-                                    });
-
-        setBuffer(Type.Position, 3, new float[] {
-                                        0, 0, 0,
-                                        horzFolds[0], 0, 0,
-                                        horzFolds[1], 0, 0,
-                                        size.x, 0, 0,
-                                        size.x, vertFolds[0], 0,
-                                        size.x, vertFolds[1], 0,
-                                        size.x, size.y, 0,
-                                        horzFolds[1], size.y, 0,
-                                        horzFolds[0], size.y, 0,
-                                        0, size.y, 0,
-                                        0, vertFolds[1], 0,
-                                        0, vertFolds[0], 0,
-
-                                        // The center
-                                        horzFolds[0], vertFolds[0], 0,
-                                        horzFolds[1], vertFolds[0], 0,
-                                        horzFolds[1], vertFolds[1], 0,
-                                        horzFolds[0], vertFolds[1], 0
-                                    });
-        setBuffer(Type.TexCoord, 2, new float[] {
-                                        horzTexCoords[0], vertTexCoords[0],
-                                        horzTexCoords[1], vertTexCoords[0],
-                                        horzTexCoords[2], vertTexCoords[0],
-                                        horzTexCoords[3], vertTexCoords[0],
-                                        horzTexCoords[3], vertTexCoords[1],
-                                        horzTexCoords[3], vertTexCoords[2],
-                                        horzTexCoords[3], vertTexCoords[3],
-                                        horzTexCoords[2], vertTexCoords[3],
-                                        horzTexCoords[1], vertTexCoords[3],
-                                        horzTexCoords[0], vertTexCoords[3],
-                                        horzTexCoords[0], vertTexCoords[2],
-                                        horzTexCoords[0], vertTexCoords[1],
-
-                                        // The center
-                                        horzTexCoords[1], vertTexCoords[1],
-                                        horzTexCoords[2], vertTexCoords[1],
-                                        horzTexCoords[2], vertTexCoords[2],
-                                        horzTexCoords[1], vertTexCoords[2]
-                                    });
-
-        setBuffer(Type.Normal, 3, new float[] {
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-
-                                        // The center
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1,
-                                        0, 0, 1
-                                    });
+    /**
+     *  Sets the sub-rectangle of the texture, in texture coordinates,
+     *  that this quad's texture coordinates are mapped into.  This is
+     *  used when the image has been packed into a texture atlas.  Defaults
+     *  to the whole texture: 0, 0, 1, 1.
+     */
+    public void setTextureRegion( float minU, float minV, float maxU, float maxV ) {
+        if( this.minU == minU && this.minV == minV && this.maxU == maxU && this.maxV == maxV ) {
+            return;
+        }
+        this.minU = minU;
+        this.minV = minV;
+        this.maxU = maxU;
+        this.maxV = maxV;
+        refreshTexCoords();
+    }
 
+    public Vector4f getTextureRegion() {
+        return new Vector4f(minU, minV, maxU, maxV);
+    }
+
+    protected void refreshGeometry() {
+        if( getBuffer(Type.Index) == null ) {
+            setBuffer(SHARED_INDEXES);
+        }
+        if( getBuffer(Type.Normal) == null ) {
+            setBuffer(SHARED_NORMALS);
+        }
+        refreshPositions();
+        refreshTexCoords();
         updateBound();
     }
+
+    protected void refreshPositions() {
+        FloatBuffer pos = startBuffer(Type.Position, 3);
+        pos.put(0).put(0).put(0);
+        pos.put(horzFolds[0]).put(0).put(0);
+        pos.put(horzFolds[1]).put(0).put(0);
+        pos.put(size.x).put(0).put(0);
+        pos.put(size.x).put(vertFolds[0]).put(0);
+        pos.put(size.x).put(vertFolds[1]).put(0);
+        pos.put(size.x).put(size.y).put(0);
+        pos.put(horzFolds[1]).put(size.y).put(0);
+        pos.put(horzFolds[0]).put(size.y).put(0);
+        pos.put(0).put(size.y).put(0);
+        pos.put(0).put(vertFolds[1]).put(0);
+        pos.put(0).put(vertFolds[0]).put(0);
+
+        // The center
+        pos.put(horzFolds[0]).put(vertFolds[0]).put(0);
+        pos.put(horzFolds[1]).put(vertFolds[0]).put(0);
+        pos.put(horzFolds[1]).put(vertFolds[1]).put(0);
+        pos.put(horzFolds[0]).put(vertFolds[1]).put(0);
+        finishBuffer(Type.Position, 3, pos);
+    }
+
+    protected void refreshTexCoords() {
+        float uScale = maxU - minU;
+        float vScale = maxV - minV;
+        float u0 = minU + horzTexCoords[0] * uScale;
+        float u1 = minU + horzTexCoords[1] * uScale;
+        float u2 = minU + horzTexCoords[2] * uScale;
+        float u3 = minU + horzTexCoords[3] * uScale;
+        float v0 = minV + vertTexCoords[0] * vScale;
+        float v1 = minV + vertTexCoords[1] * vScale;
+        float v2 = minV + vertTexCoords[2] * vScale;
+        float v3 = minV + vertTexCoords[3] * vScale;
+
+        FloatBuffer tex = startBuffer(Type.TexCoord, 2);
+        tex.put(u0).put(v0);
+        tex.put(u1).put(v0);
+        tex.put(u2).put(v0);
+        tex.put(u3).put(v0);
+        tex.put(u3).put(v1);
+        tex.put(u3).put(v2);
+        tex.put(u3).put(v3);
+        tex.put(u2).put(v3);
+        tex.put(u1).put(v3);
+        tex.put(u0).put(v3);
+        tex.put(u0).put(v2);
+        tex.put(u0).put(v1);
+
+        // The center
+        tex.put(u1).put(v1);
+        tex.put(u2).put(v1);
+        tex.put(u2).put(v2);
+        tex.put(u1).put(v2);
+        finishBuffer(Type.TexCoord, 2, tex);
+    }
+
+    /**
+     *  Returns the existing data of the specified buffer, ready to be
+     *  rewritten, or a new buffer if there isn't one yet.
+     */
+    private FloatBuffer startBuffer( Type type, int components ) {
+        VertexBuffer vb = getBuffer(type);
+        if( vb == null || vb.getData().capacity() != VERTEX_COUNT * components ) {
+            return BufferUtils.createFloatBuffer(VERTEX_COUNT * components);
+        }
+        FloatBuffer result = (FloatBuffer)vb.getData();
+        result.clear();
+        return result;
+    }
+
+    private void finishBuffer( Type type, int components, FloatBuffer data ) {
+        data.flip();
+        VertexBuffer vb = getBuffer(type);
+        if( vb != null && vb.getData() == data ) {
+            // Updated in place
+            vb.updateData(data);
+        } else {
+            setBuffer(type, components, data);
+        }
+    }
 }
 
 
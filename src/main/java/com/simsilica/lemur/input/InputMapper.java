@@ -42,8 +42,13 @@ import org.slf4j.LoggerFactory;
 
 import com.jme3.input.*;
 import com.jme3.input.event.*;
+import com.jme3.system.Timer;
 import com.jme3.util.SafeArrayList;
 
+import com.simsilica.lemur.core.Timers;
+import com.simsilica.lemur.debug.GuiMetrics;
+import com.simsilica.lemur.debug.GuiMetrics.Metric;
+
 import com.simsilica.lemur.input.InputDevice.DeviceAxis;
 import com.simsilica.lemur.input.InputDevice.DeviceButton;
 
@@ -106,7 +111,20 @@ public class InputMapper {
 
 
     private Map<Object,StateGroupIndex> stateIndex = new HashMap<>();
-    private Set<StateGroup> activeStates = new HashSet<StateGroup>();
+    
+    /**
+     *  Dense lookup tables for the activators that come directly from
+     *  raw events so that dispatch does not need to box key codes or create
+     *  Button objects.  These mirror entries in the stateIndex map.
+     */
+    private StateGroupIndex[] keyIndex = new StateGroupIndex[KeyInput.KEY_LAST + 1];
+    private StateGroupIndex[] mouseButtonIndex = new StateGroupIndex[3];
+    
+    /**
+     *  The currently active state groups.  StateGroup keeps track of its
+     *  own position in this list so that removal is constant time.
+     */
+    private List<StateGroup> activeStates = new ArrayList<StateGroup>();
 
     private Map<Joystick,InputDevice> joystickMap = new HashMap<>();
     private Map<JoystickAxis,DeviceAxis> joystickAxisMap = new HashMap<>();
@@ -115,6 +133,7 @@ public class InputMapper {
     private Map<FunctionId, FunctionListeners> listenerMap = new HashMap<>();
 
     private double tpf = 0;
+    private Timer timer;
     private long lastFrameNanos;
 
     public InputMapper( InputManager inputManager ) {
@@ -133,7 +152,7 @@ public class InputMapper {
         // The default group always starts active.
         activeGroups.add(FunctionId.DEFAULT_GROUP);
 
-        lastFrameNanos = System.nanoTime();
+        lastFrameNanos = nanoTime();
     }
 
     public void activateGroup( String group ) {
@@ -152,6 +171,25 @@ public class InputMapper {
         inputManager.removeRawInputListener(listener);
     }
 
+    /**
+     *  Sets the timer used to measure the time between input frames, ie:
+     *  the tpf passed to analog listeners.  By default this is null and
+     *  System.nanoTime() is used.  Input replay sets a fixed step timer
+     *  here so that analog values come out the same on every run.
+     */
+    public void setTimer( Timer timer ) {
+        this.timer = timer;
+        this.lastFrameNanos = nanoTime();
+    }
+
+    public Timer getTimer() {
+        return timer;
+    }
+
+    protected long nanoTime() {
+        return Timers.nanoTime(timer);
+    }
+
     protected void mapJoystick( Joystick j ) {
  
         InputDevice device = InputDevice.joystick(joystickMap.size() + 1); 
@@ -266,10 +304,69 @@ public class InputMapper {
         if( result == null && create ) {
             result = new StateGroupIndex(state);
             stateIndex.put(state, result);
+            indexActivator(state, result);
         }
         return result;
     }
 
+    /**
+     *  Adds the specified index to the dense key or mouse button tables
+     *  if its state is a key code or a mouse button.
+     */
+    protected void indexActivator( Object state, StateGroupIndex index ) {
+        if( state instanceof Integer ) {
+            int keyCode = (Integer)state;
+            if( keyCode < 0 ) {
+                return;
+            }
+            if( keyCode >= keyIndex.length ) {
+                keyIndex = Arrays.copyOf(keyIndex, keyCode + 1);
+            }
+            keyIndex[keyCode] = index;
+        } else if( state instanceof Button ) {
+            int buttonIndex = toMouseButtonIndex((Button)state);
+            if( buttonIndex < 0 ) {
+                return;
+            }
+            if( buttonIndex >= mouseButtonIndex.length ) {
+                mouseButtonIndex = Arrays.copyOf(mouseButtonIndex, buttonIndex + 1);
+            }
+            mouseButtonIndex[buttonIndex] = index;
+        }
+    }
+
+    /**
+     *  Returns the raw mouse button index for the specified Button or
+     *  -1 if it is not a mouse button.  Mouse buttons have IDs of the form
+     *  "mouse_n" where n is the 1-based mouse button number.
+     */
+    protected static int toMouseButtonIndex( Button b ) {
+        String id = b.getId();
+        if( id == null || !id.startsWith("mouse_") ) {
+            return -1;
+        }
+        try {
+            int result = Integer.parseInt(id.substring("mouse_".length())) - 1;
+            return result < 0 ? -1 : result;
+        } catch( NumberFormatException e ) {
+            return -1;
+        }
+    }
+
+    protected StateGroupIndex getKeyIndex( int keyCode ) {
+        if( keyCode < 0 || keyCode >= keyIndex.length ) {
+            return null;
+        }
+        return keyIndex[keyCode];
+    }
+
+    protected StateGroupIndex getMouseButtonIndex( int buttonIndex ) {
+        if( buttonIndex < 0 || buttonIndex >= mouseButtonIndex.length ) {
+            return null;
+        }
+        return mouseButtonIndex[buttonIndex];
+    }
+
     protected FunctionListeners getFunctionListeners( FunctionId f, boolean create ) {
         FunctionListeners result = listenerMap.get(f);
         if( result == null && create ) {
@@ -307,9 +404,11 @@ public class InputMapper {
                                   Object... modifiers ) {
 
         StateGroup g = new StateGroup(function, scale, primary, modifiers);
-        getIndex(primary, true).addGroup(g);
-        for( Object o : modifiers ) {
-            getIndex(o, true).addGroup(g);
+        g.primaryIndex = getIndex(primary, true);
+        g.primaryIndex.addGroup(g);
+        for( int i = 0; i < modifiers.length; i++ ) {
+            g.modifierIndexes[i] = getIndex(modifiers[i], true);
+            g.modifierIndexes[i].addGroup(g);
         }
         fireMappingAdded(g);
         return g;
@@ -482,8 +581,10 @@ public class InputMapper {
     }
 
     protected void activate( StateGroup g ) {
-        if( !activeStates.add(g) )
+        if( g.activeIndex >= 0 )
             return;
+        g.activeIndex = activeStates.size();
+        activeStates.add(g);
 
         if( log.isTraceEnabled() )
             log.trace("activate(" + g.function + ":" + g.scale + ")");
@@ -496,8 +597,16 @@ public class InputMapper {
     }
 
     protected void deactivate( StateGroup g ) {
-        if( !activeStates.remove(g) )
+        if( g.activeIndex < 0 )
             return;
+            
+        // Swap the last one into our slot
+        StateGroup last = activeStates.remove(activeStates.size() - 1);
+        if( last != g ) {
+            activeStates.set(g.activeIndex, last);
+            last.activeIndex = g.activeIndex;
+        }
+        g.activeIndex = -1;
 
         if( log.isTraceEnabled() )
             log.trace("deactivate(" + g.function + ":" + g.scale + ")");
@@ -509,8 +618,11 @@ public class InputMapper {
     }
 
     public void update() {
-        for( StateGroup g : activeStates ) {
-            double value = getIndex(g.getPrimary(), false).getValue();
+        // Index-based so that listeners that change the active
+        // states don't cause concurrent modification errors.
+        for( int i = 0; i < activeStates.size(); i++ ) {
+            StateGroup g = activeStates.get(i);
+            double value = g.primaryIndex.getValue();
             g.updateValue(value);
             notifyValueActive(g.getFunction(), g.getValue());
         }
@@ -521,6 +633,7 @@ public class InputMapper {
         if( listeners == null )
             return;
 
+        GuiMetrics.increment(Metric.InputEvents);
         listeners.notifyStateChanged( function, value );
     }
 
@@ -529,6 +642,7 @@ public class InputMapper {
         if( listeners == null )
             return;
 
+        GuiMetrics.increment(Metric.InputEvents);
         listeners.notifyAnalogUpdate(function, value);
     }
 
@@ -627,6 +741,14 @@ public class InputMapper {
         double scale;
         double lastValue;
         InputState lastState;
+        
+        // The indexes for the primary and modifier states so
+        // that they don't have to be looked up for every event.
+        StateGroupIndex primaryIndex;
+        StateGroupIndex[] modifierIndexes;
+        
+        // Position in the active states list or -1 if not active
+        int activeIndex = -1;
 
         public StateGroup( FunctionId function, double scale, Object primaryState,
                            Object... modifiers ) {
@@ -635,6 +757,7 @@ public class InputMapper {
             this.scale = scale;
             this.primaryState = primaryState;
             this.modifiers = modifiers;
+            this.modifierIndexes = new StateGroupIndex[modifiers.length];
             resetValue();
         }
 
@@ -742,10 +865,10 @@ public class InputMapper {
         public boolean isTrue() {
             if( !activeGroups.contains(function.getGroup()) )
                 return false;
-            if( !getIndex(primaryState, false).isOn() )
+            if( !primaryIndex.isOn() )
                 return false;
-            for( Object o : modifiers ) {
-                if( !getIndex(o, false).isOn() ) {
+            for( StateGroupIndex index : modifierIndexes ) {
+                if( !index.isOn() ) {
                     return false;
                 }
             }
@@ -755,8 +878,8 @@ public class InputMapper {
         public boolean areModifiersTrue() {
             if( !activeGroups.contains(function.getGroup()) )
                 return false;
-            for( Object o : modifiers ) {
-                if( !getIndex(o, false).isOn() ) {
+            for( StateGroupIndex index : modifierIndexes ) {
+                if( !index.isOn() ) {
                     return false;
                 }
             }
@@ -836,8 +959,7 @@ public class InputMapper {
                     // to refresh it's primary index since another state
                     // may now get to run
                     if( !g.isPrimary(localState) ) {
-                        Object primary = g.getPrimary();
-                        getIndex(primary, false).refresh();
+                        g.primaryIndex.refresh();
                     }
                 } else if( g.isPrimary(localState) ) {
                     if( activatePrimary ) {
@@ -853,8 +975,7 @@ public class InputMapper {
                     // the group is active but this is not its
                     // primary state.  So we need to have the index
                     // for the primary state refresh itself
-                    Object primary = g.getPrimary();
-                    getIndex(primary, false).refresh();
+                    g.primaryIndex.refresh();
                 }
             }
         }
@@ -979,7 +1100,7 @@ public class InputMapper {
         }
 
         public void beginInput() {
-            long time = System.nanoTime();
+            long time = nanoTime();
             tpf = (time - lastFrameNanos) / 1000000000.0;
             lastFrameNanos = time;
         }
@@ -1033,24 +1154,7 @@ public class InputMapper {
                 log.trace("onMouseButtonEvent(" + evt + ")");
             }
             
-            Button b;
-            switch( evt.getButtonIndex() ) {
-                case 0:
-                    b = Button.MOUSE_BUTTON1;
-                    break;
-                case 1:
-                    b = Button.MOUSE_BUTTON2;
-                    break;
-                case 2:
-                    b = Button.MOUSE_BUTTON3;
-                    break;
-                default:
-                    int i = evt.getButtonIndex() + 1;
-                    b = new Button("mouse_" + i, "Mouse Button " + i);
-                    break;
-            }
-
-            StateGroupIndex index = getIndex(b, false);
+            StateGroupIndex index = getMouseButtonIndex(evt.getButtonIndex());
             if( index == null )
                 return;
             double value = evt.isPressed() ? 1.0 : 0.0;
@@ -1065,7 +1169,7 @@ public class InputMapper {
             if( evt.isRepeating() )
                 return;
                 
-            StateGroupIndex index = getIndex(evt.getKeyCode(), false);
+            StateGroupIndex index = getKeyIndex(evt.getKeyCode());
             if( index == null )
                 return;
             double value = evt.isPressed() ? 1.0 : 0.0;
@@ -36,6 +36,8 @@ package com.simsilica.lemur.input;
 
 import java.lang.reflect.*;
 
+import com.simsilica.lemur.core.MethodInvoker;
+
 
 /**
  *  A convenience StateFunctionListener implementation that
@@ -53,6 +55,7 @@ public class StateMethodDelegate implements StateFunctionListener {
     private Object target;
     private Method method;
     private boolean takesArgument;
+    private MethodInvoker invoker;
 
     public StateMethodDelegate( Object target, String method ) {
         this(target, method, false);
@@ -62,6 +65,11 @@ public class StateMethodDelegate implements StateFunctionListener {
         this.target = target;
         this.method = resolveMethod(target.getClass(), method, takesArgument);
         this.takesArgument = takesArgument;
+        if( takesArgument ) {
+            this.invoker = MethodInvoker.bindObjectParameter(target, this.method);
+        } else {
+            this.invoker = MethodInvoker.bind(target, this.method);
+        }
     }
 
     public Object getTarget() {
@@ -87,14 +95,10 @@ public class StateMethodDelegate implements StateFunctionListener {
     }
 
     protected void callMethod(InputState state) {
-        try {
-            if( takesArgument ) {
-                method.invoke(target, state);
-            } else {
-                method.invoke(target);
-            }
-        } catch( Exception e ) {
-            throw new RuntimeException("Error calling method:" + method, e);
+        if( takesArgument ) {
+            invoker.invoke(state);
+        } else {
+            invoker.invoke();
         }
     }
 
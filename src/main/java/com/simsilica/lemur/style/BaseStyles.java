@@ -35,14 +35,22 @@
 package com.simsilica.lemur.style;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.Enumeration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.simsilica.lemur.Button;
+import com.simsilica.lemur.Command;
+import com.simsilica.lemur.GuiGlobals;
+
 
 /**
- *  Easy access to some built in style resources.
+ *  Easy access to some built in style resources.  When a precompiled
+ *  StyleSnapshot is found next to a style script then it is loaded
+ *  instead of running the script, which avoids starting Groovy at all
+ *  if every script has one.
  *
  *  @author    Paul Speed
  */
@@ -53,6 +61,21 @@ public class BaseStyles {
     public static final String GLASS = "glass";
     public static final String GLASS_STYLE_RESOURCE = "com/simsilica/lemur/style/base/glass-styles.groovy";
 
+    private static boolean snapshotsEnabled = true;
+
+    /**
+     *  Set to false to always run the style scripts even when there are
+     *  precompiled snapshots for them, for example while editing the scripts.
+     *  Defaults to true.
+     */
+    public static void setSnapshotsEnabled( boolean enabled ) {
+        snapshotsEnabled = enabled;
+    }
+
+    public static boolean isSnapshotsEnabled() {
+        return snapshotsEnabled;
+    }
+
     /**
      *  Loads the glass style and any glass style extensions found on 
      *  the classpath.
@@ -69,13 +92,17 @@ public class BaseStyles {
         }
         log.info("loadStyleResource(" + resource + ")");
         
-        StyleLoader loader = new StyleLoader();
+        // Only created if there is a script without a snapshot
+        StyleLoader loader = null;
         
         // Attempt to load the class-local resource first... ie:
         // our version
         URL baseResource = BaseStyles.class.getResource("/" + resource);
         log.info("Loading base resource:" + baseResource);        
-        loader.loadStyle(baseResource);
+        if( !loadSnapshot(baseResource) ) {
+            loader = new StyleLoader();
+            loader.loadStyle(baseResource);
+        }
  
         log.info("Loading extension resources for:" + resource);
         ClassLoader cl = BaseStyles.class.getClassLoader();
@@ -86,6 +113,12 @@ public class BaseStyles {
                     continue;
                 }
                 log.info("Loading extension resource:" + u);
+                if( loadSnapshot(u) ) {
+                    continue;
+                }
+                if( loader == null ) {
+                    loader = new StyleLoader();
+                }
                 loader.loadStyle(u);
             }
         } catch( IOException e ) {
@@ -93,4 +126,83 @@ public class BaseStyles {
         }
     }
 
+    /**
+     *  Loads the StyleSnapshot that was precompiled from the specified style
+     *  script, if there is one, into the GuiGlobals styles.  Returns false
+     *  if snapshots are disabled or if there is no usable snapshot for the
+     *  current gamma correction setting.
+     */
+    protected static boolean loadSnapshot( URL script ) {
+        if( !snapshotsEnabled || script == null ) {
+            return false;
+        }
+        GuiGlobals globals = GuiGlobals.getInstance();
+        URL snapshot;
+        InputStream in;
+        try {
+            snapshot = new URL(StyleSnapshot.getSnapshotName(script.toString(), globals.isGammaEnabled()));
+            in = snapshot.openStream();
+        } catch( IOException e ) {
+            // No snapshot
+            return false;
+        }
+        try {
+            StyleSnapshot.read(in, globals.getStyles());
+            log.info("Loaded style snapshot:" + snapshot);
+            return true;
+        } catch( IOException e ) {
+            log.warn("Error loading style snapshot:" + snapshot + ", running script instead", e);
+            return false;
+        } finally {
+            try {
+                in.close();
+            } catch( IOException e ) {
+                log.warn("Error closing:" + snapshot, e);
+            }
+        }
+    }
+
+    /**
+     *  Moves a button down and to the right while it is pressed.  Used
+     *  by the glass style's buttons.
+     */
+    public static class PressedCommand implements Command<Button> {
+        public void execute( Button source ) {
+            if( source.isPressed() ) {
+                source.move(1, -1, 0);
+            } else {
+                source.move(-1, 1, 0);
+            }
+        }
+    }
+
+    /**
+     *  Repeatedly clicks a button while it is held down, starting after
+     *  a half second delay.  Used by the glass style's slider buttons.
+     */
+    public static class RepeatCommand implements Command<Button> {
+        private long startTime;
+        private long lastClick;
+
+        public void execute( Button source ) {
+            // Only do the repeating click while the mouse is
+            // over the button (and pressed of course)
+            if( source.isPressed() && source.isHighlightOn() ) {
+                long elapsedTime = System.currentTimeMillis() - startTime;
+                // After half a second pause, click 8 times a second
+                if( elapsedTime > 500 ) {
+                    if( elapsedTime - lastClick > 125 ) {
+                        source.click();
+
+                        // Try to quantize the last click time to prevent drift
+                        lastClick = ((elapsedTime - 500) / 125) * 125 + 500;
+                    }
+                }
+            } else {
+                startTime = System.currentTimeMillis();
+                lastClick = 0;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,816 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.simsilica.lemur.style;
+
+import java.io.*;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.TextureKey;
+import com.jme3.font.BitmapFont;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.texture.Texture;
+
+import com.simsilica.lemur.Command;
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.HAlignment;
+import com.simsilica.lemur.Insets3f;
+import com.simsilica.lemur.VAlignment;
+import com.simsilica.lemur.component.IconComponent;
+import com.simsilica.lemur.component.QuadBackgroundComponent;
+import com.simsilica.lemur.component.TbtQuadBackgroundComponent;
+import com.simsilica.lemur.geom.TbtQuad;
+
+
+/**
+ *  Saves the selectors and attributes of a fully configured Styles
+ *  instance in a compact binary form and loads them back again.  Loading
+ *  a snapshot needs neither Groovy nor a script engine and only creates
+ *  the attribute values themselves, so it is much faster than evaluating
+ *  the original style scripts.  BaseStyles will load a snapshot instead of
+ *  a style script when one is found next to it and the build's
+ *  compileStyles task uses the StyleSnapshotExporter to create them for
+ *  the bundled styles.
+ *
+ *  <p>The basic value types, enums, Lists, and Maps are built in as are
+ *  codecs for ColorRGBA, Vector2f, Vector3f, Insets3f, textures, fonts
+ *  loaded through GuiGlobals.loadFont(), and the Quad, TbtQuad, and
+ *  Icon components.  Commands are saved by class name and recreated with
+ *  their public no-argument constructor which means that they can't be
+ *  anonymous classes.  Other value types can be supported by registering
+ *  a Codec.  Values that were shared between attributes in the original
+ *  Styles are also shared in the loaded Styles.</p>
+ *
+ *  <p>Colors created with GuiGlobals.srgbaColor(), like the color() method
+ *  in style scripts, depend on the gamma correction setting when the styles
+ *  were evaluated.  Snapshots record the setting they were saved with and
+ *  refuse to load when it doesn't match the current GuiGlobals.</p>
+ *
+ *  @author    agent
+ */
+public class StyleSnapshot {
+
+    static Logger log = LoggerFactory.getLogger(StyleSnapshot.class);
+
+    public static final String SUFFIX = ".lsnap";
+    public static final String GAMMA_SUFFIX = "-gamma.lsnap";
+
+    private static final int MAGIC = 0x4C534E50; // LSNP
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte REF = 1;
+    private static final byte TRUE = 2;
+    private static final byte FALSE = 3;
+    private static final byte INT = 4;
+    private static final byte LONG = 5;
+    private static final byte FLOAT = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte STRING = 8;
+    private static final byte DECIMAL = 9;
+    private static final byte ENUM = 10;
+    private static final byte LIST = 11;
+    private static final byte MAP = 12;
+    private static final byte OBJECT = 13;
+    private static final byte INSTANCE = 14;
+
+    private static final Map<Class<?>, Codec<?>> codecs = new ConcurrentHashMap<Class<?>, Codec<?>>();
+    private static final Map<String, Codec<?>> codecNames = new ConcurrentHashMap<String, Codec<?>>();
+
+    static {
+        registerDefaultCodecs();
+    }
+
+    /**
+     *  Registers a codec that will be used to save and load values of the
+     *  specified type and its subclasses.
+     */
+    public static <T> void registerCodec( Class<T> type, Codec<T> codec ) {
+        codecs.put(type, codec);
+        codecNames.put(type.getName(), codec);
+    }
+
+    /**
+     *  Returns the name of the snapshot resource that goes with the
+     *  specified style resource, with its extension replaced by the
+     *  snapshot suffix for the specified gamma setting.  For example,
+     *  "glass-styles.groovy" becomes "glass-styles.lsnap" or
+     *  "glass-styles-gamma.lsnap".  This works for URLs, too.
+     */
+    public static String getSnapshotName( String styleResource, boolean gammaEnabled ) {
+        String base = styleResource;
+        int dot = base.lastIndexOf('.');
+        if( dot > base.lastIndexOf('/') ) {
+            base = base.substring(0, dot);
+        }
+        return base + (gammaEnabled ? GAMMA_SUFFIX : SUFFIX);
+    }
+
+    /**
+     *  Saves all of the selectors and attributes of the specified Styles
+     *  to the specified stream.  The stream is flushed but not closed.
+     *  Throws an IOException if an attribute has a value that can't be
+     *  saved.
+     */
+    public static void write( Styles styles, OutputStream out ) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeBoolean(GuiGlobals.getInstance().isGammaEnabled());
+
+        // Sorted so that the same styles always produce the same file
+        Set<String> names = new TreeSet<String>(styles.getStyleNames());
+        data.writeInt(names.size());
+        Output output = new Output(data);
+        for( String style : names ) {
+            data.writeUTF(style);
+            output.style = style;
+            output.writeNode(styles.getTree(style, false).getRoot(), "");
+        }
+        data.flush();
+    }
+
+    /**
+     *  Loads the selectors and attributes from the specified snapshot
+     *  stream into the specified Styles, overwriting any attributes that
+     *  are already set for the same selectors.  The stream is not closed.
+     */
+    public static void read( InputStream in, Styles styles ) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if( data.readInt() != MAGIC ) {
+            throw new IOException("Not a style snapshot");
+        }
+        int version = data.readShort();
+        if( version != VERSION ) {
+            throw new IOException("Unsupported style snapshot version:" + version);
+        }
+        boolean gamma = data.readBoolean();
+        if( gamma != GuiGlobals.getInstance().isGammaEnabled() ) {
+            throw new IOException("Style snapshot was saved with gamma correction:" + gamma
+                                  + " but gamma correction is:" + !gamma);
+        }
+        Input input = new Input(data);
+        int count = data.readInt();
+        for( int i = 0; i < count; i++ ) {
+            String style = data.readUTF();
+            input.readNode(styles.getTree(style, true).getRoot());
+        }
+        styles.clearCache();
+    }
+
+    /**
+     *  Loads the snapshot at the specified URL into the specified Styles.
+     */
+    public static void load( URL url, Styles styles ) throws IOException {
+        InputStream in = url.openStream();
+        try {
+            read(in, styles);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     *  Saves the specified Styles to a snapshot file.
+     */
+    public static void save( Styles styles, File file ) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            write(styles, out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     *  Returns the codec registered for the type or its nearest superclass.
+     *  The codec is typed for Object because it will only ever be given
+     *  instances of 'type'.
+     */
+    @SuppressWarnings("unchecked")
+    protected static Codec<Object> findCodec( Class<?> type ) {
+        for( Class<?> c = type; c != null; c = c.getSuperclass() ) {
+            Codec<?> result = codecs.get(c);
+            if( result != null ) {
+                if( c != type ) {
+                    // Cache it for next time
+                    codecs.put(type, result);
+                }
+                return (Codec<Object>)result;
+            }
+        }
+        return null;
+    }
+
+    protected static String findCodecName( Class<?> type ) {
+        for( Class<?> c = type; c != null; c = c.getSuperclass() ) {
+            if( codecNames.containsKey(c.getName()) ) {
+                return c.getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     *  Returns true if the type can be saved by class name and recreated
+     *  with its public no-argument constructor.
+     */
+    protected static boolean isInstantiable( Class<?> type ) {
+        if( !Command.class.isAssignableFrom(type) ) {
+            return false;
+        }
+        if( !Modifier.isPublic(type.getModifiers()) || type.isAnonymousClass() || type.isLocalClass() ) {
+            return false;
+        }
+        if( type.getEnclosingClass() != null && !Modifier.isStatic(type.getModifiers()) ) {
+            return false;
+        }
+        try {
+            type.getConstructor();
+            return true;
+        } catch( NoSuchMethodException e ) {
+            return false;
+        }
+    }
+
+    /**
+     *  Loads the named class without initializing it so that callers
+     *  can check the type before running any of its code.
+     */
+    protected static Class<?> loadClass( String name ) throws IOException {
+        try {
+            ClassLoader cl = Thread.currentThread().getContextClassLoader();
+            if( cl == null ) {
+                cl = StyleSnapshot.class.getClassLoader();
+            }
+            return Class.forName(name, false, cl);
+        } catch( ClassNotFoundException e ) {
+            throw new IOException("Style snapshot class not found:" + name, e);
+        }
+    }
+
+    /**
+     *  Writes and reads the values of a particular type.  Codecs write
+     *  simple fields directly and nested objects with writeValue() so that
+     *  they can be shared.  read() must read exactly what write() wrote.
+     */
+    public interface Codec<T> {
+        public void write( Output out, T value ) throws IOException;
+        public T read( Input in ) throws IOException;
+    }
+
+    /**
+     *  The stream that Codecs write their values to.
+     */
+    public static class Output {
+        private final DataOutputStream out;
+        private final Map<Object, Integer> objects = new IdentityHashMap<Object, Integer>();
+        private String style;
+        private String attribute;
+
+        protected Output( DataOutputStream out ) {
+            this.out = out;
+        }
+
+        protected void writeNode( StyleTree.Node node, String path ) throws IOException {
+            Attributes attrs = node.getAttributes(false);
+            out.writeBoolean(attrs != null);
+            if( attrs != null ) {
+                Map<String, Object> values = new TreeMap<String, Object>(attrs.getValues());
+                out.writeInt(values.size());
+                for( Map.Entry<String, Object> e : values.entrySet() ) {
+                    out.writeUTF(e.getKey());
+                    attribute = style + ":" + path + e.getKey();
+                    writeValue(e.getValue());
+                }
+            }
+
+            Map<String, StyleTree.Node> children = node.getChildren();
+            if( children == null ) {
+                out.writeInt(0);
+                return;
+            }
+            List<String> ids = new ArrayList<String>(children.keySet());
+            Collections.sort(ids, new Comparator<String>() {
+                    public int compare( String a, String b ) {
+                        // The wild card node has a null ID
+                        if( a == null || b == null ) {
+                            return a == b ? 0 : (a == null ? -1 : 1);
+                        }
+                        return a.compareTo(b);
+                    }
+                });
+            out.writeInt(ids.size());
+            for( String id : ids ) {
+                writeString(id);
+                writeNode(children.get(id), (id == null ? "*" : id) + "/" + path);
+            }
+        }
+
+        public void writeBoolean( boolean b ) throws IOException {
+            out.writeBoolean(b);
+        }
+
+        public void writeInt( int i ) throws IOException {
+            out.writeInt(i);
+        }
+
+        public void writeFloat( float f ) throws IOException {
+            out.writeFloat(f);
+        }
+
+        public void writeFloats( float[] array ) throws IOException {
+            out.writeInt(array.length);
+            for( float f : array ) {
+                out.writeFloat(f);
+            }
+        }
+
+        public void writeString( String s ) throws IOException {
+            out.writeBoolean(s != null);
+            if( s != null ) {
+                out.writeUTF(s);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public void writeValue( Object value ) throws IOException {
+            if( value == null ) {
+                out.writeByte(NULL);
+            } else if( value instanceof Boolean ) {
+                out.writeByte((Boolean)value ? TRUE : FALSE);
+            } else if( value instanceof Integer ) {
+                out.writeByte(INT);
+                out.writeInt((Integer)value);
+            } else if( value instanceof Long ) {
+                out.writeByte(LONG);
+                out.writeLong((Long)value);
+            } else if( value instanceof Float ) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float)value);
+            } else if( value instanceof Double ) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double)value);
+            } else if( value instanceof String ) {
+                out.writeByte(STRING);
+                out.writeUTF((String)value);
+            } else if( value instanceof BigDecimal ) {
+                // Groovy's default for decimal literals
+                out.writeByte(DECIMAL);
+                out.writeUTF(value.toString());
+            } else if( value instanceof Enum ) {
+                out.writeByte(ENUM);
+                out.writeUTF(((Enum)value).getDeclaringClass().getName());
+                out.writeUTF(((Enum)value).name());
+            } else {
+                writeObject(value);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        protected void writeObject( Object value ) throws IOException {
+            Integer index = objects.get(value);
+            if( index != null ) {
+                out.writeByte(REF);
+                out.writeInt(index);
+                return;
+            }
+            if( value instanceof List ) {
+                List<?> list = (List<?>)value;
+                out.writeByte(LIST);
+                out.writeInt(list.size());
+                for( Object o : list ) {
+                    writeValue(o);
+                }
+            } else if( value instanceof Map ) {
+                Map<Object, Object> map = (Map<Object, Object>)value;
+                out.writeByte(MAP);
+                out.writeInt(map.size());
+                for( Map.Entry<Object, Object> e : map.entrySet() ) {
+                    writeValue(e.getKey());
+                    writeValue(e.getValue());
+                }
+            } else {
+                Codec<Object> codec = findCodec(value.getClass());
+                if( codec != null ) {
+                    out.writeByte(OBJECT);
+                    out.writeUTF(findCodecName(value.getClass()));
+                    codec.write(this, value);
+                } else if( isInstantiable(value.getClass()) ) {
+                    out.writeByte(INSTANCE);
+                    out.writeUTF(value.getClass().getName());
+                } else {
+                    throw new IOException("Unsupported style value type:" + value.getClass().getName()
+                                          + " for attribute:" + attribute);
+                }
+            }
+            // Indexes are assigned after the value is complete, the same
+            // as when reading
+            objects.put(value, objects.size());
+        }
+    }
+
+    /**
+     *  The stream that Codecs read their values from.
+     */
+    public static class Input {
+        private final DataInputStream in;
+        private final List<Object> objects = new ArrayList<Object>();
+
+        protected Input( DataInputStream in ) {
+            this.in = in;
+        }
+
+        protected void readNode( StyleTree.Node node ) throws IOException {
+            if( in.readBoolean() ) {
+                Attributes attrs = node.getAttributes(true);
+                int count = in.readInt();
+                for( int i = 0; i < count; i++ ) {
+                    String name = in.readUTF();
+                    attrs.set(name, readValue());
+                }
+            }
+            int children = in.readInt();
+            for( int i = 0; i < children; i++ ) {
+                String id = readString();
+                readNode(node.getChild(id, true));
+            }
+        }
+
+        public boolean readBoolean() throws IOException {
+            return in.readBoolean();
+        }
+
+        public int readInt() throws IOException {
+            return in.readInt();
+        }
+
+        public float readFloat() throws IOException {
+            return in.readFloat();
+        }
+
+        public float[] readFloats() throws IOException {
+            float[] result = new float[in.readInt()];
+            for( int i = 0; i < result.length; i++ ) {
+                result[i] = in.readFloat();
+            }
+            return result;
+        }
+
+        public String readString() throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T readValue() throws IOException {
+            byte tag = in.readByte();
+            switch( tag ) {
+                case NULL:
+                    return null;
+                case REF:
+                    return (T)objects.get(in.readInt());
+                case TRUE:
+                    return (T)Boolean.TRUE;
+                case FALSE:
+                    return (T)Boolean.FALSE;
+                case INT:
+                    return (T)Integer.valueOf(in.readInt());
+                case LONG:
+                    return (T)Long.valueOf(in.readLong());
+                case FLOAT:
+                    return (T)Float.valueOf(in.readFloat());
+                case DOUBLE:
+                    return (T)Double.valueOf(in.readDouble());
+                case STRING:
+                    return (T)in.readUTF();
+                case DECIMAL:
+                    return (T)new BigDecimal(in.readUTF());
+                case ENUM:
+                    Class<?> type = loadClass(in.readUTF());
+                    if( !type.isEnum() ) {
+                        throw new IOException("Style snapshot type is not an enum:" + type.getName());
+                    }
+                    return (T)Enum.valueOf(type.asSubclass(Enum.class), in.readUTF());
+                default:
+                    return (T)readObject(tag);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        protected Object readObject( byte tag ) throws IOException {
+            Object result;
+            switch( tag ) {
+                case LIST:
+                    int size = in.readInt();
+                    List<Object> list = new ArrayList<Object>(size);
+                    for( int i = 0; i < size; i++ ) {
+                        list.add(readValue());
+                    }
+                    result = list;
+                    break;
+                case MAP:
+                    int count = in.readInt();
+                    Map<Object, Object> map = new LinkedHashMap<Object, Object>();
+                    for( int i = 0; i < count; i++ ) {
+                        Object key = readValue();
+                        map.put(key, readValue());
+                    }
+                    result = map;
+                    break;
+                case OBJECT:
+                    String name = in.readUTF();
+                    Codec<?> codec = codecNames.get(name);
+                    if( codec == null ) {
+                        throw new IOException("No style snapshot codec registered for:" + name);
+                    }
+                    result = codec.read(this);
+                    break;
+                case INSTANCE:
+                    Class<?> type = loadClass(in.readUTF());
+                    if( !isInstantiable(type) ) {
+                        // Same check as when writing so that a modified stream
+                        // can't construct arbitrary classes
+                        throw new IOException("Style snapshot type is not an instantiable Command:"
+                                              + type.getName());
+                    }
+                    try {
+                        result = type.getConstructor().newInstance();
+                    } catch( ReflectiveOperationException e ) {
+                        throw new IOException("Error creating style value:" + type, e);
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown style snapshot value tag:" + tag);
+            }
+            objects.add(result);
+            return result;
+        }
+    }
+
+    private static void registerDefaultCodecs() {
+        registerCodec(ColorRGBA.class, new Codec<ColorRGBA>() {
+                public void write( Output out, ColorRGBA value ) throws IOException {
+                    out.writeFloat(value.r);
+                    out.writeFloat(value.g);
+                    out.writeFloat(value.b);
+                    out.writeFloat(value.a);
+                }
+
+                public ColorRGBA read( Input in ) throws IOException {
+                    return new ColorRGBA(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+                }
+            });
+
+        registerCodec(Vector2f.class, new Codec<Vector2f>() {
+                public void write( Output out, Vector2f value ) throws IOException {
+                    out.writeFloat(value.x);
+                    out.writeFloat(value.y);
+                }
+
+                public Vector2f read( Input in ) throws IOException {
+                    return new Vector2f(in.readFloat(), in.readFloat());
+                }
+            });
+
+        registerCodec(Vector3f.class, new Codec<Vector3f>() {
+                public void write( Output out, Vector3f value ) throws IOException {
+                    out.writeFloat(value.x);
+                    out.writeFloat(value.y);
+                    out.writeFloat(value.z);
+                }
+
+                public Vector3f read( Input in ) throws IOException {
+                    return new Vector3f(in.readFloat(), in.readFloat(), in.readFloat());
+                }
+            });
+
+        registerCodec(Insets3f.class, new Codec<Insets3f>() {
+                public void write( Output out, Insets3f value ) throws IOException {
+                    out.writeValue(value.getMinInsets());
+                    out.writeValue(value.getMaxInsets());
+                }
+
+                public Insets3f read( Input in ) throws IOException {
+                    Vector3f min = in.readValue();
+                    Vector3f max = in.readValue();
+                    return new Insets3f(min, max);
+                }
+            });
+
+        registerCodec(Texture.class, new Codec<Texture>() {
+                public void write( Output out, Texture value ) throws IOException {
+                    AssetKey<?> key = value.getKey();
+                    String name = key != null ? key.getName() : value.getName();
+                    if( name == null ) {
+                        throw new IOException("Texture was not loaded from an asset:" + value);
+                    }
+                    out.writeString(name);
+                    out.writeBoolean(value.getWrap(Texture.WrapAxis.S) == Texture.WrapMode.Repeat);
+                    out.writeBoolean(key instanceof TextureKey && ((TextureKey)key).isGenerateMips());
+                    out.writeValue(value.getMinFilter());
+                    out.writeValue(value.getMagFilter());
+                    out.writeInt(value.getAnisotropicFilter());
+                }
+
+                public Texture read( Input in ) throws IOException {
+                    String name = in.readString();
+                    boolean repeat = in.readBoolean();
+                    boolean generateMips = in.readBoolean();
+                    Texture result = GuiGlobals.getInstance().loadTexture(name, repeat, generateMips);
+
+                    // Only touch the texture if the style changed it as it
+                    // may be shared
+                    Texture.MinFilter min = in.readValue();
+                    Texture.MagFilter mag = in.readValue();
+                    int anisotropic = in.readInt();
+                    if( result.getMinFilter() != min ) {
+                        result.setMinFilter(min);
+                    }
+                    if( result.getMagFilter() != mag ) {
+                        result.setMagFilter(mag);
+                    }
+                    if( result.getAnisotropicFilter() != anisotropic ) {
+                        result.setAnisotropicFilter(anisotropic);
+                    }
+                    return result;
+                }
+            });
+
+        registerCodec(BitmapFont.class, new Codec<BitmapFont>() {
+                public void write( Output out, BitmapFont value ) throws IOException {
+                    String path = GuiGlobals.getInstance().getFontPath(value);
+                    if( path == null ) {
+                        throw new IOException("Font was not loaded with GuiGlobals.loadFont():" + value);
+                    }
+                    out.writeString(path);
+                }
+
+                public BitmapFont read( Input in ) throws IOException {
+                    return GuiGlobals.getInstance().loadFont(in.readString());
+                }
+            });
+
+        registerCodec(QuadBackgroundComponent.class, new Codec<QuadBackgroundComponent>() {
+                public void write( Output out, QuadBackgroundComponent value ) throws IOException {
+                    out.writeValue(value.getTexture());
+                    out.writeValue(value.getColor());
+                    out.writeFloat(value.getAlpha());
+                    out.writeValue(value.getMargin());
+                    out.writeFloat(value.getZOffset());
+                    out.writeFloat(value.getAlphaDiscard());
+                    out.writeBoolean(value.isLit());
+                    out.writeValue(value.getTextureCoordinateScale());
+                }
+
+                public QuadBackgroundComponent read( Input in ) throws IOException {
+                    Texture texture = in.readValue();
+                    ColorRGBA color = in.readValue();
+                    float alpha = in.readFloat();
+                    Vector2f margin = in.readValue();
+                    float zOffset = in.readFloat();
+                    float alphaDiscard = in.readFloat();
+                    boolean lit = in.readBoolean();
+                    Vector2f scale = in.readValue();
+
+                    QuadBackgroundComponent result = new QuadBackgroundComponent(texture,
+                                                                margin.x, margin.y, zOffset, lit);
+                    if( color != null ) {
+                        result.setColor(color);
+                    }
+                    result.setAlpha(alpha);
+                    result.setAlphaDiscard(alphaDiscard);
+                    result.setTextureCoordinateScale(scale);
+                    return result;
+                }
+            });
+
+        registerCodec(TbtQuadBackgroundComponent.class, new Codec<TbtQuadBackgroundComponent>() {
+                public void write( Output out, TbtQuadBackgroundComponent value ) throws IOException {
+                    TbtQuad quad = value.getQuad();
+                    out.writeValue(quad.getSize());
+                    out.writeValue(quad.getImageSize());
+                    out.writeFloats(quad.getHorizontalFolds());
+                    out.writeFloats(quad.getVerticalFolds());
+                    out.writeFloats(quad.getHorizontalTexCoords());
+                    out.writeFloats(quad.getVerticalTexCoords());
+                    out.writeValue(value.getTexture());
+                    out.writeValue(value.getColor());
+                    out.writeFloat(value.getAlpha());
+                    out.writeValue(value.getMargin());
+                    out.writeFloat(value.getZOffset());
+                    out.writeBoolean(value.isLit());
+                }
+
+                public TbtQuadBackgroundComponent read( Input in ) throws IOException {
+                    Vector2f size = in.readValue();
+                    Vector2f imageSize = in.readValue();
+                    TbtQuad quad = new TbtQuad(size, imageSize, in.readFloats(), in.readFloats(),
+                                               in.readFloats(), in.readFloats());
+                    Texture texture = in.readValue();
+                    ColorRGBA color = in.readValue();
+                    float alpha = in.readFloat();
+                    Vector2f margin = in.readValue();
+                    float zOffset = in.readFloat();
+                    boolean lit = in.readBoolean();
+
+                    TbtQuadBackgroundComponent result = new TbtQuadBackgroundComponent(quad, texture,
+                                                                margin.x, margin.y, zOffset, lit);
+                    if( color != null ) {
+                        result.setColor(color);
+                    }
+                    result.setAlpha(alpha);
+                    return result;
+                }
+            });
+
+        registerCodec(IconComponent.class, new Codec<IconComponent>() {
+                public void write( Output out, IconComponent value ) throws IOException {
+                    out.writeValue(value.getImageTexture());
+                    out.writeValue(value.getIconScale());
+                    out.writeValue(value.getIconSize());
+                    out.writeValue(value.getColor());
+                    out.writeFloat(value.getAlpha());
+                    out.writeValue(value.getMargin());
+                    out.writeFloat(value.getZOffset());
+                    out.writeFloat(value.getAlphaDiscard());
+                    out.writeValue(value.getHAlignment());
+                    out.writeValue(value.getVAlignment());
+                    out.writeValue(value.getOffset());
+                    out.writeBoolean(value.isOverlay());
+                    out.writeBoolean(value.isLit());
+                }
+
+                public IconComponent read( Input in ) throws IOException {
+                    Texture image = in.readValue();
+                    Vector2f iconScale = in.readValue();
+                    Vector2f iconSize = in.readValue();
+                    ColorRGBA color = in.readValue();
+                    float alpha = in.readFloat();
+                    Vector2f margin = in.readValue();
+                    float zOffset = in.readFloat();
+                    float alphaDiscard = in.readFloat();
+                    HAlignment hAlign = in.readValue();
+                    VAlignment vAlign = in.readValue();
+                    Vector3f offset = in.readValue();
+                    boolean overlay = in.readBoolean();
+                    boolean lit = in.readBoolean();
+
+                    IconComponent result = new IconComponent(image, iconScale.clone(),
+                                                             margin.x, margin.y, zOffset, lit);
+                    result.setIconSize(iconSize);
+                    if( color != null ) {
+                        result.setColor(color);
+                    }
+                    result.setAlpha(alpha);
+                    result.setAlphaDiscard(alphaDiscard);
+                    result.setHAlignment(hAlign);
+                    result.setVAlignment(vAlign);
+                    result.setOffset(offset);
+                    result.setOverlay(overlay);
+                    return result;
+                }
+            });
+    }
+}
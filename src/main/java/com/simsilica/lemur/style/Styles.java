@@ -34,10 +34,15 @@
 
 package com.simsilica.lemur.style;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.*;
 import java.util.*;
 
 import com.simsilica.lemur.core.GuiComponent;
+import com.simsilica.lemur.debug.GuiMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -128,6 +133,7 @@ public class Styles {
     public static final ElementId DEFAULT_ELEMENT = new ElementId("default");
 
     private static Map<Class, List<Method>> methodIndex = new HashMap<Class, List<Method>>();
+    private static Map<Class<?>, AttributeSetter[]> setterIndex = new HashMap<Class<?>, AttributeSetter[]>();
     private Set<Class> initialized = new HashSet<Class>();
 
 
@@ -139,12 +145,22 @@ public class Styles {
     private Map<String, StyleTree> styleTrees = new HashMap<String, StyleTree>();
 
     /**
-     *  Contains the map of lazily compiled attributes for a given
-     *  style + element ID.  Each of these Attributes objects is a compiled
+     *  Contains the lazily compiled attributes for each style, keyed
+     *  by element ID.  Each of these Attributes objects is a compiled
      *  hierarchy formed by breaking down the element ID into separate
-     *  selectors.
+     *  selectors.  Looking them up requires no String building or other
+     *  garbage and changing a selector only throws away the entries it
+     *  could affect.
      */
-    private Map<String, Attributes> attributeMap = new HashMap<String, Attributes>();
+    private Map<String, StyleCache> caches = new HashMap<String, StyleCache>();
+
+    /**
+     *  Contains the lazily compiled apply plans for a given compiled
+     *  Attributes object and target class.  The Attributes objects are the
+     *  ones cached in the style caches and their plans are removed with them.
+     */
+    private Map<Attributes, Map<Class<?>, ApplyPlan>> planMap
+            = new IdentityHashMap<Attributes, Map<Class<?>, ApplyPlan>>();
 
     private Map<Class, Object> defaults = new HashMap<Class, Object>();
 
@@ -190,12 +206,22 @@ public class Styles {
         return defaultStyle;
     }
 
+    /**
+     *  Throws away all of the compiled attributes for every style.  This
+     *  is not normally needed as changing a selector through getSelector()
+     *  already discards the compiled attributes that it affects.
+     */
     public void clearCache() {
-        attributeMap.clear();
+        caches.clear();
+        planMap.clear();
     }
 
     public void setDefault( Object value ) {
         defaults.put(value.getClass(), value);
+        
+        // Compiled apply plans may have already resolved the old default
+        // but the compiled attributes don't include defaults.
+        planMap.clear();
     }
 
     @SuppressWarnings("unchecked")
@@ -223,8 +249,12 @@ public class Styles {
             style = defaultStyle;
         }
         // See if we already have a cached version
-        String key = styleKey(elementId, style);
-        Attributes result = attributeMap.get(key);
+        StyleCache cache = caches.get(style);
+        if( cache == null ) {
+            cache = new StyleCache();
+            caches.put(style, cache);
+        }
+        Attributes result = cache.get(elementId);
         if( result == null ) {
             // Look it up and cache it
             result = getTree(style, true).getAttributes(elementId);
@@ -243,7 +273,7 @@ public class Styles {
             }
 
             // Cache it
-            attributeMap.put(key, result);
+            cache.put(elementId, result);
         }
         return result;
     }
@@ -285,14 +315,22 @@ public class Styles {
         return tree;
     }
 
+    /**
+     *  Returns the names of all of the styles that have selectors
+     *  defined.
+     */
+    protected Set<String> getStyleNames() {
+        return styleTrees.keySet();
+    }
+
     public Attributes getSelector( String style ) {
         return getSelector(DEFAULT_ELEMENT, style);
     }
 
     public Attributes getSelector( ElementId id, String style ) {
         // The implication is that we're about to set new style attributes...
-        // so clear the cache
-        clearCache();
+        // so clear anything that the selector might affect
+        invalidate(id, style);
         return getTree(style, true).getSelector(id, true);
     }
 
@@ -301,10 +339,36 @@ public class Styles {
     }
 
     public Attributes getSelector( ElementId parent, ElementId child, String style ) {
-        clearCache();
+        invalidate(child, style);
         return getTree(style, true).getSelector(parent, child, true);
     }
 
+    /**
+     *  Throws away the compiled attributes that a selector for the specified
+     *  element ID could contribute to.  The StyleTree is searched starting
+     *  with the last part of an element ID so a selector can only affect
+     *  the element IDs that end with the same part as it does, or all element
+     *  IDs if it is the default element's selector.  Every style inherits
+     *  from the root style so changes to the root style affect all styles.
+     */
+    protected void invalidate( ElementId id, String style ) {
+        if( style == null ) {
+            style = ROOT_STYLE;
+        }
+        String tail = tail(id);
+        boolean all = DEFAULT_ELEMENT.getId().equals(tail);
+        if( ROOT_STYLE.equals(style) ) {
+            for( StyleCache cache : caches.values() ) {
+                cache.invalidate(all ? null : tail);
+            }
+        } else {
+            StyleCache cache = caches.get(style);
+            if( cache != null ) {
+                cache.invalidate(all ? null : tail);
+            }
+        }
+    }
+
     public Attributes getSelector( ElementId parent, String child, String style ) {
         return getSelector(parent, new ElementId(child), style);
     }
@@ -419,6 +483,70 @@ public class Styles {
         return results;
     }
 
+    /**
+     *  Returns the resolved style attribute setters for the specified
+     *  class, creating them if necessary.
+     */
+    protected static AttributeSetter[] getAttributeSetters( Class<?> c ) {
+        AttributeSetter[] results = setterIndex.get(c);
+        if( results != null )
+            return results;
+
+        List<Method> methods = getStyleAttributeMethods(c);
+        results = new AttributeSetter[methods.size()];
+        for( int i = 0; i < results.length; i++ ) {
+            results[i] = new AttributeSetter(methods.get(i));
+        }
+
+        setterIndex.put(c, results);
+        return results;
+    }
+
+    /**
+     *  Returns the apply plan for the specified class and already compiled
+     *  attributes, creating it if necessary.
+     */
+    protected ApplyPlan getApplyPlan( Class<?> c, Attributes attrs ) {
+        Map<Class<?>, ApplyPlan> plans = planMap.get(attrs);
+        if( plans == null ) {
+            plans = new HashMap<Class<?>, ApplyPlan>();
+            planMap.put(attrs, plans);
+        }
+        ApplyPlan result = plans.get(c);
+        if( result == null ) {
+            result = new ApplyPlan(getAttributeSetters(c), attrs);
+            plans.put(c, result);
+        }
+        return result;
+    }
+
+    /**
+     *  Returns true if the specified value would be changed by clone(), ie:
+     *  it contains something that needs to be cloned per element.
+     */
+    protected static boolean needsClone( Object value ) {
+        if( value instanceof GuiComponent ) {
+            return true;
+        }
+        if( value instanceof List ) {
+            for( Object o : (List<?>)value ) {
+                if( needsClone(o) ) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if( value instanceof Map ) {
+            for( Object o : ((Map<?, ?>)value).values() ) {
+                if( needsClone(o) ) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return value instanceof Cloneable;
+    }
+
     @Deprecated
     public void applyStyles( Object o, String elementId ) {
         applyStyles(o, new ElementId(elementId), null);
@@ -436,6 +564,8 @@ public class Styles {
     @SuppressWarnings("unchecked")
     public void applyStyles( Object o, ElementId elementId, String style ) {
 
+        GuiMetrics.increment(GuiMetrics.Metric.StyleApplications);
+
         Class c = o.getClass();
         initializeStyles(c);
 
@@ -448,41 +578,164 @@ public class Styles {
             log.trace("style attributes:" + attrs);
         }
 
-        Cloner cloner = null;
+        // The plan has already resolved which setters get called with
+        // which values so all that's left is cloning and calling.
+        ApplyPlan plan = getApplyPlan(c, attrs);
+        AttributeSetter[] setters = plan.setters;
+        Object[] values = plan.values;
+        boolean[] cloneValues = plan.cloneValues;
+        for( int i = 0; i < setters.length; i++ ) {
+            Object value = values[i];
 
-        for( Method m : getStyleAttributeMethods(c) ) {
-            StyleAttribute attribute = m.getAnnotation(StyleAttribute.class);
+            // See if the value needs cloning
+            if( cloneValues[i] ) {
+                Object original = value;
+                value = clone(value, null);
 
-            Class type = m.getParameterTypes()[0];
+                if( log.isTraceEnabled() && original != value ) {
+                    log.trace("Cloned value.\nOriginal:" + original + "\nClone:" + value);
+                }
+            }
 
-            // See if there is a method for getting the existing value
-            // ...this only works for attributes that would be null when unset
-            //Object existing = getExistingValue( o, m );
-            //if( existing != null )
-            //    continue;
+            if( log.isTraceEnabled() ) {
+                log.trace("calling " + setters[i].method.getName() + " with:" + value);
+            }
+            setters[i].apply(o, value);
+        }
+    }
 
-            Object value = attrs.get(attribute.value(), type, attribute.lookupDefault());
-            if( value == null )
-                continue;
+    /**
+     *  Returns the last part of the element ID, which is the first
+     *  level of the StyleTree.
+     */
+    protected static String tail( ElementId id ) {
+        String[] parts = id.getParts();
+        return parts[parts.length - 1];
+    }
 
-            // See if the value needs cloning
-            Object original = value;
-            value = clone(value, null);
+    /**
+     *  The compiled attributes for one style.  They are grouped by the
+     *  last part of their element ID so that all of the entries that
+     *  a changed selector might affect can be removed together.
+     */
+    private class StyleCache {
+        private final Map<String, Map<ElementId, Attributes>> byTail
+                = new HashMap<String, Map<ElementId, Attributes>>();
 
-            if( log.isTraceEnabled() && original != value ) {
-                log.trace("Cloned value.\nOriginal:" + original + "\nClone:" + value);
+        public Attributes get( ElementId id ) {
+            Map<ElementId, Attributes> map = byTail.get(tail(id));
+            return map == null ? null : map.get(id);
+        }
+
+        public void put( ElementId id, Attributes attrs ) {
+            String tail = tail(id);
+            Map<ElementId, Attributes> map = byTail.get(tail);
+            if( map == null ) {
+                map = new HashMap<ElementId, Attributes>();
+                byTail.put(tail, map);
             }
+            map.put(id, attrs);
+        }
 
-            // Else call it with the value
+        /**
+         *  Removes the entries for element IDs ending with the specified
+         *  part or all entries if tail is null.
+         */
+        public void invalidate( String tail ) {
+            if( tail == null ) {
+                for( Map<ElementId, Attributes> map : byTail.values() ) {
+                    removePlans(map);
+                }
+                byTail.clear();
+            } else {
+                Map<ElementId, Attributes> map = byTail.remove(tail);
+                if( map != null ) {
+                    removePlans(map);
+                }
+            }
+        }
+
+        private void removePlans( Map<ElementId, Attributes> map ) {
+            for( Attributes attrs : map.values() ) {
+                planMap.remove(attrs);
+            }
+        }
+    }
+
+    /**
+     *  A StyleAttribute setter method that has been resolved once so that
+     *  applying it does not need any further reflection.
+     */
+    protected static class AttributeSetter {
+        final Method method;
+        final StyleAttribute attribute;
+        final Class<?> type;
+        final MethodHandle handle;
+
+        public AttributeSetter( Method method ) {
+            this.method = method;
+            this.attribute = method.getAnnotation(StyleAttribute.class);
+            this.type = method.getParameterTypes()[0];
+            MethodHandle mh;
             try {
-                if( log.isTraceEnabled() ) {
-                    log.trace("calling " + m.getName() + " with:" + value);
+                // Adapt to a generic (Object, Object) signature.  The conversions
+                // are the same as Method.invoke() so wrapper types are unboxed
+                // and widened as needed.
+                mh = MethodHandles.publicLookup().unreflect(method);
+                mh = mh.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch( IllegalAccessException | WrongMethodTypeException e ) {
+                log.warn("Cannot bind method handle for:" + method + " using reflection instead.", e);
+                mh = null;
+            }
+            this.handle = mh;
+        }
+
+        public void apply( Object target, Object value ) {
+            try {
+                if( handle != null ) {
+                    handle.invokeExact(target, value);
+                } else {
+                    method.invoke(target, value);
                 }
-                m.invoke(o, value);
-            } catch( IllegalAccessException e ) {
-                throw new RuntimeException("Error applying attribute:" + attribute + " to:" + o, e);
             } catch( InvocationTargetException e ) {
-                throw new RuntimeException("Error applying attribute:" + attribute + " to:" + o, e);
+                throw new RuntimeException("Error applying attribute:" + attribute + " to:" + target, e);
+            } catch( Error e ) {
+                throw e;
+            } catch( Throwable t ) {
+                throw new RuntimeException("Error applying attribute:" + attribute + " to:" + target, t);
+            }
+        }
+    }
+
+    /**
+     *  The resolved list of setter calls to make for a specific target
+     *  class and compiled Attributes.  Attributes that have no value are
+     *  left out entirely and values that don't contain anything cloneable
+     *  are flagged so that they are passed directly.
+     */
+    protected class ApplyPlan {
+        final AttributeSetter[] setters;
+        final Object[] values;
+        final boolean[] cloneValues;
+
+        @SuppressWarnings("unchecked")
+        public ApplyPlan( AttributeSetter[] candidates, Attributes attrs ) {
+            List<AttributeSetter> used = new ArrayList<AttributeSetter>(candidates.length);
+            List<Object> usedValues = new ArrayList<Object>(candidates.length);
+            for( AttributeSetter setter : candidates ) {
+                Object value = attrs.get(setter.attribute.value(), setter.type,
+                                         setter.attribute.lookupDefault());
+                if( value == null ) {
+                    continue;
+                }
+                used.add(setter);
+                usedValues.add(value);
+            }
+            this.setters = used.toArray(new AttributeSetter[used.size()]);
+            this.values = usedValues.toArray();
+            this.cloneValues = new boolean[values.length];
+            for( int i = 0; i < values.length; i++ ) {
+                cloneValues[i] = needsClone(values[i]);
             }
         }
     }
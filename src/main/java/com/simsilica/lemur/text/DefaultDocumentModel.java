@@ -314,7 +314,7 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
 
         // If the carat is after the delete position then
         // we need to adjust it... and the current line and column.
-        if( carat.get() <= pos ) {
+        if( carat.get() > pos ) {
             carat.decrement();
             findPosition(carat.get(), location);
             line = location[0];
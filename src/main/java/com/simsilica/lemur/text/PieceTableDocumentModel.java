@@ -0,0 +1,750 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.text;
+
+import com.simsilica.lemur.core.VersionedObject;
+import com.simsilica.lemur.core.VersionedReference;
+
+
+/**
+ *  A DocumentModel implementation for large documents, like log or
+ *  script consoles, that is backed by a piece table.  The pieces are
+ *  kept in a balanced tree (a treap ordered by document position) where
+ *  each node also tracks the character and newline counts of its subtree.
+ *  This makes edits, carat line/column lookups, and line access O(log n)
+ *  in the number of pieces, and the full text returned by getText() is
+ *  only built when asked for.
+ *
+ *  <p>Differences from DefaultDocumentModel: setText() keeps empty lines,
+ *  converting "\r\n" and "\r" line endings to "\n", and insert(String)
+ *  treats '\n' as a new line instead of skipping it.  Other control
+ *  characters are skipped just like DefaultDocumentModel.</p>
+ *
+ *  @author    agent
+ */
+public class PieceTableDocumentModel implements DocumentModel, Cloneable {
+
+    /**
+     *  The maximum number of characters in any one piece.  This bounds
+     *  the linear scans done inside a piece when looking for newlines.
+     */
+    private static final int MAX_PIECE = 1024;
+
+    private String original;
+    private StringBuilder added = new StringBuilder();
+    private Piece root;
+    private int seed = 0x2545F491;
+
+    // Results of split()
+    private Piece splitLeft;
+    private Piece splitRight;
+
+    private long version;
+    private String composite = null;
+    private Carat carat = new Carat();
+    private int line = 0;
+    private int column = 0;
+
+    public PieceTableDocumentModel() {
+        parseText("");
+    }
+
+    public PieceTableDocumentModel( String text ) {
+        parseText(text != null ? text : "");
+    }
+
+    @Override
+    public PieceTableDocumentModel clone() {
+        try {
+            PieceTableDocumentModel result = (PieceTableDocumentModel)super.clone();
+
+            // Rebuilding from the text is simpler than deep cloning the tree
+            // and also compacts the pieces
+            int pos = carat.get();
+            result.carat = new Carat();
+            result.added = new StringBuilder();
+            result.splitLeft = null;
+            result.splitRight = null;
+            result.parseText(getText());
+            result.carat.set(pos);
+            result.updateLineAndColumn();
+
+            // And reset the version because it's ok for this document to start
+            // over
+            result.version = 0;
+
+            return result;
+        } catch( CloneNotSupportedException e ) {
+            throw new RuntimeException("Clone not supported", e);
+        }
+    }
+
+    @Override
+    public void setText( String text ) {
+        parseText(text != null ? text : "");
+    }
+
+    @Override
+    public String getText() {
+        if( composite == null ) {
+            composite = getText(0, getLength());
+        }
+        return composite;
+    }
+
+    /**
+     *  Returns the text between the specified start (inclusive) and
+     *  end (exclusive) positions without building the whole document text.
+     */
+    public String getText( int start, int end ) {
+        if( start < 0 || end > getLength() || start > end ) {
+            throw new IndexOutOfBoundsException("Range:" + start + " -> " + end + ", length:" + getLength());
+        }
+        StringBuilder sb = new StringBuilder(end - start);
+        appendRange(root, start, end, sb);
+        return sb.toString();
+    }
+
+    /**
+     *  Returns the total number of characters in the document including
+     *  the newlines between lines.
+     */
+    public int getLength() {
+        return totalLength(root);
+    }
+
+    @Override
+    public String getLine( int line ) {
+        int start = getLineStart(line);
+        return getText(start, start + getLineLength(line));
+    }
+
+    @Override
+    public int getLineCount() {
+        return totalNewlines(root) + 1;
+    }
+
+    /**
+     *  Returns the document position of the first character of the
+     *  specified line.
+     */
+    public int getLineStart( int line ) {
+        if( line < 0 || line >= getLineCount() ) {
+            throw new IndexOutOfBoundsException("Line:" + line + ", count:" + getLineCount());
+        }
+        if( line == 0 ) {
+            return 0;
+        }
+        // Find the position just after the line'th newline
+        int k = line;
+        int pos = 0;
+        Piece node = root;
+        while( node != null ) {
+            int leftNewlines = totalNewlines(node.left);
+            if( k <= leftNewlines ) {
+                node = node.left;
+                continue;
+            }
+            k -= leftNewlines;
+            pos += totalLength(node.left);
+            if( k <= node.newlines ) {
+                for( int i = 0; i < node.length; i++ ) {
+                    if( charAt(node, i) == '\n' && --k == 0 ) {
+                        return pos + i + 1;
+                    }
+                }
+                throw new IllegalStateException("Newline count mismatch in:" + node);
+            }
+            k -= node.newlines;
+            pos += node.length;
+            node = node.right;
+        }
+        throw new IllegalStateException("Line not found:" + line);
+    }
+
+    /**
+     *  Returns the number of characters in the specified line not
+     *  including its newline.
+     */
+    public int getLineLength( int line ) {
+        int start = getLineStart(line);
+        int end = line == getLineCount() - 1 ? getLength() : getLineStart(line + 1) - 1;
+        return end - start;
+    }
+
+    /**
+     *  Returns the line containing the specified document position.
+     */
+    public int getLineOf( int pos ) {
+        int count = 0;
+        Piece node = root;
+        while( node != null ) {
+            int leftLength = totalLength(node.left);
+            if( pos <= leftLength ) {
+                node = node.left;
+                continue;
+            }
+            count += totalNewlines(node.left);
+            pos -= leftLength;
+            if( pos <= node.length ) {
+                return count + countNewlines(node.add, node.start, node.start + pos);
+            }
+            count += node.newlines;
+            pos -= node.length;
+            node = node.right;
+        }
+        return count;
+    }
+
+    @Override
+    public int getCarat() {
+        return carat.get();
+    }
+
+    @Override
+    public int getCaratLine() {
+        return line;
+    }
+
+    @Override
+    public int getCaratColumn() {
+        return column;
+    }
+
+    @Override
+    public int getAnchorLine() {
+        return getCaratLine();
+    }
+
+    @Override
+    public int getAnchorColumn() {
+        return getCaratColumn();
+    }
+
+    @Override
+    public int getAnchor() {
+        return getCarat();
+    }
+
+    @Override
+    public int home( boolean currentLine ) {
+        if( currentLine ) {
+            carat.move(-column);
+            column = 0;
+        } else {
+            carat.set(0);
+            column = 0;
+            line = 0;
+        }
+        return carat.get();
+    }
+
+    @Override
+    public int end( boolean currentLine ) {
+        if( currentLine ) {
+            int length = getLineLength(line);
+            carat.move(length - column);
+            column = length;
+        } else {
+            carat.set(getLength());
+            line = getLineCount() - 1;
+            column = carat.get() - getLineStart(line);
+        }
+        return carat.get();
+    }
+
+    @Override
+    public int up() {
+        if( line == 0 ) {
+            return carat.get();
+        }
+        line--;
+        column = Math.min(column, getLineLength(line));
+        return carat.set(getLineStart(line) + column);
+    }
+
+    @Override
+    public int down() {
+        if( line == getLineCount() - 1 ) {
+            return carat.get();
+        }
+        line++;
+        column = Math.min(column, getLineLength(line));
+        return carat.set(getLineStart(line) + column);
+    }
+
+    @Override
+    public int left() {
+        if( carat.get() == 0 ) {
+            return 0;
+        }
+        carat.decrement();
+        column--;
+        if( column < 0 ) {
+            line--;
+            column = getLineLength(line);
+        }
+        return carat.get();
+    }
+
+    @Override
+    public int right() {
+        if( carat.get() == getLength() ) {
+            return carat.get();
+        }
+        carat.increment();
+        if( column == getLineLength(line) ) {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return carat.get();
+    }
+
+    @Override
+    public void insertNewLine() {
+        insertText(carat.get(), "\n", 1);
+        carat.increment();
+        line++;
+        column = 0;
+        changed();
+    }
+
+    @Override
+    public void deleteCharAt( int pos ) {
+        if( pos < 0 || pos >= getLength() ) {
+            return; // nothing to delete
+        }
+        deleteText(pos, 1);
+        if( pos < carat.get() ) {
+            carat.decrement();
+        }
+        updateLineAndColumn();
+        changed();
+    }
+
+    @Override
+    public void backspace() {
+        if( carat.get() == 0 ) {
+            return;
+        }
+        deleteText(carat.get() - 1, 1);
+        carat.decrement();
+        if( column == 0 ) {
+            // Merged with the previous line
+            line--;
+            column = carat.get() - getLineStart(line);
+        } else {
+            column--;
+        }
+        changed();
+    }
+
+    @Override
+    public void delete() {
+        if( carat.get() >= getLength() ) {
+            return;
+        }
+        deleteText(carat.get(), 1);
+        changed();
+    }
+
+    @Override
+    public void insert( char c ) {
+        if( c < 32 ) {
+            return;
+        }
+        insertText(carat.get(), String.valueOf(c), 0);
+        carat.increment();
+        column++;
+        changed();
+    }
+
+    /**
+     *  Bulk inserts a string of text at the carat.  Unlike DefaultDocumentModel,
+     *  newlines in the text start new lines.
+     */
+    @Override
+    public void insert( String text ) {
+        String clean = clean(text, false);
+        if( clean.isEmpty() ) {
+            return;
+        }
+        insertText(carat.get(), clean, countNewlines(clean, 0, clean.length()));
+        carat.move(clean.length());
+        updateLineAndColumn();
+        changed();
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public DocumentModel getObject() {
+        return this;
+    }
+
+    @Override
+    public VersionedReference<DocumentModel> createReference() {
+        return new VersionedReference<DocumentModel>(this);
+    }
+
+    @Override
+    public VersionedReference<Integer> createCaratReference() {
+        return carat.createReference();
+    }
+
+    protected void parseText( String text ) {
+        original = clean(text, true);
+        added.setLength(0);
+        root = null;
+        for( int i = 0; i < original.length(); i += MAX_PIECE ) {
+            int end = Math.min(original.length(), i + MAX_PIECE);
+            root = merge(root, newPiece(false, i, end - i));
+        }
+        end(false);
+        changed();
+    }
+
+    protected void changed() {
+        composite = null;
+        version++;
+    }
+
+    protected void updateLineAndColumn() {
+        line = getLineOf(carat.get());
+        column = carat.get() - getLineStart(line);
+    }
+
+    /**
+     *  Normalizes line endings to '\n' and strips other control characters.
+     */
+    private static String clean( String text, boolean convertReturns ) {
+        StringBuilder sb = null;
+        for( int i = 0; i < text.length(); i++ ) {
+            char c = text.charAt(i);
+            if( c >= 32 || c == '\n' ) {
+                if( sb != null ) {
+                    sb.append(c);
+                }
+                continue;
+            }
+            if( sb == null ) {
+                sb = new StringBuilder(text.length());
+                sb.append(text, 0, i);
+            }
+            if( c == '\r' && convertReturns ) {
+                // \r\n becomes \n, a lone \r becomes \n
+                if( i + 1 >= text.length() || text.charAt(i + 1) != '\n' ) {
+                    sb.append('\n');
+                }
+            }
+        }
+        return sb == null ? text : sb.toString();
+    }
+
+    /**
+     *  Inserts already cleaned text at the specified position.
+     */
+    private void insertText( int pos, String text, int newlines ) {
+        if( text.length() <= MAX_PIECE && extend(root, pos, text.length(), newlines) ) {
+            // Consecutive typing just grows the last piece
+            added.append(text);
+            return;
+        }
+        split(root, pos);
+        Piece left = splitLeft;
+        Piece right = splitRight;
+        for( int i = 0; i < text.length(); i += MAX_PIECE ) {
+            int end = Math.min(text.length(), i + MAX_PIECE);
+            int start = added.length();
+            added.append(text, i, end);
+            left = merge(left, newPiece(true, start, end - i));
+        }
+        root = merge(left, right);
+    }
+
+    private void deleteText( int pos, int count ) {
+        split(root, pos);
+        Piece left = splitLeft;
+        split(splitRight, count);
+        root = merge(left, splitRight);
+    }
+
+    /**
+     *  Grows the add-buffer piece that ends at the specified position if
+     *  it also ends at the end of the add buffer, updating the totals on
+     *  the way back up.  Returns false if there is no such piece.
+     */
+    private boolean extend( Piece node, int pos, int count, int newlines ) {
+        if( node == null ) {
+            return false;
+        }
+        int leftLength = totalLength(node.left);
+        boolean result;
+        if( pos <= leftLength ) {
+            result = extend(node.left, pos, count, newlines);
+        } else if( pos < leftLength + node.length ) {
+            return false;
+        } else if( pos == leftLength + node.length ) {
+            result = node.add && node.start + node.length == added.length()
+                              && node.length + count <= MAX_PIECE;
+            if( result ) {
+                node.length += count;
+                node.newlines += newlines;
+            }
+        } else {
+            result = extend(node.right, pos - leftLength - node.length, count, newlines);
+        }
+        if( result ) {
+            node.totalLength += count;
+            node.totalNewlines += newlines;
+        }
+        return result;
+    }
+
+    /**
+     *  Splits the tree so that splitLeft contains the first 'pos' characters
+     *  and splitRight contains the rest.
+     */
+    private void split( Piece node, int pos ) {
+        if( node == null ) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        int leftLength = totalLength(node.left);
+        if( pos <= leftLength ) {
+            split(node.left, pos);
+            node.left = splitRight;
+            update(node);
+            splitRight = node;
+        } else if( pos >= leftLength + node.length ) {
+            split(node.right, pos - leftLength - node.length);
+            node.right = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            // Need to split the piece itself
+            int offset = pos - leftLength;
+            Piece tail = newPiece(node.add, node.start + offset, node.length - offset);
+            Piece right = node.right;
+            node.length = offset;
+            node.newlines -= tail.newlines;
+            node.right = null;
+            update(node);
+            splitLeft = node;
+            splitRight = merge(tail, right);
+        }
+    }
+
+    private Piece merge( Piece a, Piece b ) {
+        if( a == null ) {
+            return b;
+        }
+        if( b == null ) {
+            return a;
+        }
+        if( a.priority > b.priority ) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private void appendRange( Piece node, int start, int end, StringBuilder sb ) {
+        if( node == null || start >= end ) {
+            return;
+        }
+        int leftLength = totalLength(node.left);
+        if( start < leftLength ) {
+            appendRange(node.left, start, Math.min(end, leftLength), sb);
+        }
+        int pieceStart = Math.max(start, leftLength) - leftLength;
+        int pieceEnd = Math.min(end, leftLength + node.length) - leftLength;
+        if( pieceStart < pieceEnd ) {
+            if( node.add ) {
+                sb.append(added, node.start + pieceStart, node.start + pieceEnd);
+            } else {
+                sb.append(original, node.start + pieceStart, node.start + pieceEnd);
+            }
+        }
+        int rightStart = leftLength + node.length;
+        if( end > rightStart ) {
+            appendRange(node.right, Math.max(0, start - rightStart), end - rightStart, sb);
+        }
+    }
+
+    private Piece newPiece( boolean add, int start, int length ) {
+        // xorshift for the treap priorities
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        Piece result = new Piece(add, start, length, countNewlines(add, start, start + length), seed);
+        update(result);
+        return result;
+    }
+
+    private char charAt( Piece node, int offset ) {
+        return node.add ? added.charAt(node.start + offset) : original.charAt(node.start + offset);
+    }
+
+    private int countNewlines( boolean add, int start, int end ) {
+        return add ? countNewlines(added, start, end) : countNewlines(original, start, end);
+    }
+
+    private static int countNewlines( CharSequence text, int start, int end ) {
+        int count = 0;
+        for( int i = start; i < end; i++ ) {
+            if( text.charAt(i) == '\n' ) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void update( Piece node ) {
+        node.totalLength = totalLength(node.left) + node.length + totalLength(node.right);
+        node.totalNewlines = totalNewlines(node.left) + node.newlines + totalNewlines(node.right);
+    }
+
+    private static int totalLength( Piece node ) {
+        return node == null ? 0 : node.totalLength;
+    }
+
+    private static int totalNewlines( Piece node ) {
+        return node == null ? 0 : node.totalNewlines;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[length=" + getLength() + ", lines=" + getLineCount() + "]";
+    }
+
+    /**
+     *  A range of either the original text or the add buffer.
+     */
+    private static final class Piece {
+        final boolean add;
+        final int start;
+        final int priority;
+        int length;
+        int newlines;
+        int totalLength;
+        int totalNewlines;
+        Piece left;
+        Piece right;
+
+        public Piece( boolean add, int start, int length, int newlines, int priority ) {
+            this.add = add;
+            this.start = start;
+            this.length = length;
+            this.newlines = newlines;
+            this.priority = priority;
+        }
+
+        @Override
+        public String toString() {
+            return "Piece[add=" + add + ", start=" + start + ", length=" + length + "]";
+        }
+    }
+
+    private static class Carat implements VersionedObject<Integer> {
+        private int value;
+        private long version;
+
+        public Carat() {
+        }
+
+        public final int get() {
+            return value;
+        }
+
+        public final int set( int value ) {
+            if( this.value == value ) {
+                return value;
+            }
+            this.value = value;
+            version++;
+            return value;
+        }
+
+        public final int move( int amount ) {
+            value += amount;
+            version++;
+            return value;
+        }
+
+        public final int increment() {
+            value++;
+            version++;
+            return value;
+        }
+
+        public final int decrement() {
+            value--;
+            version++;
+            return value;
+        }
+
+        @Override
+        public final long getVersion() {
+            return version;
+        }
+
+        @Override
+        public final Integer getObject() {
+            return value;
+        }
+
+        @Override
+        public final VersionedReference<Integer> createReference() {
+            return new VersionedReference<Integer>(this);
+        }
+
+        @Override
+        public final String toString() {
+            return "Carat[" + value + "]";
+        }
+    }
+}
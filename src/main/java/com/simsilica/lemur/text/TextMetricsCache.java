@@ -0,0 +1,205 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.text;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.jme3.font.BitmapFont;
+import com.jme3.font.BitmapText;
+import com.jme3.font.Rectangle;
+import com.jme3.math.Vector2f;
+
+
+/**
+ *  Caches the laid out width and height of text strings keyed by
+ *  font, font size, text, and wrap width.  Cache misses are measured
+ *  with a private scratch BitmapText per font that is never rendered,
+ *  so callers can find preferred sizes without touching the box or
+ *  mesh of the BitmapText they are actually displaying.
+ *
+ *  <p>A miss is not free: BitmapText only reports its size after it
+ *  has assembled its pages, so each miss lays out the letters and fills
+ *  the scratch text's vertex buffers.  The savings come from hits, which
+ *  are a single map lookup.  See TextMetricsBenchmark in LemurBench for
+ *  the relative costs.</p>
+ *
+ *  <p>The cache is bounded and evicts the least recently used entries.
+ *  Like the rest of the scene graph, it should only be used from the
+ *  render thread.</p>
+ *
+ *  @author    agent
+ */
+public class TextMetricsCache {
+
+    private static final TextMetricsCache DEFAULT = new TextMetricsCache(4096);
+
+    private final Map<Key, float[]> cache;
+    private final Map<BitmapFont, BitmapText> scratch = new IdentityHashMap<>();
+    private final Key lookup = new Key();
+    private int hits;
+    private int misses;
+
+    public TextMetricsCache( final int maxSize ) {
+        this.cache = new LinkedHashMap<Key, float[]>(Math.min(maxSize, 256), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<Key, float[]> eldest ) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     *  Returns the shared cache used by the standard text components.
+     */
+    public static TextMetricsCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     *  Returns the width and height that a BitmapText with the specified
+     *  font, size, and text would report from getLineWidth() and getHeight().
+     *  If wrapWidth is greater than 0 then the text is laid out in a box of
+     *  that width, wrapping lines as needed.
+     */
+    public Vector2f getSize( BitmapFont font, float fontSize, String text, float wrapWidth,
+                             Vector2f store ) {
+        if( store == null ) {
+            store = new Vector2f();
+        }
+        if( text == null ) {
+            text = "";
+        }
+        if( wrapWidth < 0 ) {
+            wrapWidth = 0;
+        }
+
+        lookup.set(font, fontSize, text, wrapWidth);
+        float[] size = cache.get(lookup);
+        if( size == null ) {
+            misses++;
+            size = measure(font, fontSize, text, wrapWidth);
+            cache.put(new Key().set(font, fontSize, text, wrapWidth), size);
+        } else {
+            hits++;
+        }
+        lookup.clear();
+        return store.set(size[0], size[1]);
+    }
+
+    protected float[] measure( BitmapFont font, float fontSize, String text, float wrapWidth ) {
+        BitmapText measure = scratch.get(font);
+        if( measure == null ) {
+            measure = new BitmapText(font);
+            scratch.put(font, measure);
+        }
+        measure.setSize(fontSize);
+        measure.setBox(wrapWidth > 0 ? new Rectangle(0, 0, wrapWidth, 0) : null);
+        measure.setText(text);
+
+        // getLineWidth() and getHeight() assemble the scratch mesh
+        float[] result = new float[] { measure.getLineWidth(), measure.getHeight() };
+
+        // Don't hang on to large strings
+        measure.setText("");
+        return result;
+    }
+
+    public void clear() {
+        cache.clear();
+        scratch.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getHitCount() {
+        return hits;
+    }
+
+    public int getMissCount() {
+        return misses;
+    }
+
+    private static class Key {
+        BitmapFont font;
+        float fontSize;
+        String text;
+        float wrapWidth;
+        int hash;
+
+        public Key set( BitmapFont font, float fontSize, String text, float wrapWidth ) {
+            this.font = font;
+            this.fontSize = fontSize;
+            this.text = text;
+            this.wrapWidth = wrapWidth;
+            int h = System.identityHashCode(font);
+            h = h * 31 + Float.floatToIntBits(fontSize);
+            h = h * 31 + Float.floatToIntBits(wrapWidth);
+            h = h * 31 + text.hashCode();
+            this.hash = h;
+            return this;
+        }
+
+        public void clear() {
+            this.font = null;
+            this.text = null;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if( o == this ) {
+                return true;
+            }
+            if( !(o instanceof Key) ) {
+                return false;
+            }
+            Key other = (Key)o;
+            return font == other.font
+                && Float.floatToIntBits(fontSize) == Float.floatToIntBits(other.fontSize)
+                && Float.floatToIntBits(wrapWidth) == Float.floatToIntBits(other.wrapWidth)
+                && text.equals(other.text);
+        }
+    }
+}
@@ -2,6 +2,7 @@
 import com.simsilica.lemur.*;
 import com.simsilica.lemur.Button.ButtonAction;
 import com.simsilica.lemur.component.*;
+import com.simsilica.lemur.style.BaseStyles;
 
 def gradient = TbtQuadBackgroundComponent.create( 
                                         texture( name:"/com/simsilica/lemur/icons/bordered-gradient.png", 
@@ -49,40 +50,10 @@ selector( "slider", "glass" ) {
     background.setColor(color(0.25, 0.5, 0.5, 0.5))
 } 
 
-def pressedCommand = new Command<Button>() {
-        public void execute( Button source ) {
-            if( source.isPressed() ) {
-                source.move(1, -1, 0);
-            } else {
-                source.move(-1, 1, 0);
-            }
-        }       
-    };
-    
-def repeatCommand = new Command<Button>() {
-        private long startTime;
-        private long lastClick;
-        
-        public void execute( Button source ) {
-            // Only do the repeating click while the mouse is
-            // over the button (and pressed of course)
-            if( source.isPressed() && source.isHighlightOn() ) {
-                long elapsedTime = System.currentTimeMillis() - startTime;
-                // After half a second pause, click 8 times a second
-                if( elapsedTime > 500 ) {
-                    if( elapsedTime - lastClick > 125 ) {  
-                        source.click();
-                        
-                        // Try to quantize the last click time to prevent drift
-                        lastClick = ((elapsedTime - 500) / 125) * 125 + 500;
-                    }
-                } 
-            } else {
-                startTime = System.currentTimeMillis();
-                lastClick = 0;
-            }
-        }       
-    };     
+// Real classes rather than closures or anonymous classes so that
+// style snapshots can recreate them
+def pressedCommand = new BaseStyles.PressedCommand();
+def repeatCommand = new BaseStyles.RepeatCommand();
     
 def stdButtonCommands = [
         (ButtonAction.Down):[pressedCommand], 
@@ -0,0 +1,143 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.simsilica.lemur.style;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jme3.app.LegacyApplication;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+
+import com.simsilica.lemur.GuiGlobals;
+
+
+/**
+ *  Command line tool that runs style scripts in a headless application
+ *  and saves the resulting styles as StyleSnapshots, one for each gamma
+ *  correction setting.  This is what the build's compileStyles task uses
+ *  to precompile the bundled styles.  Groovy and a desktop jME renderer
+ *  are needed on the classpath to run it but not to load the snapshots
+ *  that it creates, so it is built from its own source set and is not
+ *  part of the library jar.
+ *
+ *  <p>Usage: StyleSnapshotExporter outputDir styleResource...</p>
+ *
+ *  <p>The snapshots are written to the same relative path in outputDir
+ *  as their style resource so that BaseStyles can find them, for example:
+ *  outputDir/com/simsilica/lemur/style/base/glass-styles.lsnap</p>
+ *
+ *  @author    agent
+ */
+public class StyleSnapshotExporter extends LegacyApplication {
+
+    static Logger log = LoggerFactory.getLogger(StyleSnapshotExporter.class);
+
+    private final File outputDir;
+    private final String[] resources;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private Exception error;
+
+    public StyleSnapshotExporter( File outputDir, String... resources ) {
+        this.outputDir = outputDir;
+        this.resources = resources;
+    }
+
+    public static void main( String... args ) throws Exception {
+        if( args.length < 2 ) {
+            System.err.println("Usage: StyleSnapshotExporter outputDir styleResource...");
+            System.exit(1);
+        }
+        StyleSnapshotExporter exporter = new StyleSnapshotExporter(new File(args[0]),
+                                                    Arrays.copyOfRange(args, 1, args.length));
+        AppSettings settings = new AppSettings(true);
+        settings.setAudioRenderer(null);
+        exporter.setSettings(settings);
+        exporter.start(JmeContext.Type.Headless);
+        exporter.done.await();
+
+        if( exporter.error != null ) {
+            log.error("Error exporting style snapshots", exporter.error);
+            System.exit(1);
+        }
+    }
+
+    @Override
+    public void initialize() {
+        super.initialize();
+        try {
+            GuiGlobals.initialize(this);
+            for( String resource : resources ) {
+                export(resource, false);
+                export(resource, true);
+            }
+        } catch( Exception e ) {
+            error = e;
+        } finally {
+            stop();
+            done.countDown();
+        }
+    }
+
+    protected void export( String resource, boolean gammaEnabled ) throws IOException {
+        if( resource.startsWith("/") ) {
+            resource = resource.substring(1);
+        }
+        URL script = getClass().getResource("/" + resource);
+        if( script == null ) {
+            throw new IOException("Style resource not found:" + resource);
+        }
+
+        // Colors created by the scripts depend on the gamma setting
+        GuiGlobals.getInstance().setGammaEnabled(gammaEnabled);
+
+        // Only the attributes that the script sets belong in the
+        // snapshot so it gets its own Styles
+        Styles styles = new Styles();
+        new StyleLoader(styles).loadStyle(script);
+
+        File file = new File(outputDir, StyleSnapshot.getSnapshotName(resource, gammaEnabled));
+        file.getParentFile().mkdirs();
+        StyleSnapshot.save(styles, file);
+        log.info("Wrote style snapshot:" + file);
+    }
+}